@@ -7,9 +7,19 @@ package dev.galasa.cicsts.internal;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import javax.validation.constraints.NotNull;
 
@@ -28,6 +38,8 @@ import dev.galasa.cicsts.internal.dse.DseProvisioningImpl;
 import dev.galasa.cicsts.internal.properties.CicstsPropertiesSingleton;
 import dev.galasa.cicsts.internal.properties.ExtraBundles;
 import dev.galasa.cicsts.internal.properties.ProvisionType;
+import dev.galasa.cicsts.internal.properties.RegionLogonConcurrency;
+import dev.galasa.cicsts.internal.properties.TerminalLogonConcurrency;
 import dev.galasa.cicsts.spi.CicsTerminalImpl;
 import dev.galasa.cicsts.spi.ICicsRegionLogonProvider;
 import dev.galasa.cicsts.spi.ICicsRegionProvisioned;
@@ -195,12 +207,97 @@ public class CicstsManagerImpl extends AbstractManager implements ICicstsManager
 
         // Start the autoconnect terminals
         logger.info("Connecting CICS Terminals");
-        for (ICicsTerminal terminal : this.terminals) {
-            try {
-                terminal.connectToCicsRegion();
-            } catch (CicstsManagerException e) {
-                throw new CicstsManagerException("Failed to connect to the " + terminal.getCicsRegion(), e);
+        connectTerminals();
+    }
+
+    /**
+     * Connect and logon all the terminals, several at a time overall and per region, taking the regions in turn. 
+     * Every terminal is attempted, and if any fail the failures are reported together.
+     */
+    protected void connectTerminals() throws CicstsManagerException {
+        if (this.terminals.isEmpty()) {
+            return;
+        }
+
+        LinkedHashMap<String, ArrayList<CicsTerminalImpl>> regionTerminals = new LinkedHashMap<>();
+        for (CicsTerminalImpl terminal : this.terminals) {
+            regionTerminals.computeIfAbsent(terminal.getCicsRegion().getTag(), tag -> new ArrayList<>()).add(terminal);
+        }
+        TerminalLogonScheduler<CicsTerminalImpl> scheduler = new TerminalLogonScheduler<>();
+        for (Entry<String, ArrayList<CicsTerminalImpl>> region : regionTerminals.entrySet()) {
+            scheduler.addRegion(RegionLogonConcurrency.get(region.getKey()), region.getValue());
+        }
+
+        Map<CicsTerminalImpl, CicstsManagerException> failures = new ConcurrentHashMap<>();
+
+        int workerCount = Math.min(TerminalLogonConcurrency.get(), this.terminals.size());
+        ExecutorService executor = Executors.newFixedThreadPool(workerCount, runnable -> {
+            Thread thread = new Thread(runnable, "cicsts-terminal-logon");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            // The workers take the next terminal from whichever region is next in turn and allows another logon
+            ArrayList<Future<?>> workers = new ArrayList<>();
+            for (int i = 0; i < workerCount; i++) {
+                workers.add(executor.submit(() -> {
+                    CicsTerminalImpl terminal;
+                    while ((terminal = scheduler.next()) != null) {
+                        try {
+                            connectTerminal(terminal, failures);
+                        } finally {
+                            scheduler.done(terminal);
+                        }
+                    }
+                    return null;
+                }));
+            }
+
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CicstsManagerException("Interrupted whilst connecting the CICS Terminals", e);
+        } catch (ExecutionException e) {
+            throw new CicstsManagerException("Problem connecting the CICS Terminals", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        if (failures.isEmpty()) {
+            return;
+        }
+
+        // Report in the order the terminals were generated
+        StringBuilder message = new StringBuilder("Failed to connect " + failures.size() + " of " + this.terminals.size() + " CICS Terminals:-");
+        CicstsManagerException failure = null;
+        for (CicsTerminalImpl terminal : this.terminals) {
+            CicstsManagerException terminalFailure = failures.get(terminal);
+            if (terminalFailure == null) {
+                continue;
+            }
+            message.append("\n    ").append(terminal.getId()).append(" to the ").append(terminal.getCicsRegion()).append(" - ").append(terminalFailure.getMessage());
+            if (failure == null) {
+                failure = terminalFailure;
+            }
+        }
+        CicstsManagerException aggregated = new CicstsManagerException(message.toString(), failure);
+        failures.values().stream().filter(terminalFailure -> terminalFailure != aggregated.getCause()).forEach(aggregated::addSuppressed);
+        throw aggregated;
+    }
+
+    private void connectTerminal(CicsTerminalImpl terminal, Map<CicsTerminalImpl, CicstsManagerException> failures) {
+        Instant start = Instant.now();
+        try {
+            if (terminal.connectToCicsRegion()) {
+                logger.info("CICS Terminal " + terminal.getId() + " connected to the " + terminal.getCicsRegion() + " in " + Duration.between(start, Instant.now()).toMillis() + "ms");
+            } else {
+                logger.warn("CICS Terminal " + terminal.getId() + " was not logged on to the " + terminal.getCicsRegion() + " by any logon provider");
             }
+        } catch (CicstsManagerException | RuntimeException e) {
+            logger.error("CICS Terminal " + terminal.getId() + " failed to connect to the " + terminal.getCicsRegion(), e);
+            failures.put(terminal, new CicstsManagerException("Failed to connect to the " + terminal.getCicsRegion(), e));
         }
     }
 
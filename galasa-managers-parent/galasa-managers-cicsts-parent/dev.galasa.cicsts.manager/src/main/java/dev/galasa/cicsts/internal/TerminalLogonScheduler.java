@@ -0,0 +1,86 @@
+/*
+ * Licensed Materials - Property of IBM
+ * 
+ * (c) Copyright IBM Corp. 2020.
+ */
+package dev.galasa.cicsts.internal;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hands the terminals to the logon workers, taking the regions in turn so that every region has logons in progress
+ * as soon as a worker is free, and never more logons in progress to a region than it allows.
+ *
+ * @param <T> the terminal type
+ */
+public class TerminalLogonScheduler<T> {
+
+    private final List<Region> regions = new ArrayList<>();
+    private final Map<T, Region> terminalRegions = new IdentityHashMap<>();
+    private int nextRegion = 0;
+    private int remaining = 0;
+
+    /**
+     * Add the terminals of a region
+     * @param concurrency the maximum logons in progress to the region at a time
+     * @param terminals the terminals, in the order they are to be connected
+     */
+    public synchronized void addRegion(int concurrency, Collection<T> terminals) {
+        Region region = new Region(Math.max(1, concurrency));
+        for (T terminal : terminals) {
+            region.queue.add(terminal);
+            this.terminalRegions.put(terminal, region);
+        }
+        this.regions.add(region);
+        this.remaining += terminals.size();
+    }
+
+    /**
+     * Return the next terminal to connect, waiting until its region allows another logon
+     * @return the terminal, or null if all the terminals have been handed out
+     * @throws InterruptedException
+     */
+    public synchronized T next() throws InterruptedException {
+        while (this.remaining > 0) {
+            for (int i = 0; i < this.regions.size(); i++) {
+                int index = (this.nextRegion + i) % this.regions.size();
+                Region region = this.regions.get(index);
+                if (!region.queue.isEmpty() && region.active < region.concurrency) {
+                    this.nextRegion = (index + 1) % this.regions.size();
+                    region.active++;
+                    this.remaining--;
+                    return region.queue.poll();
+                }
+            }
+            wait();
+        }
+        return null;
+    }
+
+    /**
+     * Record the logon of a terminal from {@link #next()} has finished, whether it worked or not
+     * @param terminal the terminal
+     */
+    public synchronized void done(T terminal) {
+        Region region = this.terminalRegions.get(terminal);
+        if (region != null) {
+            region.active--;
+            notifyAll();
+        }
+    }
+
+    private class Region {
+        private final int concurrency;
+        private final ArrayDeque<T> queue = new ArrayDeque<>();
+        private int active = 0;
+
+        private Region(int concurrency) {
+            this.concurrency = concurrency;
+        }
+    }
+}
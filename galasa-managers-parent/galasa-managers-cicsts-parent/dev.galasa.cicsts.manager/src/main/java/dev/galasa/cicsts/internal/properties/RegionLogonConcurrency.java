@@ -0,0 +1,37 @@
+/*
+ * Licensed Materials - Property of IBM
+ * 
+ * (c) Copyright IBM Corp. 2020.
+ */
+package dev.galasa.cicsts.internal.properties;
+
+import dev.galasa.cicsts.CicstsManagerException;
+import dev.galasa.framework.spi.cps.CpsProperties;
+
+/**
+ * CICS TS Region - Terminal Logon Concurrency
+ * 
+ * @galasa.cps.property
+ * 
+ * @galasa.name cicsts.tag.[TAG.]logon.concurrency
+ * 
+ * @galasa.description The maximum number of CICS terminals that are connected and logged on to a CICS region 
+ * at the same time whilst the test is being provisioned
+ * 
+ * @galasa.required No
+ * 
+ * @galasa.default 4
+ * 
+ * @galasa.valid_values An integer greater than 0
+ * 
+ * @galasa.examples 
+ * <code>cicsts.tag.PRIMARY.logon.concurrency=2</code><br>
+ * <code>cicsts.tag.logon.concurrency=4</code><br>
+ *
+ */
+public class RegionLogonConcurrency extends CpsProperties {
+
+    public static int get(String tag) throws CicstsManagerException {
+        return Math.max(1, getIntWithDefault(CicstsPropertiesSingleton.cps(), 4, "tag", "logon.concurrency", tag));
+    }
+}
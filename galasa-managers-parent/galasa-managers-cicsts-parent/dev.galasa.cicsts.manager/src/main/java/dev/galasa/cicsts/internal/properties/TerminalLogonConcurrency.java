@@ -0,0 +1,36 @@
+/*
+ * Licensed Materials - Property of IBM
+ * 
+ * (c) Copyright IBM Corp. 2020.
+ */
+package dev.galasa.cicsts.internal.properties;
+
+import dev.galasa.cicsts.CicstsManagerException;
+import dev.galasa.framework.spi.cps.CpsProperties;
+
+/**
+ * CICS TS Terminal Logon Concurrency
+ * 
+ * @galasa.cps.property
+ * 
+ * @galasa.name cicsts.terminal.logon.concurrency
+ * 
+ * @galasa.description The maximum number of CICS terminals that are connected and logged on at the same time 
+ * whilst the test is being provisioned, across all the CICS regions
+ * 
+ * @galasa.required No
+ * 
+ * @galasa.default 8
+ * 
+ * @galasa.valid_values An integer greater than 0
+ * 
+ * @galasa.examples 
+ * <code>cicsts.terminal.logon.concurrency=4</code><br>
+ *
+ */
+public class TerminalLogonConcurrency extends CpsProperties {
+
+    public static int get() throws CicstsManagerException {
+        return Math.max(1, getIntWithDefault(CicstsPropertiesSingleton.cps(), 8, "terminal.logon", "concurrency"));
+    }
+}
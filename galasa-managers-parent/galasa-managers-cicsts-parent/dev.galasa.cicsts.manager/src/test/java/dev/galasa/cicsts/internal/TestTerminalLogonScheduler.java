@@ -0,0 +1,62 @@
+/*
+ * Licensed Materials - Property of IBM
+ * 
+ * (c) Copyright IBM Corp. 2020.
+ */
+package dev.galasa.cicsts.internal;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestTerminalLogonScheduler {
+
+    @Test
+    public void testRegionsTakenInTurn() throws InterruptedException {
+        TerminalLogonScheduler<String> scheduler = new TerminalLogonScheduler<>();
+        scheduler.addRegion(5, Arrays.asList("A1", "A2", "A3"));
+        scheduler.addRegion(5, Arrays.asList("B1"));
+        scheduler.addRegion(5, Arrays.asList("C1", "C2"));
+
+        Assert.assertEquals("next() should take the first region first", "A1", scheduler.next());
+        Assert.assertEquals("next() should take the regions in turn", "B1", scheduler.next());
+        Assert.assertEquals("next() should take the regions in turn", "C1", scheduler.next());
+        Assert.assertEquals("next() should skip a region with no terminals left", "A2", scheduler.next());
+        Assert.assertEquals("next() should skip a region with no terminals left", "C2", scheduler.next());
+        Assert.assertEquals("next() should return the rest of the terminals", "A3", scheduler.next());
+        Assert.assertNull("next() should return null once all the terminals are handed out", scheduler.next());
+    }
+
+    @Test
+    public void testRegionConcurrency() throws Exception {
+        TerminalLogonScheduler<String> scheduler = new TerminalLogonScheduler<>();
+        scheduler.addRegion(1, Arrays.asList("A1", "A2"));
+        scheduler.addRegion(1, Arrays.asList("B1"));
+
+        Assert.assertEquals("next() should take the first region first", "A1", scheduler.next());
+        Assert.assertEquals("next() should not wait for a region that has a logon in progress", "B1", scheduler.next());
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> next = executor.submit(scheduler::next);
+            try {
+                next.get(200, TimeUnit.MILLISECONDS);
+                Assert.fail("next() should wait while the region has as many logons in progress as it allows");
+            } catch (TimeoutException e) {
+                // Expected
+            }
+
+            scheduler.done("B1");
+            scheduler.done("A1");
+            Assert.assertEquals("next() should return the terminal once the region allows another logon", "A2", next.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
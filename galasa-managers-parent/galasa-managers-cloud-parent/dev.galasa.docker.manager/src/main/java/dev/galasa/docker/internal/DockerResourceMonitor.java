@@ -5,7 +5,6 @@
  */
 package dev.galasa.docker.internal;
 
-import java.util.Map;
 import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -13,6 +12,7 @@ import java.util.regex.Pattern;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
+import dev.galasa.core.manager.spi.RunResourceReclaimer;
 import dev.galasa.framework.spi.IConfigurationPropertyStoreService;
 import dev.galasa.framework.spi.IDynamicStatusStoreService;
 import dev.galasa.framework.spi.IFramework;
@@ -24,9 +24,9 @@ import dev.galasa.framework.spi.IResourceManagement;
  * @author James Davies
  */
 public class DockerResourceMonitor implements Runnable {
-    private final IFramework                    framework;
     private final IResourceManagement           resourceManagement;
     private final IDynamicStatusStoreService    dss;
+    private final RunResourceReclaimer          reclaimer;
     private final Log                           logger = LogFactory.getLog(DockerResourceMonitor.class);
                                                                     //dss.docker.slot.default.run.L7.SLOT_L7_0=free
     private final Pattern                       slotRunPattern = Pattern.compile("^slot\\.(\\w+)\\.run\\.(\\w+)\\.(\\w+)");
@@ -43,9 +43,11 @@ public class DockerResourceMonitor implements Runnable {
     */
     public DockerResourceMonitor(IFramework framework, IResourceManagement resourceManagement, IDynamicStatusStoreService dss, 
             DockerResourceManagement dockerResourceManagement, IConfigurationPropertyStoreService cps) {
-        this.framework          = framework;
         this.dss                = dss;
         this.resourceManagement = resourceManagement;
+        // The slot keys do not start with the run name, so a finished run is found from the index
+        this.reclaimer          = new RunResourceReclaimer(framework, dss, "slot", slotRunPattern, 2, null, 
+                RunResourceReclaimer.DEFAULT_RECONCILE_INTERVAL, this::discardSlot);
 
         this.logger.info("Docker slot resource monitor intialised");
     }
@@ -58,32 +60,13 @@ public class DockerResourceMonitor implements Runnable {
         logger.info("Starting search for run slots.");
 
         try {
-            Map<String, String> slotRuns = dss.getPrefix("slot");
-			
-			Set<String> activeRunNames = this.framework.getFrameworkRuns().getActiveRunNames();
-
-			for(String key : slotRuns.keySet()) {
-				Matcher matcher = slotRunPattern.matcher(key);
-				if (matcher.find()) {
-					String runName = matcher.group(2);
-
-					if (!activeRunNames.contains(runName)) {
-						String dockerEngine = matcher.group(1);
-						String slot    = matcher.group(3);
-
-						logger.info("Discarding slot " + slot + " on docker engine " + dockerEngine + " as run " + runName + " has gone");
-
-						try {
-							DockerEnvironment.deleteStaleDssSlot(runName, dockerEngine, slot, dss);
-						} catch(Exception e) {
-							logger.error("Failed to discard slot " + slot + " on image " + dockerEngine + " as run " + runName);
-						}
-					}
-				}
-			}
+            this.reclaimer.reclaim();
         } catch (Exception e) {
             logger.error("Problem when trying run the docker resource monitor.", e);
         }
+
+        this.resourceManagement.resourceManagementRunSuccessful();
+        logger.info("Finished search for run slots.");
     }
 
     /**
@@ -92,25 +75,23 @@ public class DockerResourceMonitor implements Runnable {
      */
     public void runFinishedOrDeleted(String runName) {
         try {
-            Map<String,String> slotRuns = dss.getPrefix("slot.run." + runName + ".");
-            for(String key : slotRuns.keySet()) {
-				Matcher matcher = slotRunPattern.matcher(key);
-				if (matcher.find()) {
-					String dockerEngine = matcher.group(2);
-					String slot    = matcher.group(3);
-
-					logger.info("Discarding slot " + slot + " on image " + dockerEngine + " as run " + runName + " has gone");
-
-					try {
-						DockerEnvironment.deleteStaleDssSlot(runName, dockerEngine, slot, dss);
-					} catch(Exception e) {
-						logger.error("Failed to discard slot " + slot + " on image " + dockerEngine + " as run " + runName);
-					}
-				}
-			}
+            this.reclaimer.runFinishedOrDeleted(runName);
         } catch (Exception e) {
             logger.error("Failed to delete stale dss properties for runtName: " + runName, e);
         }
     }
+
+    private void discardSlot(String runName, Matcher matcher, Set<String> deleteProperties) {
+        String dockerEngine = matcher.group(1);
+        String slot         = matcher.group(3);
+
+        logger.info("Discarding slot " + slot + " on docker engine " + dockerEngine + " as run " + runName + " has gone");
+
+        try {
+            DockerEnvironment.deleteStaleDssSlot(runName, dockerEngine, slot, dss);
+        } catch(Exception e) {
+            logger.error("Failed to discard slot " + slot + " on image " + dockerEngine + " as run " + runName);
+        }
+    }
     
 }
\ No newline at end of file
@@ -5,6 +5,8 @@
  */
 package dev.galasa.kubernetes;
 
+import java.util.List;
+
 import javax.validation.constraints.NotNull;
 
 /**
@@ -27,6 +29,29 @@ public interface IKubernetesNamespace {
     @NotNull
     public IResource createResource(@NotNull String yaml) throws KubernetesManagerException;
 
+    /**
+     * Create all the Resources in a multi-document YAML in Kubernetes.  The documents are created in the order
+     * ConfigMaps, Secrets and PersistentVolumeClaims, then Services, then Deployments and StatefulSets, 
+     * with the Resources of each kind being created concurrently.
+     * 
+     * @param yaml The YAML documents, separated by ---
+     * @return The created Resources, in document order
+     * @throws KubernetesManagerException If any document is unsupported, or any Resource could not be created
+     */
+    @NotNull
+    public List<IResource> createResources(@NotNull String yaml) throws KubernetesManagerException;
+
+    /**
+     * As {@link #createResources(String)}, but Resources that already exist are replaced rather than failing,
+     * so the same YAML can be applied more than once.  PersistentVolumeClaims that already exist are left unchanged.
+     * 
+     * @param yaml The YAML documents, separated by ---
+     * @return The created or replaced Resources, in document order
+     * @throws KubernetesManagerException If any document is unsupported, or any Resource could not be applied
+     */
+    @NotNull
+    public List<IResource> apply(@NotNull String yaml) throws KubernetesManagerException;
+
     /**
      * @return the Full ID of the namespace in the form cluserid/namespaceid
      */
@@ -36,6 +36,7 @@ import dev.galasa.kubernetes.KubernetesManagerException;
 import dev.galasa.kubernetes.KubernetesNamespace;
 import dev.galasa.kubernetes.internal.properties.KubernetesClusters;
 import dev.galasa.kubernetes.internal.properties.KubernetesNamespaceTagSharedEnvironment;
+import dev.galasa.kubernetes.internal.properties.KubernetesNamespaceRecycle;
 import dev.galasa.kubernetes.internal.properties.KubernetesPropertiesSingleton;
 import dev.galasa.kubernetes.spi.IKubernetesManagerSpi;
 import io.kubernetes.client.openapi.models.V1ConfigMap;
@@ -279,7 +280,8 @@ public class KubernetesManagerImpl extends AbstractManager implements IKubernete
             }
             
             try {
-                namespace.discard(this.getFramework().getTestRunName());
+                //*** When recycling, do not wait for the resources to terminate, Resource Management will free the slot
+                namespace.discard(this.getFramework().getTestRunName(), !KubernetesNamespaceRecycle.get(namespace.getCluster()));
             } catch(KubernetesManagerException e) {
                 logger.error("Problem discarding namespace " + namespace.getId() + " on cluster " + namespace.getCluster().getId(), e);
             }
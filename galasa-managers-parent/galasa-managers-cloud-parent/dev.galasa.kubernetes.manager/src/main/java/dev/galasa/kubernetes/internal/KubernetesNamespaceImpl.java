@@ -10,10 +10,18 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -22,7 +30,7 @@ import javax.validation.constraints.NotNull;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
-import com.google.protobuf.Message;
+import com.google.gson.reflect.TypeToken;
 
 import dev.galasa.ResultArchiveStoreContentType;
 import dev.galasa.SetContentType;
@@ -42,8 +50,6 @@ import dev.galasa.kubernetes.internal.resources.SecretImpl;
 import dev.galasa.kubernetes.internal.resources.ServiceImpl;
 import dev.galasa.kubernetes.internal.resources.StatefulSetImpl;
 import dev.galasa.kubernetes.internal.resources.Utility;
-import io.kubernetes.client.ProtoClient;
-import io.kubernetes.client.ProtoClient.ObjectOrStatus;
 import io.kubernetes.client.openapi.ApiClient;
 import io.kubernetes.client.openapi.ApiException;
 import io.kubernetes.client.openapi.apis.AppsV1Api;
@@ -61,6 +67,7 @@ import io.kubernetes.client.openapi.models.V1PersistentVolumeClaimList;
 import io.kubernetes.client.openapi.models.V1PersistentVolumeClaimSpec;
 import io.kubernetes.client.openapi.models.V1Pod;
 import io.kubernetes.client.openapi.models.V1PodList;
+import io.kubernetes.client.openapi.models.V1ReplicaSet;
 import io.kubernetes.client.openapi.models.V1ReplicaSetList;
 import io.kubernetes.client.openapi.models.V1Secret;
 import io.kubernetes.client.openapi.models.V1SecretList;
@@ -70,7 +77,7 @@ import io.kubernetes.client.openapi.models.V1StatefulSet;
 import io.kubernetes.client.openapi.models.V1StatefulSetList;
 import io.kubernetes.client.openapi.models.V1StatefulSetSpec;
 import io.kubernetes.client.openapi.models.V1Status;
-import io.kubernetes.client.proto.V1.Namespace;
+import io.kubernetes.client.util.Watch;
 import io.kubernetes.client.util.Yaml;
 
 /**
@@ -88,6 +95,14 @@ public class KubernetesNamespaceImpl implements IKubernetesNamespace {
 
     private final static Log                 logger = LogFactory.getLog(KubernetesNamespaceImpl.class);
 
+    private static final int                 MAX_CONCURRENT_CREATES = 10;
+    private static final int                 MAX_WATCH_SECONDS      = 5;
+
+    //*** The order resources are created in, so that everything a workload refers to exists before it starts
+    private static final int                 TIER_CONFIGURATION = 0;
+    private static final int                 TIER_SERVICES      = 1;
+    private static final int                 TIER_WORKLOADS     = 2;
+
     private final KubernetesClusterImpl      cluster;
     private final String                     namespaceId;
     private final IFramework                 framework;
@@ -161,7 +176,25 @@ public class KubernetesNamespaceImpl implements IKubernetesNamespace {
      * @throws KubernetesManagerException Any problem with teh cluster or DSS
      */
     public void discard(String runName) throws KubernetesManagerException {
-        if (cleanNamespace()) {
+        discard(runName, true);
+    }
+
+    /**
+     * Discard all the resources that are in the namespace
+     * 
+     * @param runName The runname the namespace was allocated to so we can clean up the DSS
+     * @param wait false to only request the deletions, leaving Resource Management to free the slot 
+     *             once the resources have terminated
+     * @throws KubernetesManagerException Any problem with teh cluster or DSS
+     */
+    public void discard(String runName, boolean wait) throws KubernetesManagerException {
+        if (!wait) {
+            deleteResources(runName);
+            logger.info("Deletion of all resources requested in namespace " + getFullId() + ", the slot will be freed by Resource Management");
+            return;
+        }
+
+        if (cleanNamespace(runName)) {
             clearSlot(runName);
         }
     }
@@ -210,86 +243,99 @@ public class KubernetesNamespaceImpl implements IKubernetesNamespace {
         }
     }
 
-    private boolean cleanNamespace() throws KubernetesManagerException {
+    /**
+     * Delete all the resources labelled with the run and wait for them to terminate
+     * 
+     * @param runName The runname the namespace was allocated to
+     * @return true if the namespace is clean
+     * @throws KubernetesManagerException Any problem with the cluster
+     */
+    private boolean cleanNamespace(String runName) throws KubernetesManagerException {
+        deleteResources(runName);
+        return waitForTermination();
+    }
+
+    /**
+     * Request the deletion of all the resources the run created.  The kinds are deleted in parallel 
+     * using the run label, with deletecollection where the API supports it.  The ReplicaSets, Pods and 
+     * PersistentVolumeClaims that termination is waited for are deleted whatever their labels, otherwise 
+     * one without the run label would keep the namespace from ever becoming clean
+     * 
+     * @param runName The runname the resources are labelled with
+     * @throws KubernetesManagerException Any problem with the cluster
+     */
+    private void deleteResources(String runName) throws KubernetesManagerException {
         CoreV1Api coreApi = new CoreV1Api(this.cluster.getApi());
         AppsV1Api appsApi = new AppsV1Api(this.cluster.getApi());
-        ProtoClient pc = new ProtoClient(this.cluster.getApi());
-
-        try {
-            //*** Delete all configmaps that exist in the namespace
-            V1ConfigMapList configMapList = coreApi.listNamespacedConfigMap(this.namespaceId, null, null, null, null, null, null, null, null, null);
-
-            for(V1ConfigMap configMap : configMapList.getItems()) {
-                logger.debug("Deleting ConfigMap " + this.cluster.getId() + "/" + this.namespaceId + "/" + configMap.getMetadata().getName());
-                V1DeleteOptions options = new V1DeleteOptions();
-                options.setGracePeriodSeconds(0L);
-                coreApi.deleteNamespacedConfigMap(configMap.getMetadata().getName(), this.namespaceId, null, null, 0, null, null, null);
-            }
-
-            //*** Delete all secrets that exist in the namespace
-            V1SecretList secretList = coreApi.listNamespacedSecret(this.namespaceId, null, null, null, null, null, null, null, null, null);
-
-            for(V1Secret secret : secretList.getItems()) {
-                // Check the secret is not for a service account
-
-                V1ObjectMeta metadata = secret.getMetadata();
-                if (metadata != null && metadata.getAnnotations() != null) {
-                    if (metadata.getAnnotations().containsKey("kubernetes.io/service-account.name")) {
-                        continue;
-                    }
-                }
-
-                logger.debug("Deleting Secret " + this.cluster.getId() + "/" + this.namespaceId + "/" + secret.getMetadata().getName());
-                V1DeleteOptions options = new V1DeleteOptions();
-                options.setGracePeriodSeconds(0L);
-                coreApi.deleteNamespacedSecret(secret.getMetadata().getName(), this.namespaceId, null, null, 0, null, null, null);
-            }
-
-            //*** Delete all Deployments that exist in the namespace
-            V1DeploymentList deploymentList = appsApi.listNamespacedDeployment(this.namespaceId, null, null, null, null, null, null, null, null, null);
-
-            for(V1Deployment deployment : deploymentList.getItems()) {
-                logger.debug("Deleting Deployment " + this.cluster.getId() + "/" + this.namespaceId + "/" + deployment.getMetadata().getName());
-                V1DeleteOptions options = new V1DeleteOptions();
-                options.setGracePeriodSeconds(0L);
-                appsApi.deleteNamespacedDeployment(deployment.getMetadata().getName(), this.namespaceId, null, null, 0, null, null, options);
-            }
-
-            //*** Delete all StatefulSets that exist in the namespace
-            V1StatefulSetList statefulsetList = appsApi.listNamespacedStatefulSet(this.namespaceId, null, null, null, null, null, null, null, null, null);
-
-            for(V1StatefulSet statefulset : statefulsetList.getItems()) {
-                logger.debug("Deleting StatefulSet " + this.cluster.getId() + "/" + this.namespaceId + "/" + statefulset.getMetadata().getName());
-                V1DeleteOptions options = new V1DeleteOptions();
-                options.setGracePeriodSeconds(0L);
-                appsApi.deleteNamespacedStatefulSet(statefulset.getMetadata().getName(), this.namespaceId, null, null, 0, null, null, options);
-            }
-
-            //*** Delete all Services that exist in the namespace
-            V1ServiceList serviceList = coreApi.listNamespacedService(this.namespaceId, null, null, null, null, null, null, null, null, null);
-
+        String labelSelector = "galasa-run=" + runName;
+
+        ArrayList<Callable<Void>> deletes = new ArrayList<>();
+        deletes.add(() -> {
+            coreApi.deleteCollectionNamespacedConfigMap(this.namespaceId, null, null, null, null, labelSelector, null, null, null, null);
+            return null;
+        });
+        deletes.add(() -> {
+            //*** Service account secrets are not labelled so are left alone
+            coreApi.deleteCollectionNamespacedSecret(this.namespaceId, null, null, null, null, labelSelector, null, null, null, null);
+            return null;
+        });
+        deletes.add(() -> {
+            appsApi.deleteCollectionNamespacedDeployment(this.namespaceId, null, null, null, null, labelSelector, null, null, null, null);
+            return null;
+        });
+        deletes.add(() -> {
+            //*** Not only those of the labelled Deployments
+            appsApi.deleteCollectionNamespacedReplicaSet(this.namespaceId, null, null, null, null, null, null, null, null, null);
+            return null;
+        });
+        deletes.add(() -> {
+            appsApi.deleteCollectionNamespacedStatefulSet(this.namespaceId, null, null, null, null, labelSelector, null, null, null, null);
+            return null;
+        });
+        deletes.add(() -> {
+            //*** Returns a list rather than a single PVC, so does not suffer the status parsing problem of the single delete. 
+            //*** All the PVCs, including those created by the StatefulSet volume claim templates
+            coreApi.deleteCollectionNamespacedPersistentVolumeClaim(this.namespaceId, null, null, null, null, null, null, null, null, null);
+            return null;
+        });
+        deletes.add(() -> {
+            //*** Services do not support deletecollection
+            V1ServiceList serviceList = coreApi.listNamespacedService(this.namespaceId, null, null, null, null, labelSelector, null, null, null, null);
             for(V1Service service : serviceList.getItems()) {
                 logger.debug("Deleting Service " + this.cluster.getId() + "/" + this.namespaceId + "/" + service.getMetadata().getName());
                 coreApi.deleteNamespacedService(service.getMetadata().getName(), this.namespaceId, null, null, 0, null, null, null);
             }
+            return null;
+        });
 
-            //*** Delete all PVCs that exist in the namespace
-            V1PersistentVolumeClaimList pvcList = coreApi.listNamespacedPersistentVolumeClaim(this.namespaceId, null, null, null, null, null, null, null, null, null);
-
-            for(V1PersistentVolumeClaim pvc : pvcList.getItems()) {
-                logger.debug("Deleting PVC " + this.cluster.getId() + "/" + this.namespaceId + "/" + pvc.getMetadata().getName());
-                //TODO raise issue because the delete pvc api call fails
-
-                //                V1DeleteOptions options = new V1DeleteOptions();
-                //                options.setGracePeriodSeconds(0L);
-                //                coreApi.deleteNamespacedPersistentVolumeClaim(pvc.getMetadata().getName(), this.namespaceId, null, null, 0, null, null, null);
-                ObjectOrStatus<Message> response = pc.delete(Namespace.newBuilder(), "/api/v1/namespaces/" + this.namespaceId + "/persistentvolumeclaims/" + pvc.getMetadata().getName());
-                if (response.status != null) {
-                    throw new KubernetesManagerException("Failed to delete PVC:-\n" + response.status.toString());
+        logger.debug("Deleting all resources labelled " + labelSelector + " and all ReplicaSets, Pods and PersistentVolumeClaims in namespace " + getFullId());
+        ExecutorService executor = Executors.newFixedThreadPool(deletes.size());
+        try {
+            KubernetesManagerException failure = null;
+            for(Future<Void> delete : executor.invokeAll(deletes)) {
+                try {
+                    delete.get();
+                } catch(ExecutionException e) {
+                    if (failure == null) {
+                        failure = new KubernetesManagerException("Problem trying to delete all the resources in the namespace " + getFullId(), e.getCause());
+                    } else {
+                        logger.error("Problem trying to delete resources in the namespace " + getFullId(), e.getCause());
+                    }
                 }
             }
+            if (failure != null) {
+                throw failure;
+            }
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new KubernetesManagerException("Interrupted whilst deleting the resources in the namespace " + getFullId(), e);
+        } finally {
+            executor.shutdownNow();
+        }
 
-            //*** Delete all remaining pods
+        //*** Delete all remaining pods without a grace period, so the pods of the Deployments and StatefulSets 
+        //*** do not have to shut down gracefully before the namespace is clean
+        try {
             V1PodList pods = coreApi.listNamespacedPod(this.namespaceId, null, null, null, null, null, null, null, null, null);
             for(V1Pod pod : pods.getItems()) {
                 logger.debug("Deleting POD " + this.cluster.getId() + "/" + this.namespaceId + "/" + pod.getMetadata().getName());
@@ -299,49 +345,104 @@ public class KubernetesNamespaceImpl implements IKubernetesNamespace {
                     coreApi.deleteNamespacedPod(pod.getMetadata().getName(), this.namespaceId, null, null, 0, null, null, options);
                 } catch(Exception e) {} //*** Ignore all errors as may be deleting pods from deployments or statefulsets
             }
+        } catch(ApiException e) {
+            throw new KubernetesManagerException("Problem trying to delete the pods in the namespace " + getFullId(), e);
+        }
+    }
 
+    /**
+     * Wait for all the ReplicaSets, Pods and PersistentVolumeClaims to go.  Rather than polling, 
+     * a watch is opened on a kind that still has items and the namespace is only checked again 
+     * when something has been deleted
+     * 
+     * @return true if the namespace is clean, false if the timeout expired
+     * @throws KubernetesManagerException Any problem with the cluster
+     */
+    private boolean waitForTermination() throws KubernetesManagerException {
+        ApiClient apiClient = this.cluster.getApi();
+        CoreV1Api coreApi = new CoreV1Api(apiClient);
+        AppsV1Api appsApi = new AppsV1Api(apiClient);
 
-            //*** Waiting for all pods and replicasets to be deleted
-
-            logger.info("Waiting for all ReplicaSets, Pods and PersistentVolumeClaims to be deleted");
+        logger.info("Waiting for all ReplicaSets, Pods and PersistentVolumeClaims to be deleted");
 
-            long timeoutSeconds = 60;
-            long checkSeconds = 10;
+        long timeoutSeconds = 60;
+        long checkSeconds = 10;
 
-            if (this.framework.getTestRun() != null && this.framework.getTestRun().isLocal()) {
-                timeoutSeconds = 30;
-            }
+        if (this.framework.getTestRun() != null && this.framework.getTestRun().isLocal()) {
+            timeoutSeconds = 30;
+        }
 
-            Instant timeout = Instant.now().plusSeconds(timeoutSeconds); //  Allow a maximum of 30 seconds then leave the Resource Management to clean up
-            Instant check = Instant.now().plusSeconds(checkSeconds);
+        Instant timeout = Instant.now().plusSeconds(timeoutSeconds); //  Allow a maximum of 30 seconds then leave the Resource Management to clean up
+        Instant check = Instant.now().plusSeconds(checkSeconds);
 
+        try {
             while(timeout.isAfter(Instant.now())) {
-                V1PodList podList = coreApi.listNamespacedPod(namespaceId, null, null, null, null, null, null, null, null, null);
-                V1ReplicaSetList replicaSetList = appsApi.listNamespacedReplicaSet(this.namespaceId, null, null, null, null, null, null, null, null, null);
-                pvcList = coreApi.listNamespacedPersistentVolumeClaim(this.namespaceId, null, null, null, null, null, null, null, null, null);
-
-                if (podList.getItems().isEmpty() 
-                        && replicaSetList.getItems().isEmpty()
-                        && pvcList.getItems().isEmpty()) {
-                    logger.info("All resources discarded in namespace " + getFullId());
-                    return true;
-                }
-
                 if (check.isBefore(Instant.now())) {
                     logger.debug("Still waiting");
                     check = Instant.now().plusSeconds(checkSeconds);
                 }
 
-                Thread.sleep(1000);
-            }
+                V1PodList podList = coreApi.listNamespacedPod(this.namespaceId, null, null, null, null, null, null, null, null, null);
+                if (!podList.getItems().isEmpty()) {
+                    waitForDeletion(Watch.createWatch(apiClient, 
+                            coreApi.listNamespacedPodCall(this.namespaceId, null, null, null, null, null, null, podList.getMetadata().getResourceVersion(), watchSeconds(timeout), true, null, null), 
+                            new TypeToken<Watch.Response<V1Pod>>(){}.getType()));
+                    continue;
+                }
 
-            logger.warn("Failed to discard namespace, leaving to the next Resource Management cycle");
-            return false;
+                V1ReplicaSetList replicaSetList = appsApi.listNamespacedReplicaSet(this.namespaceId, null, null, null, null, null, null, null, null, null);
+                if (!replicaSetList.getItems().isEmpty()) {
+                    waitForDeletion(Watch.createWatch(apiClient, 
+                            appsApi.listNamespacedReplicaSetCall(this.namespaceId, null, null, null, null, null, null, replicaSetList.getMetadata().getResourceVersion(), watchSeconds(timeout), true, null, null), 
+                            new TypeToken<Watch.Response<V1ReplicaSet>>(){}.getType()));
+                    continue;
+                }
+
+                V1PersistentVolumeClaimList pvcList = coreApi.listNamespacedPersistentVolumeClaim(this.namespaceId, null, null, null, null, null, null, null, null, null);
+                if (!pvcList.getItems().isEmpty()) {
+                    waitForDeletion(Watch.createWatch(apiClient, 
+                            coreApi.listNamespacedPersistentVolumeClaimCall(this.namespaceId, null, null, null, null, null, null, pvcList.getMetadata().getResourceVersion(), watchSeconds(timeout), true, null, null), 
+                            new TypeToken<Watch.Response<V1PersistentVolumeClaim>>(){}.getType()));
+                    continue;
+                }
+
+                logger.info("All resources discarded in namespace " + getFullId());
+                return true;
+            }
         } catch(Exception e) {
-            throw new KubernetesManagerException("Problem trying to delete all the resources in the namespace " + getFullId(), e);
+            throw new KubernetesManagerException("Problem waiting for the resources in the namespace " + getFullId() + " to be deleted", e);
+        }
+
+        logger.warn("Failed to discard namespace, leaving to the next Resource Management cycle");
+        return false;
+    }
+
+    /**
+     * Block until the watch reports a deletion or the server ends the watch
+     */
+    private void waitForDeletion(Watch<?> watch) throws IOException {
+        try {
+            for(Watch.Response<?> event : watch) {
+                if ("DELETED".equals(event.type)) {
+                    return;
+                }
+            }
+        } catch(RuntimeException e) {
+            //*** The watch connection dropped, the caller will list again
+            logger.trace("Watch ended in namespace " + getFullId(), e);
+        } finally {
+            watch.close();
         }
     }
 
+    /**
+     * The watch must be ended by the server before the client read timeout, so keep it short
+     */
+    private int watchSeconds(Instant timeout) {
+        long remaining = timeout.getEpochSecond() - Instant.now().getEpochSecond();
+        return (int) Math.max(1, Math.min(MAX_WATCH_SECONDS, remaining));
+    }
+
     /**
      * Called by the resource management clean up to discard the namespace
      * 
@@ -386,19 +487,128 @@ public class KubernetesNamespaceImpl implements IKubernetesNamespace {
             throw new KubernetesManagerException("Unable to convert resource YAML to a Kubernetes resource", e);
         }
 
+        return createResource(oResource, new CoreV1Api(cluster.getApi()), new AppsV1Api(cluster.getApi()), false);
+    }
+
+    @Override
+    @NotNull
+    public List<IResource> createResources(@NotNull String yaml) throws KubernetesManagerException {
+        return createResources(yaml, false);
+    }
+
+    @Override
+    @NotNull
+    public List<IResource> apply(@NotNull String yaml) throws KubernetesManagerException {
+        return createResources(yaml, true);
+    }
+
+    private @NotNull List<IResource> createResources(String yaml, boolean apply) throws KubernetesManagerException {
+        if (yaml == null || yaml.trim().isEmpty()) {
+            throw new KubernetesManagerException("Missing YAML");
+        }
+
+        List<Object> documents;
+        try {
+            documents = new ArrayList<>(Yaml.loadAll(yaml));
+        } catch (IOException e) {
+            throw new KubernetesManagerException("Unable to convert resource YAML to Kubernetes resources", e);
+        }
+        documents.removeIf(Objects::isNull); //*** Empty documents
+
+        //*** Check all the documents are supported before creating anything
+        int[] tiers = new int[documents.size()];
+        for(int i = 0; i < documents.size(); i++) {
+            tiers[i] = resourceTier(documents.get(i));
+        }
+
+        IResource[] resources = new IResource[documents.size()];
+        if (documents.isEmpty()) {
+            return Arrays.asList(resources);
+        }
+
+        //*** The api clients are thread safe, so share them across all the creates
+        CoreV1Api coreApi = new CoreV1Api(cluster.getApi());
+        AppsV1Api appsApi = new AppsV1Api(cluster.getApi());
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(documents.size(), MAX_CONCURRENT_CREATES));
+        try {
+            for(int tier = TIER_CONFIGURATION; tier <= TIER_WORKLOADS; tier++) {
+                ArrayList<Future<Void>> creates = new ArrayList<>();
+                for(int i = 0; i < documents.size(); i++) {
+                    if (tiers[i] != tier) {
+                        continue;
+                    }
+                    final int index = i;
+                    creates.add(executor.submit(() -> {
+                        resources[index] = createResource(documents.get(index), coreApi, appsApi, apply);
+                        return null;
+                    }));
+                }
+                waitForCreates(creates);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        return Arrays.asList(resources);
+    }
+
+    private int resourceTier(Object oResource) throws KubernetesManagerException {
+        if (oResource instanceof V1ConfigMap 
+                || oResource instanceof V1Secret 
+                || oResource instanceof V1PersistentVolumeClaim) {
+            return TIER_CONFIGURATION;
+        } else if (oResource instanceof V1Service) {
+            return TIER_SERVICES;
+        } else if (oResource instanceof V1Deployment 
+                || oResource instanceof V1StatefulSet) {
+            return TIER_WORKLOADS;
+        }
+        throw new KubernetesManagerException("The Kubernetes Manager does not at present support resource type " + oResource.getClass().getSimpleName());
+    }
+
+    /**
+     * Wait for all the creates of a tier to finish, so the next tier is only started if they all worked
+     */
+    private void waitForCreates(List<Future<Void>> creates) throws KubernetesManagerException {
+        KubernetesManagerException failure = null;
+        for(Future<Void> create : creates) {
+            try {
+                create.get();
+            } catch(ExecutionException e) {
+                if (failure == null) {
+                    if (e.getCause() instanceof KubernetesManagerException) {
+                        failure = (KubernetesManagerException) e.getCause();
+                    } else {
+                        failure = new KubernetesManagerException("Unable to create resource", e.getCause());
+                    }
+                } else {
+                    logger.error("Unable to create resource", e.getCause());
+                }
+            } catch(InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new KubernetesManagerException("Interrupted whilst creating resources", e);
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private @NotNull IResource createResource(Object oResource, CoreV1Api coreApi, AppsV1Api appsApi, boolean apply) throws KubernetesManagerException {
         try {
             if (oResource instanceof V1ConfigMap) {
-                return createConfigMap((V1ConfigMap) oResource);
+                return createConfigMap((V1ConfigMap) oResource, coreApi, apply);
             } else if (oResource instanceof V1PersistentVolumeClaim) {
-                return createPersistentVolumeClaim((V1PersistentVolumeClaim) oResource);
+                return createPersistentVolumeClaim((V1PersistentVolumeClaim) oResource, coreApi, apply);
             } else if (oResource instanceof V1Secret) {
-                return createSecret((V1Secret) oResource);
+                return createSecret((V1Secret) oResource, coreApi, apply);
             } else if (oResource instanceof V1Deployment) {
-                return createDeployment((V1Deployment) oResource);
+                return createDeployment((V1Deployment) oResource, appsApi, apply);
             } else if (oResource instanceof V1StatefulSet) {
-                return createStatefulSet((V1StatefulSet) oResource);
+                return createStatefulSet((V1StatefulSet) oResource, appsApi, apply);
             } else if (oResource instanceof V1Service) {
-                return createService((V1Service) oResource);
+                return createService((V1Service) oResource, coreApi, apply);
             } else {
                 throw new KubernetesManagerException("The Kubernetes Manager does not at present support resource type " + oResource.getClass().getSimpleName());
             }
@@ -407,12 +617,29 @@ public class KubernetesNamespaceImpl implements IKubernetesNamespace {
         }
     }
 
-    private @NotNull IResource createPersistentVolumeClaim(@NotNull V1PersistentVolumeClaim persistentVolumeClaim) throws KubernetesManagerException, ApiException {
+    /**
+     * Create a resource, or if applying and it already exists, replace it
+     */
+    private <T> T createOrReplace(boolean apply, ApiCall<T> create, ApiCall<T> replace) throws ApiException {
+        try {
+            return create.call();
+        } catch(ApiException e) {
+            if (!apply || e.getCode() != 409) {
+                throw e;
+            }
+            return replace.call();
+        }
+    }
+
+    private interface ApiCall<T> {
+        T call() throws ApiException;
+    }
+
+    private @NotNull IResource createPersistentVolumeClaim(@NotNull V1PersistentVolumeClaim persistentVolumeClaim, CoreV1Api api, boolean apply) throws KubernetesManagerException, ApiException {
         if (persistentVolumeClaim.getMetadata() == null) {
             persistentVolumeClaim.setMetadata(new V1ObjectMeta());
         }
         addRunLabel(persistentVolumeClaim.getMetadata());
-        CoreV1Api api = new CoreV1Api(cluster.getApi());
 
         String storageClass = KubernetesStorageClass.get(this.cluster);
         if (storageClass != null) {
@@ -425,7 +652,11 @@ public class KubernetesNamespaceImpl implements IKubernetesNamespace {
             spec.setStorageClassName(storageClass);
         }
 
-        V1PersistentVolumeClaim actualPvc = api.createNamespacedPersistentVolumeClaim(this.namespaceId, persistentVolumeClaim, null, null, null);
+        //*** The spec of a bound claim cannot be changed, so an existing claim is left as it is
+        String name = persistentVolumeClaim.getMetadata().getName();
+        V1PersistentVolumeClaim actualPvc = createOrReplace(apply, 
+                () -> api.createNamespacedPersistentVolumeClaim(this.namespaceId, persistentVolumeClaim, null, null, null), 
+                () -> api.readNamespacedPersistentVolumeClaim(name, this.namespaceId, null, null, null));
 
         logger.debug("PersistentVolumeClaim " + actualPvc.getMetadata().getName() + " created in namespace " + this.namespaceId + " on cluster " + this.cluster.getId());
 
@@ -439,14 +670,16 @@ public class KubernetesNamespaceImpl implements IKubernetesNamespace {
         metadata.getLabels().put("galasa-run", runName);
 
     }
-    private @NotNull IResource createConfigMap(@NotNull V1ConfigMap configMap) throws KubernetesManagerException, ApiException {
+    private @NotNull IResource createConfigMap(@NotNull V1ConfigMap configMap, CoreV1Api api, boolean apply) throws KubernetesManagerException, ApiException {
         if (configMap.getMetadata() == null) {
             configMap.setMetadata(new V1ObjectMeta());
         }
         addRunLabel(configMap.getMetadata());
 
-        CoreV1Api api = new CoreV1Api(cluster.getApi());
-        V1ConfigMap actualConfig = api.createNamespacedConfigMap(namespaceId, configMap, null, null, null);
+        String name = configMap.getMetadata().getName();
+        V1ConfigMap actualConfig = createOrReplace(apply, 
+                () -> api.createNamespacedConfigMap(namespaceId, configMap, null, null, null), 
+                () -> api.replaceNamespacedConfigMap(name, namespaceId, configMap, null, null, null));
 
         logger.debug("ConfigMap " + actualConfig.getMetadata().getName() + " created in namespace " + this.namespaceId + " on cluster " + this.cluster.getId());
 
@@ -454,35 +687,47 @@ public class KubernetesNamespaceImpl implements IKubernetesNamespace {
     }
 
 
-    private @NotNull IResource createSecret(@NotNull V1Secret secret) throws KubernetesManagerException, ApiException {
+    private @NotNull IResource createSecret(@NotNull V1Secret secret, CoreV1Api api, boolean apply) throws KubernetesManagerException, ApiException {
         if (secret.getMetadata() == null) {
             secret.setMetadata(new V1ObjectMeta());
         }
         addRunLabel(secret.getMetadata());
 
-        CoreV1Api api = new CoreV1Api(cluster.getApi());
-        V1Secret actualSecret = api.createNamespacedSecret(namespaceId, secret, null, null, null);
+        String name = secret.getMetadata().getName();
+        V1Secret actualSecret = createOrReplace(apply, 
+                () -> api.createNamespacedSecret(namespaceId, secret, null, null, null), 
+                () -> api.replaceNamespacedSecret(name, namespaceId, secret, null, null, null));
 
         logger.debug("Secret " + actualSecret.getMetadata().getName() + " created in namespace " + this.namespaceId + " on cluster " + this.cluster.getId());
 
         return new SecretImpl(this, actualSecret);
     }
 
-    private @NotNull IResource createService(@NotNull V1Service service) throws KubernetesManagerException, ApiException {
+    private @NotNull IResource createService(@NotNull V1Service service, CoreV1Api api, boolean apply) throws KubernetesManagerException, ApiException {
         if (service.getMetadata() == null) {
             service.setMetadata(new V1ObjectMeta());
         }
         addRunLabel(service.getMetadata());
 
-        CoreV1Api api = new CoreV1Api(cluster.getApi());
-        V1Service actualService = api.createNamespacedService(namespaceId, service, null, null, null);
+        String name = service.getMetadata().getName();
+        V1Service actualService = createOrReplace(apply, 
+                () -> api.createNamespacedService(namespaceId, service, null, null, null), 
+                () -> {
+                    //*** A replace must carry the resource version and the allocated cluster ip
+                    V1Service existingService = api.readNamespacedService(name, namespaceId, null, null, null);
+                    service.getMetadata().setResourceVersion(existingService.getMetadata().getResourceVersion());
+                    if (service.getSpec() != null && existingService.getSpec() != null && service.getSpec().getClusterIP() == null) {
+                        service.getSpec().setClusterIP(existingService.getSpec().getClusterIP());
+                    }
+                    return api.replaceNamespacedService(name, namespaceId, service, null, null, null);
+                });
 
         logger.debug("Service " + actualService.getMetadata().getName() + " created in namespace " + this.namespaceId + " on cluster " + this.cluster.getId());
 
         return new ServiceImpl(this, actualService);
     }
 
-    private @NotNull IResource createDeployment(@NotNull V1Deployment deployment) throws KubernetesManagerException, ApiException {
+    private @NotNull IResource createDeployment(@NotNull V1Deployment deployment, AppsV1Api api, boolean apply) throws KubernetesManagerException, ApiException {
         if (deployment.getMetadata() == null) {
             deployment.setMetadata(new V1ObjectMeta());
         }
@@ -497,15 +742,17 @@ public class KubernetesNamespaceImpl implements IKubernetesNamespace {
         }
 
 
-        AppsV1Api api = new AppsV1Api(cluster.getApi());
-        V1Deployment actualDeployment = api.createNamespacedDeployment(namespaceId, deployment, null, null, null);
+        String name = deployment.getMetadata().getName();
+        V1Deployment actualDeployment = createOrReplace(apply, 
+                () -> api.createNamespacedDeployment(namespaceId, deployment, null, null, null), 
+                () -> api.replaceNamespacedDeployment(name, namespaceId, deployment, null, null, null));
 
         logger.debug("Deployment " + actualDeployment.getMetadata().getName() + " created in namespace " + this.namespaceId + " on cluster " + this.cluster.getId());
 
         return new DeploymentImpl(this, actualDeployment);
     }
 
-    private @NotNull IResource createStatefulSet(@NotNull V1StatefulSet statefulSet) throws KubernetesManagerException, ApiException {
+    private @NotNull IResource createStatefulSet(@NotNull V1StatefulSet statefulSet, AppsV1Api api, boolean apply) throws KubernetesManagerException, ApiException {
         if (statefulSet.getMetadata() == null) {
             statefulSet.setMetadata(new V1ObjectMeta());
         }
@@ -528,8 +775,6 @@ public class KubernetesNamespaceImpl implements IKubernetesNamespace {
             }
         }
 
-        AppsV1Api api = new AppsV1Api(cluster.getApi());
-
         //*** Add the storage class to any persistent volume claim templates
         String storageClass = KubernetesStorageClass.get(this.cluster);
         if (storageClass != null) {
@@ -553,7 +798,10 @@ public class KubernetesNamespaceImpl implements IKubernetesNamespace {
 
 
 
-        V1StatefulSet actualStatefulSet = api.createNamespacedStatefulSet(namespaceId, statefulSet, null, null, null);
+        String name = statefulSet.getMetadata().getName();
+        V1StatefulSet actualStatefulSet = createOrReplace(apply, 
+                () -> api.createNamespacedStatefulSet(namespaceId, statefulSet, null, null, null), 
+                () -> api.replaceNamespacedStatefulSet(name, namespaceId, statefulSet, null, null, null));
 
         logger.debug("StatefulSet " + actualStatefulSet.getMetadata().getName() + " created in namespace " + this.namespaceId + " on cluster " + this.cluster.getId());
 
@@ -5,7 +5,6 @@
  */
 package dev.galasa.kubernetes.internal;
 
-import java.util.Map;
 import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -13,6 +12,7 @@ import java.util.regex.Pattern;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
+import dev.galasa.core.manager.spi.RunResourceReclaimer;
 import dev.galasa.framework.spi.IConfigurationPropertyStoreService;
 import dev.galasa.framework.spi.IDynamicStatusStoreService;
 import dev.galasa.framework.spi.IFramework;
@@ -29,6 +29,7 @@ public class KubernetesNamespaceResourceMonitor implements Runnable {
 	private final IFramework                 framework;
 	private final IResourceManagement        resourceManagement;
 	private final IDynamicStatusStoreService dss;
+	private final RunResourceReclaimer       reclaimer;
 	private final Log                        logger = LogFactory.getLog(this.getClass());
 	private final Pattern                    slotRunPattern = Pattern.compile("^slot\\.run\\.(\\w+)\\.cluster\\.(\\w+)\\.namespace\\.(\\w+)$");
 
@@ -40,6 +41,8 @@ public class KubernetesNamespaceResourceMonitor implements Runnable {
 		this.framework          = framework;
 		this.resourceManagement = resourceManagement;
 		this.dss = dss;
+		this.reclaimer = new RunResourceReclaimer(framework, dss, "slot.run.", slotRunPattern, 1, 
+				runName -> "slot.run." + runName + ".", RunResourceReclaimer.DEFAULT_RECONCILE_INTERVAL, this::discardNamespace);
 		this.logger.info("Kubernetes Namespace resource monitor initialised");
 	}
 
@@ -48,30 +51,8 @@ public class KubernetesNamespaceResourceMonitor implements Runnable {
 	public void run() {
 		logger.info("Starting Kubernetes Namespace search");
 		try {
-			//*** Find all the runs with slots
-			Map<String, String> slotRuns = dss.getPrefix("slot.run.");
-			
-			Set<String> activeRunNames = this.framework.getFrameworkRuns().getActiveRunNames();
-
-			for(String key : slotRuns.keySet()) {
-				Matcher matcher = slotRunPattern.matcher(key);
-				if (matcher.find()) {
-					String runName = matcher.group(1);
-
-					if (!activeRunNames.contains(runName)) {
-						String cluster   = matcher.group(2);
-						String namespace = matcher.group(3);
-
-						logger.info("Discarding Namespace " + namespace + " on cluster " + cluster + " as run " + runName + " has gone");
-
-						try {
-							KubernetesNamespaceImpl.deleteDss(runName, cluster, namespace, dss, this.framework);
-						} catch(Exception e) {
-							logger.error("Failed to discard namespace " + namespace + " on cluster " + cluster + " as run " + runName,e);
-						}
-					}
-				}
-			}
+			//*** Discard the namespaces of the runs that have gone
+			this.reclaimer.reclaim();
 		} catch(Exception e) {
 			logger.error("Failure during slot scan",e);
 		}
@@ -82,24 +63,22 @@ public class KubernetesNamespaceResourceMonitor implements Runnable {
 
 	public void runFinishedOrDeleted(String runName) {
 		try {
-			Map<String, String> slotRuns = dss.getPrefix("slot.run." + runName + ".");
-			for(String key : slotRuns.keySet()) {
-				Matcher matcher = slotRunPattern.matcher(key);
-				if (matcher.find()) {
-					String cluster   = matcher.group(2);
-					String namespace = matcher.group(3);
+			this.reclaimer.runFinishedOrDeleted(runName);
+		} catch(Exception e) {
+			logger.error("Failed to delete namespaces for run " + runName);
+		}
+	}
+
+	private void discardNamespace(String runName, Matcher matcher, Set<String> deleteProperties) {
+		String cluster   = matcher.group(2);
+		String namespace = matcher.group(3);
 
-					logger.info("Discarding Namespace " + namespace + " on cluster " + cluster + " as run " + runName + " has gone");
+		logger.info("Discarding Namespace " + namespace + " on cluster " + cluster + " as run " + runName + " has gone");
 
-					try {
-                        KubernetesNamespaceImpl.deleteDss(runName, cluster, namespace, dss, this.framework);
-					} catch(Exception e) {
-						logger.error("Failed to discard namespace " + namespace + " on cluster " + cluster + " as run " + runName,e);
-					}
-				}
-			}
+		try {
+			KubernetesNamespaceImpl.deleteDss(runName, cluster, namespace, dss, this.framework);
 		} catch(Exception e) {
-			logger.error("Failed to delete namespaces for run " + runName);
+			logger.error("Failed to discard namespace " + namespace + " on cluster " + cluster + " as run " + runName,e);
 		}
 	}
 
@@ -0,0 +1,39 @@
+/*
+ * Licensed Materials - Property of IBM
+ * 
+ * (c) Copyright IBM Corp. 2020.
+ */
+package dev.galasa.kubernetes.internal.properties;
+
+import dev.galasa.framework.spi.cps.CpsProperties;
+import dev.galasa.kubernetes.KubernetesManagerException;
+import dev.galasa.kubernetes.internal.KubernetesClusterImpl;
+
+
+/**
+ * Kubernetes Namespace Recycle CPS Property
+ * 
+ * @galasa.cps.property
+ * 
+ * @galasa.name kubernetes.cluster.[XXXX.]namespace.recycle
+ * 
+ * @galasa.description When true, a test run only requests the deletion of the resources in its namespaces at the end of the run
+ * and does not wait for them to terminate. The slot is freed by Resource Management once the namespace is clean.
+ * 
+ * @galasa.required No
+ * 
+ * @galasa.default false
+ * 
+ * @galasa.valid_values true or false
+ * 
+ * @galasa.examples 
+ * <code>kubernetes.cluster.K8S.namespace.recycle=true<br>
+ * kubernetes.cluster.namespace.recycle=false</code>
+ * 
+ */
+public class KubernetesNamespaceRecycle extends CpsProperties {
+
+    public static boolean get(KubernetesClusterImpl cluster) throws KubernetesManagerException {
+       return Boolean.parseBoolean(getStringWithDefault(KubernetesPropertiesSingleton.cps(), "false", "cluster", "namespace.recycle", cluster.getId()));
+    }
+}
\ No newline at end of file
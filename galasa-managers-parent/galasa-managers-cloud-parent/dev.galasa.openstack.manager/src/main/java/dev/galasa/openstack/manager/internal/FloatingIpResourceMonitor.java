@@ -5,7 +5,6 @@
  */
 package dev.galasa.openstack.manager.internal;
 
-import java.util.Map;
 import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -13,26 +12,28 @@ import java.util.regex.Pattern;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
+import dev.galasa.core.manager.spi.RunResourceReclaimer;
 import dev.galasa.framework.spi.IDynamicStatusStoreService;
 import dev.galasa.framework.spi.IFramework;
 import dev.galasa.framework.spi.IResourceManagement;
 
 public class FloatingIpResourceMonitor implements Runnable {
 
-    private final IFramework                 framework;
     private final IResourceManagement        resourceManagement;
     private final OpenstackHttpClient        openstackHttpClient;
     private final IDynamicStatusStoreService dss;
+    private final RunResourceReclaimer       reclaimer;
     private final Log                        logger     = LogFactory.getLog(this.getClass());
 
     private final Pattern                    fipPattern = Pattern.compile("^run\\.(\\w+)\\.floatingip\\.(\\w+)$");
 
     public FloatingIpResourceMonitor(IFramework framework, IResourceManagement resourceManagement,
             IDynamicStatusStoreService dss, OpenstackHttpClient openstackHttpClient) {
-        this.framework = framework;
         this.resourceManagement = resourceManagement;
         this.dss = dss;
         this.openstackHttpClient = openstackHttpClient;
+        this.reclaimer = new RunResourceReclaimer(framework, dss, "run.", fipPattern, 1, runName -> "run." + runName + ".",
+                RunResourceReclaimer.DEFAULT_RECONCILE_INTERVAL, this::discardFloatingIp);
         this.logger.info("OpenStack FloatingIP resource monitor initialised");
     }
 
@@ -40,32 +41,8 @@ public class FloatingIpResourceMonitor implements Runnable {
     public void run() {
         logger.info("Starting OpenStack FloatingIP search");
         try {
-            // *** Find all the runs with slots
-            Map<String, String> computeServers = dss.getPrefix("run.");
-
-            Set<String> activeRunNames = this.framework.getFrameworkRuns().getActiveRunNames();
-
-            for (String key : computeServers.keySet()) {
-                Matcher matcher = fipPattern.matcher(key);
-                if (matcher.find()) {
-                    String floatingip = matcher.group(2);
-                    String runName = matcher.group(1);
-
-                    if (!activeRunNames.contains(runName)) {
-                        logger.info(
-                                "Discarding OpenStack FloatingIP " + floatingip + " as run " + runName + " has gone");
-
-                        try {
-                            String fip = floatingip.replaceAll("_", ".");
-
-                            OpenstackServerImpl.deleteFloatingIpByName(fip, runName, dss, this.openstackHttpClient);
-                        } catch (Exception e) {
-                            logger.error(
-                                    "Failed to discard OpenStack FloatingIP " + floatingip + " for run " + runName);
-                        }
-                    }
-                }
-            }
+            // *** Discard the FloatingIPs of the runs that have gone
+            this.reclaimer.reclaim();
         } catch (Exception e) {
             logger.error("Failure during OpenStack FloatingIP scan", e);
         }
@@ -76,25 +53,23 @@ public class FloatingIpResourceMonitor implements Runnable {
 
     public void runFinishedOrDeleted(String runName) {
         try {
-            Map<String, String> fipRuns = dss.getPrefix("run." + runName + ".");
-            for (String key : fipRuns.keySet()) {
-                Matcher matcher = fipPattern.matcher(key);
-                if (matcher.find()) {
-                    String floatingip = matcher.group(2);
+            this.reclaimer.runFinishedOrDeleted(runName);
+        } catch (Exception e) {
+            logger.error("Failed to delete OpenStack FloatingIP for run " + runName);
+        }
+    }
 
-                    logger.info("Discarding OpenStack FloatingIP " + floatingip + " as run " + runName + " has gone");
+    private void discardFloatingIp(String runName, Matcher matcher, Set<String> deleteProperties) {
+        String floatingip = matcher.group(2);
 
-                    try {
-                        String fip = floatingip.replaceAll("_", ".");
+        logger.info("Discarding OpenStack FloatingIP " + floatingip + " as run " + runName + " has gone");
 
-                        OpenstackServerImpl.deleteFloatingIpByName(fip, runName, dss, this.openstackHttpClient);
-                    } catch (Exception e) {
-                        logger.error("Failed to discard OpenStack FloatingIP " + floatingip + " for run " + runName);
-                    }
-                }
-            }
+        try {
+            String fip = floatingip.replaceAll("_", ".");
+
+            OpenstackServerImpl.deleteFloatingIpByName(fip, runName, dss, this.openstackHttpClient);
         } catch (Exception e) {
-            logger.error("Failed to delete OpenStack FloatingIP for run " + runName);
+            logger.error("Failed to discard OpenStack FloatingIP " + floatingip + " for run " + runName);
         }
     }
 
@@ -5,6 +5,9 @@
  */
 package dev.galasa.openstack.manager.internal;
 
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 
@@ -56,10 +59,12 @@ import dev.galasa.openstack.manager.internal.json.PortsResponse;
 import dev.galasa.openstack.manager.internal.json.Project;
 import dev.galasa.openstack.manager.internal.json.Scope;
 import dev.galasa.openstack.manager.internal.json.Server;
+import dev.galasa.openstack.manager.internal.json.ServerRebuildRequest;
 import dev.galasa.openstack.manager.internal.json.ServerRequest;
 import dev.galasa.openstack.manager.internal.json.ServerResponse;
 import dev.galasa.openstack.manager.internal.json.ServersResponse;
 import dev.galasa.openstack.manager.internal.json.User;
+import dev.galasa.openstack.manager.internal.properties.CatalogCacheTtl;
 import dev.galasa.openstack.manager.internal.properties.OpenStackCredentialsId;
 import dev.galasa.openstack.manager.internal.properties.OpenStackDomainName;
 import dev.galasa.openstack.manager.internal.properties.OpenStackIdentityUri;
@@ -72,6 +77,7 @@ public class OpenstackHttpClient {
     private final IFramework          framework;
 
     private final CloseableHttpClient httpClient;
+    private OpenstackSession          session;
     private OpenstackToken            openstackToken;
 
     private String                    openstackImageUri;
@@ -86,7 +92,7 @@ public class OpenstackHttpClient {
 
     }
 
-    protected void checkToken() throws OpenstackManagerException {
+    protected synchronized void checkToken() throws OpenstackManagerException {
         if (openstackToken == null || !openstackToken.isOk()) {
             this.openstackToken = null;
             if (!connectToOpenstack()) {
@@ -127,95 +133,131 @@ public class OpenstackHttpClient {
                 return false;
             }
 
-            AuthTokens authTokens = new AuthTokens();
-            authTokens.auth = new Auth();
-            authTokens.auth.identity = new Identity();
-            authTokens.auth.identity.methods = new ArrayList<>();
-            authTokens.auth.identity.methods.add("password");
-            authTokens.auth.identity.password = new Password();
-            authTokens.auth.identity.password.user = new User();
-            authTokens.auth.identity.password.user.name = usernamePassword.getUsername();
-            authTokens.auth.identity.password.user.password = usernamePassword.getPassword();
-            authTokens.auth.identity.password.user.domain = new Domain();
-            authTokens.auth.identity.password.user.domain.name = domain;
-            authTokens.auth.scope = new Scope();
-            authTokens.auth.scope.project = new Project();
-            authTokens.auth.scope.project.name = project;
-            authTokens.auth.scope.project.domain = new Domain();
-            authTokens.auth.scope.project.domain.name = domain;
-
-            String content = gson.toJson(authTokens);
-
-            HttpPost post = new HttpPost(identityEndpoint + "/auth/tokens");
-            StringEntity entity = new StringEntity(content, ContentType.APPLICATION_JSON);
-            post.setEntity(entity);
-
-            try (CloseableHttpResponse response = this.httpClient.execute(post)) {
-                StatusLine status = response.getStatusLine();
-                HttpEntity responseEntity = response.getEntity();
-                String responseString = EntityUtils.toString(responseEntity);
-                if (status.getStatusCode() != HttpStatus.SC_CREATED) {
-                    logger.warn("OpenStack is not available due to identity responding with " + status);
-                    return false;
+            this.session = OpenstackSession.get(identityEndpoint, domain, project, usernamePassword.getUsername());
+            synchronized (this.session) {
+                // *** Another client in this JVM may already hold a token for the project
+                OpenstackToken sharedToken = this.session.getToken();
+                if (sharedToken != null) {
+                    useSessionToken(sharedToken);
+                    return true;
                 }
 
-                AuthTokenResponse tokenResponse = gson.fromJson(responseString, AuthTokenResponse.class);
-                Header tokenHeader = response.getFirstHeader("X-Subject-Token");
-                if (tokenHeader == null) {
-                    logger.warn("OpenStack is not available due to missing X-Subject-Token");
-                    return false;
-                }
+                return authenticate(identityEndpoint, domain, project, usernamePassword);
+            }
+        } catch (Exception e) {
+            logger.warn("OpenStack is not available due to " + e.getMessage()); // not reporting full stacktrace to keep
+                                                                                // log compact, as this could be
+                                                                                // expected
+            return false;
+        }
+    }
 
-                this.openstackImageUri = null;
+    private boolean authenticate(String identityEndpoint, String domain, String project,
+            ICredentialsUsernamePassword usernamePassword) throws Exception {
+        AuthTokens authTokens = new AuthTokens();
+        authTokens.auth = new Auth();
+        authTokens.auth.identity = new Identity();
+        authTokens.auth.identity.methods = new ArrayList<>();
+        authTokens.auth.identity.methods.add("password");
+        authTokens.auth.identity.password = new Password();
+        authTokens.auth.identity.password.user = new User();
+        authTokens.auth.identity.password.user.name = usernamePassword.getUsername();
+        authTokens.auth.identity.password.user.password = usernamePassword.getPassword();
+        authTokens.auth.identity.password.user.domain = new Domain();
+        authTokens.auth.identity.password.user.domain.name = domain;
+        authTokens.auth.scope = new Scope();
+        authTokens.auth.scope.project = new Project();
+        authTokens.auth.scope.project.name = project;
+        authTokens.auth.scope.project.domain = new Domain();
+        authTokens.auth.scope.project.domain.name = domain;
+
+        String content = gson.toJson(authTokens);
+
+        HttpPost post = new HttpPost(identityEndpoint + "/auth/tokens");
+        StringEntity entity = new StringEntity(content, ContentType.APPLICATION_JSON);
+        post.setEntity(entity);
+
+        try (CloseableHttpResponse response = this.httpClient.execute(post)) {
+            StatusLine status = response.getStatusLine();
+            HttpEntity responseEntity = response.getEntity();
+            String responseString = EntityUtils.toString(responseEntity);
+            if (status.getStatusCode() != HttpStatus.SC_CREATED) {
+                logger.warn("OpenStack is not available due to identity responding with " + status);
+                return false;
+            }
+
+            AuthTokenResponse tokenResponse = gson.fromJson(responseString, AuthTokenResponse.class);
+            Header tokenHeader = response.getFirstHeader("X-Subject-Token");
+            if (tokenHeader == null) {
+                logger.warn("OpenStack is not available due to missing X-Subject-Token");
+                return false;
+            }
 
-                if (tokenResponse.token != null && tokenResponse.token.catalog != null) {
-                    for (Api api : tokenResponse.token.catalog) {
-                        if ("image".equals(api.type)) {
-                            if (api.endpoints != null) {
-                                for (Endpoint endpoint : api.endpoints) {
-                                    if ("public".equals(endpoint.endpoint_interface)) {
-                                        this.openstackImageUri = endpoint.url;
-                                    }
+            String imageUri = null;
+            String computeUri = null;
+            String networkUri = null;
+
+            if (tokenResponse.token != null && tokenResponse.token.catalog != null) {
+                for (Api api : tokenResponse.token.catalog) {
+                    if ("image".equals(api.type)) {
+                        if (api.endpoints != null) {
+                            for (Endpoint endpoint : api.endpoints) {
+                                if ("public".equals(endpoint.endpoint_interface)) {
+                                    imageUri = endpoint.url;
                                 }
                             }
-                        } else if ("compute".equals(api.type)) {
-                            if (api.endpoints != null) {
-                                for (Endpoint endpoint : api.endpoints) {
-                                    if ("public".equals(endpoint.endpoint_interface)) {
-                                        this.openstackComputeUri = endpoint.url;
-                                    }
+                        }
+                    } else if ("compute".equals(api.type)) {
+                        if (api.endpoints != null) {
+                            for (Endpoint endpoint : api.endpoints) {
+                                if ("public".equals(endpoint.endpoint_interface)) {
+                                    computeUri = endpoint.url;
                                 }
                             }
-                        } else if ("network".equals(api.type)) {
-                            if (api.endpoints != null) {
-                                for (Endpoint endpoint : api.endpoints) {
-                                    if ("public".equals(endpoint.endpoint_interface)) {
-                                        this.openstackNetworkUri = endpoint.url;
-                                    }
+                        }
+                    } else if ("network".equals(api.type)) {
+                        if (api.endpoints != null) {
+                            for (Endpoint endpoint : api.endpoints) {
+                                if ("public".equals(endpoint.endpoint_interface)) {
+                                    networkUri = endpoint.url;
                                 }
                             }
                         }
-
                     }
-                }
 
-                if (this.openstackImageUri == null) {
-                    logger.info("OpenStack is not available as some APIs are missing");
-                    return false;
                 }
+            }
 
-                String tokenString = tokenHeader.getValue();
-                ZonedDateTime zdt = ZonedDateTime.parse(tokenResponse.token.expires_at);
+            if (imageUri == null) {
+                logger.info("OpenStack is not available as some APIs are missing");
+                return false;
+            }
 
-                this.openstackToken = new OpenstackToken(tokenString, zdt.toInstant());
+            String tokenString = tokenHeader.getValue();
+            ZonedDateTime zdt = ZonedDateTime.parse(tokenResponse.token.expires_at);
 
-                return true;
-            }
-        } catch (Exception e) {
-            logger.warn("OpenStack is not available due to " + e.getMessage()); // not reporting full stacktrace to keep
-                                                                                // log compact, as this could be
-                                                                                // expected
-            return false;
+            OpenstackToken token = new OpenstackToken(tokenString, zdt.toInstant());
+            this.session.setToken(token, imageUri, computeUri, networkUri);
+            useSessionToken(token);
+
+            return true;
+        }
+    }
+
+    private void useSessionToken(OpenstackToken token) {
+        this.openstackToken = token;
+        this.openstackImageUri = this.session.getImageUri();
+        this.openstackComputeUri = this.session.getComputeUri();
+        this.openstackNetworkUri = this.session.getNetworkUri();
+    }
+
+    /**
+     * Forget the cached image, flavor and network lookups, so the next lookups go
+     * to OpenStack
+     */
+    public void invalidateCatalog() {
+        if (this.session != null) {
+            this.session.invalidateCatalog();
         }
     }
 
@@ -223,9 +265,9 @@ public class OpenstackHttpClient {
         try {
             checkToken();
 
-            // *** Retrieve a list of the networks available and select one
+            // *** Ask OpenStack to filter the servers by name, the name filter is a regex
 
-            HttpGet get = new HttpGet(this.openstackComputeUri + "/servers");
+            HttpGet get = new HttpGet(this.openstackComputeUri + "/servers?name=" + encode("^" + serverName + "$"));
             get.addHeader(this.openstackToken.getHeader());
 
             try (CloseableHttpResponse response = httpClient.execute(get)) {
@@ -359,13 +401,44 @@ public class OpenstackHttpClient {
         }
     }
 
+    public void rebuildServer(@NotNull Server server, @NotNull String imageRef) throws OpenstackManagerException {
+        try {
+            checkToken();
+
+            // *** Rebuild the server from the image, keeping its id, name and ports
+
+            Server rebuild = new Server();
+            rebuild.imageRef = imageRef;
+            ServerRebuildRequest rebuildRequest = new ServerRebuildRequest();
+            rebuildRequest.rebuild = rebuild;
+
+            HttpPost post = new HttpPost(this.openstackComputeUri + "/servers/" + server.id + "/action");
+            post.addHeader(this.openstackToken.getHeader());
+            post.setEntity(new StringEntity(gson.toJson(rebuildRequest), ContentType.APPLICATION_JSON));
+
+            try (CloseableHttpResponse response = this.httpClient.execute(post)) {
+                StatusLine status = response.getStatusLine();
+                String entity = EntityUtils.toString(response.getEntity());
+
+                if (status.getStatusCode() != HttpStatus.SC_ACCEPTED) {
+                    throw new OpenstackManagerException("OpenStack rebuild server failed - " + status + "\n" + entity);
+                }
+            }
+        } catch (OpenstackManagerException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new OpenstackManagerException("Unable to rebuild server ", e);
+        }
+    }
+
     public Floatingip findFloatingIpByName(String fipName) throws OpenstackManagerException {
         try {
             checkToken();
 
             // *** Retrieve a list of the floating ips allocated to the project
 
-            HttpGet get = new HttpGet(this.openstackNetworkUri + "/v2.0/floatingips");
+            HttpGet get = new HttpGet(
+                    this.openstackNetworkUri + "/v2.0/floatingips?floating_ip_address=" + encode(fipName));
             get.addHeader(this.openstackToken.getHeader());
 
             try (CloseableHttpResponse response = httpClient.execute(get)) {
@@ -464,9 +537,9 @@ public class OpenstackHttpClient {
         try {
             checkToken();
 
-            // *** Retrieve all the ports and extract the correct one
+            // *** Retrieve the ports of the device and extract the correct one
 
-            HttpGet get = new HttpGet(this.openstackNetworkUri + "/v2.0/ports");
+            HttpGet get = new HttpGet(this.openstackNetworkUri + "/v2.0/ports?device_id=" + encode(deviceId));
             get.addHeader(this.openstackToken.getHeader());
 
             try (CloseableHttpResponse response = httpClient.execute(get)) {
@@ -523,9 +596,15 @@ public class OpenstackHttpClient {
         try {
             checkToken();
 
-            // *** Retrieve a list of the images
+            String cacheKey = "image." + image;
+            String cachedId = this.session.getCatalogEntry(cacheKey, CatalogCacheTtl.get());
+            if (cachedId != null) {
+                return cachedId;
+            }
+
+            // *** Retrieve the images with the name
 
-            HttpGet get = new HttpGet(this.openstackImageUri + "/v2.5/images");
+            HttpGet get = new HttpGet(this.openstackImageUri + "/v2.5/images?name=" + encode(image));
             get.addHeader(this.openstackToken.getHeader());
 
             try (CloseableHttpResponse response = httpClient.execute(get)) {
@@ -541,6 +620,7 @@ public class OpenstackHttpClient {
                     for (Image i : images.images) {
                         if (i.name != null) {
                             if (image.equals(i.name)) {
+                                this.session.putCatalogEntry(cacheKey, i.id);
                                 return i.id;
                             }
                         }
@@ -559,7 +639,13 @@ public class OpenstackHttpClient {
         try {
             checkToken();
 
-            // *** Retrieve a list of the images
+            String cacheKey = "flavor." + flavour;
+            String cachedId = this.session.getCatalogEntry(cacheKey, CatalogCacheTtl.get());
+            if (cachedId != null) {
+                return cachedId;
+            }
+
+            // *** Retrieve a list of the flavors, compute does not filter flavors by name
 
             HttpGet get = new HttpGet(this.openstackComputeUri + "/flavors");
             get.addHeader(this.openstackToken.getHeader());
@@ -577,6 +663,7 @@ public class OpenstackHttpClient {
                     for (Flavor f : flavours.flavors) {
                         if (f.name != null) {
                             if (flavour.equals(f.name)) {
+                                this.session.putCatalogEntry(cacheKey, f.id);
                                 return f.id;
                             }
                         }
@@ -630,13 +717,23 @@ public class OpenstackHttpClient {
         }
     }
 
+    private static String encode(String value) throws UnsupportedEncodingException {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8.name());
+    }
+
     public Network findExternalNetwork(String externalNetwork) throws OpenstackManagerException {
         try {
             checkToken();
 
-            // *** Retrieve a list of the networks available and select one
+            String cacheKey = "network." + externalNetwork;
+            Network cachedNetwork = this.session.getCatalogEntry(cacheKey, CatalogCacheTtl.get());
+            if (cachedNetwork != null) {
+                return cachedNetwork;
+            }
+
+            // *** Retrieve a list of the external networks available and select one
 
-            HttpGet get = new HttpGet(this.openstackNetworkUri + "/v2.0/networks");
+            HttpGet get = new HttpGet(this.openstackNetworkUri + "/v2.0/networks?router:external=true");
             get.addHeader(this.openstackToken.getHeader());
 
             try (CloseableHttpResponse response = httpClient.execute(get)) {
@@ -651,9 +748,11 @@ public class OpenstackHttpClient {
                 if (networks != null && networks.networks != null) {
                     for (Network network : networks.networks) {
                         if (externalNetwork != null && externalNetwork.equals(network.name)) {
+                            this.session.putCatalogEntry(cacheKey, network);
                             return network;
                         } else {
                             if (network.route_external) {
+                                this.session.putCatalogEntry(cacheKey, network);
                                 return network;
                             }
                         }
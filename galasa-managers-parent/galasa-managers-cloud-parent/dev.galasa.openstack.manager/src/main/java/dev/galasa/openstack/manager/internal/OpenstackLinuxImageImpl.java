@@ -25,11 +25,9 @@ import dev.galasa.framework.spi.ConfigurationPropertyStoreException;
 import dev.galasa.framework.spi.creds.CredentialsException;
 import dev.galasa.openstack.manager.OpenstackManagerException;
 import dev.galasa.openstack.manager.internal.json.Floatingip;
-import dev.galasa.openstack.manager.internal.json.GalasaMetadata;
 import dev.galasa.openstack.manager.internal.json.Network;
 import dev.galasa.openstack.manager.internal.json.Port;
 import dev.galasa.openstack.manager.internal.json.Server;
-import dev.galasa.openstack.manager.internal.json.ServerRequest;
 import dev.galasa.openstack.manager.internal.properties.GenerateTimeout;
 
 public class OpenstackLinuxImageImpl extends OpenstackServerImpl implements ILinuxProvisionedImage {
@@ -40,9 +38,11 @@ public class OpenstackLinuxImageImpl extends OpenstackServerImpl implements ILin
     private final OpenstackHttpClient openstackHttpClient;
     public final String               instanceName;
     public final String               image;
+    public final String               flavor;
     public final String               tag;
 
     private String                    id;
+    private String                    pooledServerId;
     private String                    username;
     private String                    password;
 
@@ -64,14 +64,24 @@ public class OpenstackLinuxImageImpl extends OpenstackServerImpl implements ILin
 
     public OpenstackLinuxImageImpl(@NotNull OpenstackManagerImpl manager,
             @NotNull OpenstackHttpClient openstackHttpClient, @NotNull String instanceName, @NotNull String image,
-            @NotNull String tag) {
+            @NotNull String flavor, @NotNull String tag) {
         this.manager = manager;
         this.openstackHttpClient = openstackHttpClient;
         this.instanceName = instanceName;
         this.image = image;
+        this.flavor = flavor;
         this.tag = tag;
     }
 
+    /**
+     * Use a server already built by the warm pool rather than creating one
+     * 
+     * @param pooledServerId the OpenStack id of the pooled server
+     */
+    public void setPooledServerId(String pooledServerId) {
+        this.pooledServerId = pooledServerId;
+    }
+
     @Override
     public @NotNull String getImageID() {
         return this.instanceName;
@@ -94,8 +104,8 @@ public class OpenstackLinuxImageImpl extends OpenstackServerImpl implements ILin
 
     public void discard() {
         try {
-            // *** TODO delete the instance in Openstack
-            if (this.openstackServer != null) {
+            // *** Return a warm pool instance to the pool, otherwise delete the instance in Openstack
+            if (this.openstackServer != null && (this.pooledServerId == null || !returnToWarmPool())) {
                 try {
                     deleteServer(this.openstackServer, this.openstackServer.name,
                             this.manager.getFramework().getTestRunName(), this.manager.getDSS(),
@@ -121,38 +131,53 @@ public class OpenstackLinuxImageImpl extends OpenstackServerImpl implements ILin
         }
     }
 
+    /**
+     * Ask OpenStack to rebuild the instance from its image and hand it back to the
+     * warm pool
+     * 
+     * @return true if the instance is back in the warm pool, false if it needs to
+     *         be deleted
+     */
+    private boolean returnToWarmPool() {
+        try {
+            String imageRef = this.openstackHttpClient.getImageId(this.image);
+            if (imageRef == null) {
+                throw new OpenstackManagerException("Image " + this.image + " is missing in OpenStack");
+            }
+            this.openstackHttpClient.rebuildServer(this.openstackServer, imageRef);
+            if (OpenstackWarmPool.release(this.manager.getDSS(), this.manager.getFramework().getTestRunName(),
+                    this.instanceName)) {
+                logger.info("OpenStack Linux instance " + this.instanceName + " is being rebuilt for the warm pool");
+                return true;
+            }
+        } catch (Exception e) {
+            logger.warn("Failed to return OpenStack Linux instance " + this.instanceName + " to the warm pool", e);
+        }
+        return false;
+    }
+
     public void build() throws OpenstackManagerException, ConfigurationPropertyStoreException {
         logger.info("Building OpenStack Linux instance " + this.instanceName + " with image " + this.image + " for tag "
                 + this.tag);
 
-        String flavor = "m1.small";
         int generateTimeout = GenerateTimeout.get();
         generateTimeout = 1;
 
-        Server server = new Server();
-        server.name = this.instanceName;
-        server.imageRef = this.openstackHttpClient.getImageId(this.image);
-        server.flavorRef = this.openstackHttpClient.getFlavourId(flavor);
-        server.availability_zone = "nova"; // TODO cps
-        server.metadata = new GalasaMetadata();
-        server.metadata.galasa_run = this.manager.getFramework().getTestRunName();
-        server.key_name = "galasa"; // TODO cps
-
-        if (server.imageRef == null) {
-            throw new OpenstackManagerException("Image " + this.image + " is missing in OpenStack");
-        }
-
-        if (server.flavorRef == null) {
-            throw new OpenstackManagerException("Flavor " + flavor + " is missing in OpenStack");
-        }
-
-        ServerRequest serverRequest = new ServerRequest();
-        serverRequest.server = server;
-
         try {
-            this.openstackServer = this.openstackHttpClient.createServer(serverRequest);
-            this.id = this.openstackServer.id;
-            this.password = this.openstackServer.adminPass;
+            if (this.pooledServerId != null) {
+                // *** Already built by the warm pool, so it should be running
+                this.id = this.pooledServerId;
+                this.openstackServer = this.openstackHttpClient.getServer(this.id);
+                if (this.openstackServer == null) {
+                    throw new OpenstackManagerException(
+                            "OpenStack warm pool server " + this.instanceName + " no longer exists");
+                }
+            } else {
+                this.openstackServer = createServer(this.openstackHttpClient, this.instanceName, this.image,
+                        this.flavor, this.manager.getFramework().getTestRunName());
+                this.id = this.openstackServer.id;
+                this.password = this.openstackServer.adminPass;
+            }
 
             Instant expire = Instant.now();
             expire = expire.plus(generateTimeout, ChronoUnit.MINUTES);
@@ -161,8 +186,6 @@ public class OpenstackLinuxImageImpl extends OpenstackServerImpl implements ILin
             String state = null;
             boolean up = false;
             while (expire.compareTo(Instant.now()) > 0) {
-                Thread.sleep(5000);
-
                 Server checkServer = this.openstackHttpClient.getServer(this.id);
                 if (checkServer != null) {
                     serverJson = this.manager.getGson().toJson(checkServer);
@@ -180,6 +203,8 @@ public class OpenstackLinuxImageImpl extends OpenstackServerImpl implements ILin
 
                 logger.trace("Still waiting for OpenStack Linux instance " + this.instanceName + " to be built, task="
                         + state); // TODO switch to trace
+
+                Thread.sleep(5000);
             }
 
             if (!up) {
@@ -7,9 +7,12 @@ package dev.galasa.openstack.manager.internal;
 
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import javax.validation.constraints.NotNull;
 
@@ -35,15 +38,15 @@ import dev.galasa.framework.spi.DynamicStatusStoreException;
 import dev.galasa.framework.spi.IDynamicStatusStoreService;
 import dev.galasa.framework.spi.IFramework;
 import dev.galasa.framework.spi.IManager;
-import dev.galasa.framework.spi.IResourcePoolingService;
 import dev.galasa.framework.spi.InsufficientResourcesAvailableException;
 import dev.galasa.framework.spi.ResourceUnavailableException;
 import dev.galasa.framework.spi.language.GalasaTest;
 import dev.galasa.openstack.manager.OpenstackManagerException;
+import dev.galasa.openstack.manager.internal.OpenstackWarmPool.PooledServer;
+import dev.galasa.openstack.manager.internal.properties.BuildConcurrency;
 import dev.galasa.openstack.manager.internal.properties.LinuxImageCapabilities;
+import dev.galasa.openstack.manager.internal.properties.LinuxImageFlavor;
 import dev.galasa.openstack.manager.internal.properties.LinuxImages;
-import dev.galasa.openstack.manager.internal.properties.MaximumInstances;
-import dev.galasa.openstack.manager.internal.properties.NamePool;
 import dev.galasa.openstack.manager.internal.properties.OpenstackPropertiesSingleton;
 
 @Component(service = { IManager.class })
@@ -116,12 +119,44 @@ public class OpenstackManagerImpl extends AbstractManager implements ILinuxProvi
 
     @Override
     public void provisionBuild() throws ManagerException, ResourceUnavailableException {
-        for (OpenstackLinuxImageImpl instance : instances) {
-            try {
-                instance.build();
-            } catch (ConfigurationPropertyStoreException e) {
-                throw new OpenstackManagerException("Problem building OpenStack servers", e);
+        if (instances.isEmpty()) {
+            return;
+        }
+
+        // *** Build the instances in parallel, most of the time is spent waiting for
+        // OpenStack to boot them
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(BuildConcurrency.get(), instances.size()));
+        try {
+            ArrayList<Future<Void>> builds = new ArrayList<>();
+            for (OpenstackLinuxImageImpl instance : instances) {
+                builds.add(executor.submit(() -> {
+                    instance.build();
+                    return null;
+                }));
+            }
+
+            OpenstackManagerException failure = null;
+            for (Future<Void> build : builds) {
+                try {
+                    build.get();
+                } catch (ExecutionException e) {
+                    if (failure == null) {
+                        if (e.getCause() instanceof OpenstackManagerException) {
+                            failure = (OpenstackManagerException) e.getCause();
+                        } else {
+                            failure = new OpenstackManagerException("Problem building OpenStack servers", e.getCause());
+                        }
+                    }
+                }
+            }
+            if (failure != null) {
+                throw failure;
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OpenstackManagerException("Processing interrupted", e);
+        } finally {
+            executor.shutdownNow();
         }
     }
 
@@ -177,22 +212,35 @@ public class OpenstackManagerImpl extends AbstractManager implements ILinuxProvi
 
             // *** Select the first image as they will be listed in preference order
             String selectedImage = possibleImages.get(0);
-
-            // *** See if we have capacity for a new Instance on Openstack
-            String instanceName = reserveInstance();
-
-            if (instanceName == null) {
-                // *** No room, return gracefully and allow someone else a chance
-                return null;
+            String flavor = LinuxImageFlavor.get(selectedImage);
+
+            // *** Take an already built server from the warm pool if there is one ready
+            PooledServer pooledServer = OpenstackWarmPool.claim(this.dss, getFramework().getTestRunName(),
+                    selectedImage, flavor);
+
+            String instanceName;
+            if (pooledServer != null) {
+                instanceName = pooledServer.getName();
+            } else {
+                // *** See if we have capacity for a new Instance on Openstack
+                instanceName = reserveInstance();
+
+                if (instanceName == null) {
+                    // *** No room, return gracefully and allow someone else a chance
+                    return null;
+                }
             }
 
             // *** We have one, return it
             OpenstackLinuxImageImpl instance = new OpenstackLinuxImageImpl(this, this.openstackHttpClient, instanceName,
-                    selectedImage, tag);
+                    selectedImage, flavor, tag);
+            if (pooledServer != null) {
+                instance.setPooledServerId(pooledServer.getId());
+            }
             this.instances.add(instance);
 
             logger.info("Reserved OpenStack Linux instance " + instanceName + " with image " + selectedImage
-                    + " for tag " + tag);
+                    + " for tag " + tag + (pooledServer != null ? " from the warm pool" : ""));
 
             return instance;
         } catch (ConfigurationPropertyStoreException e) {
@@ -210,60 +258,9 @@ public class OpenstackManagerImpl extends AbstractManager implements ILinuxProvi
 
     private String reserveInstance() throws DynamicStatusStoreException, InterruptedException,
             InsufficientResourcesAvailableException, ConfigurationPropertyStoreException, OpenstackManagerException {
-
-        // *** Get the current and maximum instances
-        int maxInstances = MaximumInstances.get();
-
-        int currentInstances = 0;
-
-        String sCurrentInstances = this.dss.get("server.current.compute.instances");
-        if (sCurrentInstances != null) {
-            currentInstances = Integer.parseInt(sCurrentInstances);
-        }
-
-        // *** Is there room?
-        if (maxInstances <= currentInstances) {
-            return null;
-        }
-
-        // *** Reserve a instance
-        currentInstances++;
-        if (!dss.putSwap("server.current.compute.instances", sCurrentInstances, Integer.toString(currentInstances))) {
-            // *** The value of the current instances changed whilst this was running, so we
-            // need to try again with the updated value
-            Thread.sleep(200); // *** To avoid race conditions
-            return reserveInstance();
-        }
-
-        // *** Generate an Instance Name
         String runName = this.getFramework().getTestRunName();
-
-        String actualInstanceName = null;
-
-        List<String> instanceNamePool = NamePool.get();
-        IResourcePoolingService poolingService = this.getFramework().getResourcePoolingService();
-
-        ArrayList<String> exclude = new ArrayList<>();
-        while (true) {
-            List<String> possibleNames = poolingService.obtainResources(instanceNamePool, exclude, 10, 1, this.dss,
-                    "compute");
-            for (String possibleName : possibleNames) {
-                String instanceName = "compute." + possibleName;
-                HashMap<String, String> otherProps = new HashMap<>();
-                otherProps.put("run." + runName + "." + instanceName, "active");
-
-                if (dss.putSwap(instanceName, null, runName, otherProps)) {
-                    actualInstanceName = possibleName;
-                    break;
-                }
-            }
-            if (actualInstanceName != null) {
-                break;
-            }
-        }
-
-        // *** we have a new Instance Name, so return
-        return actualInstanceName;
+        return OpenstackServerImpl.reserveInstance(getFramework(), this.dss, runName, "run." + runName + ".",
+                "active");
     }
 
     public IDynamicStatusStoreService getDSS() {
@@ -27,6 +27,7 @@ public class OpenstackResourceManagement implements IResourceManagementProvider
 
     private ServerResourceMonitor      serverResourceMonitor;
     private FloatingIpResourceMonitor  fipResourceMonitor;
+    private WarmPoolMonitor            warmPoolMonitor;
 
     @Override
     public boolean initialise(IFramework framework, IResourceManagement resourceManagement)
@@ -55,6 +56,7 @@ public class OpenstackResourceManagement implements IResourceManagementProvider
         serverResourceMonitor = new ServerResourceMonitor(framework, resourceManagement, dss, this.openstackHttpClient);
         fipResourceMonitor = new FloatingIpResourceMonitor(framework, resourceManagement, dss,
                 this.openstackHttpClient);
+        warmPoolMonitor = new WarmPoolMonitor(framework, resourceManagement, dss, this.openstackHttpClient);
 
         return true;
     }
@@ -65,6 +67,8 @@ public class OpenstackResourceManagement implements IResourceManagementProvider
                 this.framework.getRandom().nextInt(20), 20, TimeUnit.SECONDS);
         this.resourceManagement.getScheduledExecutorService().scheduleWithFixedDelay(fipResourceMonitor,
                 this.framework.getRandom().nextInt(20), 20, TimeUnit.SECONDS);
+        this.resourceManagement.getScheduledExecutorService().scheduleWithFixedDelay(warmPoolMonitor,
+                this.framework.getRandom().nextInt(20), 20, TimeUnit.SECONDS);
     }
 
     @Override
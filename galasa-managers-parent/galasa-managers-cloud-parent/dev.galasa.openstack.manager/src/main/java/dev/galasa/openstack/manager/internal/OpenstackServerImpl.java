@@ -7,22 +7,136 @@ package dev.galasa.openstack.manager.internal;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
+import dev.galasa.framework.spi.ConfigurationPropertyStoreException;
 import dev.galasa.framework.spi.DynamicStatusStoreException;
 import dev.galasa.framework.spi.IDynamicStatusStoreService;
+import dev.galasa.framework.spi.IFramework;
+import dev.galasa.framework.spi.IResourcePoolingService;
+import dev.galasa.framework.spi.InsufficientResourcesAvailableException;
 import dev.galasa.openstack.manager.OpenstackManagerException;
 import dev.galasa.openstack.manager.internal.json.Floatingip;
+import dev.galasa.openstack.manager.internal.json.GalasaMetadata;
 import dev.galasa.openstack.manager.internal.json.Server;
+import dev.galasa.openstack.manager.internal.json.ServerRequest;
+import dev.galasa.openstack.manager.internal.properties.MaximumInstances;
+import dev.galasa.openstack.manager.internal.properties.NamePool;
 
 public class OpenstackServerImpl {
 
     private final static Log logger = LogFactory.getLog(OpenstackServerImpl.class);
 
+    /**
+     * Reserve a compute instance slot and name in the DSS
+     * 
+     * @param framework   the framework
+     * @param dss         the OpenStack DSS
+     * @param owner       the run name, or {@link OpenstackWarmPool#OWNER}, that will
+     *                    own the instance
+     * @param ownerPrefix the prefix of the control property, eg run.[runname].
+     * @param ownerState  the value of the control property
+     * @return the instance name, or null if there is no room for another instance
+     */
+    protected static String reserveInstance(IFramework framework, IDynamicStatusStoreService dss, String owner,
+            String ownerPrefix, String ownerState) throws DynamicStatusStoreException, InterruptedException,
+            InsufficientResourcesAvailableException, ConfigurationPropertyStoreException, OpenstackManagerException {
+
+        // *** Get the current and maximum instances
+        int maxInstances = MaximumInstances.get();
+
+        int currentInstances = 0;
+
+        String sCurrentInstances = dss.get("server.current.compute.instances");
+        if (sCurrentInstances != null) {
+            currentInstances = Integer.parseInt(sCurrentInstances);
+        }
+
+        // *** Is there room?
+        if (maxInstances <= currentInstances) {
+            return null;
+        }
+
+        // *** Reserve a instance
+        currentInstances++;
+        if (!dss.putSwap("server.current.compute.instances", sCurrentInstances, Integer.toString(currentInstances))) {
+            // *** The value of the current instances changed whilst this was running, so we
+            // need to try again with the updated value
+            Thread.sleep(200); // *** To avoid race conditions
+            return reserveInstance(framework, dss, owner, ownerPrefix, ownerState);
+        }
+
+        // *** Generate an Instance Name
+        String actualInstanceName = null;
+
+        List<String> instanceNamePool = NamePool.get();
+        IResourcePoolingService poolingService = framework.getResourcePoolingService();
+
+        ArrayList<String> exclude = new ArrayList<>();
+        while (true) {
+            List<String> possibleNames = poolingService.obtainResources(instanceNamePool, exclude, 10, 1, dss,
+                    "compute");
+            for (String possibleName : possibleNames) {
+                String instanceName = "compute." + possibleName;
+                HashMap<String, String> otherProps = new HashMap<>();
+                otherProps.put(ownerPrefix + instanceName, ownerState);
+
+                if (dss.putSwap(instanceName, null, owner, otherProps)) {
+                    actualInstanceName = possibleName;
+                    break;
+                }
+            }
+            if (actualInstanceName != null) {
+                break;
+            }
+        }
+
+        // *** we have a new Instance Name, so return
+        return actualInstanceName;
+    }
+
+    /**
+     * Ask OpenStack to create a server, without waiting for it to be built
+     * 
+     * @return the server, including its id
+     */
+    protected static Server createServer(OpenstackHttpClient openstackHttpClient, String instanceName, String image,
+            String flavor, String owner) throws OpenstackManagerException {
+        Server server = new Server();
+        server.name = instanceName;
+        server.imageRef = openstackHttpClient.getImageId(image);
+        server.flavorRef = openstackHttpClient.getFlavourId(flavor);
+        server.availability_zone = "nova"; // TODO cps
+        server.metadata = new GalasaMetadata();
+        server.metadata.galasa_run = owner;
+        server.key_name = "galasa"; // TODO cps
+
+        if (server.imageRef == null) {
+            throw new OpenstackManagerException("Image " + image + " is missing in OpenStack");
+        }
+
+        if (server.flavorRef == null) {
+            throw new OpenstackManagerException("Flavor " + flavor + " is missing in OpenStack");
+        }
+
+        ServerRequest serverRequest = new ServerRequest();
+        serverRequest.server = server;
+
+        try {
+            return openstackHttpClient.createServer(serverRequest);
+        } catch (OpenstackManagerException e) {
+            // *** The cached image or flavor id may be stale, so look them up again next time
+            openstackHttpClient.invalidateCatalog();
+            throw e;
+        }
+    }
+
     public static void deleteServerByName(String serverName, String runName, IDynamicStatusStoreService dss,
             OpenstackHttpClient openstackHttpClient) throws OpenstackManagerException {
 
@@ -70,6 +184,7 @@ public class OpenstackServerImpl {
 
         try {
             freeServerFromDss(serverName, runName, dss);
+            OpenstackWarmPool.forget(dss, serverName);
         } catch (Exception e) {
             logger.error("Cleanup of DSS failed", e);
         }
@@ -0,0 +1,108 @@
+/*
+ * Licensed Materials - Property of IBM
+ * 
+ * (c) Copyright IBM Corp. 2020.
+ */
+package dev.galasa.openstack.manager.internal;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The Keystone token, service endpoints and cached catalog lookups for an
+ * OpenStack project, shared by all the {@link OpenstackHttpClient}s in the JVM
+ * that use the same identity endpoint, domain, project and user
+ */
+public class OpenstackSession {
+
+    private static final Map<String, OpenstackSession> sessions = new ConcurrentHashMap<>();
+
+    private final Map<String, CatalogEntry>            catalog  = new ConcurrentHashMap<>();
+
+    private OpenstackToken                             token;
+    private String                                     imageUri;
+    private String                                     computeUri;
+    private String                                     networkUri;
+
+    private OpenstackSession() {
+    }
+
+    public static OpenstackSession get(String identityEndpoint, String domain, String project, String username) {
+        return sessions.computeIfAbsent(identityEndpoint + "|" + domain + "|" + project + "|" + username,
+                key -> new OpenstackSession());
+    }
+
+    /**
+     * @return the token, or null if there isn't one or it is about to expire
+     */
+    public synchronized OpenstackToken getToken() {
+        if (this.token == null || !this.token.isOk()) {
+            return null;
+        }
+        return this.token;
+    }
+
+    public synchronized void setToken(OpenstackToken token, String imageUri, String computeUri, String networkUri) {
+        this.token = token;
+        this.imageUri = imageUri;
+        this.computeUri = computeUri;
+        this.networkUri = networkUri;
+    }
+
+    public synchronized String getImageUri() {
+        return this.imageUri;
+    }
+
+    public synchronized String getComputeUri() {
+        return this.computeUri;
+    }
+
+    public synchronized String getNetworkUri() {
+        return this.networkUri;
+    }
+
+    /**
+     * Return a cached catalog lookup
+     * 
+     * @param key        the lookup, eg image.[name]
+     * @param ttlSeconds how long the lookup remains valid
+     * @return the cached value, or null if not cached or expired
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getCatalogEntry(String key, int ttlSeconds) {
+        CatalogEntry entry = this.catalog.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (ttlSeconds <= 0 || entry.cached.plusSeconds(ttlSeconds).isBefore(Instant.now())) {
+            this.catalog.remove(key, entry);
+            return null;
+        }
+        return (T) entry.value;
+    }
+
+    public void putCatalogEntry(String key, Object value) {
+        if (value != null) {
+            this.catalog.put(key, new CatalogEntry(value));
+        }
+    }
+
+    public void invalidateCatalogEntry(String key) {
+        this.catalog.remove(key);
+    }
+
+    public void invalidateCatalog() {
+        this.catalog.clear();
+    }
+
+    private static class CatalogEntry {
+        private final Object  value;
+        private final Instant cached = Instant.now();
+
+        private CatalogEntry(Object value) {
+            this.value = value;
+        }
+    }
+
+}
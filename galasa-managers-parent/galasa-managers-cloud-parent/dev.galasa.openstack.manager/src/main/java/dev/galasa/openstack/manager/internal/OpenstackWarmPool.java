@@ -0,0 +1,198 @@
+/*
+ * Licensed Materials - Property of IBM
+ * 
+ * (c) Copyright IBM Corp. 2020.
+ */
+package dev.galasa.openstack.manager.internal;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+
+import dev.galasa.framework.spi.DynamicStatusStoreException;
+import dev.galasa.framework.spi.IDynamicStatusStoreService;
+
+/**
+ * The warm pool of OpenStack compute servers that are built ahead of time by the
+ * {@link WarmPoolMonitor} and handed to runs by the {@link OpenstackManagerImpl}
+ * <p>
+ * Each pooled server is held in the DSS as:-<br>
+ * <br>
+ * compute.[name]=warmpool, or the run name whilst claimed<br>
+ * warmpool.compute.[name]=building|rebuilding|ready|claimed|discarding<br>
+ * warmpool.compute.[name].image=[imagename]<br>
+ * warmpool.compute.[name].flavor=[flavor]<br>
+ * warmpool.compute.[name].id=[server id]<br>
+ * warmpool.compute.[name].since=[time the state last changed]
+ * </p>
+ * <p>
+ * Pooled servers count towards the maximum compute instances.
+ * </p>
+ */
+public class OpenstackWarmPool {
+
+    public static final String OWNER            = "warmpool";
+    protected static final String PREFIX        = OWNER + ".compute.";
+
+    public static final String STATE_BUILDING   = "building";
+    public static final String STATE_REBUILDING = "rebuilding";
+    public static final String STATE_READY      = "ready";
+    public static final String STATE_CLAIMED    = "claimed";
+    public static final String STATE_DISCARDING = "discarding";
+
+    private static final String IMAGE           = ".image";
+    private static final String FLAVOR          = ".flavor";
+    private static final String ID              = ".id";
+    private static final String SINCE           = ".since";
+
+    private OpenstackWarmPool() {
+    }
+
+    /**
+     * Return all the servers in the warm pool, in name order
+     */
+    public static Map<String, PooledServer> getPooledServers(IDynamicStatusStoreService dss)
+            throws DynamicStatusStoreException {
+        Map<String, String> properties = dss.getPrefix(PREFIX);
+        TreeMap<String, PooledServer> pooledServers = new TreeMap<>();
+        for (Entry<String, String> property : properties.entrySet()) {
+            String name = property.getKey().substring(PREFIX.length());
+            if (!name.contains(".")) {
+                pooledServers.put(name, new PooledServer(name, property.getValue(), properties.get(property.getKey() + IMAGE),
+                        properties.get(property.getKey() + FLAVOR), properties.get(property.getKey() + ID),
+                        properties.get(property.getKey() + SINCE)));
+            }
+        }
+        return pooledServers;
+    }
+
+    /**
+     * Claim a ready server built from the image and flavor for a run
+     *
+     * @return the claimed server, or null if none are ready
+     */
+    public static PooledServer claim(IDynamicStatusStoreService dss, String runName, String image, String flavor)
+            throws DynamicStatusStoreException {
+        for (PooledServer pooledServer : getPooledServers(dss).values()) {
+            if (!STATE_READY.equals(pooledServer.getState()) || !image.equals(pooledServer.getImage())
+                    || !flavor.equals(pooledServer.getFlavor()) || pooledServer.getId() == null) {
+                continue;
+            }
+
+            HashMap<String, String> otherProps = new HashMap<>();
+            otherProps.put("compute." + pooledServer.getName(), runName);
+            otherProps.put("run." + runName + ".compute." + pooledServer.getName(), "active");
+            otherProps.put(PREFIX + pooledServer.getName() + SINCE, Instant.now().toString());
+            if (dss.putSwap(PREFIX + pooledServer.getName(), STATE_READY, STATE_CLAIMED, otherProps)) {
+                return pooledServer;
+            }
+            // *** Another run got there first, try the next one
+        }
+        return null;
+    }
+
+    /**
+     * Record the image and flavor of a server the {@link WarmPoolMonitor} is
+     * about to build
+     */
+    public static void register(IDynamicStatusStoreService dss, String name, String image, String flavor)
+            throws DynamicStatusStoreException {
+        HashMap<String, String> properties = new HashMap<>();
+        properties.put(PREFIX + name + IMAGE, image);
+        properties.put(PREFIX + name + FLAVOR, flavor);
+        properties.put(PREFIX + name + SINCE, Instant.now().toString());
+        dss.put(properties);
+    }
+
+    public static void setServerId(IDynamicStatusStoreService dss, String name, String id)
+            throws DynamicStatusStoreException {
+        dss.put(PREFIX + name + ID, id);
+    }
+
+    /**
+     * Return a server claimed by a run to the pool, the caller must already have
+     * asked OpenStack to rebuild it
+     *
+     * @return true if the server is back in the pool
+     */
+    public static boolean release(IDynamicStatusStoreService dss, String runName, String name)
+            throws DynamicStatusStoreException {
+        HashMap<String, String> otherProps = new HashMap<>();
+        otherProps.put("compute." + name, OWNER);
+        otherProps.put(PREFIX + name + SINCE, Instant.now().toString());
+        if (!dss.putSwap(PREFIX + name, STATE_CLAIMED, STATE_REBUILDING, otherProps)) {
+            return false;
+        }
+        dss.delete("run." + runName + ".compute." + name);
+        return true;
+    }
+
+    /**
+     * Change the state of a pooled server, provided no one else has changed it
+     * first
+     */
+    public static boolean changeState(IDynamicStatusStoreService dss, String name, String oldState, String newState)
+            throws DynamicStatusStoreException {
+        HashMap<String, String> otherProps = new HashMap<>();
+        otherProps.put(PREFIX + name + SINCE, Instant.now().toString());
+        return dss.putSwap(PREFIX + name, oldState, newState, otherProps);
+    }
+
+    /**
+     * Remove the warm pool properties of a server that has been deleted
+     */
+    public static void forget(IDynamicStatusStoreService dss, String name) throws DynamicStatusStoreException {
+        HashSet<String> deleteProperties = new HashSet<>();
+        deleteProperties.add(PREFIX + name);
+        deleteProperties.add(PREFIX + name + IMAGE);
+        deleteProperties.add(PREFIX + name + FLAVOR);
+        deleteProperties.add(PREFIX + name + ID);
+        deleteProperties.add(PREFIX + name + SINCE);
+        dss.delete(deleteProperties);
+    }
+
+    public static class PooledServer {
+        private final String  name;
+        private final String  state;
+        private final String  image;
+        private final String  flavor;
+        private final String  id;
+        private final Instant since;
+
+        protected PooledServer(String name, String state, String image, String flavor, String id, String since) {
+            this.name = name;
+            this.state = state;
+            this.image = image;
+            this.flavor = flavor;
+            this.id = id;
+            this.since = since == null ? Instant.EPOCH : Instant.parse(since);
+        }
+
+        public String getName() {
+            return this.name;
+        }
+
+        public String getState() {
+            return this.state;
+        }
+
+        public String getImage() {
+            return this.image;
+        }
+
+        public String getFlavor() {
+            return this.flavor;
+        }
+
+        public String getId() {
+            return this.id;
+        }
+
+        public Instant getSince() {
+            return this.since;
+        }
+    }
+}
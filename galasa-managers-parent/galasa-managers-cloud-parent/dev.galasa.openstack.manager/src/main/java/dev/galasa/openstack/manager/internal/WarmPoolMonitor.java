@@ -0,0 +1,213 @@
+/*
+ * Licensed Materials - Property of IBM
+ * 
+ * (c) Copyright IBM Corp. 2020.
+ */
+package dev.galasa.openstack.manager.internal;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import dev.galasa.framework.spi.ConfigurationPropertyStoreException;
+import dev.galasa.framework.spi.DynamicStatusStoreException;
+import dev.galasa.framework.spi.IDynamicStatusStoreService;
+import dev.galasa.framework.spi.IFramework;
+import dev.galasa.framework.spi.IResourceManagement;
+import dev.galasa.framework.spi.InsufficientResourcesAvailableException;
+import dev.galasa.openstack.manager.OpenstackManagerException;
+import dev.galasa.openstack.manager.internal.OpenstackWarmPool.PooledServer;
+import dev.galasa.openstack.manager.internal.json.Server;
+import dev.galasa.openstack.manager.internal.properties.GenerateTimeout;
+import dev.galasa.openstack.manager.internal.properties.LinuxImageFlavor;
+import dev.galasa.openstack.manager.internal.properties.WarmPoolImages;
+import dev.galasa.openstack.manager.internal.properties.WarmPoolSize;
+
+public class WarmPoolMonitor implements Runnable {
+
+    private final IFramework                 framework;
+    private final IResourceManagement        resourceManagement;
+    private final OpenstackHttpClient        openstackHttpClient;
+    private final IDynamicStatusStoreService dss;
+    private final Log                        logger = LogFactory.getLog(this.getClass());
+
+    public WarmPoolMonitor(IFramework framework, IResourceManagement resourceManagement,
+            IDynamicStatusStoreService dss, OpenstackHttpClient openstackHttpClient) {
+        this.framework = framework;
+        this.resourceManagement = resourceManagement;
+        this.dss = dss;
+        this.openstackHttpClient = openstackHttpClient;
+        this.logger.info("OpenStack warm pool monitor initialised");
+    }
+
+    @Override
+    public void run() {
+        logger.info("Starting OpenStack warm pool maintenance");
+        try {
+            List<String> images = WarmPoolImages.get();
+            int generateTimeout = GenerateTimeout.get();
+
+            // *** Move built servers to ready and discard those that failed to build
+            List<PooledServer> pooledServers = new ArrayList<>();
+            for (PooledServer pooledServer : OpenstackWarmPool.getPooledServers(this.dss).values()) {
+                if (checkPooledServer(pooledServer, images, generateTimeout)) {
+                    pooledServers.add(pooledServer);
+                }
+            }
+
+            // *** Top up or trim each pool to its size
+            for (String image : images) {
+                maintainPool(image, LinuxImageFlavor.get(image), WarmPoolSize.get(image), pooledServers);
+            }
+        } catch (Exception e) {
+            logger.error("Failure during OpenStack warm pool maintenance", e);
+        }
+
+        this.resourceManagement.resourceManagementRunSuccessful();
+        logger.info("Finished OpenStack warm pool maintenance");
+    }
+
+    /**
+     * Check a pooled server
+     *
+     * @return true if the server remains in the pool
+     */
+    protected boolean checkPooledServer(PooledServer pooledServer, List<String> images, int generateTimeout)
+            throws DynamicStatusStoreException, OpenstackManagerException {
+        String state = pooledServer.getState();
+        if (OpenstackWarmPool.STATE_CLAIMED.equals(state)) {
+            // *** In use by a run, ServerResourceMonitor will tidy up if the run goes
+            return true;
+        }
+
+        boolean expired = pooledServer.getSince().plus(generateTimeout, ChronoUnit.MINUTES).isBefore(Instant.now());
+
+        if (OpenstackWarmPool.STATE_READY.equals(state)) {
+            if (!images.contains(pooledServer.getImage())) {
+                discard(pooledServer, "image " + pooledServer.getImage() + " no longer has a warm pool");
+                return false;
+            }
+            return true;
+        }
+
+        if (OpenstackWarmPool.STATE_BUILDING.equals(state) || OpenstackWarmPool.STATE_REBUILDING.equals(state)) {
+            if (pooledServer.getId() == null) {
+                if (expired) {
+                    discard(pooledServer, "it was not created in time");
+                    return false;
+                }
+                return true;
+            }
+
+            Server server = this.openstackHttpClient.getServer(pooledServer.getId());
+            if (server == null) {
+                discard(pooledServer, "it no longer exists in OpenStack");
+                return false;
+            }
+            if (server.power_state != null && server.power_state == 1 && server.task_state == null) {
+                if (OpenstackWarmPool.changeState(this.dss, pooledServer.getName(), state,
+                        OpenstackWarmPool.STATE_READY)) {
+                    logger.info("OpenStack warm pool server " + pooledServer.getName() + " for image "
+                            + pooledServer.getImage() + " is ready");
+                }
+                return true;
+            }
+            if (expired) {
+                discard(pooledServer, "it was not built in time, task=" + server.task_state);
+                return false;
+            }
+            return true;
+        }
+
+        // *** Discarding, or a state we don't know about, so leave well alone unless left hanging
+        if (expired) {
+            discard(pooledServer, "it has been left in state " + state);
+            return false;
+        }
+        return true;
+    }
+
+    protected void maintainPool(String image, String flavor, int size, List<PooledServer> pooledServers)
+            throws DynamicStatusStoreException, InterruptedException, InsufficientResourcesAvailableException,
+            ConfigurationPropertyStoreException, OpenstackManagerException {
+        List<PooledServer> available = new ArrayList<>();
+        List<PooledServer> ready = new ArrayList<>();
+        for (PooledServer pooledServer : pooledServers) {
+            if (!image.equals(pooledServer.getImage()) || !flavor.equals(pooledServer.getFlavor())) {
+                continue;
+            }
+            if (OpenstackWarmPool.STATE_READY.equals(pooledServer.getState())) {
+                ready.add(pooledServer);
+                available.add(pooledServer);
+            } else if (OpenstackWarmPool.STATE_BUILDING.equals(pooledServer.getState())
+                    || OpenstackWarmPool.STATE_REBUILDING.equals(pooledServer.getState())) {
+                available.add(pooledServer);
+            }
+        }
+
+        // *** Too many, only discard those that are ready, those being built may still be needed
+        for (int surplus = available.size() - size; surplus > 0 && !ready.isEmpty(); surplus--) {
+            discard(ready.remove(ready.size() - 1), "the warm pool for image " + image + " is larger than " + size);
+        }
+
+        for (int deficit = size - available.size(); deficit > 0; deficit--) {
+            if (!buildPooledServer(image, flavor)) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Reserve and start building a new pooled server, the next run of the monitor
+     * will mark it ready once built
+     *
+     * @return false if there was no room for another compute instance
+     */
+    protected boolean buildPooledServer(String image, String flavor)
+            throws DynamicStatusStoreException, InterruptedException, InsufficientResourcesAvailableException,
+            ConfigurationPropertyStoreException, OpenstackManagerException {
+        String instanceName = OpenstackServerImpl.reserveInstance(this.framework, this.dss, OpenstackWarmPool.OWNER,
+                OpenstackWarmPool.OWNER + ".", OpenstackWarmPool.STATE_BUILDING);
+        if (instanceName == null) {
+            logger.info("No room to build an OpenStack warm pool server for image " + image);
+            return false;
+        }
+
+        try {
+            OpenstackWarmPool.register(this.dss, instanceName, image, flavor);
+            Server server = OpenstackServerImpl.createServer(this.openstackHttpClient, instanceName, image, flavor,
+                    OpenstackWarmPool.OWNER);
+            OpenstackWarmPool.setServerId(this.dss, instanceName, server.id);
+            logger.info("Building OpenStack warm pool server " + instanceName + " with image " + image
+                    + " and flavor " + flavor);
+        } catch (Exception e) {
+            logger.error("Failed to build OpenStack warm pool server " + instanceName + " for image " + image, e);
+            OpenstackServerImpl.deleteServerByName(instanceName, OpenstackWarmPool.OWNER, this.dss,
+                    this.openstackHttpClient);
+        }
+        return true;
+    }
+
+    protected void discard(PooledServer pooledServer, String reason)
+            throws DynamicStatusStoreException, OpenstackManagerException {
+        if (!OpenstackWarmPool.changeState(this.dss, pooledServer.getName(), pooledServer.getState(),
+                OpenstackWarmPool.STATE_DISCARDING)) {
+            // *** Claimed by a run since we looked
+            return;
+        }
+        logger.info("Discarding OpenStack warm pool server " + pooledServer.getName() + " as " + reason);
+
+        Server server = pooledServer.getId() == null ? null
+                : this.openstackHttpClient.getServer(pooledServer.getId());
+        if (server == null) {
+            server = this.openstackHttpClient.findServerByName(pooledServer.getName());
+        }
+        OpenstackServerImpl.deleteServer(server, pooledServer.getName(), OpenstackWarmPool.OWNER, this.dss,
+                this.openstackHttpClient);
+    }
+
+}
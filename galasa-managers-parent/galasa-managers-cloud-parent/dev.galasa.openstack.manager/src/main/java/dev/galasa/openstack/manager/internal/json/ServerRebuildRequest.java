@@ -0,0 +1,12 @@
+/*
+ * Licensed Materials - Property of IBM
+ * 
+ * (c) Copyright IBM Corp. 2020.
+ */
+package dev.galasa.openstack.manager.internal.json;
+
+public class ServerRebuildRequest {
+
+    public Server rebuild; // NOSONAR
+
+}
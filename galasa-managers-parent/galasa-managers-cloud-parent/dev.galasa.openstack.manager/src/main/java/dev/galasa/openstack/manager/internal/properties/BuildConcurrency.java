@@ -0,0 +1,33 @@
+/*
+ * Licensed Materials - Property of IBM
+ * 
+ * (c) Copyright IBM Corp. 2020.
+ */
+package dev.galasa.openstack.manager.internal.properties;
+
+import dev.galasa.framework.spi.cps.CpsProperties;
+import dev.galasa.openstack.manager.OpenstackManagerException;
+
+/**
+ * OpenStack Build Concurrency
+ * <p>
+ * The maximum number of servers the OpenStack Manager builds at the same time
+ * whilst the test is being provisioned.
+ * </p>
+ * <p>
+ * The property is:-<br>
+ * <br>
+ * openstack.build.concurrency=4
+ * </p>
+ * <p>
+ * default value is 5
+ * </p>
+ *
+ */
+public class BuildConcurrency extends CpsProperties {
+
+    public static int get() throws OpenstackManagerException {
+        return Math.max(1, getIntWithDefault(OpenstackPropertiesSingleton.cps(), 5, "build", "concurrency"));
+    }
+
+}
@@ -0,0 +1,34 @@
+/*
+ * Licensed Materials - Property of IBM
+ * 
+ * (c) Copyright IBM Corp. 2020.
+ */
+package dev.galasa.openstack.manager.internal.properties;
+
+import dev.galasa.framework.spi.cps.CpsProperties;
+import dev.galasa.openstack.manager.OpenstackManagerException;
+
+/**
+ * OpenStack Catalog Cache Time To Live
+ * <p>
+ * In seconds, how long the OpenStack Manager remembers the ids of images,
+ * flavors and networks it has looked up, so that they are not listed again for
+ * every server that is built.
+ * </p>
+ * <p>
+ * The property is:-<br>
+ * <br>
+ * openstack.catalog.cache.ttl=600
+ * </p>
+ * <p>
+ * default value is 300 seconds, 0 disables the cache
+ * </p>
+ *
+ */
+public class CatalogCacheTtl extends CpsProperties {
+
+    public static int get() throws OpenstackManagerException {
+        return getIntWithDefault(OpenstackPropertiesSingleton.cps(), 300, "catalog", "cache.ttl");
+    }
+
+}
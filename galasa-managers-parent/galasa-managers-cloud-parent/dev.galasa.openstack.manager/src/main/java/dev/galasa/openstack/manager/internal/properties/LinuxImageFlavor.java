@@ -0,0 +1,35 @@
+/*
+ * Licensed Materials - Property of IBM
+ * 
+ * (c) Copyright IBM Corp. 2020.
+ */
+package dev.galasa.openstack.manager.internal.properties;
+
+import javax.validation.constraints.NotNull;
+
+import dev.galasa.framework.spi.cps.CpsProperties;
+import dev.galasa.openstack.manager.OpenstackManagerException;
+
+/**
+ * OpenStack Image Flavor
+ * <p>
+ * The OpenStack flavor to use when building a server from the image.
+ * </p>
+ * <p>
+ * The property is:-<br>
+ * <br>
+ * openstack.linux.image.[imagename].flavor=m1.medium<br>
+ * Where imagename is that provided in {@link LinuxImages}
+ * </p>
+ * <p>
+ * default value is m1.small
+ * </p>
+ *
+ */
+public class LinuxImageFlavor extends CpsProperties {
+
+    public static @NotNull String get(@NotNull String image) throws OpenstackManagerException {
+        return getStringWithDefault(OpenstackPropertiesSingleton.cps(), "m1.small", "linux.image." + image, "flavor");
+    }
+
+}
@@ -0,0 +1,38 @@
+/*
+ * Licensed Materials - Property of IBM
+ * 
+ * (c) Copyright IBM Corp. 2020.
+ */
+package dev.galasa.openstack.manager.internal.properties;
+
+import java.util.List;
+
+import javax.validation.constraints.NotNull;
+
+import dev.galasa.framework.spi.ConfigurationPropertyStoreException;
+import dev.galasa.framework.spi.cps.CpsProperties;
+import dev.galasa.openstack.manager.OpenstackManagerException;
+
+/**
+ * OpenStack Warm Pool Images
+ * <p>
+ * A comma separated list of the images the OpenStack resource management keeps a
+ * warm pool of servers for. The size of each pool is set with {@link WarmPoolSize}.
+ * </p>
+ * <p>
+ * The property is:-<br>
+ * <br>
+ * openstack.warmpool.images=ubuntu,rhel
+ * </p>
+ * <p>
+ * The default is no warm pools
+ * </p>
+ *
+ */
+public class WarmPoolImages extends CpsProperties {
+
+    public static @NotNull List<String> get() throws ConfigurationPropertyStoreException, OpenstackManagerException {
+        return getStringList(OpenstackPropertiesSingleton.cps(), "warmpool", "images");
+    }
+
+}
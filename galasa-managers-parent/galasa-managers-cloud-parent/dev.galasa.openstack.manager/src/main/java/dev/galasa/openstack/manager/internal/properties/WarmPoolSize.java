@@ -0,0 +1,37 @@
+/*
+ * Licensed Materials - Property of IBM
+ * 
+ * (c) Copyright IBM Corp. 2020.
+ */
+package dev.galasa.openstack.manager.internal.properties;
+
+import javax.validation.constraints.NotNull;
+
+import dev.galasa.framework.spi.cps.CpsProperties;
+import dev.galasa.openstack.manager.OpenstackManagerException;
+
+/**
+ * OpenStack Image Warm Pool Size
+ * <p>
+ * The number of servers built from the image that the OpenStack resource management
+ * keeps built and running, ready to be handed to a test run. The pooled servers
+ * count towards {@link MaximumInstances}.
+ * </p>
+ * <p>
+ * The property is:-<br>
+ * <br>
+ * openstack.linux.image.[imagename].warmpool.size=3<br>
+ * Where imagename is one of those provided in {@link WarmPoolImages}
+ * </p>
+ * <p>
+ * default value is 0, no warm pool
+ * </p>
+ *
+ */
+public class WarmPoolSize extends CpsProperties {
+
+    public static int get(@NotNull String image) throws OpenstackManagerException {
+        return getIntWithDefault(OpenstackPropertiesSingleton.cps(), 0, "linux.image." + image, "warmpool.size");
+    }
+
+}
@@ -26,7 +26,10 @@ import dev.galasa.framework.spi.language.GalasaTest;
 import dev.galasa.ipnetwork.ICommandShell;
 import dev.galasa.ipnetwork.IIpHost;
 import dev.galasa.ipnetwork.IpNetworkManagerException;
+import dev.galasa.ipnetwork.internal.properties.IpNetworkPropertiesSingleton;
+import dev.galasa.ipnetwork.internal.properties.SshMaxChannels;
 import dev.galasa.ipnetwork.internal.ssh.SSHClient;
+import dev.galasa.ipnetwork.internal.ssh.SSHSessionPool;
 import dev.galasa.ipnetwork.internal.ssh.filesystem.SSHFileSystem;
 import dev.galasa.ipnetwork.spi.IIpNetworkManagerSpi;
 
@@ -50,6 +53,7 @@ public class IpNetworkManagerImpl extends AbstractManager implements IIpNetworkM
             this.framework = framework;
             this.cps = framework.getConfigurationPropertyService(NAMESPACE);
             this.dss = framework.getDynamicStatusStoreService(NAMESPACE);
+            IpNetworkPropertiesSingleton.setCps(this.cps);
         } catch (Exception e) {
             throw new IpNetworkManagerException("Unable to initialise the IP Network Manager", e);
         }
@@ -80,7 +84,7 @@ public class IpNetworkManagerImpl extends AbstractManager implements IIpNetworkM
     @Override
     public @NotNull ICommandShell getCommandShell(IIpHost ipHost, ICredentials credentials)
             throws IpNetworkManagerException {
-        return new SSHClient(ipHost.getHostname(), ipHost.getSshPort(), credentials, 60000);
+        return new SSHClient(ipHost.getHostname(), ipHost.getSshPort(), credentials, 60000, SshMaxChannels.get());
     }
 
     @Override
@@ -88,4 +92,10 @@ public class IpNetworkManagerImpl extends AbstractManager implements IIpNetworkM
         return new SSHFileSystem(ipHost.getHostname(), ipHost.getSshPort(), ipHost.getDefaultCredentials());
     }
 
+    @Override
+    public void shutdown() {
+        SSHSessionPool.closeAll();
+        super.shutdown();
+    }
+
 }
@@ -8,6 +8,7 @@ package dev.galasa.ipnetwork.internal;
 import java.time.Instant;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Set;
 
 import javax.validation.constraints.NotNull;
 
@@ -73,6 +74,17 @@ public class IpPortImpl implements IIpPort {
 
     protected static void deleteDss(String runName, String prefixHost, String port, IDynamicStatusStoreService dss)
             throws DynamicStatusStoreException {
+        HashSet<String> dssProperties = new HashSet<>();
+        deleteDss(runName, prefixHost, port, dss, dssProperties);
+        dss.delete(dssProperties);
+    }
+
+    /**
+     * Delete the user view set of a port, adding the control set to the properties to be deleted, so the ports of a
+     * run can be deleted in a single request
+     */
+    protected static void deleteDss(String runName, String prefixHost, String port, IDynamicStatusStoreService dss,
+            Set<String> controlProperties) throws DynamicStatusStoreException {
         IDynamicResource dssResource = dss.getDynamicResource(prefixHost + ".port");
 
         // *** Delete the user view set first before the control set
@@ -82,14 +94,11 @@ public class IpPortImpl implements IIpPort {
         dssProperties.add(port + ".type");
         dssResource.delete(dssProperties);
 
-        // *** Delete the control set
+        // *** The control set
         String dssKey = prefixHost + ".port." + port;
-        dssProperties = new HashSet<>();
-        dssProperties.add(dssKey);
-        dssProperties.add(dssKey + ".type");
-        dssProperties.add("port.run." + runName + "." + dssKey);
-        dss.delete(dssProperties);
-
+        controlProperties.add(dssKey);
+        controlProperties.add(dssKey + ".type");
+        controlProperties.add("port.run." + runName + "." + dssKey);
     }
 
     protected void discard(String runName, IDynamicStatusStoreService dss) throws DynamicStatusStoreException {
@@ -5,7 +5,6 @@
  */
 package dev.galasa.ipnetwork.internal;
 
-import java.util.Map;
 import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -13,6 +12,7 @@ import java.util.regex.Pattern;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
+import dev.galasa.core.manager.spi.RunResourceReclaimer;
 import dev.galasa.framework.spi.IConfigurationPropertyStoreService;
 import dev.galasa.framework.spi.IDynamicStatusStoreService;
 import dev.galasa.framework.spi.IFramework;
@@ -20,9 +20,9 @@ import dev.galasa.framework.spi.IResourceManagement;
 
 public class PortResourceMonitor implements Runnable {
 
-    private final IFramework                 framework;
     private final IResourceManagement        resourceManagement;
     private final IDynamicStatusStoreService dss;
+    private final RunResourceReclaimer       reclaimer;
     private final Log                        logger         = LogFactory.getLog(this.getClass());
     private final Pattern                    portRunPattern = Pattern
             .compile("^port\\.run\\.(\\w+)\\.host\\.(\\w+)\\.port\\.(\\d+)$");
@@ -30,9 +30,11 @@ public class PortResourceMonitor implements Runnable {
     protected PortResourceMonitor(IFramework framework, IResourceManagement resourceManagement,
             IDynamicStatusStoreService dss, IpNetworkResourceManagement ipNetworkResourceManagement,
             IConfigurationPropertyStoreService cps) {
-        this.framework = framework;
         this.resourceManagement = resourceManagement;
         this.dss = dss;
+        this.reclaimer = new RunResourceReclaimer(framework, dss, "port.run.", portRunPattern, 1,
+                runName -> "port.run." + runName + ".", RunResourceReclaimer.DEFAULT_RECONCILE_INTERVAL,
+                this::discardPort);
         this.logger.info("IP Network Port resource monitor initialised");
     }
 
@@ -40,31 +42,8 @@ public class PortResourceMonitor implements Runnable {
     public void run() {
         logger.info("Starting Run Port search");
         try {
-            Set<String> activeRunNames = this.framework.getFrameworkRuns().getActiveRunNames();
-
-            // *** Find all the runs with ports
-            Map<String, String> portRuns = dss.getPrefix("port.run.");
-            for (String key : portRuns.keySet()) {
-                Matcher matcher = portRunPattern.matcher(key);
-                if (matcher.find()) {
-                    String runName = matcher.group(1);
-
-                    if (!activeRunNames.contains(runName)) {
-                        String hostId = matcher.group(2);
-                        String port = matcher.group(3);
-
-                        logger.info(
-                                "Discarding port " + port + " on host " + hostId + " as run " + runName + " has gone");
-
-                        try {
-                            IpPortImpl.deleteDss(runName, hostId, port, dss);
-                        } catch (Exception e) {
-                            logger.error(
-                                    "Failed to discard port " + port + " on host " + hostId + " as run " + runName);
-                        }
-                    }
-                }
-            }
+            // *** Discard the ports of the runs that have gone
+            this.reclaimer.reclaim();
         } catch (Exception e) {
             logger.error("Failure during port active runs scan", e);
         }
@@ -75,20 +54,23 @@ public class PortResourceMonitor implements Runnable {
 
     public void runFinishedOrDeleted(String runName) {
         try {
-            Map<String, String> portRuns = dss.getPrefix("port.run." + runName + ".");
-            for (String key : portRuns.keySet()) {
-                Matcher matcher = portRunPattern.matcher(key);
-                if (matcher.find()) {
-                    String hostId = matcher.group(2);
-                    String port = matcher.group(3);
+            this.reclaimer.runFinishedOrDeleted(runName);
+        } catch (Exception e) {
+            logger.error("Failed to delete ports for run " + runName);
+        }
+    }
+
+    private void discardPort(String runName, Matcher matcher, Set<String> deleteProperties) {
+        String hostId = matcher.group(2);
+        String port = matcher.group(3);
 
-                    logger.info("Discarding port " + port + " on host " + hostId + " as run " + runName + " has gone");
+        logger.info("Discarding port " + port + " on host " + hostId + " as run " + runName + " has gone");
 
-                    IpPortImpl.deleteDss(runName, hostId, port, dss);
-                }
-            }
+        try {
+            // *** The control sets of the ports of the run are deleted together
+            IpPortImpl.deleteDss(runName, hostId, port, dss, deleteProperties);
         } catch (Exception e) {
-            logger.error("Failed to delete ports for run " + runName);
+            logger.error("Failed to discard port " + port + " on host " + hostId + " as run " + runName);
         }
     }
 }
@@ -0,0 +1,48 @@
+/*
+ * Licensed Materials - Property of IBM
+ * 
+ * (c) Copyright IBM Corp. 2020.
+ */
+package dev.galasa.ipnetwork.internal.properties;
+
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
+
+import dev.galasa.framework.spi.IConfigurationPropertyStoreService;
+import dev.galasa.ipnetwork.IpNetworkManagerException;
+
+@Component(service = IpNetworkPropertiesSingleton.class, immediate = true)
+public class IpNetworkPropertiesSingleton {
+
+    private static IpNetworkPropertiesSingleton INSTANCE;
+
+    private IConfigurationPropertyStoreService  cps;
+
+    @Activate
+    public void activate() {
+        INSTANCE = this;
+    }
+
+    @Deactivate
+    public void deacivate() {
+        INSTANCE = null;
+    }
+
+    public static IConfigurationPropertyStoreService cps() throws IpNetworkManagerException {
+        if (INSTANCE != null) {
+            return INSTANCE.cps;
+        }
+
+        throw new IpNetworkManagerException("Attempt to access manager CPS before it has been initialised");
+    }
+
+    public static void setCps(IConfigurationPropertyStoreService cps) throws IpNetworkManagerException {
+        if (INSTANCE != null) {
+            INSTANCE.cps = cps;
+            return;
+        }
+
+        throw new IpNetworkManagerException("Attempt to set manager CPS before instance created");
+    }
+}
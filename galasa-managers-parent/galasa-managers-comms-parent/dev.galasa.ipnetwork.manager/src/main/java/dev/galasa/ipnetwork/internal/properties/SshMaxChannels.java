@@ -0,0 +1,34 @@
+/*
+ * Licensed Materials - Property of IBM
+ * 
+ * (c) Copyright IBM Corp. 2020.
+ */
+package dev.galasa.ipnetwork.internal.properties;
+
+import dev.galasa.framework.spi.cps.CpsProperties;
+import dev.galasa.ipnetwork.IpNetworkManagerException;
+
+/**
+ * SSH Maximum Channels
+ * <p>
+ * The most commands that are run at the same time on one SSH session to a
+ * host, further commands open another session. A server that allows fewer,
+ * with its MaxSessions, is detected.
+ * </p>
+ * <p>
+ * The property is:-<br>
+ * <br>
+ * ipnetwork.ssh.max.channels=5
+ * </p>
+ * <p>
+ * default value is 10, the OpenSSH default MaxSessions
+ * </p>
+ *
+ */
+public class SshMaxChannels extends CpsProperties {
+
+    public static int get() throws IpNetworkManagerException {
+        return getIntWithDefault(IpNetworkPropertiesSingleton.cps(), 10, "ssh", "max.channels");
+    }
+
+}
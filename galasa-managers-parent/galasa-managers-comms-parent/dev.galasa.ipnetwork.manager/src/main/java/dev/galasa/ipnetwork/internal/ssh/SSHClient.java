@@ -5,37 +5,25 @@
  */
 package dev.galasa.ipnetwork.internal.ssh;
 
-import java.io.IOException;
-import java.io.InputStream;
-import java.io.OutputStream;
+import java.io.ByteArrayOutputStream;
 import java.util.Calendar;
-import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
-import com.jcraft.jsch.Channel;
 import com.jcraft.jsch.ChannelExec;
-import com.jcraft.jsch.ChannelShell;
-import com.jcraft.jsch.JSch;
 import com.jcraft.jsch.JSchException;
-import com.jcraft.jsch.Session;
 
 import dev.galasa.ICredentials;
-import dev.galasa.ICredentialsUsernamePassword;
-import dev.galasa.ICredentialsUsernameToken;
 import dev.galasa.ipnetwork.ICommandShell;
+import dev.galasa.ipnetwork.internal.ssh.SSHSessionPool.PooledChannel;
 
 /**
  * SSH client for Galasa
+ * <p>
+ * Commands run on channels of the {@link SSHSessionPool} for the host and user, so commands issued at the same time,
+ * by this or any other client for the host, run at the same time. Commands issued to the shell run in turn.
+ * </p>
  * 
  * @author James Bartlett
  * 
@@ -44,18 +32,14 @@ public class SSHClient implements ICommandShell {
 
     private final Log           logger        = LogFactory.getLog(SSHClient.class);
 
-    private KeepAliveThread     keepAliveThread;
+    private final long          idleTimeout   = 60000;
 
     private final long          defaultTimeout;
 
     private final String        hostname;
-    private final int           port;
-    private final String        userid;
-    private final String        password;
 
-    private JSch                sshClient;
-    private Session             session;
-    private Channel             channel       = null;
+    private final SSHSessionPool pool;
+    private SSHShell            shell         = null;
 
     private long                lastCommandTimestamp;
 
@@ -66,33 +50,13 @@ public class SSHClient implements ICommandShell {
     // Default value: Linux command
     private String changePromptCommand = "PS1=" + specialPrompt;
 
-    public SSHClient(String hostname, int port, ICredentials credentials, long defaultTimeout) throws SSHException {
+    public SSHClient(String hostname, int port, ICredentials credentials, long defaultTimeout, int maxChannels)
+            throws SSHException {
 
         this.hostname = hostname;
-        this.port = port;
         this.defaultTimeout = defaultTimeout;
 
-        this.sshClient = new JSch();
-        this.session = null;
-
-        try {
-            if (credentials instanceof ICredentialsUsernamePassword) {
-                ICredentialsUsernamePassword creds = (ICredentialsUsernamePassword) credentials;
-                this.userid = creds.getUsername();
-                this.password = creds.getPassword();
-            } else if (credentials instanceof ICredentialsUsernameToken) {
-                ICredentialsUsernameToken creds = (ICredentialsUsernameToken) credentials;
-                this.userid = creds.getUsername();
-                this.password = null;
-                this.sshClient.addIdentity(this.userid, creds.getToken(), null, null);
-            } else {
-                throw new SSHException("Unsupported credentials type - " + credentials.getClass().getName());
-            }
-        } catch (SSHException e) {
-            throw e;
-        } catch (JSchException e) {
-            throw new SSHException("Problem adding credentials to SSH", e);
-        }
+        this.pool = SSHSessionPool.get(hostname, port, credentials, maxChannels);
 
     }
 
@@ -150,43 +114,18 @@ public class SSHClient implements ICommandShell {
      * @throws SSHException
      */
     @Override
-    public synchronized String issueCommand(String command, boolean newShell, long timeout) throws SSHException {
-
-        // Connect if we are not already connected
-        connect();
-        try {
-            synchronized (sshClient) {
-                // SessionChannelClient session = null;
-                // if (session == null || session.)
-                try {
-
-                    logger.trace("Issuing '" + command + "'");
-                    lastCommandTimestamp = System.currentTimeMillis();
+    public String issueCommand(String command, boolean newShell, long timeout) throws SSHException {
 
-                    // Issue the desired command and retrieve the response to a
-                    // string
-                    String response = retrieveOutput(command, timeout);
+        logger.trace("Issuing '" + command + "'");
 
-                    if (logShellResults) {
-                        logger.trace("Received '" + response);
-                    }
-                    lastCommandTimestamp = System.currentTimeMillis();
+        // Issue the desired command and retrieve the response to a string
+        String response = retrieveOutput(command, timeout);
 
-                    return response;
-                } catch (SSHException e) {
-                    throw e;
-                } catch (IOException e) {
-                    throw new SSHException("Error whilst issuing command to ssh '" + command + "'", e);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    throw new SSHException("Interrupted while trying to retrieve output", e);
-                } catch (ExecutionException e) {
-                    throw new SSHException("Execution error while trying to retrieve output", e);
-                }
-            }
-        } finally {
-            // disconnect();
+        if (logShellResults) {
+            logger.trace("Received '" + response);
         }
+
+        return response;
     }
 
     /**
@@ -257,45 +196,36 @@ public class SSHClient implements ICommandShell {
     @Override
     public synchronized String issueCommandToShell(String command, boolean newShell, long timeout) throws SSHException {
 
-        connect();
-
         try {
 
-            if (channel == null || channel.isClosed() || newShell) {
-                if (channel != null && !channel.isClosed()) {
+            // A shell left idle is closed, as the session it was on used to be
+            if (shell != null && System.currentTimeMillis() - lastCommandTimestamp >= idleTimeout) {
+                logger.debug("No command issued after " + idleTimeout + " milliseconds, closing SSH shell");
+                shell.close();
+                shell = null;
+            }
+
+            if (shell == null || shell.isClosed() || newShell) {
+                if (shell != null && !shell.isClosed()) {
                     logger.trace("Closing old shell session");
-                    channel.disconnect();
+                    shell.close();
                 }
                 logger.trace("Opening new shell session to ssh");
-                channel = session.openChannel("shell");
-                ((ChannelShell) channel).setPty(true);
-                ((ChannelShell) channel).setPtyType("ansi", 2048, 24, 0, 0);
-                channel.connect();
-                Thread.sleep(5000); // NOSONAR - Sleep is sufficent
+                shell = new SSHShell(pool, hostname);
             }
 
             lastCommandTimestamp = System.currentTimeMillis();
-            // Set a special prompt so we can easily identify responses to our commands
-            logger.trace("Setting special prompt '" + specialPrompt + "'");
-            retrieveOutputFromShell(channel, changePromptCommand, timeout);
-            Thread.sleep(500); // NOSONAR - Sleep is sufficent
+            // Set a special prompt, once for each shell, so the output is not cluttered by
+            // the user's own
+            shell.changePrompt(changePromptCommand, specialPrompt, timeout);
 
             // Issue the desired command and retrieve the response to a string
             lastCommandTimestamp = System.currentTimeMillis();
-            String response = retrieveOutputFromShell(channel, command, timeout);
+            String response = shell.issueCommand(command, timeout).getOutput();
             lastCommandTimestamp = System.currentTimeMillis();
 
             return response;
 
-        } catch (IOException e) {
-            throw new SSHException("Error whilst issuing command to ssh '" + command + "'", e);
-        } catch (JSchException e) {
-            throw new SSHException(e);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new SSHException("Interrupted while trying to retrieve output", e);
-        } catch (ExecutionException e) {
-            throw new SSHException("Execution error while trying to retrieve output", e);
         } finally {
             // disconnect();
         }
@@ -303,72 +233,7 @@ public class SSHClient implements ICommandShell {
 
     @Override
     public void connect() throws SSHException {
-        connect(5);
-    }
-
-    /**
-     * Connect to the target system
-     * 
-     * @throws SSHException
-     */
-    private synchronized void connect(int retry) throws SSHException {
-        // Do nothing if already connected
-        if (session != null && session.isConnected()) {
-            return;
-        }
-
-        try {
-
-            try {
-                session = sshClient.getSession(this.userid, hostname, port);
-                session.setIdentityRepository(sshClient.getIdentityRepository());
-                if (this.password != null) {
-                    session.setPassword(this.password);
-                }
-                session.setConfig("StrictHostKeyChecking", "no");
-
-                session.connect();
-
-                // Slight delay to allow the connection to stabilise
-                try {
-                    Thread.sleep(200); // NOSONAR - Sleep is sufficent
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    throw new SSHException("Interrupted trying to authenticate using SSH", e);
-                }
-
-                logger.trace("SSH Client connected to '" + hostname + ":" + port);
-
-                this.keepAliveThread = new KeepAliveThread(session);
-                this.keepAliveThread.start();
-
-            } catch (Exception e) {
-                if ("Auth fail".equals(e.getMessage())) {
-                    throw e;
-                }
-
-                if (retry > 0) {
-                    logger.trace("Exception caught during SSH connection, will retry.", e);
-                    if (session != null && session.isConnected()) {
-                        session.disconnect();
-                        session = null;
-                    }
-                    Thread.sleep(5000); // NOSONAR - Sleep is sufficent
-                    connect(retry - 1);
-                } else {
-                    throw e;
-                }
-            }
-        } catch (SSHException e) {
-            throw e;
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new SSHException("Interrupted while trying to retrieve output", e);
-        } catch (Exception e) {
-            throw new SSHException("Unrecognised exception in connection", e);
-        }
-
-        return;
+        pool.connect();
     }
 
     @Override
@@ -376,247 +241,62 @@ public class SSHClient implements ICommandShell {
     }
 
     /**
-     * Disconnect the client
-     * 
-     * @throws IOException
+     * Disconnect the client. The sessions are shared with the other clients for the
+     * host, so are left for the pool to disconnect once idle.
      */
     @Override
     public synchronized void disconnect() throws SSHException {
-        if (session == null) {
-            return;
-        }
-        synchronized (sshClient) {
-
-            if (!session.isConnected()) {
-                session = null;
-                return;
-            }
-
-            session.disconnect();
-            logger.trace("SSH Client disconnected");
-
-            session = null;
+        if (shell != null) {
+            shell.close();
+            shell = null;
+            logger.trace("SSH Client shell closed");
         }
         return;
     }
 
     /**
-     * Retrieve all output from the shell, returning only that which is found
-     * between the command issued and the next occurrence of the special prompt we
-     * defined in {@link #issueCommand(String)}
+     * Retrieve all output from a command issued on an exec channel
      * 
-     * @param session
      * @param command
      * @param timeout
      * @return
-     * @throws IOException
-     * @throws InterruptedException
-     * @throws ExecutionException
      * @throws SSHException
      */
-    private String retrieveOutput(String command, long timeout)
-            throws IOException, InterruptedException, ExecutionException, SSHException {
+    private String retrieveOutput(String command, long timeout) throws SSHException {
 
-        StringBuilder sb = new StringBuilder();
-        ChannelExec channel = null;
+        // Shared by stdout and stderr, written to by the session thread
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        PooledChannel channel = null;
         try {
-            channel = (ChannelExec) session.openChannel("exec");
-            channel.setPty(true);
-            channel.setPtyType("ansi", 2048, 24, 0, 0);
-            channel.setInputStream(null);
-            channel.setErrStream(null);
-            channel.setCommand(command);
-            InputStream is = channel.getInputStream();
-            InputStream err = channel.getErrStream();
-            channel.connect();
+            channel = pool.openChannel("exec", execChannel -> {
+                ((ChannelExec) execChannel).setPty(true);
+                ((ChannelExec) execChannel).setPtyType("ansi", 2048, 24, 0, 0);
+                execChannel.setInputStream(null);
+                execChannel.setOutputStream(output, true);
+                ((ChannelExec) execChannel).setErrStream(output, true);
+                ((ChannelExec) execChannel).setCommand(command);
+            });
 
             long whenTimeout = Calendar.getInstance().getTimeInMillis() + timeout;
 
-            byte[] tmp = new byte[1024];
-            while (true) {
+            while (!channel.getChannel().isClosed()) {
                 if (whenTimeout <= Calendar.getInstance().getTimeInMillis()) {
-                    throw new SSHException("Read of command timed out, response so far:-\n" + sb.toString());
-                }
-                while (is.available() > 0) {
-                    int i = is.read(tmp);
-
-                    if (i < 0) {
-                        break;
-                    }
-                    String data = new String(tmp, 0, i);
-                    sb.append(data);
-                }
-                while (err.available() > 0) {
-                    int i = err.read(tmp);
-
-                    if (i < 0) {
-                        break;
-                    }
-                    String data = new String(tmp, 0, i);
-                    sb.append(data);
-                }
-                if (channel.isClosed()) {
-                    if (is.available() > 0)
-                        continue;
-                    if (err.available() > 0)
-                        continue;
-                    break;
+                    throw new SSHException("Read of command timed out, response so far:-\n" + output.toString());
                 }
                 try {
                     Thread.sleep(100);
-                } catch (Exception ee) {
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new SSHException("Interrupted while trying to retrieve output", e);
                 }
             }
-        } catch (SSHException e) {
-            throw e;
-        } catch (Exception e) {
-            throw new SSHException("Error reading exec output", e);
         } finally {
             if (channel != null) {
-                channel.disconnect();
-            }
-        }
-
-        return sb.toString();
-
-    }
-
-    /**
-     * Retrieve all output from the shell, returning only that which is found
-     * between the command issued and the next occurrence of the special prompt we
-     * defined in {@link #issueCommandToShell(String)}
-     *
-     * @param channel
-     * @param command
-     * @param timeout
-     * @return
-     * @throws IOException
-     * @throws InterruptedException
-     * @throws ExecutionException
-     * @throws SSHException
-     */
-    private String retrieveOutputFromShell(Channel channel, String command, long timeout)
-            throws IOException, InterruptedException, ExecutionException, SSHException {
-
-        // Get the input stream from the current session
-        final InputStream in = channel.getInputStream();
-        OutputStream os = channel.getOutputStream();
-        in.skip(in.available()); // NOSONAR - Dont care what is on the buffer to start with
-
-        // Remove any unwanted trailing end-of-line characters
-        command = command.trim();
-        String patternCommand = command.replaceAll(".*[\\r\\n]", "");
-
-        // Construct the pattern which will match the output we are actually interested
-        // in
-        // i.e. everything between our command and the next prompt
-        Pattern responsePattern = Pattern
-                .compile("\\Q" + patternCommand + "\\E[\\r\\n]*(.*)\\Q" + specialPrompt + "\\E", Pattern.DOTALL);
-
-        // Submit the command
-        logger.trace("Submitting command to host '" + hostname + "':\n'" + command + "'");
-        os.write((command + " \r\n").getBytes());
-        os.flush();
-        Thread.sleep(500);
-
-        // Create a string builder to build the response, and a buffer in to which to
-        // read
-        // from the input stream
-        StringBuilder responseBuilder = new StringBuilder();
-        final byte buffer[] = new byte[5000];
-
-        // Create an executor and a callable which will allow us to read continuously
-        // from
-        // the input stream with a timeout
-        ExecutorService executor = Executors.newFixedThreadPool(2);
-        Callable<Integer> reader = new Callable<Integer>() {
-
-            /**
-             * Return the number of bytes ready to be read from the buffer
-             */
-            @Override
-            public Integer call() throws Exception {
-                return in.read(buffer);
+                channel.close();
             }
-        };
-
-        // Retrieve the output
-        while (true) {
-
-            // Submit our callable and wait for it to tell us how many bytes to read
-            Future<Integer> future = executor.submit(reader);
-            int read = 0;
-            try {
-                read = future.get(timeout, TimeUnit.MILLISECONDS);
-            } catch (TimeoutException e) {
-                executor.shutdown();
-                throw new SSHException("Timed out waiting for response from ssh. Response so far: " + responseBuilder);
-            }
-
-            // Append the new output to our response
-            responseBuilder.append(new String(buffer, 0, read));
-
-            // If the output matches <command>...<prompt> then we have found the complete
-            // response
-            Matcher responseMatcher = responsePattern.matcher(responseBuilder.toString());
-            if (responseMatcher.find()) {
-                executor.shutdown();
-                String response = responseMatcher.group(1);
-                logger.trace("Retrieved response from host '" + hostname + "':\n'" + response + "'");
-                return response;
-            }
-        }
-    }
-
-    private class KeepAliveThread extends Thread {
-
-        private final Session monitorSession;
-        private long          idleTimeout = 60000;
-
-        public KeepAliveThread(Session session) {
-            this.monitorSession = session;
-            this.setDaemon(true);
-            this.setName("GalasaSSHClient timeout thread");
-
-            // if (configurationProperties != null) {
-            // String idleTimeoutString =
-            // configurationProperties.getProperty("core.ssh.idle.timeout", "60000");
-            // try {
-            // idleTimeout = Long.parseLong(idleTimeoutString);
-            // } catch(Exception e) {
-            // logger.error("Invalid ssh idle timeout '" + idleTimeoutString + "'",e);
-            // }
-            //
-            // }
-
-            return;
         }
 
-        @Override
-        public void run() {
-
-            lastCommandTimestamp = System.currentTimeMillis();
-
-            while (this.monitorSession.isConnected()) {
-
-                synchronized (SSHClient.this) {
-
-                    long timeout = System.currentTimeMillis() - idleTimeout;
-                    if (timeout >= lastCommandTimestamp) {
-                        logger.debug("No command issued after " + idleTimeout + " milliseconds, closing SSH session");
-                        this.monitorSession.disconnect();
-                    }
-                }
-
-                try {
-                    Thread.sleep(100);
-                } catch (Exception e) {
-                    return;
-                }
-            }
-
-            return;
-        }
+        return output.toString();
 
     }
 
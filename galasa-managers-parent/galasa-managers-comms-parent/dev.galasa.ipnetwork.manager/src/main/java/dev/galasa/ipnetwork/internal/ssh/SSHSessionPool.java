@@ -0,0 +1,436 @@
+/*
+ * Licensed Materials - Property of IBM
+ * 
+ * (c) Copyright IBM Corp. 2020.
+ */
+package dev.galasa.ipnetwork.internal.ssh;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import com.jcraft.jsch.Channel;
+import com.jcraft.jsch.JSch;
+import com.jcraft.jsch.JSchException;
+import com.jcraft.jsch.Session;
+
+import dev.galasa.ICredentials;
+import dev.galasa.ICredentialsUsernamePassword;
+import dev.galasa.ICredentialsUsernameToken;
+
+/**
+ * The SSH sessions to a host for a user, shared by every {@link SSHClient} for the host and user.
+ * <p>
+ * Each command runs on a channel of its own, so commands from several clients or threads run at the same time. A
+ * session carries up to the maximum number of channels, and another session is opened when they are all in use or
+ * when the server will not open any more channels on a session, its MaxSessions. A session limited by the server is
+ * given the full number of channels again after a minute, in case the refusal was only temporary. Sessions are kept
+ * alive whilst they are in use and disconnected once they have been idle for a minute.
+ * </p>
+ */
+public class SSHSessionPool {
+
+    private static final Map<String, SSHSessionPool> pools              = new HashMap<>();
+    private static IdleSessionMonitor                idleSessionMonitor;
+
+    private static final int                         KEEP_ALIVE_INTERVAL = 15000;
+    private static final long                        IDLE_TIMEOUT        = 60000;
+    private static final long                        LIMIT_RESET         = 60000;
+
+    /** The reason code of a channel the server will not open, as it does when MaxSessions is reached */
+    private static final int                         OPEN_ADMINISTRATIVELY_PROHIBITED = 1;
+
+    private static final Log                         logger              = LogFactory.getLog(SSHSessionPool.class);
+
+    private final String                             hostname;
+    private final int                                port;
+    private final String                             userid;
+    private final String                             password;
+    private final int                                maxChannels;
+    private final long                               limitReset;
+
+    private final JSch                               sshClient;
+    private final List<PooledSession>                sessions            = new ArrayList<>();
+
+    private SSHSessionPool(String hostname, int port, ICredentials credentials, int maxChannels) throws SSHException {
+        this(hostname, port, credentials, maxChannels, LIMIT_RESET);
+    }
+
+    protected SSHSessionPool(String hostname, int port, ICredentials credentials, int maxChannels, long limitReset)
+            throws SSHException {
+        this.hostname = hostname;
+        this.port = port;
+        this.maxChannels = maxChannels;
+        this.limitReset = limitReset;
+
+        this.sshClient = new JSch();
+
+        try {
+            if (credentials instanceof ICredentialsUsernamePassword) {
+                ICredentialsUsernamePassword creds = (ICredentialsUsernamePassword) credentials;
+                this.userid = creds.getUsername();
+                this.password = creds.getPassword();
+            } else if (credentials instanceof ICredentialsUsernameToken) {
+                ICredentialsUsernameToken creds = (ICredentialsUsernameToken) credentials;
+                this.userid = creds.getUsername();
+                this.password = null;
+                this.sshClient.addIdentity(this.userid, creds.getToken(), null, null);
+            } else {
+                throw new SSHException("Unsupported credentials type - " + credentials.getClass().getName());
+            }
+        } catch (SSHException e) {
+            throw e;
+        } catch (JSchException e) {
+            throw new SSHException("Problem adding credentials to SSH", e);
+        }
+    }
+
+    /**
+     * Return the pool for a host and credentials, creating it if this is the first request for it
+     *
+     * @param hostname    the host
+     * @param port        the SSH port
+     * @param credentials the credentials to authenticate with
+     * @param maxChannels the most channels to run on each session
+     * @return the pool
+     * @throws SSHException
+     */
+    public static SSHSessionPool get(String hostname, int port, ICredentials credentials, int maxChannels)
+            throws SSHException {
+        String key = hostname + ":" + port + "|" + getCredentialsIdentity(credentials) + "|" + maxChannels;
+        synchronized (pools) {
+            SSHSessionPool pool = pools.get(key);
+            if (pool == null) {
+                pool = new SSHSessionPool(hostname, port, credentials, maxChannels);
+                pools.put(key, pool);
+            }
+
+            if (idleSessionMonitor == null) {
+                idleSessionMonitor = new IdleSessionMonitor();
+                idleSessionMonitor.start();
+            }
+            return pool;
+        }
+    }
+
+    /**
+     * Disconnect all the sessions. The pools are kept, the clients that hold them may open sessions again and those
+     * must still be disconnected once idle
+     */
+    public static void closeAll() {
+        synchronized (pools) {
+            for (SSHSessionPool pool : pools.values()) {
+                pool.disconnectSessions(Long.MAX_VALUE, true);
+            }
+        }
+    }
+
+    /**
+     * Make sure there is at least one connected session to the host
+     *
+     * @throws SSHException
+     */
+    public void connect() throws SSHException {
+        synchronized (this) {
+            for (PooledSession pooledSession : sessions) {
+                if (pooledSession.session.isConnected()) {
+                    return;
+                }
+            }
+        }
+
+        // Connected outside the lock, as it may take several retries
+        PooledSession pooledSession = new PooledSession(newSession(5));
+        synchronized (this) {
+            sessions.add(pooledSession);
+        }
+    }
+
+    /**
+     * Open and connect a channel on a session that has room for it. If the server refuses the channel whilst other
+     * channels are open on the session, the session is full and the channel is opened on another.
+     *
+     * @param type  the type of channel, exec or shell
+     * @param setup sets up the channel before it is connected
+     * @return the connected channel, which must be closed with {@link PooledChannel#close()}
+     * @throws SSHException
+     */
+    public PooledChannel openChannel(String type, ChannelSetup setup) throws SSHException {
+        for (int retry = 5;; retry--) {
+            PooledSession pooledSession = lease();
+            Channel channel = null;
+            try {
+                channel = pooledSession.session.openChannel(type);
+                setup.setup(channel);
+                channel.connect();
+                return new PooledChannel(pooledSession, channel);
+            } catch (JSchException | IOException e) {
+                if (channel != null) {
+                    channel.disconnect();
+                }
+                if (!channelRefused(pooledSession, isOpenRefused(channel, e)) || retry <= 0) {
+                    throw new SSHException("Unable to open a " + type + " channel to '" + hostname + ":" + port + "'", e);
+                }
+                logger.trace("Unable to open a " + type + " channel to '" + hostname + ":" + port
+                        + "', will retry on another session", e);
+            }
+        }
+    }
+
+    private PooledSession lease() throws SSHException {
+        synchronized (this) {
+            long now = System.currentTimeMillis();
+            Iterator<PooledSession> iterator = sessions.iterator();
+            while (iterator.hasNext()) {
+                PooledSession pooledSession = iterator.next();
+                if (!pooledSession.session.isConnected()) {
+                    // Dropped by the server, any channels still leased on it are released to nothing
+                    iterator.remove();
+                    continue;
+                }
+                if (pooledSession.limit < maxChannels && now - pooledSession.limitedAt >= limitReset) {
+                    pooledSession.limit = maxChannels;
+                }
+                if (pooledSession.channels < pooledSession.limit) {
+                    pooledSession.channels++;
+                    return pooledSession;
+                }
+            }
+        }
+
+        // Connected outside the lock, so the channels of the other sessions can be released whilst it retries
+        logger.trace("Opening another SSH session to '" + hostname + ":" + port + "'");
+        PooledSession pooledSession = new PooledSession(newSession(5));
+        synchronized (this) {
+            sessions.add(pooledSession);
+            pooledSession.channels++;
+        }
+        return pooledSession;
+    }
+
+    private synchronized void release(PooledSession pooledSession) {
+        pooledSession.channels--;
+        pooledSession.lastUsed = System.currentTimeMillis();
+    }
+
+    /**
+     * Release a session a channel could not be opened on
+     *
+     * @param refused whether the server refused to open the channel
+     * @return true if it is worth trying again on another session
+     */
+    private synchronized boolean channelRefused(PooledSession pooledSession, boolean refused) {
+        release(pooledSession);
+        if (!pooledSession.session.isConnected()) {
+            sessions.remove(pooledSession);
+            return true;
+        }
+        if (refused && pooledSession.channels > 0) {
+            logger.trace("SSH session to '" + hostname + ":" + port + "' is limited to " + pooledSession.channels
+                    + " channels by the server");
+            pooledSession.limit = pooledSession.channels;
+            pooledSession.limitedAt = System.currentTimeMillis();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Whether the server refused to open the channel, rather than the channel failing for some other reason
+     */
+    private static boolean isOpenRefused(Channel channel, Exception e) {
+        return channel != null && e instanceof JSchException && "channel is not opened.".equals(e.getMessage())
+                && channel.getExitStatus() == OPEN_ADMINISTRATIVELY_PROHIBITED;
+    }
+
+    private synchronized void disconnectSessions(long idleSince, boolean all) {
+        Iterator<PooledSession> iterator = sessions.iterator();
+        while (iterator.hasNext()) {
+            PooledSession pooledSession = iterator.next();
+            if (!pooledSession.session.isConnected()) {
+                iterator.remove();
+            } else if ((pooledSession.channels == 0 && pooledSession.lastUsed <= idleSince) || all) {
+                pooledSession.session.disconnect();
+                iterator.remove();
+                logger.trace("SSH Client disconnected from '" + hostname + ":" + port + "'");
+            }
+        }
+    }
+
+    /**
+     * Connect a new session to the target system
+     *
+     * @throws SSHException
+     */
+    protected Session newSession(int retry) throws SSHException {
+        Session session = null;
+        try {
+
+            try {
+                session = sshClient.getSession(this.userid, hostname, port);
+                session.setIdentityRepository(sshClient.getIdentityRepository());
+                if (this.password != null) {
+                    session.setPassword(this.password);
+                }
+                session.setConfig("StrictHostKeyChecking", "no");
+                session.setServerAliveInterval(KEEP_ALIVE_INTERVAL);
+
+                session.connect();
+
+                // Slight delay to allow the connection to stabilise
+                try {
+                    Thread.sleep(200); // NOSONAR - Sleep is sufficent
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new SSHException("Interrupted trying to authenticate using SSH", e);
+                }
+
+                logger.trace("SSH Client connected to '" + hostname + ":" + port);
+
+                return session;
+            } catch (Exception e) {
+                if ("Auth fail".equals(e.getMessage())) {
+                    throw e;
+                }
+
+                if (retry > 0) {
+                    logger.trace("Exception caught during SSH connection, will retry.", e);
+                    if (session != null && session.isConnected()) {
+                        session.disconnect();
+                    }
+                    Thread.sleep(5000); // NOSONAR - Sleep is sufficent
+                    return newSession(retry - 1);
+                } else {
+                    throw e;
+                }
+            }
+        } catch (SSHException e) {
+            throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SSHException("Interrupted while trying to retrieve output", e);
+        } catch (Exception e) {
+            throw new SSHException("Unrecognised exception in connection", e);
+        }
+    }
+
+    /**
+     * Identify the credentials by the username and a hash of the password or token, so the sessions of a pool are
+     * never shared with clients that authenticate differently as the same user, and the secret is not kept in the key
+     */
+    protected static String getCredentialsIdentity(ICredentials credentials) throws SSHException {
+        String username;
+        String type;
+        byte[] secret;
+        if (credentials instanceof ICredentialsUsernamePassword) {
+            ICredentialsUsernamePassword creds = (ICredentialsUsernamePassword) credentials;
+            username = creds.getUsername();
+            type = "password";
+            secret = creds.getPassword() == null ? new byte[0] : creds.getPassword().getBytes(StandardCharsets.UTF_8);
+        } else if (credentials instanceof ICredentialsUsernameToken) {
+            ICredentialsUsernameToken creds = (ICredentialsUsernameToken) credentials;
+            username = creds.getUsername();
+            type = "token";
+            secret = creds.getToken() == null ? new byte[0] : creds.getToken();
+        } else {
+            return "";
+        }
+
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return username + "|" + type + "|" + Base64.getEncoder().encodeToString(digest.digest(secret));
+        } catch (NoSuchAlgorithmException e) {
+            throw new SSHException("Unable to identify the credentials for the SSH session pool", e);
+        }
+    }
+
+    /**
+     * Sets up a channel before it is connected
+     */
+    public interface ChannelSetup {
+        void setup(Channel channel) throws JSchException, IOException;
+    }
+
+    private class PooledSession {
+        private final Session session;
+        private int           channels = 0;
+        private int           limit    = maxChannels;
+        private long          limitedAt;
+        private long          lastUsed = System.currentTimeMillis();
+
+        private PooledSession(Session session) {
+            this.session = session;
+        }
+    }
+
+    /**
+     * A connected channel leased from a pooled session
+     */
+    public class PooledChannel {
+        private final PooledSession pooledSession;
+        private final Channel       channel;
+        private boolean             closed = false;
+
+        private PooledChannel(PooledSession pooledSession, Channel channel) {
+            this.pooledSession = pooledSession;
+            this.channel = channel;
+        }
+
+        public Channel getChannel() {
+            return this.channel;
+        }
+
+        /**
+         * Disconnect the channel and return its place on the session to the pool
+         */
+        public synchronized void close() {
+            if (this.closed) {
+                return;
+            }
+            this.closed = true;
+            this.channel.disconnect();
+            release(this.pooledSession);
+        }
+    }
+
+    private static class IdleSessionMonitor extends Thread {
+
+        public IdleSessionMonitor() {
+            this.setDaemon(true);
+            this.setName("GalasaSSHClient session monitor");
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                List<SSHSessionPool> currentPools;
+                synchronized (pools) {
+                    currentPools = new ArrayList<>(pools.values());
+                }
+
+                long idleSince = System.currentTimeMillis() - IDLE_TIMEOUT;
+                for (SSHSessionPool pool : currentPools) {
+                    pool.disconnectSessions(idleSince, false);
+                }
+
+                try {
+                    Thread.sleep(1000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,281 @@
+/*
+ * Licensed Materials - Property of IBM
+ * 
+ * (c) Copyright IBM Corp. 2020.
+ */
+package dev.galasa.ipnetwork.internal.ssh;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import com.jcraft.jsch.Channel;
+import com.jcraft.jsch.ChannelShell;
+import com.jcraft.jsch.JSchException;
+
+import dev.galasa.ipnetwork.internal.ssh.SSHSessionPool.PooledChannel;
+
+/**
+ * An interactive shell on an SSH session, used by {@link SSHClient#issueCommandToShell(String, boolean, long)}
+ * <p>
+ * A single reader thread copies the output of the shell into a buffer for the life of the shell. Each command is
+ * followed by an echo of a marker unique to the command along with the exit code of the command, so the response is
+ * complete as soon as the marker arrives, rather than after a fixed sleep, and only the output that is new since
+ * the last read is searched for it. The marker is echoed by a line of its own, so it is still issued when the
+ * command ends with a comment or runs in the background.
+ * </p>
+ */
+public class SSHShell {
+
+    private static final String MARKER_START = "[Galasa";
+    private static final String MARKER_END   = "End-";
+
+    private final Log           logger       = LogFactory.getLog(SSHShell.class);
+
+    private final String        hostname;
+    private final PooledChannel channel;
+    private Reader              reader;
+    private OutputStream        os;
+
+    private final StringBuilder output       = new StringBuilder();
+    private boolean             endOfOutput  = false;
+
+    private String              changePromptCommand;
+    private String              prompt;
+    private int                 commandNumber;
+
+    public SSHShell(SSHSessionPool pool, String hostname) throws SSHException {
+        this.hostname = hostname;
+
+        this.channel = pool.openChannel("shell", this::setup);
+
+        startReader();
+    }
+
+    /**
+     * A shell on streams rather than a channel, for unit tests
+     */
+    protected SSHShell(String hostname, Reader reader, OutputStream os) {
+        this.hostname = hostname;
+        this.channel = null;
+        this.reader = reader;
+        this.os = os;
+
+        startReader();
+    }
+
+    private void startReader() {
+        Thread readerThread = new Thread(() -> read(this.reader));
+        readerThread.setDaemon(true);
+        readerThread.setName("GalasaSSHClient shell reader");
+        readerThread.start();
+    }
+
+    private void setup(Channel shellChannel) throws JSchException, IOException {
+        ((ChannelShell) shellChannel).setPty(true);
+        ((ChannelShell) shellChannel).setPtyType("ansi", 2048, 24, 0, 0);
+        this.reader = new InputStreamReader(shellChannel.getInputStream());
+        this.os = shellChannel.getOutputStream();
+    }
+
+    /**
+     * Change the shell prompt, if it has not already been changed with this command
+     *
+     * @param changePromptCommand - the command to change the prompt
+     * @param prompt              - the prompt it changes to, which is removed from
+     *                            the end of the responses
+     * @param timeout             - time (in milliseconds) to wait with no new output
+     *                            appearing before timing out
+     * @throws SSHException
+     */
+    public synchronized void changePrompt(String changePromptCommand, String prompt, long timeout) throws SSHException {
+        if (changePromptCommand.equals(this.changePromptCommand)) {
+            return;
+        }
+
+        logger.trace("Setting special prompt with '" + changePromptCommand + "'");
+        this.prompt = prompt;
+        issueCommand(changePromptCommand, timeout);
+        this.changePromptCommand = changePromptCommand;
+    }
+
+    /**
+     * Issue a command to the shell and wait for it to end
+     *
+     * @param command - command to issue
+     * @param timeout - time (in milliseconds) to wait with no new output appearing
+     *                before timing out
+     * @return the output of the command and its exit code
+     * @throws SSHException
+     */
+    public synchronized ShellResponse issueCommand(String command, long timeout) throws SSHException {
+        // Remove any unwanted trailing end-of-line characters
+        command = command.trim();
+
+        commandNumber++;
+        String marker = MARKER_START + MARKER_END + commandNumber + "]";
+        // The marker is quoted in two parts so that the echo of the command line does not contain it
+        String markerCommand = "echo \"" + MARKER_START + "\"\"" + MARKER_END + commandNumber + "]\"$?";
+
+        synchronized (output) {
+            // Dont care what is on the buffer to start with
+            output.setLength(0);
+        }
+
+        // Submit the command
+        logger.trace("Submitting command to host '" + hostname + "':\n'" + command + "'");
+        try {
+            os.write((command + "\n" + markerCommand + "\n").getBytes());
+            os.flush();
+        } catch (IOException e) {
+            throw new SSHException("Error whilst issuing command to ssh '" + command + "'", e);
+        }
+
+        ShellResponse response = waitForMarker(command, marker, markerCommand, timeout);
+        logger.trace("Retrieved response from host '" + hostname + "', exit code " + response.getExitCode() + ":\n'"
+                + response.getOutput() + "'");
+        return response;
+    }
+
+    protected ShellResponse waitForMarker(String command, String marker, String markerCommand, long timeout) throws SSHException {
+        synchronized (output) {
+            long whenTimeout = System.currentTimeMillis() + timeout;
+            int searchFrom = 0;
+            while (true) {
+                int markerStart = output.indexOf(marker, searchFrom);
+                if (markerStart >= 0) {
+                    int exitCodeStart = markerStart + marker.length();
+                    int exitCodeEnd = exitCodeStart;
+                    while (exitCodeEnd < output.length() && Character.isDigit(output.charAt(exitCodeEnd))) {
+                        exitCodeEnd++;
+                    }
+                    // The exit code is complete once something follows it
+                    if (exitCodeEnd > exitCodeStart && exitCodeEnd < output.length()) {
+                        int exitCode = Integer.parseInt(output.substring(exitCodeStart, exitCodeEnd));
+                        return new ShellResponse(response(command, markerCommand, markerStart), exitCode);
+                    }
+                    searchFrom = markerStart;
+                } else {
+                    // The marker may have been split across reads
+                    searchFrom = Math.max(0, output.length() - marker.length() + 1);
+                }
+
+                if (endOfOutput) {
+                    throw new SSHException("Shell closed while waiting for response from ssh. Response so far: " + output);
+                }
+
+                long wait = whenTimeout - System.currentTimeMillis();
+                if (wait <= 0) {
+                    throw new SSHException("Timed out waiting for response from ssh. Response so far: " + output);
+                }
+
+                int length = output.length();
+                try {
+                    output.wait(wait);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new SSHException("Interrupted while trying to retrieve output", e);
+                }
+                if (output.length() > length) {
+                    whenTimeout = System.currentTimeMillis() + timeout;
+                }
+            }
+        }
+    }
+
+    /**
+     * The output of the command, without the echo of the command line and of the marker command line and without
+     * the prompt the shell writes before it runs the marker command
+     */
+    protected String response(String command, String markerCommand, int markerStart) {
+        StringBuilder response = new StringBuilder(output.substring(responseStart(command, markerStart), markerStart));
+
+        // The terminal echoes the marker command line before the output, the shell echoes it after the prompt
+        int echoStart = response.indexOf(markerCommand);
+        if (echoStart >= 0) {
+            int lineStart = response.lastIndexOf("\n", echoStart) + 1;
+            response.delete(lineStart, skipLineEnd(response, echoStart + markerCommand.length()));
+        }
+
+        if (this.prompt != null && !this.prompt.isEmpty()) {
+            while (response.length() >= this.prompt.length()
+                    && response.lastIndexOf(this.prompt) == response.length() - this.prompt.length()) {
+                response.setLength(response.length() - this.prompt.length());
+            }
+        }
+        return response.toString();
+    }
+
+    /**
+     * The response starts after the echo of the command line, if the shell echoes it on the first line
+     */
+    protected int responseStart(String command, int markerStart) {
+        int echoStart = output.indexOf(command);
+        if (echoStart < 0 || echoStart >= markerStart || output.lastIndexOf("\n", echoStart) >= 0) {
+            return 0;
+        }
+        return skipLineEnd(output, Math.min(echoStart + command.length(), markerStart));
+    }
+
+    private static int skipLineEnd(StringBuilder buffer, int index) {
+        while (index < buffer.length() && (buffer.charAt(index) == '\r' || buffer.charAt(index) == '\n')) {
+            index++;
+        }
+        return index;
+    }
+
+    private void read(Reader reader) {
+        char[] buffer = new char[5000];
+        try {
+            int read;
+            while ((read = reader.read(buffer)) >= 0) {
+                synchronized (output) {
+                    output.append(buffer, 0, read);
+                    output.notifyAll();
+                }
+            }
+        } catch (IOException e) {
+            logger.trace("Shell output from host '" + hostname + "' ended", e);
+        } finally {
+            synchronized (output) {
+                endOfOutput = true;
+                output.notifyAll();
+            }
+        }
+    }
+
+    public boolean isClosed() {
+        synchronized (output) {
+            return endOfOutput || (channel != null && channel.getChannel().isClosed());
+        }
+    }
+
+    public void close() {
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    public static class ShellResponse {
+        private final String output;
+        private final int    exitCode;
+
+        protected ShellResponse(String output, int exitCode) {
+            this.output = output;
+            this.exitCode = exitCode;
+        }
+
+        public String getOutput() {
+            return this.output;
+        }
+
+        public int getExitCode() {
+            return this.exitCode;
+        }
+    }
+
+}
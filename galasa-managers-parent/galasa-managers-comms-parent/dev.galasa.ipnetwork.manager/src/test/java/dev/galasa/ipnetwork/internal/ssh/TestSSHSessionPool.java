@@ -0,0 +1,195 @@
+/*
+ * Licensed Materials - Property of IBM
+ * 
+ * (c) Copyright IBM Corp. 2020.
+ */
+package dev.galasa.ipnetwork.internal.ssh;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import com.jcraft.jsch.Channel;
+import com.jcraft.jsch.JSchException;
+import com.jcraft.jsch.Session;
+
+import dev.galasa.ICredentialsUsernamePassword;
+import dev.galasa.ICredentialsUsernameToken;
+import dev.galasa.ipnetwork.internal.ssh.SSHSessionPool.PooledChannel;
+
+@RunWith(PowerMockRunner.class)
+public class TestSSHSessionPool {
+    
+    private static final String HOSTNAME = "host";
+    
+    private static final int PORT = 22;
+    
+    private static final String CHANNEL_NOT_OPENED = "channel is not opened.";
+    
+    private SSHSessionPool poolSpy;
+    
+    @Mock
+    private ICredentialsUsernamePassword credentialsMock;
+    
+    @Mock
+    private Session sessionMock;
+    
+    @Mock
+    private Session sessionMock2;
+    
+    @Mock
+    private Channel channelMock;
+    
+    @Mock
+    private Channel channelMock2;
+
+    @Before
+    public void setup() throws Exception {
+        Mockito.when(credentialsMock.getUsername()).thenReturn("user");
+        Mockito.when(credentialsMock.getPassword()).thenReturn("password");
+        Mockito.when(sessionMock.isConnected()).thenReturn(true);
+        Mockito.when(sessionMock2.isConnected()).thenReturn(true);
+        Mockito.when(sessionMock.openChannel(Mockito.any())).thenReturn(channelMock);
+        Mockito.when(sessionMock2.openChannel(Mockito.any())).thenReturn(channelMock2);
+        
+        poolSpy = Mockito.spy(new SSHSessionPool(HOSTNAME, PORT, credentialsMock, 2, 60000));
+        Mockito.doReturn(sessionMock, sessionMock2).when(poolSpy).newSession(Mockito.anyInt());
+    }
+    
+    @Test
+    public void testOpenChannelSharesSession() throws Exception {
+        PooledChannel channel1 = poolSpy.openChannel("exec", channel -> {});
+        PooledChannel channel2 = poolSpy.openChannel("exec", channel -> {});
+        Assert.assertEquals("openChannel() should return the channel of the session", channelMock, channel1.getChannel());
+        Assert.assertEquals("openChannel() should return the channel of the session", channelMock, channel2.getChannel());
+        Mockito.verify(poolSpy, Mockito.times(1)).newSession(Mockito.anyInt());
+        
+        // Both channels of the session are in use
+        Assert.assertEquals("openChannel() should open another session", channelMock2, poolSpy.openChannel("exec", channel -> {}).getChannel());
+        
+        channel1.close();
+        channel1.close();
+        Mockito.verify(channelMock, Mockito.times(1)).disconnect();
+        Assert.assertEquals("openChannel() should reuse the released channel", channelMock, poolSpy.openChannel("exec", channel -> {}).getChannel());
+        Mockito.verify(poolSpy, Mockito.times(2)).newSession(Mockito.anyInt());
+    }
+    
+    @Test
+    public void testNewSessionOutsideLock() throws Exception {
+        CountDownLatch connecting = new CountDownLatch(1);
+        CountDownLatch connect = new CountDownLatch(1);
+        Mockito.doAnswer(invocation -> {
+            connecting.countDown();
+            connect.await(10, TimeUnit.SECONDS);
+            return sessionMock;
+        }).doReturn(sessionMock2).when(poolSpy).newSession(Mockito.anyInt());
+        
+        CompletableFuture<PooledChannel> slowChannel = CompletableFuture.supplyAsync(() -> {
+            try {
+                return poolSpy.openChannel("exec", channel -> {});
+            } catch (SSHException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Assert.assertTrue("The first session should be connecting", connecting.await(10, TimeUnit.SECONDS));
+        
+        // The pool is not locked whilst the first session connects
+        PooledChannel channel = poolSpy.openChannel("exec", c -> {});
+        Assert.assertEquals("openChannel() should not wait for the other session to connect", channelMock2, channel.getChannel());
+        channel.close();
+        
+        connect.countDown();
+        Assert.assertEquals("openChannel() should return the channel of the first session", channelMock, slowChannel.get(10, TimeUnit.SECONDS).getChannel());
+    }
+    
+    @Test
+    public void testChannelRefusedBySessionLimit() throws Exception {
+        PooledChannel channel1 = poolSpy.openChannel("exec", channel -> {});
+        Mockito.when(channelMock.getExitStatus()).thenReturn(1);
+        Mockito.doThrow(new JSchException(CHANNEL_NOT_OPENED)).when(channelMock).connect();
+        
+        Assert.assertEquals("openChannel() should retry on another session", channelMock2, poolSpy.openChannel("exec", channel -> {}).getChannel());
+        
+        // The first session is now limited to the one channel it has
+        Mockito.doNothing().when(channelMock).connect();
+        channel1.close();
+        poolSpy.openChannel("exec", channel -> {});
+        Assert.assertEquals("openChannel() should use the second session whilst the first is limited", channelMock2, poolSpy.openChannel("exec", channel -> {}).getChannel());
+        Mockito.verify(sessionMock, Mockito.times(3)).openChannel(Mockito.any());
+    }
+    
+    @Test
+    public void testChannelLimitReset() throws Exception {
+        poolSpy = Mockito.spy(new SSHSessionPool(HOSTNAME, PORT, credentialsMock, 2, 0));
+        Mockito.doReturn(sessionMock, sessionMock2).when(poolSpy).newSession(Mockito.anyInt());
+        
+        poolSpy.openChannel("exec", channel -> {});
+        Mockito.when(channelMock.getExitStatus()).thenReturn(1);
+        Mockito.doThrow(new JSchException(CHANNEL_NOT_OPENED)).doNothing().when(channelMock).connect();
+        
+        // The limit is reset straight away, so the retry is on the first session again
+        Assert.assertEquals("openChannel() should use the first session once its limit is reset", channelMock, poolSpy.openChannel("exec", channel -> {}).getChannel());
+        Mockito.verify(poolSpy, Mockito.times(1)).newSession(Mockito.anyInt());
+    }
+    
+    @Test
+    public void testChannelFailureDoesNotLimitSession() throws Exception {
+        poolSpy.openChannel("exec", channel -> {});
+        Mockito.doThrow(new JSchException("session is down")).doNothing().when(channelMock).connect();
+        
+        try {
+            poolSpy.openChannel("exec", channel -> {});
+            Assert.fail("openChannel() should throw an exception");
+        } catch (SSHException e) {
+            Assert.assertEquals("openChannel() should throw the expected exception", "Unable to open a exec channel to '" + HOSTNAME + ":" + PORT + "'", e.getMessage());
+        }
+        
+        // The failure was not a refusal, so the session keeps its full number of channels
+        Assert.assertEquals("openChannel() should use the first session", channelMock, poolSpy.openChannel("exec", channel -> {}).getChannel());
+        Mockito.verify(poolSpy, Mockito.times(1)).newSession(Mockito.anyInt());
+    }
+    
+    @Test
+    public void testCloseAllKeepsPools() throws Exception {
+        SSHSessionPool pool = SSHSessionPool.get(HOSTNAME, PORT, credentialsMock, 2);
+        
+        SSHSessionPool.closeAll();
+        
+        Assert.assertSame("closeAll() should keep the pool, so its later sessions are still disconnected when idle", pool, SSHSessionPool.get(HOSTNAME, PORT, credentialsMock, 2));
+    }
+    
+    @Test
+    public void testGetPoolPerCredentials() throws Exception {
+        ICredentialsUsernamePassword sameCredentialsMock = Mockito.mock(ICredentialsUsernamePassword.class);
+        Mockito.when(sameCredentialsMock.getUsername()).thenReturn("user");
+        Mockito.when(sameCredentialsMock.getPassword()).thenReturn("password");
+        ICredentialsUsernamePassword otherPasswordMock = Mockito.mock(ICredentialsUsernamePassword.class);
+        Mockito.when(otherPasswordMock.getUsername()).thenReturn("user");
+        Mockito.when(otherPasswordMock.getPassword()).thenReturn("other");
+        
+        SSHSessionPool pool = SSHSessionPool.get(HOSTNAME, PORT, credentialsMock, 2);
+        Assert.assertSame("get() should return the same pool for the same credentials", pool, SSHSessionPool.get(HOSTNAME, PORT, sameCredentialsMock, 2));
+        Assert.assertNotSame("get() should return another pool for another password of the same user", pool, SSHSessionPool.get(HOSTNAME, PORT, otherPasswordMock, 2));
+    }
+    
+    @Test
+    public void testGetCredentialsIdentity() throws Exception {
+        ICredentialsUsernameToken tokenMock = Mockito.mock(ICredentialsUsernameToken.class);
+        Mockito.when(tokenMock.getUsername()).thenReturn("user");
+        Mockito.when(tokenMock.getToken()).thenReturn("password".getBytes());
+        
+        String identity = SSHSessionPool.getCredentialsIdentity(credentialsMock);
+        Assert.assertTrue("getCredentialsIdentity() should start with the username", identity.startsWith("user|password|"));
+        Assert.assertFalse("getCredentialsIdentity() should not contain the password", identity.substring("user|password|".length()).contains("password"));
+        Assert.assertNotEquals("getCredentialsIdentity() should distinguish a token from a password", identity, SSHSessionPool.getCredentialsIdentity(tokenMock));
+        Assert.assertEquals("getCredentialsIdentity() should return the same value for the same token", SSHSessionPool.getCredentialsIdentity(tokenMock), SSHSessionPool.getCredentialsIdentity(tokenMock));
+    }
+}
@@ -0,0 +1,269 @@
+/*
+ * Licensed Materials - Property of IBM
+ * 
+ * (c) Copyright IBM Corp. 2020.
+ */
+package dev.galasa.ipnetwork.internal.ssh;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PipedReader;
+import java.io.PipedWriter;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.powermock.reflect.Whitebox;
+
+import dev.galasa.ipnetwork.internal.ssh.SSHShell.ShellResponse;
+
+public class TestSSHShell {
+    
+    private static final String HOSTNAME = "host";
+    
+    private static final String PROMPT = "[GalasaPrompt]";
+    
+    private static final String MARKER_COMMAND_1 = "echo \"[Galasa\"\"End-1]\"$?";
+    
+    private static final String MARKER_COMMAND_2 = "echo \"[Galasa\"\"End-2]\"$?";
+    
+    private static final long TIMEOUT = 5000;
+    
+    private PipedWriter shellOutput;
+    
+    private CountDownLatch written;
+    
+    private ByteArrayOutputStream shellInput;
+    
+    private SSHShell shell;
+    
+    @Before
+    public void setup() throws IOException {
+        shellOutput = new PipedWriter();
+        PipedReader reader = new PipedReader(shellOutput);
+        written = new CountDownLatch(1);
+        shellInput = new ByteArrayOutputStream() {
+            @Override
+            public synchronized void write(byte[] b, int off, int len) {
+                super.write(b, off, len);
+                written.countDown();
+            }
+        };
+        shell = new SSHShell(HOSTNAME, reader, shellInput);
+    }
+    
+    @After
+    public void tearDown() throws IOException {
+        shellOutput.close();
+    }
+    
+    @Test
+    public void testMarkerIsOnItsOwnLine() throws Exception {
+        ShellResponse response = issueCommand("sleep 10 &", TIMEOUT, "[1] 1234\r\n[GalasaEnd-1]0\r\n");
+        Assert.assertEquals("Command and marker should be written as separate lines", "sleep 10 &\n" + MARKER_COMMAND_1 + "\n", shellInput.toString());
+        Assert.assertEquals("Unexpected output", "[1] 1234\r\n", response.getOutput());
+        Assert.assertEquals("Unexpected exit code", 0, response.getExitCode());
+    }
+    
+    @Test
+    public void testCommandEndingWithComment() throws Exception {
+        ShellResponse response = issueCommand("ls # list files", TIMEOUT, "a.txt\r\n[GalasaEnd-1]0\r\n");
+        Assert.assertEquals("Marker should not be part of the comment", "ls # list files\n" + MARKER_COMMAND_1 + "\n", shellInput.toString());
+        Assert.assertEquals("Unexpected output", "a.txt\r\n", response.getOutput());
+    }
+    
+    @Test
+    public void testCommandIsTrimmed() throws Exception {
+        issueCommand("  ls  \r\n", TIMEOUT, "[GalasaEnd-1]0\r\n");
+        Assert.assertEquals("Command should be trimmed", "ls\n" + MARKER_COMMAND_1 + "\n", shellInput.toString());
+    }
+    
+    @Test
+    public void testExitCode() throws Exception {
+        ShellResponse response = issueCommand("false", TIMEOUT, "[GalasaEnd-1]127\r\n");
+        Assert.assertEquals("Unexpected exit code", 127, response.getExitCode());
+        Assert.assertEquals("Unexpected output", "", response.getOutput());
+    }
+    
+    @Test
+    public void testMarkerSplitAcrossReads() throws Exception {
+        ShellResponse response = issueCommand("ls", TIMEOUT, "a.txt\r\n[Gal", "asaEn", "d-1]", "1", "2", "\r\n");
+        Assert.assertEquals("Unexpected output", "a.txt\r\n", response.getOutput());
+        Assert.assertEquals("Exit code split across reads should be complete", 12, response.getExitCode());
+    }
+    
+    @Test
+    public void testOutputSplitAcrossReads() throws Exception {
+        ShellResponse response = issueCommand("ls", TIMEOUT, "a.t", "xt\r", "\nb.txt\r\n", "[GalasaEnd-1]0\r\n");
+        Assert.assertEquals("Unexpected output", "a.txt\r\nb.txt\r\n", response.getOutput());
+    }
+    
+    @Test
+    public void testEchoedCommandAndMarkerCommand() throws Exception {
+        // The terminal echoes both lines before the command runs
+        Whitebox.setInternalState(shell, "prompt", PROMPT);
+        ShellResponse response = issueCommand("ls", TIMEOUT, 
+                "ls\r\n" + MARKER_COMMAND_1 + "\r\n", 
+                "a.txt\r\n" + PROMPT, 
+                "[GalasaEnd-1]0\r\n" + PROMPT);
+        Assert.assertEquals("Echoes and prompt should be removed", "a.txt\r\n", response.getOutput());
+    }
+    
+    @Test
+    public void testMarkerCommandEchoedAfterOutput() throws Exception {
+        // The shell echoes the marker command line after the output, behind the prompt
+        Whitebox.setInternalState(shell, "prompt", PROMPT);
+        ShellResponse response = issueCommand("ls", TIMEOUT, 
+                "ls\r\n", 
+                "a.txt\r\n", 
+                PROMPT + MARKER_COMMAND_1 + "\r\n", 
+                "[GalasaEnd-1]0\r\n" + PROMPT);
+        Assert.assertEquals("Echoes and prompt should be removed", "a.txt\r\n", response.getOutput());
+    }
+    
+    @Test
+    public void testMarkerCommandEchoSplitAcrossReads() throws Exception {
+        ShellResponse response = issueCommand("ls", TIMEOUT, 
+                "ls\r\na.txt\r\n" + PROMPT + "echo \"[Gal", 
+                "asa\"\"End-1]\"$?\r\n[GalasaEnd-1]", 
+                "0\r\n");
+        Assert.assertEquals("Echo split across reads should be removed", "a.txt\r\n", response.getOutput());
+    }
+    
+    @Test
+    public void testOutputContainingCommandIsKept() throws Exception {
+        ShellResponse response = issueCommand("echo ls", TIMEOUT, "echo ls\r\nls\r\n[GalasaEnd-1]0\r\n");
+        Assert.assertEquals("Only the echo of the command line should be removed", "ls\r\n", response.getOutput());
+    }
+    
+    @Test
+    public void testPromptIsRemoved() throws Exception {
+        written = new CountDownLatch(1);
+        CompletableFuture<Void> changed = CompletableFuture.runAsync(() -> {
+            try {
+                shell.changePrompt("PS1=" + PROMPT, PROMPT, TIMEOUT);
+            } catch (SSHException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Assert.assertTrue("Change prompt command was not written", written.await(TIMEOUT, TimeUnit.MILLISECONDS));
+        write("$ PS1=" + PROMPT + "\r\n" + PROMPT + "[GalasaEnd-1]0\r\n" + PROMPT);
+        changed.get(TIMEOUT, TimeUnit.MILLISECONDS);
+        
+        ShellResponse response = issueCommand("pwd", TIMEOUT, "/home\r\n" + PROMPT + PROMPT + MARKER_COMMAND_2 + "\r\n[GalasaEnd-2]0\r\n");
+        Assert.assertEquals("Prompt should be removed", "/home\r\n", response.getOutput());
+        Assert.assertEquals("Second command should use its own marker", "pwd\n" + MARKER_COMMAND_2 + "\n", 
+                shellInput.toString().substring(shellInput.toString().indexOf("pwd")));
+    }
+    
+    @Test
+    public void testPreviousMarkerIsIgnored() throws Exception {
+        issueCommand("ls", TIMEOUT, "[GalasaEnd-1]0\r\n");
+        ShellResponse response = issueCommand("pwd", TIMEOUT, "[GalasaEnd-1]0\r\n/home\r\n", "[GalasaEnd-2]0\r\n");
+        Assert.assertEquals("Output should not end at the marker of the previous command", "[GalasaEnd-1]0\r\n/home\r\n", response.getOutput());
+    }
+    
+    @Test
+    public void testTimeout() throws Exception {
+        try {
+            issueCommand("sleep 100", 200, "partial");
+            Assert.fail("Expected a timeout");
+        } catch (ExecutionException e) {
+            Assert.assertTrue("Unexpected exception", e.getCause() instanceof SSHException);
+            Assert.assertEquals("Unexpected message", "Timed out waiting for response from ssh. Response so far: partial", e.getCause().getMessage());
+        }
+    }
+    
+    @Test
+    public void testMarkerWithoutExitCodeTerminatorTimesOut() throws Exception {
+        try {
+            issueCommand("ls", 200, "[GalasaEnd-1]0");
+            Assert.fail("Expected a timeout");
+        } catch (ExecutionException e) {
+            Assert.assertTrue("Exit code should not be complete until something follows it", e.getCause().getMessage().startsWith("Timed out waiting for response from ssh"));
+        }
+    }
+    
+    @Test
+    public void testShellClosed() throws Exception {
+        CompletableFuture<ShellResponse> response = issueCommandAsync("exit", TIMEOUT);
+        Assert.assertTrue("Command was not written", written.await(TIMEOUT, TimeUnit.MILLISECONDS));
+        write("logout\r\n");
+        shellOutput.close();
+        try {
+            getResponse(response);
+            Assert.fail("Expected the shell to be closed");
+        } catch (ExecutionException e) {
+            Assert.assertTrue("Unexpected exception", e.getCause() instanceof SSHException);
+            Assert.assertEquals("Unexpected message", "Shell closed while waiting for response from ssh. Response so far: logout\r\n", e.getCause().getMessage());
+        }
+        Assert.assertTrue("Shell should be closed", shell.isClosed());
+    }
+    
+    @Test
+    public void testResponseStart() throws Exception {
+        setOutput("ls\r\na.txt\r\n[GalasaEnd-1]0\r\n");
+        Assert.assertEquals("Response should start after the echo", 4, shell.responseStart("ls", 11));
+        
+        setOutput("a.txt\r\nls\r\n[GalasaEnd-1]0\r\n");
+        Assert.assertEquals("Command after the first line is output", 0, shell.responseStart("ls", 11));
+        
+        setOutput("a.txt\r\n[GalasaEnd-1]0\r\n");
+        Assert.assertEquals("Response should start at the beginning without an echo", 0, shell.responseStart("ls", 7));
+        
+        setOutput("ls[GalasaEnd-1]0\r\n");
+        Assert.assertEquals("Response should not start after the marker", 2, shell.responseStart("ls", 2));
+    }
+    
+    private void setOutput(String output) {
+        StringBuilder buffer = Whitebox.getInternalState(shell, "output");
+        synchronized (buffer) {
+            buffer.setLength(0);
+            buffer.append(output);
+        }
+    }
+    
+    private ShellResponse issueCommand(String command, long timeout, String... chunks) throws Exception {
+        CompletableFuture<ShellResponse> response = issueCommandAsync(command, timeout);
+        Assert.assertTrue("Command was not written", written.await(TIMEOUT, TimeUnit.MILLISECONDS));
+        for (String chunk : chunks) {
+            write(chunk);
+        }
+        return getResponse(response);
+    }
+    
+    private CompletableFuture<ShellResponse> issueCommandAsync(String command, long timeout) {
+        written = new CountDownLatch(1);
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return shell.issueCommand(command, timeout);
+            } catch (SSHException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+    
+    private ShellResponse getResponse(CompletableFuture<ShellResponse> response) throws Exception {
+        try {
+            return response.get(TIMEOUT, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            // Report the SSHException thrown by the shell as the cause
+            if (e.getCause() instanceof IllegalStateException && e.getCause().getCause() instanceof SSHException) {
+                throw new ExecutionException(e.getCause().getCause());
+            }
+            throw e;
+        }
+    }
+    
+    private void write(String chunk) throws IOException, InterruptedException {
+        shellOutput.write(chunk);
+        shellOutput.flush();
+        // Give the reader a chance to read each chunk separately
+        Thread.sleep(20);
+    }
+}
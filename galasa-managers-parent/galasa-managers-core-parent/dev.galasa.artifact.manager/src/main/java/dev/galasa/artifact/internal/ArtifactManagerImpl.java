@@ -57,6 +57,12 @@ public class ArtifactManagerImpl extends AbstractManager implements IArtifactMan
         // Nothing is provisioned by this manager so we don't have anything to stop
     }
 
+    @Override
+    public void shutdown() {
+        BundleResourceIndex.clear();
+        super.shutdown();
+    }
+
     @Override
     public IBundleResources getBundleResources(Class<?> owningClass) {
         return new BundleResourcesImpl(owningClass, this.getFramework());
@@ -0,0 +1,151 @@
+/*
+ * Licensed Materials - Property of IBM
+ * 
+ * (c) Copyright IBM Corp. 2020.
+ */
+package dev.galasa.artifact.internal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.jar.Attributes;
+import java.util.jar.JarInputStream;
+import java.util.jar.Manifest;
+
+import org.osgi.framework.Bundle;
+
+import dev.galasa.artifact.TestBundleResourceException;
+
+/**
+ * An index of the resources in a bundle, built up lazily as they are asked for and shared by all the
+ * {@link BundleResourcesImpl} instances of the bundle.
+ * <p>
+ * The index holds the entry URL of each path, the recursive contents of each directory and the main
+ * manifest attributes of each jar, so the bundle is only walked and each jar only opened once.
+ * </p>
+ */
+public class BundleResourceIndex {
+
+    private static final String                           FILE_SEPARATOR = "/";
+
+    private static final Map<String, BundleResourceIndex> indexes        = new ConcurrentHashMap<>();
+
+    private final Bundle                                  bundle;
+
+    private final Map<String, Optional<URL>>              entries        = new ConcurrentHashMap<>();
+    private final Map<String, List<String>>               directories    = new ConcurrentHashMap<>();
+    private final Map<String, Attributes>                 jarAttributes  = new ConcurrentHashMap<>();
+
+    private BundleResourceIndex(Bundle bundle) {
+        this.bundle = bundle;
+    }
+
+    /**
+     * Return the index for a bundle. A bundle that has been updated gets a new index.
+     */
+    public static BundleResourceIndex get(Bundle bundle) {
+        String key = bundle.getBundleId() + ":" + bundle.getLastModified();
+        return indexes.computeIfAbsent(key, k -> new BundleResourceIndex(bundle));
+    }
+
+    /**
+     * Forget the indexes of all the bundles, so those of bundles no longer used by later runs do not remain
+     */
+    public static void clear() {
+        indexes.clear();
+    }
+
+    /**
+     * Return the URL of an entry in the bundle
+     *
+     * @param path the normalised path of the entry
+     * @return the URL, or null if there is no such entry
+     */
+    public URL getEntry(String path) {
+        return entries.computeIfAbsent(path, p -> Optional.ofNullable(bundle.getEntry(p))).orElse(null);
+    }
+
+    /**
+     * Return all the files within a directory and its subdirectories
+     *
+     * @param directory     the normalised path of the directory
+     * @param fileExtension only return files with this extension, or null for all files
+     * @return the paths of the files
+     */
+    public List<String> listDirectory(String directory, String fileExtension) {
+        // Not computeIfAbsent, as walking a directory recurses into its subdirectories
+        List<String> directoryContents = directories.get(directory);
+        if (directoryContents == null) {
+            directoryContents = walkDirectory(directory);
+            directories.put(directory, directoryContents);
+        }
+        if (fileExtension == null) {
+            return new ArrayList<>(directoryContents);
+        }
+
+        String suffix = "." + fileExtension.toLowerCase();
+        List<String> matchingContents = new ArrayList<>();
+        for (String path : directoryContents) {
+            if (path.toLowerCase().endsWith(suffix)) {
+                matchingContents.add(path);
+            }
+        }
+        return matchingContents;
+    }
+
+    /**
+     * Return the main attributes of the manifest of a jar in the bundle
+     *
+     * @param jar the path of the jar
+     * @return the attributes, empty if the jar has no manifest
+     * @throws TestBundleResourceException if the jar cannot be read
+     */
+    public Attributes getJarAttributes(String jar) throws TestBundleResourceException {
+        Attributes attributes = jarAttributes.get(jar);
+        if (attributes != null) {
+            return attributes;
+        }
+
+        URL jarURL = getEntry(jar);
+        if (jarURL == null) {
+            throw new TestBundleResourceException("No such jar: " + jar + " in bundle " + bundle.getSymbolicName());
+        }
+
+        try (InputStream is = jarURL.openStream(); JarInputStream jaris = new JarInputStream(is)) {
+            Manifest manifest = jaris.getManifest();
+            attributes = manifest == null ? new Attributes() : manifest.getMainAttributes();
+        } catch (IOException e) {
+            throw new TestBundleResourceException("Unable to open a stream into " + jar, e);
+        }
+
+        jarAttributes.put(jar, attributes);
+        return attributes;
+    }
+
+    private List<String> walkDirectory(String directory) {
+        List<String> directoryContents = new ArrayList<>();
+
+        Enumeration<String> entryPaths = bundle.getEntryPaths(directory);
+        if (entryPaths != null) {
+            while (entryPaths.hasMoreElements()) {
+                String entryPath = entryPaths.nextElement();
+
+                if (entryPath.endsWith(FILE_SEPARATOR)) {
+                    directoryContents.addAll(listDirectory(entryPath, null));
+                } else {
+                    directoryContents.add(entryPath);
+                }
+            }
+        }
+
+        return Collections.unmodifiableList(directoryContents);
+    }
+
+}
@@ -7,21 +7,22 @@ package dev.galasa.artifact.internal;
 
 import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.net.URL;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
-import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.jar.Attributes;
-import java.util.jar.JarInputStream;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.zip.GZIPOutputStream;
@@ -46,6 +47,7 @@ public class BundleResourcesImpl implements IBundleResources {
     private static final String      FILE_SEPARATOR = "/";
 
     private final Bundle             bundle;
+    private final BundleResourceIndex index;
 
     private final ISkeletonProcessor velocitySkeletonProcessor;
     private final ISkeletonProcessor ppSkeletonProcessor;
@@ -54,6 +56,7 @@ public class BundleResourcesImpl implements IBundleResources {
 
     public BundleResourcesImpl(Class<?> owningClass, IFramework framework) {
         this.bundle = FrameworkUtil.getBundle(owningClass);
+        this.index = BundleResourceIndex.get(this.bundle);
 
         this.velocitySkeletonProcessor = new VelocitySkeletonProcessor(framework);
         this.ppSkeletonProcessor = new PlusPlusSkeletonProcessor(framework);
@@ -63,7 +66,7 @@ public class BundleResourcesImpl implements IBundleResources {
 
         HashMap<String, InputStream> directoryContents = new HashMap<>();
 
-        List<String> contentPaths = listDirectory(bundle, directory, null);
+        List<String> contentPaths = listDirectory(directory, null);
 
         for (String path : contentPaths) {
             directoryContents.put(path, retrieveFile(path));
@@ -80,7 +83,7 @@ public class BundleResourcesImpl implements IBundleResources {
 
         InputStream is = null;
 
-        URL fileURL = bundle.getEntry(filename);
+        URL fileURL = index.getEntry(filename);
 
         if (fileURL != null) {
             String urlString = fileURL.toString();
@@ -129,7 +132,7 @@ public class BundleResourcesImpl implements IBundleResources {
 
         // If that didn't work we call listJars to find all the jars in the directory
         // and bundle given
-        List<String> foundJars = listDirectory(bundle, directory, "jar");
+        List<String> foundJars = listDirectory(directory, "jar");
 
         // Assuming we have some jars to inspect, lets inspect them
         if (!foundJars.isEmpty()) {
@@ -141,21 +144,8 @@ public class BundleResourcesImpl implements IBundleResources {
                     jar = FILE_SEPARATOR + jar;
                 }
 
-                // Put the jar entry into a JarInputStream
-                JarInputStream jaris = null;
-                try {
-                    jaris = new JarInputStream(bundle.getEntry(jar).openStream());
-                } catch (IOException e) {
-                    throw new TestBundleResourceException("Unable to open a stream into " + jar, e);
-                }
-
-                // Grab the attributes from the manifest
-                Attributes attributes = jaris.getManifest().getMainAttributes();
-                try {
-                    jaris.close();
-                } catch (IOException e) {
-                    logger.warn("Unable to close jar input stream", e);
-                }
+                // Grab the attributes from the manifest, each jar is only opened once
+                Attributes attributes = index.getJarAttributes(jar);
 
                 // We don't know exactly what type of jar this is, so we don't know the names of
                 // the attributes,
@@ -317,122 +307,97 @@ public class BundleResourcesImpl implements IBundleResources {
 
             resourcesDirectory = resourcesDirectory.replaceFirst("\\/*" + RESOURCES_DIRECTORY + "\\/*", "");
 
-            // Create a byte array output stream to write to
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            ZipOutputStream zipos;
-
-            // If gzip compression is requested output via gzip and buffer, otherwise go
-            // straight to buffer
-            if (gzip) {
-                zipos = new ZipOutputStream(new GZIPOutputStream(new BufferedOutputStream(baos)));
-            } else {
-                zipos = new ZipOutputStream(new BufferedOutputStream(baos));
-            }
-
-            List<String> contents = listDirectory(bundle, resourcesDirectory, null);
-
-            // If there is no encoding required then this is a binary copy
-            // we just want to write the bytes straight into the tarball
-            // so we don't risk corrupting anything that is actually binary
-            if (encoding == null) {
-
-                // Create our tarball
-                for (String path : contents) {
-
-                    byte[] b = IOUtils.toByteArray(retrieveSkeletonFile(path, parameters));
-
-                    // TarEntry needs to be instantiated with a File - use a dummy and set the size
-                    // manually to avoid IOExceptions
-                    String zipEntryName = path
-                            .replaceFirst("\\/*" + RESOURCES_DIRECTORY + "\\/*" + resourcesDirectory + "\\/*", "");
-                    ZipEntry zipEntry = new ZipEntry(zipEntryName);
-                    zipEntry.setSize(b.length);
-
-                    // Start the new entry
-                    zipos.putNextEntry(zipEntry);
-
-                    // Write the entry's content
-                    zipos.write(b);
+            // Write the zip to a temporary file rather than holding it all in memory,
+            // the file is deleted when the returned stream is closed, or now if the zip
+            // cannot be created
+            Path zipFile = Files.createTempFile("galasa-bundle-resources", gzip ? ".zip.gz" : ".zip");
+            InputStream zipStream = null;
+            OutputStream fileos = null;
+            try {
+                ZipOutputStream zipos;
 
-                    zipos.flush();
+                // If gzip compression is requested output via gzip and buffer, otherwise go
+                // straight to buffer
+                fileos = new BufferedOutputStream(Files.newOutputStream(zipFile));
+                if (gzip) {
+                    zipos = new ZipOutputStream(new GZIPOutputStream(fileos));
+                } else {
+                    zipos = new ZipOutputStream(fileos);
                 }
 
-                // If there is encoding required then we assume that everything
-                // we are given can be safely converted to a char[] without risk
-                // of corruption - if anyone wanted their actual binary re-encoded
-                // they are going to get nonsense anyway...
-            } else {
-                OutputStreamWriter osw = new OutputStreamWriter(zipos, encoding);
+                List<String> contents = listDirectory(resourcesDirectory, null);
 
-                // Create our tarball
-                for (String path : contents) {
+                // If there is no encoding required then this is a binary copy
+                // we just want to write the bytes straight into the zip
+                // so we don't risk corrupting anything that is actually binary
+                if (encoding == null) {
 
-                    char[] c = IOUtils.toCharArray(retrieveSkeletonFile(path, parameters));
+                    // Create our zip
+                    for (String path : contents) {
 
-                    // TarEntry needs to be instantiated with a File - use a dummy and set the size
-                    // manually to avoid IOExceptions
-                    String zipEntryName = path
-                            .replaceFirst("\\/*" + RESOURCES_DIRECTORY + "\\/*" + resourcesDirectory + "\\/*", "");
-                    ZipEntry zipEntry = new ZipEntry(zipEntryName);
-                    zipEntry.setSize(c.length);
+                        String zipEntryName = path
+                                .replaceFirst("\\/*" + RESOURCES_DIRECTORY + "\\/*" + resourcesDirectory + "\\/*", "");
 
-                    // Start the new entry
-                    zipos.putNextEntry(zipEntry);
+                        // Start the new entry
+                        zipos.putNextEntry(new ZipEntry(zipEntryName));
 
-                    // Write the entry's content through the writer to convert
-                    osw.write(c);
-
-                    osw.flush();
-                    zipos.flush();
-                }
-
-                osw.close();
-            }
-
-            zipos.close();
-
-            return new ByteArrayInputStream(baos.toByteArray());
-        } catch (IOException e) {
-            throw new TestBundleResourceException("Error attempting to create zip", e);
-        }
-    }
-
-    private List<String> listDirectory(Bundle bundle, String directory, String fileExtension) {
-
-        List<String> directoryContents = new ArrayList<>();
+                        // Copy the entry's content
+                        try (InputStream is = retrieveSkeletonFile(path, parameters)) {
+                            IOUtils.copy(is, zipos);
+                        }
 
-        directory = normalisePath(directory);
+                        zipos.flush();
+                    }
 
-        Enumeration<String> entryPaths = bundle.getEntryPaths(directory);
+                    // If there is encoding required then we assume that everything
+                    // we are given can be safely converted to a char[] without risk
+                    // of corruption - if anyone wanted their actual binary re-encoded
+                    // they are going to get nonsense anyway...
+                } else {
+                    OutputStreamWriter osw = new OutputStreamWriter(zipos, encoding);
 
-        if (entryPaths != null) {
+                    // Create our zip
+                    for (String path : contents) {
 
-            while (entryPaths.hasMoreElements()) {
-                String entryPath = entryPaths.nextElement();
+                        String zipEntryName = path
+                                .replaceFirst("\\/*" + RESOURCES_DIRECTORY + "\\/*" + resourcesDirectory + "\\/*", "");
 
-                if (entryPath.endsWith(FILE_SEPARATOR)) {
+                        // Start the new entry
+                        zipos.putNextEntry(new ZipEntry(zipEntryName));
 
-                    List<String> childDirectoryContents = listDirectory(bundle, entryPath, fileExtension);
+                        // Copy the entry's content through the writer to convert
+                        try (InputStream is = retrieveSkeletonFile(path, parameters)) {
+                            IOUtils.copy(new InputStreamReader(is, Charset.defaultCharset()), osw);
+                        }
 
-                    if (!childDirectoryContents.isEmpty()) {
-                        directoryContents.addAll(childDirectoryContents);
+                        osw.flush();
+                        zipos.flush();
                     }
 
-                    continue;
+                    osw.close();
                 }
 
-                if (fileExtension != null) {
-                    fileExtension = "." + fileExtension.toLowerCase();
-                    if (entryPath.toLowerCase().endsWith(fileExtension)) {
-                        directoryContents.add(entryPath);
+                zipos.close();
+
+                zipStream = Files.newInputStream(zipFile, StandardOpenOption.DELETE_ON_CLOSE);
+                return zipStream;
+            } finally {
+                if (zipStream == null) {
+                    IOUtils.closeQuietly(fileos);
+                    try {
+                        Files.deleteIfExists(zipFile);
+                    } catch (IOException e) {
+                        logger.warn("Unable to delete temporary file " + zipFile, e);
                     }
-                } else {
-                    directoryContents.add(entryPath);
                 }
             }
+        } catch (IOException e) {
+            throw new TestBundleResourceException("Error attempting to create zip", e);
         }
+    }
 
-        return directoryContents;
+    private List<String> listDirectory(String directory, String fileExtension) {
+        return index.listDirectory(normalisePath(directory), fileExtension);
     }
 
     private String normalisePath(String rawPath) {
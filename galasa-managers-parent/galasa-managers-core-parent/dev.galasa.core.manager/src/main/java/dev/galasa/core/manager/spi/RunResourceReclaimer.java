@@ -0,0 +1,168 @@
+/*
+ * Licensed Materials - Property of IBM
+ * 
+ * (c) Copyright IBM Corp. 2020.
+ */
+package dev.galasa.core.manager.spi;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import dev.galasa.framework.spi.DynamicStatusStoreException;
+import dev.galasa.framework.spi.FrameworkException;
+import dev.galasa.framework.spi.IDynamicStatusStoreService;
+import dev.galasa.framework.spi.IFramework;
+
+/**
+ * Reclaims the DSS resources owned by runs that have gone, for the resource monitors of the Managers.
+ * <p>
+ * The owners of the resources are held in an index of run name to the DSS keys of its resources. The index is
+ * reconciled with a scan of the whole DSS prefix on the first cycle and then once per reconcile interval, every other
+ * cycle only checks the runs in the index against the active runs. When the framework reports that a run has finished or
+ * been deleted its resources are discarded straight away, from the index and, if the keys start with the run name,
+ * a read of the prefix of the run.
+ * </p>
+ * <p>
+ * The resources of a run are discarded together, and the DSS properties the discarder does not need to swap are
+ * deleted in a single request for the run.
+ * </p>
+ */
+public class RunResourceReclaimer {
+
+    public static final long DEFAULT_RECONCILE_INTERVAL = 5 * 60 * 1000L;
+
+    private final IFramework                    framework;
+    private final IDynamicStatusStoreService    dss;
+    private final String                        scanPrefix;
+    private final Pattern                       resourcePattern;
+    private final int                           runGroup;
+    private final Function<String, String>      runPrefix;
+    private final long                          reconcileInterval;
+    private final IRunResourceDiscarder         discarder;
+
+    private final Map<String, Set<String>>      runResources  = new ConcurrentHashMap<>();
+    private volatile long                       lastReconcile = 0;
+
+    /**
+     * @param framework the framework
+     * @param dss the DSS of the Manager
+     * @param scanPrefix the DSS prefix of all the resource keys
+     * @param resourcePattern the pattern of a resource key
+     * @param runGroup the group of the pattern that is the run name
+     * @param runPrefix the DSS prefix of the resource keys of a run, or null if the keys do not start with the run name
+     * @param reconcileInterval the milliseconds between scans of the whole prefix
+     * @param discarder discards a resource
+     */
+    public RunResourceReclaimer(IFramework framework, IDynamicStatusStoreService dss, String scanPrefix,
+            Pattern resourcePattern, int runGroup, Function<String, String> runPrefix, long reconcileInterval,
+            IRunResourceDiscarder discarder) {
+        this.framework = framework;
+        this.dss = dss;
+        this.scanPrefix = scanPrefix;
+        this.resourcePattern = resourcePattern;
+        this.runGroup = runGroup;
+        this.runPrefix = runPrefix;
+        this.reconcileInterval = reconcileInterval;
+        this.discarder = discarder;
+    }
+
+    /**
+     * Discard the resources of the runs in the index that are no longer active, reconciling the index first if it is due
+     * @throws FrameworkException if the DSS or the active runs could not be read
+     */
+    public void reclaim() throws FrameworkException {
+        if (System.currentTimeMillis() - this.lastReconcile >= this.reconcileInterval) {
+            reconcile();
+        }
+
+        if (this.runResources.isEmpty()) {
+            return;
+        }
+
+        Set<String> activeRunNames = this.framework.getFrameworkRuns().getActiveRunNames();
+        for (String runName : new ArrayList<>(this.runResources.keySet())) {
+            if (!activeRunNames.contains(runName)) {
+                Set<String> keys = this.runResources.remove(runName);
+                if (keys != null) {
+                    discard(runName, keys);
+                }
+            }
+        }
+    }
+
+    /**
+     * Discard the resources of a run that has finished or been deleted
+     * @param runName the run name
+     * @throws DynamicStatusStoreException if the DSS could not be read or updated
+     */
+    public void runFinishedOrDeleted(String runName) throws DynamicStatusStoreException {
+        Set<String> keys = new HashSet<>();
+        Set<String> indexedKeys = this.runResources.remove(runName);
+        if (indexedKeys != null) {
+            keys.addAll(indexedKeys);
+        }
+
+        // The resources may have been allocated since the last reconcile
+        if (this.runPrefix != null) {
+            for (String key : this.dss.getPrefix(this.runPrefix.apply(runName)).keySet()) {
+                Matcher matcher = this.resourcePattern.matcher(key);
+                if (matcher.find() && runName.equals(matcher.group(this.runGroup))) {
+                    keys.add(key);
+                }
+            }
+        }
+
+        discard(runName, keys);
+    }
+
+    private void reconcile() throws DynamicStatusStoreException {
+        HashMap<String, Set<String>> scannedResources = new HashMap<>();
+        for (String key : this.dss.getPrefix(this.scanPrefix).keySet()) {
+            Matcher matcher = this.resourcePattern.matcher(key);
+            if (matcher.find()) {
+                scannedResources.computeIfAbsent(matcher.group(this.runGroup), k -> new HashSet<>()).add(key);
+            }
+        }
+
+        this.runResources.keySet().retainAll(scannedResources.keySet());
+        this.runResources.putAll(scannedResources);
+        this.lastReconcile = System.currentTimeMillis();
+    }
+
+    private void discard(String runName, Collection<String> keys) throws DynamicStatusStoreException {
+        HashSet<String> deleteProperties = new HashSet<>();
+        for (String key : keys) {
+            Matcher matcher = this.resourcePattern.matcher(key);
+            if (matcher.find()) {
+                this.discarder.discard(runName, matcher, deleteProperties);
+            }
+        }
+
+        if (!deleteProperties.isEmpty()) {
+            this.dss.delete(deleteProperties);
+        }
+    }
+
+    /**
+     * Discards a resource of a run that has gone
+     */
+    @FunctionalInterface
+    public interface IRunResourceDiscarder {
+
+        /**
+         * Discard a resource, the discarder is responsible for reporting any failure
+         * @param runName the run that owned the resource
+         * @param resource the match of the resource key
+         * @param deleteProperties DSS properties to be deleted once all the resources of the run have been discarded
+         */
+        void discard(String runName, Matcher resource, Set<String> deleteProperties);
+    }
+}
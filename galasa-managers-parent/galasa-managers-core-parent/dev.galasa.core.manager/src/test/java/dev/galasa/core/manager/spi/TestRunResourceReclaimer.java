@@ -0,0 +1,159 @@
+/*
+ * Licensed Materials - Property of IBM
+ * 
+ * (c) Copyright IBM Corp. 2020.
+ */
+package dev.galasa.core.manager.spi;
+
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import dev.galasa.framework.spi.FrameworkException;
+import dev.galasa.framework.spi.IDynamicStatusStoreService;
+import dev.galasa.framework.spi.IFramework;
+import dev.galasa.framework.spi.IFrameworkRuns;
+
+@RunWith(MockitoJUnitRunner.class)
+public class TestRunResourceReclaimer {
+    
+    private static final String SCAN_PREFIX = "port.run.";
+    
+    private static final Pattern RESOURCE_PATTERN = Pattern.compile("^port\\.run\\.(\\w+)\\.port\\.(\\w+)$");
+    
+    @Mock
+    private IFramework framework;
+    
+    @Mock
+    private IFrameworkRuns frameworkRuns;
+    
+    @Mock
+    private IDynamicStatusStoreService dss;
+    
+    private Set<String> activeRunNames = new HashSet<>();
+    
+    private Map<String, String> resources = new HashMap<>();
+    
+    private List<String> discarded = new ArrayList<>();
+    
+    @Before
+    public void setup() {
+        resources.put("port.run.RUN1.port.P1", "active");
+        resources.put("port.run.RUN2.port.P2", "active");
+        resources.put("port.run.RUN2.port.P3", "active");
+        resources.put("port.run.XXXX", "active");
+    }
+    
+    private RunResourceReclaimer newReclaimer(long reconcileInterval, boolean keysStartWithRun) throws FrameworkException {
+        when(framework.getFrameworkRuns()).thenReturn(frameworkRuns);
+        when(frameworkRuns.getActiveRunNames()).thenReturn(activeRunNames);
+        when(dss.getPrefix(SCAN_PREFIX)).thenReturn(resources);
+        // Deliberately loose, so RUN2 also matches the keys of a run called RUN22
+        return new RunResourceReclaimer(framework, dss, SCAN_PREFIX, RESOURCE_PATTERN, 1, 
+                keysStartWithRun ? runName -> SCAN_PREFIX + runName : null, reconcileInterval, 
+                (runName, resource, deleteProperties) -> {
+                    discarded.add(runName + "/" + resource.group(2));
+                    deleteProperties.add(resource.group(0));
+                });
+    }
+    
+    @Test
+    public void testReclaimDiscardsRunsThatHaveGone() throws FrameworkException {
+        activeRunNames.add("RUN1");
+        RunResourceReclaimer reclaimer = newReclaimer(RunResourceReclaimer.DEFAULT_RECONCILE_INTERVAL, true);
+        
+        reclaimer.reclaim();
+        
+        Assert.assertEquals("reclaim() should discard the resources of the run that has gone", new HashSet<>(Arrays.asList("RUN2/P2", "RUN2/P3")), new HashSet<>(discarded));
+        Mockito.verify(dss, Mockito.times(1)).delete(new HashSet<>(Arrays.asList("port.run.RUN2.port.P2", "port.run.RUN2.port.P3")));
+    }
+    
+    @Test
+    public void testReclaimUsesIndexWithinReconcileInterval() throws FrameworkException {
+        activeRunNames.add("RUN1");
+        activeRunNames.add("RUN2");
+        RunResourceReclaimer reclaimer = newReclaimer(RunResourceReclaimer.DEFAULT_RECONCILE_INTERVAL, true);
+        
+        reclaimer.reclaim();
+        Assert.assertTrue("reclaim() should not discard the resources of active runs", discarded.isEmpty());
+        
+        // Found from the index, without another scan of the prefix
+        activeRunNames.remove("RUN1");
+        reclaimer.reclaim();
+        reclaimer.reclaim();
+        
+        Assert.assertEquals("reclaim() should discard the resources of the run once", Arrays.asList("RUN1/P1"), discarded);
+        Mockito.verify(dss, Mockito.times(1)).getPrefix(SCAN_PREFIX);
+        Mockito.verify(dss, Mockito.times(1)).delete(new HashSet<>(Arrays.asList("port.run.RUN1.port.P1")));
+    }
+    
+    @Test
+    public void testReclaimReconcilesOnceIntervalHasPassed() throws FrameworkException {
+        activeRunNames.add("RUN1");
+        activeRunNames.add("RUN2");
+        RunResourceReclaimer reclaimer = newReclaimer(0, true);
+        
+        reclaimer.reclaim();
+        resources.put("port.run.RUN3.port.P4", "active");
+        reclaimer.reclaim();
+        
+        Assert.assertEquals("reclaim() should discard the resources found by the second scan", Arrays.asList("RUN3/P4"), discarded);
+        Mockito.verify(dss, Mockito.times(2)).getPrefix(SCAN_PREFIX);
+    }
+    
+    @Test
+    public void testRunFinishedOrDeleted() throws FrameworkException {
+        activeRunNames.add("RUN1");
+        activeRunNames.add("RUN2");
+        RunResourceReclaimer reclaimer = newReclaimer(RunResourceReclaimer.DEFAULT_RECONCILE_INTERVAL, true);
+        reclaimer.reclaim();
+        
+        // Allocated since the index was reconciled, and a run that only shares the prefix
+        HashMap<String, String> runResources = new HashMap<>();
+        runResources.put("port.run.RUN2.port.P3", "active");
+        runResources.put("port.run.RUN2.port.P5", "active");
+        runResources.put("port.run.RUN22.port.P6", "active");
+        when(dss.getPrefix("port.run.RUN2")).thenReturn(runResources);
+        
+        reclaimer.runFinishedOrDeleted("RUN2");
+        
+        Assert.assertEquals("runFinishedOrDeleted() should discard the indexed and new resources of the run", new HashSet<>(Arrays.asList("RUN2/P2", "RUN2/P3", "RUN2/P5")), new HashSet<>(discarded));
+        Mockito.verify(dss, Mockito.times(1)).delete(new HashSet<>(Arrays.asList("port.run.RUN2.port.P2", "port.run.RUN2.port.P3", "port.run.RUN2.port.P5")));
+        
+        // Removed from the index, so not discarded again
+        activeRunNames.remove("RUN2");
+        discarded.clear();
+        reclaimer.reclaim();
+        Assert.assertTrue("reclaim() should not discard the resources of the run again", discarded.isEmpty());
+    }
+    
+    @Test
+    public void testRunFinishedOrDeletedFromIndexOnly() throws FrameworkException {
+        activeRunNames.add("RUN1");
+        activeRunNames.add("RUN2");
+        RunResourceReclaimer reclaimer = newReclaimer(RunResourceReclaimer.DEFAULT_RECONCILE_INTERVAL, false);
+        reclaimer.reclaim();
+        
+        reclaimer.runFinishedOrDeleted("RUN1");
+        reclaimer.runFinishedOrDeleted("RUN3");
+        
+        Assert.assertEquals("runFinishedOrDeleted() should discard the indexed resources of the run", Arrays.asList("RUN1/P1"), discarded);
+        Mockito.verify(dss, Mockito.times(1)).getPrefix(Mockito.anyString());
+        Mockito.verify(dss, Mockito.times(1)).delete(Mockito.anySet());
+    }
+}
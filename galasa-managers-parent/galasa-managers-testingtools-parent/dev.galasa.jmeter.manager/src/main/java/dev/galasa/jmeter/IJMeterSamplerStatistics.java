@@ -0,0 +1,63 @@
+/*
+ * Licensed Materials - Property of IBM
+ * 
+ * (c) Copyright IBM Corp. 2020.
+ */
+package dev.galasa.jmeter;
+
+import java.util.Map;
+import java.util.SortedMap;
+
+/**
+ * The statistics of the samples of a sampler label, from the results file of a JMeter session
+ */
+public interface IJMeterSamplerStatistics {
+
+    /**
+     * @return the sampler label, or {@link IJMeterSession#ALL_SAMPLERS} for the statistics of every sample
+     */
+    public String getLabel();
+
+    /**
+     * @return the number of samples
+     */
+    public long getCount();
+
+    /**
+     * @return the number of samples that failed
+     */
+    public long getErrorCount();
+
+    /**
+     * @return the fraction of the samples that failed, 0 if there are no samples
+     */
+    public double getErrorRate();
+
+    /**
+     * @return the mean elapsed time in milliseconds
+     */
+    public double getMeanMillis();
+
+    /**
+     * @return the longest elapsed time in milliseconds
+     */
+    public long getMaxMillis();
+
+    /**
+     * The elapsed time that the given percentage of samples completed within
+     * @param percentile the percentile, for example 99.0
+     * @return the elapsed time in milliseconds
+     */
+    public long getPercentileMillis(double percentile);
+
+    /**
+     * @return the number of samples that started in each second, keyed by the second since the epoch
+     */
+    public SortedMap<Long, Long> getThroughput();
+
+    /**
+     * @return the number of failed samples for each response code and message
+     */
+    public Map<String, Long> getErrors();
+
+}
@@ -12,6 +12,11 @@ import java.util.Map;
  * Interface for creation, management, deletion of JMeter sessions
  */
 public interface IJMeterSession {
+
+    /**
+     * The label of the statistics of every sample
+     */
+    public static final String ALL_SAMPLERS = "TOTAL";
     
     /**
      * This method gets called before start of a session providing necessary properties
@@ -119,6 +124,42 @@ public interface IJMeterSession {
      */
     public long getExitCode() throws JMeterManagerException;
 
+    /**
+     * Returns the statistics of the samples of a sampler label, analysed from the results file when the JMeter
+     * session completed
+     * @param label the sampler label, or {@link #ALL_SAMPLERS} for every sample
+     * @return the statistics, or null if there were no samples with the label
+     * @throws JMeterManagerException if the session has not completed
+     */
+    public IJMeterSamplerStatistics getSamplerStatistics(String label) throws JMeterManagerException;
+
+    /**
+     * Returns the statistics of every sampler label, analysed from the results file when the JMeter session completed.
+     * The results of all the workers of the session are analysed together.
+     * @return the statistics keyed by label, including {@link #ALL_SAMPLERS}
+     * @throws JMeterManagerException if the session has not completed
+     */
+    public Map<String, IJMeterSamplerStatistics> getSamplerStatistics() throws JMeterManagerException;
+
+    /**
+     * Check that the given percentage of the samples of a sampler label completed in time
+     * Example:
+     * session.assertPercentile("Home page", 99.0, 500);
+     * @param label the sampler label, or {@link #ALL_SAMPLERS} for every sample
+     * @param percentile the percentile, for example 99.0
+     * @param maxMillis the longest the percentile may take in milliseconds
+     * @throws JMeterManagerException if the percentile took longer, or there were no samples with the label
+     */
+    public void assertPercentile(String label, double percentile, long maxMillis) throws JMeterManagerException;
+
+    /**
+     * Check that no more than the given fraction of the samples of a sampler label failed
+     * @param label the sampler label, or {@link #ALL_SAMPLERS} for every sample
+     * @param maxErrorRate the largest fraction of the samples that may fail, for example 0.01
+     * @throws JMeterManagerException if more failed, or there were no samples with the label
+     */
+    public void assertErrorRate(String label, double maxErrorRate) throws JMeterManagerException;
+
     public int getSessionID();
        
 }
\ No newline at end of file
@@ -22,4 +22,17 @@ public @interface JMeterSession{
     String jmxPath();
 
     String propPath() default "";
+
+    /**
+     * The number of containers that generate the load of the session. Each worker runs the whole test plan, so a
+     * plan of 50 threads with 4 workers produces the load of 200 threads, and the results of all the workers are
+     * analysed together.
+     */
+    int workers() default 1;
+
+    /**
+     * The tags of the Docker engines the workers are provisioned on, the workers are spread across the engines in
+     * turn so the load is not limited to what one engine can produce.
+     */
+    String[] dockerEngineTags() default { "PRIMARY" };
 }
\ No newline at end of file
@@ -53,8 +53,8 @@ public class JMeterManagerImpl extends AbstractManager {
 
 
     /**
-     * The actual method for provisioning the JMeter session with a container that
-     * can run JMeter
+     * The actual method for provisioning the JMeter session with the containers that
+     * run JMeter, one for each worker, spread across the Docker engines of the annotation
      * 
      * @param field
      * @param annotations
@@ -76,12 +76,26 @@ public class JMeterManagerImpl extends AbstractManager {
         logger.info(this.jmxPath);
         logger.info(this.propPath);
 
+        if (sess.workers() < 1) {
+            throw new JMeterManagerException(String.format("Session %d must have at least 1 worker", sessionID));
+        }
+        String[] dockerEngineTags = sess.dockerEngineTags();
+        if (dockerEngineTags.length == 0) {
+            dockerEngineTags = new String[] { "PRIMARY" };
+        }
+
         JMeterSessionImpl session;
         
         try {
-            IDockerContainer container = dockerManager.provisionContainer("jmeter_" + sessionID, "galasadev/galasa-jmeter:latest", false, "PRIMARY");
-            session = new JMeterSessionImpl(framework, this, sessionID, this.jmxPath, this.propPath, container, logger, NAMESPACE);
-            activeContainers.add(container);
+            ArrayList<IDockerContainer> containers = new ArrayList<>();
+            for (int worker = 0; worker < sess.workers(); worker++) {
+                // The first worker keeps the name of a single container session
+                String containerTag = worker == 0 ? "jmeter_" + sessionID : "jmeter_" + sessionID + "_" + (worker + 1);
+                IDockerContainer container = dockerManager.provisionContainer(containerTag, "galasadev/galasa-jmeter:latest", false, dockerEngineTags[worker % dockerEngineTags.length]);
+                activeContainers.add(container);
+                containers.add(container);
+            }
+            session = new JMeterSessionImpl(framework, this, sessionID, this.jmxPath, this.propPath, containers, logger, NAMESPACE);
             activeSessions.add(session);
         } catch (DockerManagerException e) {
             throw new JMeterManagerException(String.format("Unable to provision the docker container for session %d", sessionID));
@@ -0,0 +1,111 @@
+/*
+ * Licensed Materials - Property of IBM
+ * 
+ * (c) Copyright IBM Corp. 2020.
+ */
+package dev.galasa.jmeter.internal;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import org.HdrHistogram.Histogram;
+
+import dev.galasa.jmeter.IJMeterSamplerStatistics;
+
+/**
+ * The statistics of a sampler label, built a sample at a time so the results file never has to be held in memory
+ */
+public class JMeterSamplerStatistics implements IJMeterSamplerStatistics {
+
+    /** Elapsed times are recorded to 3 significant digits */
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final String               label;
+    private final Histogram            elapsed    = new Histogram(SIGNIFICANT_DIGITS);
+    private final TreeMap<Long, Long>  throughput = new TreeMap<>();
+    private final HashMap<String, Long> errors    = new HashMap<>();
+    private long                       errorCount;
+
+    public JMeterSamplerStatistics(String label) {
+        this.label = label;
+    }
+
+    /**
+     * Add a sample
+     * @param timeStamp the time the sample started in milliseconds since the epoch, or -1 if it is not known
+     * @param elapsedMillis the elapsed time of the sample
+     * @param success whether the sample was successful
+     * @param responseCode the response code of the sample
+     * @param responseMessage the response message of the sample
+     */
+    public void record(long timeStamp, long elapsedMillis, boolean success, String responseCode, String responseMessage) {
+        this.elapsed.recordValue(Math.max(0, elapsedMillis));
+        if (timeStamp >= 0) {
+            this.throughput.merge(timeStamp / 1000, 1L, Long::sum);
+        }
+        if (!success) {
+            this.errorCount++;
+            this.errors.merge(responseCode + " " + responseMessage, 1L, Long::sum);
+        }
+    }
+
+    @Override
+    public String getLabel() {
+        return this.label;
+    }
+
+    @Override
+    public long getCount() {
+        return this.elapsed.getTotalCount();
+    }
+
+    @Override
+    public long getErrorCount() {
+        return this.errorCount;
+    }
+
+    @Override
+    public double getErrorRate() {
+        long count = getCount();
+        return count == 0 ? 0 : (double) this.errorCount / count;
+    }
+
+    @Override
+    public double getMeanMillis() {
+        return this.elapsed.getMean();
+    }
+
+    @Override
+    public long getMaxMillis() {
+        return this.elapsed.getMaxValue();
+    }
+
+    @Override
+    public long getPercentileMillis(double percentile) {
+        return this.elapsed.getValueAtPercentile(percentile);
+    }
+
+    @Override
+    public SortedMap<Long, Long> getThroughput() {
+        return Collections.unmodifiableSortedMap(this.throughput);
+    }
+
+    @Override
+    public Map<String, Long> getErrors() {
+        return Collections.unmodifiableMap(this.errors);
+    }
+
+    /**
+     * @return the mean samples per second over the seconds samples started in
+     */
+    public double getMeanThroughput() {
+        if (this.throughput.isEmpty()) {
+            return 0;
+        }
+        long seconds = this.throughput.lastKey() - this.throughput.firstKey() + 1;
+        return (double) getCount() / seconds;
+    }
+}
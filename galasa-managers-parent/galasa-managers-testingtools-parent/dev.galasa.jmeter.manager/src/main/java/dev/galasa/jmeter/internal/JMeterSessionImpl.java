@@ -8,15 +8,21 @@ package dev.galasa.jmeter.internal;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.SequenceInputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 
@@ -30,9 +36,19 @@ import dev.galasa.docker.DockerManagerException;
 import dev.galasa.docker.IDockerContainer;
 import dev.galasa.docker.IDockerExec;
 import dev.galasa.framework.spi.IFramework;
+import dev.galasa.jmeter.IJMeterSamplerStatistics;
 import dev.galasa.jmeter.IJMeterSession;
 import dev.galasa.jmeter.JMeterManagerException;
 
+/**
+ * A JMeter session, run by one or more worker containers.
+ * <p>
+ * JMeter remote mode cannot be used between the containers, as RMI needs the port a worker advertises to be the
+ * port it is reached on, and the Docker manager publishes the exposed ports of a container on random host ports.
+ * So every worker runs the whole test plan in non-GUI mode at the same time, and the results files of all the
+ * workers are analysed together. The first worker is the one the files and output of the session are read from.
+ * </p>
+ */
 public class JMeterSessionImpl implements IJMeterSession {
 
     private final IFramework framework;
@@ -44,20 +60,23 @@ public class JMeterSessionImpl implements IJMeterSession {
     private String propAbsolutePath;
     private String jmeterDockerPath;
     private String jmeter;
+    private List<IDockerContainer> containers;
     private IDockerContainer container;
     private Path storedArtifactsRoot;
     private Log logger;
+    private Map<String, JMeterSamplerStatistics> samplerStatistics;
     private static final int DEFAULT_TIMER              = 60000;
     
     private static final String STOREDMESSAGE           = " has been stored in the container.";
     private static final String ERRORMESSAGE            = "Could not store the .jmx file correctly.";
 
     public JMeterSessionImpl(IFramework framework, JMeterManagerImpl jMeterManager, int sessionID, String jmxPath,
-            String propPath, IDockerContainer container, Log logger, String jmeter) throws DockerManagerException {
+            String propPath, List<IDockerContainer> containers, Log logger, String jmeter) throws DockerManagerException {
         this.framework = framework;
         this.jMeterManager = jMeterManager;
         this.sessionID = sessionID;
-        this.container = container;
+        this.containers = new ArrayList<>(containers);
+        this.container = this.containers.get(0);
         this.jmxPath = jmxPath;
         this.propPath = propPath;
         this.logger = logger;
@@ -68,9 +87,11 @@ public class JMeterSessionImpl implements IJMeterSession {
 
         storedArtifactsRoot = framework.getResultArchiveStore().getStoredArtifactsRoot();
 
-        container.start();
+        for (IDockerContainer worker : this.containers) {
+            worker.start();
+        }
 
-        logger.info(String.format("Session %d have been succesfully initialised", this.sessionID));
+        logger.info(String.format("Session %d have been succesfully initialised with %d worker(s)", this.sessionID, this.containers.size()));
     }
 
     @Override
@@ -100,27 +121,33 @@ public class JMeterSessionImpl implements IJMeterSession {
 
             if (( this.jmxPath.toLowerCase().endsWith(".jmx") ) && ( !this.jmxAbsolutePath.isEmpty() )) {
 
-                if (this.propAbsolutePath.isEmpty()) {
+                ArrayList<String> command = new ArrayList<>(Arrays.asList(jmeter, "-n", "-t", this.jmxPath, "-l", jtlPath));
+                if (!this.propAbsolutePath.isEmpty()) {
+                    command.addAll(Arrays.asList("-p", this.propPath));
+                }
+                command.addAll(Arrays.asList("-j", logfile));
+
+                // Start every worker before waiting for any, so they all generate load at the same time
+                ArrayList<IDockerExec> execs = new ArrayList<>();
+                for (IDockerContainer worker : this.containers) {
+                    execs.add(worker.exec(timeout, command.toArray(new String[command.size()])));
+                }
 
-                    IDockerExec exec = container.exec(timeout, jmeter, "-n", "-t", this.jmxPath, "-l", jtlPath, "-j", logfile);
-                    exec.waitForExec(timeout);
+                long deadline = System.currentTimeMillis() + timeout;
+                for (int i = 0; i < execs.size(); i++) {
+                    IDockerExec exec = execs.get(i);
+                    exec.waitForExec(Math.max(0, deadline - System.currentTimeMillis()));
 
                     if ( exec.getExitCode() != 0L ) {
-                        logger.info("JMeter commands have failed with exitcode " + exec.getExitCode());
+                        logger.info("JMeter commands have failed on worker " + (i + 1) + " with exitcode " + exec.getExitCode());
                         throw new JMeterManagerException();
                     }
-                } else {
-    
-                    IDockerExec exec = container.exec(timeout, jmeter, "-n", "-t", this.jmxPath, "-l", jtlPath, "-p", this.propPath, "-j", logfile);
-                    exec.waitForExec(timeout); 
+                }
 
-                    if ( exec.getExitCode() != 0L) {
-                        logger.info("JMeter commands have failed with exitcode " + exec.getExitCode());
-                        throw new JMeterManagerException();
-                    }
-                } 
-                storeOutput("jtlOutput_" + this.sessionID + ".txt", getListenerFile(this.jmxPath.substring(0, jmxPath.indexOf(".jmx")) + ".jtl")); 
-                storeOutput("logOutput_" + this.sessionID + ".txt", getLogFile()); 
+                analyseResults(jtlPath);
+                for (int i = 0; i < this.containers.size(); i++) {
+                    storeOutput("logOutput_" + this.sessionID + workerSuffix(i) + ".txt", getLogFile(this.containers.get(i)));
+                }
             } else {
                 throw new JMeterManagerException("The JmxPath has not been specified correctly of session " + this.sessionID + ".");
             }
@@ -140,7 +167,7 @@ public class JMeterSessionImpl implements IJMeterSession {
     
         try {
             this.jmxAbsolutePath = jmeterDockerPath + this.jmxPath;
-            container.storeFile(this.jmxAbsolutePath, jmxStream);
+            storeFile(this.jmxAbsolutePath, jmxStream);
             logger.info(jmxPath + STOREDMESSAGE);
             
         } catch (Exception e) {
@@ -191,7 +218,7 @@ public class JMeterSessionImpl implements IJMeterSession {
         }
         try {
             this.jmxAbsolutePath = jmeterDockerPath + this.jmxPath;
-            container.storeFile(this.jmxAbsolutePath, new ByteArrayInputStream(baos.toByteArray()));
+            storeFile(this.jmxAbsolutePath, new ByteArrayInputStream(baos.toByteArray()));
             logger.info(jmxPath + STOREDMESSAGE);
             
         } catch (Exception e) {
@@ -209,7 +236,7 @@ public class JMeterSessionImpl implements IJMeterSession {
     public void applyProperties(InputStream propStream) throws JMeterManagerException {
         try {
             this.propAbsolutePath = jmeterDockerPath + propPath;
-            container.storeFile(this.propAbsolutePath, propStream);
+            storeFile(this.propAbsolutePath, propStream);
 
             logger.info(propPath + STOREDMESSAGE);
         } catch (Exception e) {
@@ -275,6 +302,10 @@ public class JMeterSessionImpl implements IJMeterSession {
      */
     @Override
     public String getLogFile() throws JMeterManagerException {
+        return getLogFile(container);
+    }
+
+    private String getLogFile(IDockerContainer container) throws JMeterManagerException {
         try{
             String logPath = jmeterDockerPath + this.jmxPath.substring(0, jmxPath.indexOf(".jmx")) + ".log";
             String logAsStr = "";
@@ -332,16 +363,15 @@ public class JMeterSessionImpl implements IJMeterSession {
      */
     @Override
     public boolean statusTest() throws JMeterManagerException {
-        String logOutput = this.getLogFile();
-        boolean test = false;
+        for (int i = 0; i < this.containers.size(); i++) {
+            String logOutput = getLogFile(this.containers.get(i));
 
-        if ( logOutput.contains("Loading file: " + this.jmxPath) && logOutput.contains("Running test") && logOutput.contains("Notifying test listeners of end of test") ) {
-            test = true;
-        } else {
-            throw new JMeterManagerException("The test didn't succeed with the given jmx for the session " + sessionID);
+            if ( !(logOutput.contains("Loading file: " + this.jmxPath) && logOutput.contains("Running test") && logOutput.contains("Notifying test listeners of end of test")) ) {
+                throw new JMeterManagerException("The test didn't succeed with the given jmx for the session " + sessionID + " on worker " + (i + 1));
+            }
         }
 
-        return test;
+        return true;
     }
 
      /**
@@ -350,13 +380,20 @@ public class JMeterSessionImpl implements IJMeterSession {
      */
     @Override
     public void stopTest() throws JMeterManagerException {   
-        try {
-            container.stop();
-            jMeterManager.activeContainers.remove(container);
-            jMeterManager.activeSessions.remove(this);
-        } catch (DockerManagerException e) {
-            throw new JMeterManagerException("Issue with the shutdown of the container and JMeter session" + sessionID);
-        } 
+        DockerManagerException failure = null;
+        for (IDockerContainer worker : this.containers) {
+            try {
+                worker.stop();
+                jMeterManager.activeContainers.remove(worker);
+            } catch (DockerManagerException e) {
+                // Carry on, so the other workers are stopped
+                failure = e;
+            }
+        }
+        if (failure != null) {
+            throw new JMeterManagerException("Issue with the shutdown of the container and JMeter session" + sessionID, failure);
+        }
+        jMeterManager.activeSessions.remove(this);
     }
 
     /**
@@ -371,6 +408,147 @@ public class JMeterSessionImpl implements IJMeterSession {
         } 
     }
 
+    @Override
+    public IJMeterSamplerStatistics getSamplerStatistics(String label) throws JMeterManagerException {
+        return getSamplerStatistics().get(label);
+    }
+
+    @Override
+    public Map<String, IJMeterSamplerStatistics> getSamplerStatistics() throws JMeterManagerException {
+        if (this.samplerStatistics == null) {
+            throw new JMeterManagerException("The results of JMeter session " + sessionID + " have not been analysed, the session has not completed");
+        }
+        return new LinkedHashMap<>(this.samplerStatistics);
+    }
+
+    @Override
+    public void assertPercentile(String label, double percentile, long maxMillis) throws JMeterManagerException {
+        IJMeterSamplerStatistics statistics = getSamplesOf(label);
+        long actualMillis = statistics.getPercentileMillis(percentile);
+        if (actualMillis > maxMillis) {
+            throw new JMeterManagerException(String.format("The %s percentile of sampler '%s' in JMeter session %d was %dms, longer than %dms",
+                    percentile, label, sessionID, actualMillis, maxMillis));
+        }
+    }
+
+    @Override
+    public void assertErrorRate(String label, double maxErrorRate) throws JMeterManagerException {
+        IJMeterSamplerStatistics statistics = getSamplesOf(label);
+        if (statistics.getErrorRate() > maxErrorRate) {
+            throw new JMeterManagerException(String.format("The error rate of sampler '%s' in JMeter session %d was %s, more than %s, errors %s",
+                    label, sessionID, statistics.getErrorRate(), maxErrorRate, statistics.getErrors()));
+        }
+    }
+
+    private IJMeterSamplerStatistics getSamplesOf(String label) throws JMeterManagerException {
+        IJMeterSamplerStatistics statistics = getSamplerStatistics(label);
+        if (statistics == null || statistics.getCount() == 0) {
+            throw new JMeterManagerException("There were no samples of sampler '" + label + "' in JMeter session " + sessionID);
+        }
+        return statistics;
+    }
+
+    /**
+     * Stream the results file from each worker into the RAS, analysing it on the way, and store a summary of the
+     * analysis of all the workers, so the results files are never held in memory
+     */
+    private void analyseResults(String jtlPath) throws DockerManagerException, IOException, JMeterManagerException {
+        JtlAnalyser analyser = new JtlAnalyser();
+        for (int i = 0; i < this.containers.size(); i++) {
+            Path requestPath = storedArtifactsRoot.resolve(jmeter).resolve("jtlOutput_" + this.sessionID + workerSuffix(i) + ".txt");
+            try (InputStream jtl = this.containers.get(i).retrieveFile(jmeterDockerPath + jtlPath);
+                    OutputStream ras = Files.newOutputStream(requestPath, new SetContentType(ResultArchiveStoreContentType.TEXT), StandardOpenOption.CREATE);
+                    InputStream teed = new TeeInputStream(jtl, ras)) {
+                analyser.analyse(teed);
+
+                // Copy anything after the end of the results to the RAS as well
+                byte[] buffer = new byte[8192];
+                while (teed.read(buffer) >= 0) {
+                    // Copied by the tee
+                }
+            }
+        }
+
+        this.samplerStatistics = analyser.getStatistics();
+        storeOutput("jtlSummary_" + this.sessionID + ".txt", analyser.getSummary());
+    }
+
+    /**
+     * Store a file in every worker
+     */
+    private void storeFile(String path, InputStream content) throws IOException, DockerManagerException {
+        if (this.containers.size() == 1) {
+            container.storeFile(path, content);
+            return;
+        }
+
+        // The stream can only be read once, so hold it for all the workers
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = content.read(buffer)) >= 0) {
+            baos.write(buffer, 0, read);
+        }
+        byte[] bytes = baos.toByteArray();
+        for (IDockerContainer worker : this.containers) {
+            worker.storeFile(path, new ByteArrayInputStream(bytes));
+        }
+    }
+
+    /**
+     * The suffix of the RAS files of a worker, a session with a single worker keeps the names it has always had
+     */
+    private String workerSuffix(int worker) {
+        return this.containers.size() == 1 ? "" : "_" + (worker + 1);
+    }
+
+    /**
+     * Copies what is read from a stream to an output stream
+     */
+    private static class TeeInputStream extends FilterInputStream {
+        private final OutputStream copy;
+
+        private TeeInputStream(InputStream in, OutputStream copy) {
+            super(in);
+            this.copy = copy;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                copy.write(b);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = super.read(b, off, len);
+            if (read > 0) {
+                copy.write(b, off, read);
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            // Read rather than skip, so the copy is complete
+            byte[] buffer = new byte[(int) Math.min(n, 8192)];
+            long skipped = 0;
+            int read;
+            while (skipped < n && (read = read(buffer, 0, (int) Math.min(buffer.length, n - skipped))) > 0) {
+                skipped += read;
+            }
+            return skipped;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+    }
+
     /**
      * Allows for the connection with the RAS so that all the JMeter-sessions get stored
      */
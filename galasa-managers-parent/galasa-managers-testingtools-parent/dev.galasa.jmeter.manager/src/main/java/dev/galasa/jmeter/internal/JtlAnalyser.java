@@ -0,0 +1,233 @@
+/*
+ * Licensed Materials - Property of IBM
+ * 
+ * (c) Copyright IBM Corp. 2020.
+ */
+package dev.galasa.jmeter.internal;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import dev.galasa.jmeter.IJMeterSession;
+import dev.galasa.jmeter.JMeterManagerException;
+
+/**
+ * Analyses a JMeter results (.jtl) file as it is read, in either the CSV or the XML format, so a results file of any
+ * size can be analysed without holding it in memory
+ * <p>
+ * A CSV file is expected to have a header line, as it does with the JMeter default of
+ * <code>jmeter.save.saveservice.print_field_names=true</code>. Without one the columns are assumed to be in the
+ * default order. Only the top level samples of an XML file are counted, not the sub-results of a transaction.
+ * </p>
+ */
+public class JtlAnalyser {
+
+    private static final List<String> DEFAULT_CSV_COLUMNS = Arrays.asList("timeStamp", "elapsed", "label",
+            "responseCode", "responseMessage", "threadName", "dataType", "success", "failureMessage", "bytes",
+            "sentBytes", "grpThreads", "allThreads", "URL", "Latency", "IdleTime", "Connect");
+
+    private final Map<String, JMeterSamplerStatistics> statistics = new TreeMap<>();
+    private final JMeterSamplerStatistics              all        = new JMeterSamplerStatistics(IJMeterSession.ALL_SAMPLERS);
+
+    /**
+     * Analyse a results file
+     * @param jtl the results file
+     * @throws JMeterManagerException
+     */
+    public void analyse(InputStream jtl) throws JMeterManagerException {
+        BufferedInputStream in = new BufferedInputStream(jtl);
+        try {
+            if (isXml(in)) {
+                analyseXml(in);
+            } else {
+                analyseCsv(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)));
+            }
+        } catch (IOException | XMLStreamException e) {
+            throw new JMeterManagerException("Unable to analyse the JMeter results file", e);
+        }
+    }
+
+    /**
+     * @return the statistics keyed by label, including {@link IJMeterSession#ALL_SAMPLERS}
+     */
+    public Map<String, JMeterSamplerStatistics> getStatistics() {
+        LinkedHashMap<String, JMeterSamplerStatistics> allStatistics = new LinkedHashMap<>(this.statistics);
+        allStatistics.put(this.all.getLabel(), this.all);
+        return Collections.unmodifiableMap(allStatistics);
+    }
+
+    /**
+     * @return a table of the statistics of each label, for the RAS
+     */
+    public String getSummary() {
+        StringBuilder summary = new StringBuilder();
+        summary.append(String.format("%-40s %10s %8s %10s %8s %8s %8s %8s %8s %10s%n", "Label", "Samples", "Errors",
+                "Mean(ms)", "p50", "p90", "p95", "p99", "Max", "Samples/s"));
+        for (JMeterSamplerStatistics s : getStatistics().values()) {
+            summary.append(String.format("%-40s %10d %7.2f%% %10.1f %8d %8d %8d %8d %8d %10.2f%n", s.getLabel(),
+                    s.getCount(), s.getErrorRate() * 100, s.getMeanMillis(), s.getPercentileMillis(50.0),
+                    s.getPercentileMillis(90.0), s.getPercentileMillis(95.0), s.getPercentileMillis(99.0),
+                    s.getMaxMillis(), s.getMeanThroughput()));
+            for (Map.Entry<String, Long> error : s.getErrors().entrySet()) {
+                summary.append(String.format("    %10d x %s%n", error.getValue(), error.getKey()));
+            }
+        }
+        return summary.toString();
+    }
+
+    private boolean isXml(BufferedInputStream in) throws IOException {
+        in.mark(1024);
+        try {
+            int c;
+            while ((c = in.read()) >= 0) {
+                if (!Character.isWhitespace(c)) {
+                    return c == '<';
+                }
+            }
+            return false;
+        } finally {
+            in.reset();
+        }
+    }
+
+    private void analyseCsv(BufferedReader reader) throws IOException {
+        String line = reader.readLine();
+        if (line == null) {
+            return;
+        }
+
+        List<String> header = splitCsv(line);
+        Map<String, Integer> columns = new HashMap<>();
+        if (header.contains("timeStamp") && header.contains("elapsed")) {
+            line = reader.readLine();
+        } else {
+            header = DEFAULT_CSV_COLUMNS;
+        }
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i), i);
+        }
+
+        for (; line != null; line = reader.readLine()) {
+            if (line.isEmpty()) {
+                continue;
+            }
+            List<String> fields = splitCsv(line);
+            Long elapsed = toLong(field(fields, columns, "elapsed"));
+            if (elapsed == null) {
+                continue;
+            }
+            Long timeStamp = toLong(field(fields, columns, "timeStamp"));
+            record(field(fields, columns, "label"), timeStamp == null ? -1 : timeStamp, elapsed,
+                    !"false".equalsIgnoreCase(field(fields, columns, "success")),
+                    field(fields, columns, "responseCode"), field(fields, columns, "responseMessage"));
+        }
+    }
+
+    private void analyseXml(InputStream in) throws XMLStreamException {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        XMLStreamReader reader = factory.createXMLStreamReader(in, StandardCharsets.UTF_8.name());
+        try {
+            // The samples are the children of the testResults element, anything deeper is a sub-result
+            int depth = 0;
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    depth++;
+                    if (depth == 2) {
+                        Long elapsed = toLong(reader.getAttributeValue(null, "t"));
+                        if (elapsed != null) {
+                            Long timeStamp = toLong(reader.getAttributeValue(null, "ts"));
+                            record(reader.getAttributeValue(null, "lb"), timeStamp == null ? -1 : timeStamp, elapsed,
+                                    !"false".equalsIgnoreCase(reader.getAttributeValue(null, "s")),
+                                    reader.getAttributeValue(null, "rc"), reader.getAttributeValue(null, "rm"));
+                        }
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    depth--;
+                }
+            }
+        } finally {
+            reader.close();
+        }
+    }
+
+    private void record(String label, long timeStamp, long elapsed, boolean success, String responseCode,
+            String responseMessage) {
+        if (label == null) {
+            label = "";
+        }
+        this.statistics.computeIfAbsent(label, JMeterSamplerStatistics::new).record(timeStamp, elapsed, success,
+                responseCode, responseMessage);
+        this.all.record(timeStamp, elapsed, success, responseCode, responseMessage);
+    }
+
+    private static String field(List<String> fields, Map<String, Integer> columns, String name) {
+        Integer column = columns.get(name);
+        if (column == null || column >= fields.size()) {
+            return null;
+        }
+        return fields.get(column);
+    }
+
+    private static Long toLong(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Split a CSV line, JMeter quotes a field that contains the separator or a quote
+     */
+    private static List<String> splitCsv(String line) {
+        ArrayList<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
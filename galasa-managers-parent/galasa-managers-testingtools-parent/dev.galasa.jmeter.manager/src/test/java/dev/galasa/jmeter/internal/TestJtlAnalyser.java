@@ -0,0 +1,174 @@
+/*
+ * Licensed Materials - Property of IBM
+ * 
+ * (c) Copyright IBM Corp. 2020.
+ */
+package dev.galasa.jmeter.internal;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import dev.galasa.jmeter.IJMeterSession;
+import dev.galasa.jmeter.JMeterManagerException;
+
+public class TestJtlAnalyser {
+    
+    private static final long TIMESTAMP = 1600000000000L;
+    
+    @Test
+    public void testCsvWithHeader() throws JMeterManagerException {
+        // The columns are not in the default order, so they can only be found from the header
+        Map<String, JMeterSamplerStatistics> statistics = analyse(
+                "label,success,elapsed,timeStamp,responseMessage,responseCode\n" + 
+                "Home,true,100," + TIMESTAMP + ",OK,200\n" + 
+                "Home,true,200," + (TIMESTAMP + 500) + ",OK,200\n" + 
+                "\n" + 
+                "Login,false,300," + (TIMESTAMP + 1000) + ",Server Error,500\n");
+        
+        Assert.assertEquals("getStatistics() should return the labels and the total", Arrays.asList("Home", "Login", IJMeterSession.ALL_SAMPLERS), Arrays.asList(statistics.keySet().toArray()));
+        JMeterSamplerStatistics home = statistics.get("Home");
+        Assert.assertEquals("getCount() should return the expected value", 2, home.getCount());
+        Assert.assertEquals("getMeanMillis() should return the expected value", 150.0, home.getMeanMillis(), 1.0);
+        Assert.assertEquals("getMaxMillis() should return the expected value", 200, home.getMaxMillis());
+        Assert.assertEquals("getErrorCount() should return the expected value", 0, home.getErrorCount());
+        JMeterSamplerStatistics login = statistics.get("Login");
+        Assert.assertEquals("getErrorCount() should return the expected value", 1, login.getErrorCount());
+        Assert.assertEquals("getErrors() should return the expected value", Collections.singletonMap("500 Server Error", 1L), login.getErrors());
+        JMeterSamplerStatistics all = statistics.get(IJMeterSession.ALL_SAMPLERS);
+        Assert.assertEquals("getCount() should return the expected value", 3, all.getCount());
+        Assert.assertEquals("getErrorRate() should return the expected value", 1.0 / 3, all.getErrorRate(), 0.0001);
+        Assert.assertEquals("getMeanThroughput() should return the expected value", 1.5, all.getMeanThroughput(), 0.0001);
+    }
+    
+    @Test
+    public void testCsvWithoutHeader() throws JMeterManagerException {
+        // The default column order is timeStamp,elapsed,label,responseCode,responseMessage,threadName,dataType,success
+        Map<String, JMeterSamplerStatistics> statistics = analyse(
+                TIMESTAMP + ",100,Home,200,OK,Thread 1-1,text,true,,512\n" + 
+                TIMESTAMP + ",300,Home,404,Not Found,Thread 1-2,text,false,,128\n");
+        
+        Assert.assertEquals("getStatistics() should return the label and the total", Arrays.asList("Home", IJMeterSession.ALL_SAMPLERS), Arrays.asList(statistics.keySet().toArray()));
+        JMeterSamplerStatistics home = statistics.get("Home");
+        Assert.assertEquals("The first line should be a sample, not a header", 2, home.getCount());
+        Assert.assertEquals("getMaxMillis() should return the expected value", 300, home.getMaxMillis());
+        Assert.assertEquals("getErrors() should return the expected value", Collections.singletonMap("404 Not Found", 1L), home.getErrors());
+        Assert.assertEquals("getThroughput() should return the expected value", Collections.singletonMap(TIMESTAMP / 1000, 2L), home.getThroughput());
+    }
+    
+    @Test
+    public void testCsvQuotedFields() throws JMeterManagerException {
+        Map<String, JMeterSamplerStatistics> statistics = analyse(
+                "timeStamp,elapsed,label,responseCode,responseMessage,success\n" + 
+                TIMESTAMP + ",100,\"Search, advanced\",400,\"Bad \"\"query\"\", try again\",false\n" + 
+                TIMESTAMP + ",200,\"Search, advanced\",200,OK,true\n");
+        
+        JMeterSamplerStatistics search = statistics.get("Search, advanced");
+        Assert.assertNotNull("A quoted label containing a comma should be one field", search);
+        Assert.assertEquals("getCount() should return the expected value", 2, search.getCount());
+        Assert.assertEquals("Fields after a quoted field should be in the right columns", 200, search.getMaxMillis());
+        Assert.assertEquals("getErrors() should return the unquoted message", Collections.singletonMap("400 Bad \"query\", try again", 1L), search.getErrors());
+    }
+    
+    @Test
+    public void testCsvInvalidElapsed() throws JMeterManagerException {
+        Map<String, JMeterSamplerStatistics> statistics = analyse(
+                "timeStamp,elapsed,label,responseCode,responseMessage,success\n" + 
+                TIMESTAMP + ",abc,Home,200,OK,true\n" + 
+                "notatime,100,Home,200,OK,true\n");
+        
+        JMeterSamplerStatistics home = statistics.get("Home");
+        Assert.assertEquals("A sample without a valid elapsed time should be ignored", 1, home.getCount());
+        Assert.assertTrue("A sample without a valid time stamp should not be in the throughput", home.getThroughput().isEmpty());
+    }
+    
+    @Test
+    public void testEmpty() throws JMeterManagerException {
+        Map<String, JMeterSamplerStatistics> statistics = analyse("");
+        Assert.assertEquals("getStatistics() should only return the total", Collections.singleton(IJMeterSession.ALL_SAMPLERS), statistics.keySet());
+        Assert.assertEquals("getCount() should return the expected value", 0, statistics.get(IJMeterSession.ALL_SAMPLERS).getCount());
+    }
+    
+    @Test
+    public void testXmlSubResults() throws JMeterManagerException {
+        Map<String, JMeterSamplerStatistics> statistics = analyse(
+                "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" + 
+                "<testResults version=\"1.2\">\n" + 
+                "  <sample t=\"500\" ts=\"" + TIMESTAMP + "\" s=\"true\" lb=\"Transaction\" rc=\"200\" rm=\"OK\">\n" + 
+                "    <httpSample t=\"200\" ts=\"" + TIMESTAMP + "\" s=\"true\" lb=\"Home\" rc=\"200\" rm=\"OK\"/>\n" + 
+                "    <httpSample t=\"300\" ts=\"" + TIMESTAMP + "\" s=\"false\" lb=\"Login\" rc=\"500\" rm=\"Error\">\n" + 
+                "      <httpSample t=\"50\" ts=\"" + TIMESTAMP + "\" s=\"true\" lb=\"Redirect\" rc=\"302\" rm=\"Found\"/>\n" + 
+                "    </httpSample>\n" + 
+                "  </sample>\n" + 
+                "  <httpSample t=\"100\" ts=\"" + (TIMESTAMP + 2000) + "\" s=\"false\" lb=\"Home\" rc=\"404\" rm=\"Not Found\">\n" + 
+                "    <responseData class=\"java.lang.String\">not found</responseData>\n" + 
+                "  </httpSample>\n" + 
+                "</testResults>\n");
+        
+        Assert.assertEquals("Only the top level samples should be counted", Arrays.asList("Home", "Transaction", IJMeterSession.ALL_SAMPLERS), Arrays.asList(statistics.keySet().toArray()));
+        JMeterSamplerStatistics home = statistics.get("Home");
+        Assert.assertEquals("The sub-result of the transaction should not be counted", 1, home.getCount());
+        Assert.assertEquals("getMaxMillis() should return the top level sample", 100, home.getMaxMillis());
+        Assert.assertEquals("getErrors() should return the expected value", Collections.singletonMap("404 Not Found", 1L), home.getErrors());
+        Assert.assertEquals("getMaxMillis() should return the transaction time", 500, statistics.get("Transaction").getMaxMillis());
+        Assert.assertEquals("getErrorCount() should not include the failed sub-result", 0, statistics.get("Transaction").getErrorCount());
+        JMeterSamplerStatistics all = statistics.get(IJMeterSession.ALL_SAMPLERS);
+        Assert.assertEquals("getCount() should return the expected value", 2, all.getCount());
+        Assert.assertEquals("getErrorRate() should return the expected value", 0.5, all.getErrorRate(), 0.0001);
+        Assert.assertEquals("getMeanThroughput() should return the expected value", 2.0 / 3, all.getMeanThroughput(), 0.0001);
+    }
+    
+    @Test
+    public void testXmlInvalid() {
+        try {
+            analyse("<testResults><sample t=\"1\"></testResults>");
+            Assert.fail("analyse() should throw an exception");
+        } catch (JMeterManagerException e) {
+            Assert.assertEquals("exception should contain expected message", "Unable to analyse the JMeter results file", e.getMessage());
+        }
+    }
+    
+    @Test
+    public void testSummary() throws JMeterManagerException {
+        JtlAnalyser analyser = new JtlAnalyser();
+        analyser.analyse(new ByteArrayInputStream(("timeStamp,elapsed,label,responseCode,responseMessage,success\n" + 
+                TIMESTAMP + ",100,Home,500,Server Error,false\n").getBytes(StandardCharsets.UTF_8)));
+        String summary = analyser.getSummary();
+        Assert.assertTrue("getSummary() should contain the label", summary.contains("Home"));
+        Assert.assertTrue("getSummary() should contain the total", summary.contains(IJMeterSession.ALL_SAMPLERS));
+        Assert.assertTrue("getSummary() should contain the error", summary.contains("1 x 500 Server Error"));
+    }
+    
+    @Test
+    public void testSamplerStatistics() {
+        JMeterSamplerStatistics statistics = new JMeterSamplerStatistics("label");
+        Assert.assertEquals("getErrorRate() should return 0 without samples", 0.0, statistics.getErrorRate(), 0.0);
+        Assert.assertEquals("getMeanThroughput() should return 0 without samples", 0.0, statistics.getMeanThroughput(), 0.0);
+        
+        for (int i = 1; i <= 100; i++) {
+            statistics.record(TIMESTAMP + i * 100, i, i % 10 != 0, "500", "Error");
+        }
+        statistics.record(-1, -5, true, "200", "OK");
+        
+        Assert.assertEquals("getLabel() should return the expected value", "label", statistics.getLabel());
+        Assert.assertEquals("getCount() should return the expected value", 101, statistics.getCount());
+        Assert.assertEquals("getErrorCount() should return the expected value", 10, statistics.getErrorCount());
+        Assert.assertEquals("getErrors() should return the expected value", Collections.singletonMap("500 Error", 10L), statistics.getErrors());
+        Assert.assertEquals("getMaxMillis() should return the expected value", 100, statistics.getMaxMillis());
+        Assert.assertEquals("getPercentileMillis() should return the expected value", 50, statistics.getPercentileMillis(50.0));
+        Assert.assertEquals("getPercentileMillis() should return the expected value", 90, statistics.getPercentileMillis(90.0));
+        Assert.assertEquals("A sample without a time stamp should not be in the throughput", 100, statistics.getThroughput().values().stream().mapToLong(Long::longValue).sum());
+        Assert.assertEquals("getMeanThroughput() should return the expected value", 101.0 / 11, statistics.getMeanThroughput(), 0.0001);
+    }
+    
+    private Map<String, JMeterSamplerStatistics> analyse(String jtl) throws JMeterManagerException {
+        JtlAnalyser analyser = new JtlAnalyser();
+        analyser.analyse(new ByteArrayInputStream(jtl.getBytes(StandardCharsets.UTF_8)));
+        return analyser.getStatistics();
+    }
+}
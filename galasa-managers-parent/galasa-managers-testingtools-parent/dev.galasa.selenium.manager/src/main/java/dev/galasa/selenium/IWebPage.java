@@ -633,7 +633,8 @@ public interface IWebPage {
     public Navigation navigate();
 
     /**
-     * Quit the Driver, closes all associated Windows
+     * Finish with the page and return its browser session to the pool, to be reset and reused by the next page.
+     * The page can not be used once it has been quit, quitting it again has no effect
      */
     public void quit();
 
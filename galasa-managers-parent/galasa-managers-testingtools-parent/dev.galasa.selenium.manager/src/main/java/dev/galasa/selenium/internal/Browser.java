@@ -26,6 +26,7 @@ import dev.galasa.framework.spi.ConfigurationPropertyStoreException;
 import dev.galasa.selenium.SeleniumManagerException;
 import dev.galasa.selenium.internal.properties.SeleniumGeckoPreferences;
 import dev.galasa.selenium.internal.properties.SeleniumGeckoProfile;
+import dev.galasa.selenium.internal.properties.SeleniumHeadless;
 import dev.galasa.selenium.internal.properties.SeleniumWebDriver;
 import dev.galasa.selenium.internal.properties.SeleniumWebDriverPath;
 
@@ -90,6 +91,7 @@ public enum Browser {
     capabilities.setAcceptInsecureCerts(true);
     capabilities.setCapability("moz:firefoxOptions", options);
     capabilities.setProfile(ffProfile);
+    capabilities.setHeadless(SeleniumHeadless.get(instance));
 
     try {
       String cpsPreferences = SeleniumGeckoPreferences.get(instance);
@@ -127,6 +129,7 @@ public enum Browser {
 
     ChromeOptions capabilities = new ChromeOptions();
     capabilities.setCapability(CapabilityType.ACCEPT_SSL_CERTS, true);
+    capabilities.setHeadless(SeleniumHeadless.get(instance));
 
     return new ChromeDriver(capabilities);
   }
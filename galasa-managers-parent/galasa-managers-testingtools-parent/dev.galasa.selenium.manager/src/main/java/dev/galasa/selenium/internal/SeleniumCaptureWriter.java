@@ -0,0 +1,101 @@
+/*
+ * Licensed Materials - Property of IBM
+ * 
+ * (c) Copyright IBM Corp. 2020.
+ */
+package dev.galasa.selenium.internal;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Writes the screenshots and page sources captured from the web pages to the RAS in the background, so a test or
+ * the end of a failing test method only waits for the browser to return the capture.<br>
+ * Screenshots are PNGs, which are already compressed, so they are written as they come from the browser. Page
+ * sources are gzipped.
+ */
+public class SeleniumCaptureWriter {
+
+    private static final int WRITER_THREADS = 2;
+
+    private final Path            rasDirectory;
+    private final ExecutorService executor;
+    private final List<CompletableFuture<Void>> pendingWrites = new ArrayList<>();
+
+    private static final Log logger = LogFactory.getLog(SeleniumCaptureWriter.class);
+
+    public SeleniumCaptureWriter(Path rasDirectory) {
+        this.rasDirectory = rasDirectory;
+        this.executor = Executors.newFixedThreadPool(WRITER_THREADS, new ThreadFactory() {
+            private final AtomicInteger threadNumber = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "GalasaSeleniumCaptureWriter-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    /**
+     * Write a screenshot to the RAS
+     * @param name the name of the capture, without a suffix
+     * @param png the screenshot
+     */
+    public void writeScreenshot(String name, byte[] png) {
+        write(name + ".png", png, false);
+    }
+
+    /**
+     * Write a page source to the RAS
+     * @param name the name of the capture, without a suffix
+     * @param pageSource the page source
+     */
+    public void writePageSource(String name, String pageSource) {
+        write(name + ".html.gz", pageSource.getBytes(StandardCharsets.UTF_8), true);
+    }
+
+    /**
+     * Wait for the captures to be written and stop the writer threads
+     */
+    public void flush() {
+        List<CompletableFuture<Void>> writes;
+        synchronized (this.pendingWrites) {
+            writes = new ArrayList<>(this.pendingWrites);
+            this.pendingWrites.clear();
+        }
+        CompletableFuture.allOf(writes.toArray(new CompletableFuture[writes.size()])).join();
+        this.executor.shutdown();
+    }
+
+    private void write(String fileName, byte[] content, boolean compress) {
+        CompletableFuture<Void> write = CompletableFuture.runAsync(() -> {
+            Path file = this.rasDirectory.resolve(fileName);
+            try (OutputStream os = compress ? new GZIPOutputStream(Files.newOutputStream(file)) : Files.newOutputStream(file)) {
+                os.write(content);
+            } catch (IOException e) {
+                logger.error("Unable to store Selenium capture " + fileName, e);
+            }
+        }, this.executor);
+
+        synchronized (this.pendingWrites) {
+            this.pendingWrites.removeIf(CompletableFuture::isDone);
+            this.pendingWrites.add(write);
+        }
+    }
+}
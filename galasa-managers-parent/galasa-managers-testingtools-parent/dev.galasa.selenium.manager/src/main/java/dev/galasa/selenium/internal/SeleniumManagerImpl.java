@@ -10,6 +10,9 @@ import java.lang.reflect.Field;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 import javax.validation.constraints.NotNull;
 
@@ -32,6 +35,7 @@ import dev.galasa.selenium.IWebPage;
 import dev.galasa.selenium.SeleniumManager;
 import dev.galasa.selenium.SeleniumManagerException;
 import dev.galasa.selenium.SeleniumManagerField;
+import dev.galasa.selenium.internal.properties.SeleniumCaptureHistory;
 import dev.galasa.selenium.internal.properties.SeleniumDseInstanceName;
 import dev.galasa.selenium.internal.properties.SeleniumPropertiesSingleton;
 import dev.galasa.selenium.internal.properties.SeleniumScreenshotFailure;
@@ -46,6 +50,8 @@ public class SeleniumManagerImpl extends AbstractManager implements ISeleniumMan
 
     private List<WebPageImpl> webPages = new ArrayList<>();
     private Path screenshotRasDirectory;
+    private SeleniumCaptureWriter captureWriter;
+    private int captureHistory;
 
     private boolean required = false;
 
@@ -87,8 +93,13 @@ public class SeleniumManagerImpl extends AbstractManager implements ISeleniumMan
     public void provisionGenerate() throws ManagerException, ResourceUnavailableException {
         Path storedArtifactsRoot = framework.getResultArchiveStore().getStoredArtifactsRoot();
         screenshotRasDirectory = storedArtifactsRoot.resolve("selenium").resolve("screenshots");
+        captureWriter = new SeleniumCaptureWriter(screenshotRasDirectory);
+        captureHistory = SeleniumCaptureHistory.get();
 
         generateAnnotatedFields(SeleniumManagerField.class);
+
+        // Start the browser for the first page while the other managers provision
+        WebDriverPool.get(SeleniumDseInstanceName.get()).warm();
     }
 
     @GenerateAnnotatedField(annotation = SeleniumManager.class)
@@ -102,9 +113,7 @@ public class SeleniumManagerImpl extends AbstractManager implements ISeleniumMan
         try{
             if(!currentResult.equals("Passed")) {
                 if(SeleniumScreenshotFailure.get()) {
-                    for(IWebPage page : webPages) {
-                        page.takeScreenShot();
-                    }
+                    captureFailure();
                 }
             }
         } catch (ConfigurationPropertyStoreException e) {
@@ -113,11 +122,43 @@ public class SeleniumManagerImpl extends AbstractManager implements ISeleniumMan
         return null;
     }
 
+    /**
+     * Capture all the pages at the same time, as each capture waits for its browser
+     */
+    private void captureFailure() throws SeleniumManagerException {
+        Executor captureThreads = runnable -> {
+            Thread thread = new Thread(runnable, "GalasaSeleniumCapture");
+            thread.setDaemon(true);
+            thread.start();
+        };
+
+        List<CompletableFuture<Void>> captures = new ArrayList<>();
+        for(WebPageImpl page : webPages) {
+            captures.add(CompletableFuture.runAsync(() -> {
+                try {
+                    page.captureFailure();
+                } catch (SeleniumManagerException e) {
+                    throw new CompletionException(e);
+                }
+            }, captureThreads));
+        }
+
+        try {
+            CompletableFuture.allOf(captures.toArray(new CompletableFuture[captures.size()])).join();
+        } catch (CompletionException e) {
+            throw new SeleniumManagerException("Unable to capture the web pages", e.getCause());
+        }
+    }
+
     @Override
     public void provisionDiscard() {
         for(WebPageImpl page : webPages) {
             page.managerQuit();
         }
+        WebDriverPool.closeAll();
+        if(captureWriter != null) {
+            captureWriter.flush();
+        }
     }
 
     @Override
@@ -128,19 +169,17 @@ public class SeleniumManagerImpl extends AbstractManager implements ISeleniumMan
     @Override
     public IWebPage allocateWebPage(String url) throws SeleniumManagerException {
 
+        WebDriverPool pool = null;
         WebDriver driver = null;
 
         try {
-            String dseInstance = SeleniumDseInstanceName.get();
-            driver = Browser.getWebDriver(dseInstance);
-
-            if(driver == null)
-                throw new SeleniumManagerException("Unsupported driver type for instance: " + dseInstance);
+            pool = WebDriverPool.get(SeleniumDseInstanceName.get());
+            driver = pool.lease();
         } catch (SeleniumManagerException e) {
             throw new SeleniumManagerException("Issue provisioning web driver", e);
         }
 
-        WebPageImpl webPage = new WebPageImpl(driver, webPages, screenshotRasDirectory);
+        WebPageImpl webPage = new WebPageImpl(driver, pool, webPages, captureWriter, captureHistory);
 
         if(url != null && !url.trim().isEmpty())
             webPage.get(url);
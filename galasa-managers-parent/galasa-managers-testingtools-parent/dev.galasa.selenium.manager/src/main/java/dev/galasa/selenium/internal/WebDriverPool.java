@@ -0,0 +1,215 @@
+/*
+ * Licensed Materials - Property of IBM
+ * 
+ * (c) Copyright IBM Corp. 2020.
+ */
+package dev.galasa.selenium.internal;
+
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import dev.galasa.selenium.SeleniumManagerException;
+import dev.galasa.selenium.internal.properties.SeleniumWarmSessions;
+
+/**
+ * The browser sessions of a Selenium instance, shared by the web pages allocated for the instance.<br>
+ * The browser type and options all come from the CPS properties of the instance, so there is a pool per instance.
+ * <p>
+ * Starting a browser takes seconds, so the pool starts sessions in the background until it has the configured number
+ * of warm sessions, counting those leased as they are returned for the next page. A page that is quit returns its session to the pool, where it is reset by
+ * closing any extra windows, clearing the cookies and storage and going to about:blank, so the next page does not
+ * see anything left by the last. A session is checked before it is leased, and a session that has crashed or been
+ * closed is quit and replaced.
+ * </p>
+ */
+public class WebDriverPool {
+
+    private static final Map<String, WebDriverPool> pools = new HashMap<>();
+
+    private static final String BLANK_PAGE = "about:blank";
+
+    private final String instance;
+    private final int    warmSessions;
+    private final Deque<CompletableFuture<WebDriver>> idleSessions = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger leasedSessions = new AtomicInteger();
+
+    private static final Log logger = LogFactory.getLog(WebDriverPool.class);
+
+    private WebDriverPool(String instance, int warmSessions) {
+        this.instance = instance;
+        this.warmSessions = warmSessions;
+    }
+
+    /**
+     * Return the session pool for a Selenium instance, creating it if this is the first request for it
+     * @param instance the Selenium instance
+     * @return the session pool
+     * @throws SeleniumManagerException
+     */
+    public static WebDriverPool get(String instance) throws SeleniumManagerException {
+        synchronized (pools) {
+            WebDriverPool pool = pools.get(instance);
+            if (pool == null) {
+                pool = new WebDriverPool(instance, Math.max(0, SeleniumWarmSessions.get(instance)));
+                pools.put(instance, pool);
+            }
+            return pool;
+        }
+    }
+
+    /**
+     * Quit all the idle sessions and forget the pools
+     */
+    public static void closeAll() {
+        synchronized (pools) {
+            for (WebDriverPool pool : pools.values()) {
+                CompletableFuture<WebDriver> session;
+                while ((session = pool.idleSessions.poll()) != null) {
+                    // A session still starting is quit once it has started
+                    session.thenAccept(pool::discard);
+                }
+            }
+            pools.clear();
+        }
+    }
+
+    /**
+     * Start sessions in the background until there are the configured number of warm sessions, idle or leased
+     */
+    public synchronized void warm() {
+        for (int i = this.idleSessions.size() + this.leasedSessions.get(); i < this.warmSessions; i++) {
+            this.idleSessions.offerLast(startInBackground());
+        }
+    }
+
+    /**
+     * Lease a session for a web page, it must be returned with {@link #release(WebDriver)}
+     * @return a started session
+     * @throws SeleniumManagerException
+     */
+    public WebDriver lease() throws SeleniumManagerException {
+        WebDriver driver = null;
+        CompletableFuture<WebDriver> session;
+        while (driver == null && (session = this.idleSessions.pollFirst()) != null) {
+            try {
+                driver = session.join();
+            } catch (CompletionException e) {
+                logger.warn("Failed to start a warm browser session for instance " + this.instance, e.getCause());
+                continue;
+            }
+
+            if (!isHealthy(driver)) {
+                logger.info("Replacing a browser session for instance " + this.instance + " that is no longer available");
+                discard(driver);
+                driver = null;
+            }
+        }
+
+        if (driver == null) {
+            driver = start();
+        }
+        this.leasedSessions.incrementAndGet();
+
+        // Only replaces sessions that failed or were discarded, as the session leased will be returned to the pool
+        warm();
+        return driver;
+    }
+
+    /**
+     * Reset a session and return it to the pool
+     * @param driver
+     */
+    public void release(WebDriver driver) {
+        this.leasedSessions.decrementAndGet();
+        try {
+            reset(driver);
+        } catch (WebDriverException e) {
+            logger.info("Unable to reset a browser session for instance " + this.instance + ", it will not be reused", e);
+            discard(driver);
+            return;
+        }
+        // Most recently used first, so it is reused before a session that may still be starting
+        this.idleSessions.offerFirst(CompletableFuture.completedFuture(driver));
+    }
+
+    /**
+     * Quit a session
+     * @param driver
+     */
+    public void discard(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (WebDriverException e) {
+            logger.warn("Problem quitting a browser session for instance " + this.instance, e);
+        }
+    }
+
+    protected WebDriver start() throws SeleniumManagerException {
+        WebDriver driver = Browser.getWebDriver(this.instance);
+        if (driver == null) {
+            throw new SeleniumManagerException("Unsupported driver type for instance: " + this.instance);
+        }
+        return driver;
+    }
+
+    private CompletableFuture<WebDriver> startInBackground() {
+        CompletableFuture<WebDriver> session = new CompletableFuture<>();
+        Thread thread = new Thread(() -> {
+            try {
+                session.complete(start());
+            } catch (Throwable e) {
+                session.completeExceptionally(e);
+            }
+        });
+        thread.setDaemon(true);
+        thread.setName("GalasaSeleniumWebDriverPool " + this.instance);
+        thread.start();
+        return session;
+    }
+
+    private void reset(WebDriver driver) {
+        // Keep only the first window
+        List<String> windowHandles = new ArrayList<>(driver.getWindowHandles());
+        for (int i = 1; i < windowHandles.size(); i++) {
+            driver.switchTo().window(windowHandles.get(i));
+            driver.close();
+        }
+        if (!windowHandles.isEmpty()) {
+            driver.switchTo().window(windowHandles.get(0));
+        }
+
+        driver.manage().deleteAllCookies();
+        try {
+            // Storage belongs to the origin of the current page, so has to be cleared before leaving it
+            ((JavascriptExecutor) driver).executeScript("window.localStorage.clear(); window.sessionStorage.clear();");
+        } catch (WebDriverException e) {
+            logger.trace("Unable to clear the browser storage, the page may not have any", e);
+        }
+        driver.get(BLANK_PAGE);
+    }
+
+    private boolean isHealthy(WebDriver driver) {
+        if (driver instanceof RemoteWebDriver && ((RemoteWebDriver) driver).getSessionId() == null) {
+            return false;
+        }
+        try {
+            return !driver.getWindowHandles().isEmpty();
+        } catch (WebDriverException e) {
+            return false;
+        }
+    }
+}
@@ -5,13 +5,13 @@
  */
 package dev.galasa.selenium.internal;
 
-import java.io.File;
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
 import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.commons.io.FileUtils;
 import org.openqa.selenium.By;
@@ -22,6 +22,7 @@ import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebDriver.Navigation;
 import org.openqa.selenium.WebDriver.Options;
 import org.openqa.selenium.WebDriver.TargetLocator;
+import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
@@ -33,21 +34,31 @@ public class WebPageImpl implements IWebPage {
 
     private WebDriver driver;
 
+    private WebDriverPool pool;
+
     private List<WebPageImpl> webPages;
 
-    private Path screenshotRasDirectory;
+    private SeleniumCaptureWriter captureWriter;
+
+    private int historySize;
+
+    private Deque<Capture> history = new ArrayDeque<>();
 
     public static final int DEFAULT_SECONDS_TIMEOUT = 30;
 
-    public WebPageImpl(WebDriver driver, List<WebPageImpl> webPages, Path screenshotRasDirectory) {
+    private static final AtomicLong captureNumber = new AtomicLong();
+
+    public WebPageImpl(WebDriver driver, WebDriverPool pool, List<WebPageImpl> webPages, SeleniumCaptureWriter captureWriter, int historySize) {
         this.driver = driver;
+        this.pool = pool;
         this.webPages = webPages;
-        this.screenshotRasDirectory = screenshotRasDirectory;
+        this.captureWriter = captureWriter;
+        this.historySize = historySize;
     }
 
     @Override
     public void close() {
-        driver.close();
+        driver().close();
     }
 
     @Override
@@ -230,6 +241,7 @@ public class WebPageImpl implements IWebPage {
     @Override
     public IWebPage clickElement(By by, int secondsTimeout) {
         waitForElement(by, secondsTimeout).click();
+        recordHistory();
         return this;
     }
 
@@ -406,72 +418,91 @@ public class WebPageImpl implements IWebPage {
 
     @Override
     public WebElement findElement(By by) {
-        WebDriverWait wait = new WebDriverWait(this.driver, DEFAULT_SECONDS_TIMEOUT);
+        WebDriverWait wait = new WebDriverWait(driver(), DEFAULT_SECONDS_TIMEOUT);
         wait.until(ExpectedConditions.presenceOfElementLocated(by));
-        return this.driver.findElement(by);
+        return driver().findElement(by);
     }
 
     @Override
     public List<WebElement> findElements(By by) {
-        WebDriverWait wait = new WebDriverWait(this.driver, DEFAULT_SECONDS_TIMEOUT);
+        WebDriverWait wait = new WebDriverWait(driver(), DEFAULT_SECONDS_TIMEOUT);
         wait.until(ExpectedConditions.presenceOfElementLocated(by));
-        return this.driver.findElements(by);
+        return driver().findElements(by);
     }
 
     @Override
     public IWebPage get(String url) {
-        this.driver.get(url);
+        driver().get(url);
+        recordHistory();
         return this;
     }
 
     @Override
     public String getCurrentUrl() {
-        return this.driver.getCurrentUrl();
+        return driver().getCurrentUrl();
     }
 
     @Override
     public String getPageSource() {
-        return this.driver.getPageSource();
+        return driver().getPageSource();
     }
 
     @Override
     public String getTitle() {
-        return this.driver.getTitle();
+        return driver().getTitle();
     }
 
     @Override
     public String getWindowHandle() {
-        return this.driver.getWindowHandle();
+        return driver().getWindowHandle();
     }
 
     @Override
     public Set<String> getWindowHandles() {
-        return this.driver.getWindowHandles();
+        return driver().getWindowHandles();
     }
 
     @Override
     public Options manage() {
-        return this.driver.manage();
+        return driver().manage();
     }
 
     @Override
     public Navigation navigate() {
-        return this.driver.navigate();
+        return driver().navigate();
     }
 
     @Override
     public void quit() {
+        WebDriver released;
+        synchronized (this) {
+            if (this.driver == null) {
+                return;
+            }
+            // Forget the session before it is returned, so it can only be released once and the page can not use it
+            // once another page has leased it
+            released = this.driver;
+            this.driver = null;
+        }
         this.webPages.remove(this);
-        this.driver.quit();
+        // The session is reset and kept for the next page
+        this.pool.release(released);
     }
 
     public void managerQuit() {
-        this.driver.quit();
+        WebDriver quitting;
+        synchronized (this) {
+            quitting = this.driver;
+            this.driver = null;
+        }
+        if (quitting != null) {
+            quitting.quit();
+        }
     }
 
     @Override
     public TargetLocator switchTo() {
-        return this.driver.switchTo();
+        return driver().switchTo();
     }
 
     @Override
@@ -607,7 +638,7 @@ public class WebPageImpl implements IWebPage {
 
     @Override
     public WebElement waitForElement(By by, int secondsTimeout) {
-        WebDriverWait wait = new WebDriverWait(driver, secondsTimeout);
+        WebDriverWait wait = new WebDriverWait(driver(), secondsTimeout);
         wait.until(ExpectedConditions.presenceOfElementLocated(by));
         return findElement(by);
     }
@@ -619,12 +650,12 @@ public class WebPageImpl implements IWebPage {
 
     @Override
     public WebDriverWait driverWait(int secondsTimeout) {
-        return new WebDriverWait(driver, secondsTimeout);
+        return new WebDriverWait(driver(), secondsTimeout);
     }
 
     @Override
     public WebDriver getWebDriver() {
-        return this.driver;
+        return driver();
     }
 
     @Override
@@ -640,7 +671,7 @@ public class WebPageImpl implements IWebPage {
 
     @Override
     public IWebPage waitForPageLoad(int secondsTimeout) {
-        WebDriverWait wait = new WebDriverWait(driver, secondsTimeout);
+        WebDriverWait wait = new WebDriverWait(driver(), secondsTimeout);
         wait.until(webDriver -> 
             String.valueOf("complete".equals(((JavascriptExecutor) webDriver).executeScript("return document.readyState")))
         );
@@ -649,14 +680,96 @@ public class WebPageImpl implements IWebPage {
 
     @Override
     public IWebPage takeScreenShot() throws SeleniumManagerException {
-        File scrFile = ((TakesScreenshot)driver).getScreenshotAs(OutputType.FILE);
-        String time = String.valueOf(Instant.now().toEpochMilli());
+        byte[] screenshot;
         try {
-            Files.copy(scrFile.toPath(), screenshotRasDirectory.resolve("screenshot_" + time + ".png"));
-        } catch (IOException e) {
+            screenshot = ((TakesScreenshot)driver()).getScreenshotAs(OutputType.BYTES);
+        } catch (WebDriverException e) {
             throw new SeleniumManagerException("Unable to take screenshot", e);
         }
+        // Only the capture waits for the browser, the screenshot is stored in the background
+        this.captureWriter.writeScreenshot(captureName("screenshot", Instant.now().toEpochMilli()), screenshot);
         return this;
     }
 
+    /**
+     * Store the history of the page followed by a screenshot and the source of the page as it is now, for a failed
+     * test method
+     * @throws SeleniumManagerException
+     */
+    public void captureFailure() throws SeleniumManagerException {
+        List<Capture> captures;
+        synchronized (this.history) {
+            captures = new ArrayList<>(this.history);
+            this.history.clear();
+        }
+        for (Capture capture : captures) {
+            String name = captureName("history", capture.time);
+            this.captureWriter.writeScreenshot(name, capture.screenshot);
+            this.captureWriter.writePageSource(name, capture.pageSource);
+        }
+
+        Capture capture;
+        try {
+            capture = capture();
+        } catch (WebDriverException e) {
+            throw new SeleniumManagerException("Unable to take screenshot", e);
+        }
+        String name = captureName("screenshot", capture.time);
+        this.captureWriter.writeScreenshot(name, capture.screenshot);
+        this.captureWriter.writePageSource(name, capture.pageSource);
+    }
+
+    /**
+     * Keep a capture of the page in the rolling history, if there is one
+     */
+    private void recordHistory() {
+        if (this.historySize <= 0) {
+            return;
+        }
+
+        Capture capture;
+        try {
+            capture = capture();
+        } catch (WebDriverException e) {
+            // The history is only a diagnostic aid, so it must not fail the test
+            return;
+        }
+        synchronized (this.history) {
+            while (this.history.size() >= this.historySize) {
+                this.history.removeFirst();
+            }
+            this.history.addLast(capture);
+        }
+    }
+
+    private synchronized WebDriver driver() {
+        if (this.driver == null) {
+            throw new IllegalStateException("The web page has been quit and its browser session returned to the pool");
+        }
+        return this.driver;
+    }
+
+    private Capture capture() {
+        long time = Instant.now().toEpochMilli();
+        byte[] screenshot = ((TakesScreenshot)driver()).getScreenshotAs(OutputType.BYTES);
+        return new Capture(time, screenshot, driver().getPageSource());
+    }
+
+    private static String captureName(String type, long time) {
+        // Pages may be captured at the same time, so make the name unique
+        return type + "_" + time + "_" + captureNumber.incrementAndGet();
+    }
+
+    private static class Capture {
+        private final long   time;
+        private final byte[] screenshot;
+        private final String pageSource;
+
+        private Capture(long time, byte[] screenshot, String pageSource) {
+            this.time = time;
+            this.screenshot = screenshot;
+            this.pageSource = pageSource;
+        }
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,37 @@
+/*
+ * Licensed Materials - Property of IBM
+ * 
+ * (c) Copyright IBM Corp. 2020.
+ */
+package dev.galasa.selenium.internal.properties;
+
+import dev.galasa.framework.spi.cps.CpsProperties;
+import dev.galasa.selenium.SeleniumManagerException;
+
+/**
+ * Selenium Capture History CPS Property
+ * 
+ * @galasa.cps.property
+ * 
+ * @galasa.name selenium.screenshot.history
+ * 
+ * @galasa.description The number of screenshots and page sources to keep for each web page, captured after the page
+ * is loaded or an element is clicked, and stored with the failure screenshot when a test method fails
+ * 
+ * @galasa.required No
+ * 
+ * @galasa.default 0
+ * 
+ * @galasa.valid_values 0 or more
+ * 
+ * @galasa.examples 
+ * <code>selenium.screenshot.history=5</code>
+ * 
+ */
+public class SeleniumCaptureHistory extends CpsProperties {
+
+    public static int get() throws SeleniumManagerException {
+        return getIntWithDefault(SeleniumPropertiesSingleton.cps(), 0, "screenshot", "history");
+    }
+
+}
@@ -0,0 +1,36 @@
+/*
+ * Licensed Materials - Property of IBM
+ * 
+ * (c) Copyright IBM Corp. 2020.
+ */
+package dev.galasa.selenium.internal.properties;
+
+import dev.galasa.framework.spi.cps.CpsProperties;
+import dev.galasa.selenium.SeleniumManagerException;
+
+/**
+ * Selenium Headless CPS Property
+ * 
+ * @galasa.cps.property
+ * 
+ * @galasa.name selenium.instance.INSTANCE.headless
+ * 
+ * @galasa.description Runs the browser without a display, supported by the GECKO and CHROME drivers
+ * 
+ * @galasa.required No
+ * 
+ * @galasa.default true
+ * 
+ * @galasa.valid_values true or false
+ * 
+ * @galasa.examples 
+ * <code>selenium.instance.PRIMARY.headless=false</code>
+ * 
+ */
+public class SeleniumHeadless extends CpsProperties {
+
+    public static boolean get(String instance) throws SeleniumManagerException {
+        return Boolean.parseBoolean(getStringWithDefault(SeleniumPropertiesSingleton.cps(), "true", "instance", "headless", instance));
+    }
+
+}
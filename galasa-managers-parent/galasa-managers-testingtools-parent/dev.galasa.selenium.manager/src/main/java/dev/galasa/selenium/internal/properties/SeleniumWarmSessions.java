@@ -0,0 +1,36 @@
+/*
+ * Licensed Materials - Property of IBM
+ * 
+ * (c) Copyright IBM Corp. 2020.
+ */
+package dev.galasa.selenium.internal.properties;
+
+import dev.galasa.framework.spi.cps.CpsProperties;
+import dev.galasa.selenium.SeleniumManagerException;
+
+/**
+ * Selenium Warm Sessions CPS Property
+ * 
+ * @galasa.cps.property
+ * 
+ * @galasa.name selenium.instance.INSTANCE.warm.sessions
+ * 
+ * @galasa.description The number of browser sessions to start in the background, ready for the next web page to be allocated
+ * 
+ * @galasa.required No
+ * 
+ * @galasa.default 1
+ * 
+ * @galasa.valid_values 0 or more
+ * 
+ * @galasa.examples 
+ * <code>selenium.instance.PRIMARY.warm.sessions=2</code>
+ * 
+ */
+public class SeleniumWarmSessions extends CpsProperties {
+
+    public static int get(String instance) throws SeleniumManagerException {
+        return getIntWithDefault(SeleniumPropertiesSingleton.cps(), 1, "instance", "warm.sessions", instance);
+    }
+
+}
@@ -5,7 +5,6 @@
  */
 package dev.galasa.zos.internal;
 
-import java.util.Map;
 import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -13,6 +12,7 @@ import java.util.regex.Pattern;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
+import dev.galasa.core.manager.spi.RunResourceReclaimer;
 import dev.galasa.framework.spi.IConfigurationPropertyStoreService;
 import dev.galasa.framework.spi.IDynamicStatusStoreService;
 import dev.galasa.framework.spi.IFramework;
@@ -20,9 +20,9 @@ import dev.galasa.framework.spi.IResourceManagement;
 
 public class SlotResourceMonitor implements Runnable {
 
-    private final IFramework                 framework;
     private final IResourceManagement        resourceManagement;
     private final IDynamicStatusStoreService dss;
+    private final RunResourceReclaimer       reclaimer;
     private final Log                        logger = LogFactory.getLog(this.getClass());
     private final Pattern                    slotRunPattern = Pattern.compile("^slot\\.run\\.(\\w+)\\.image\\.(\\w+)\\.slot\\.(\\w+)$");
 
@@ -31,9 +31,19 @@ public class SlotResourceMonitor implements Runnable {
             IDynamicStatusStoreService dss, 
             ZosResourceManagement zosResourceManagement,
             IConfigurationPropertyStoreService cps) {
-        this.framework          = framework;
+        this(framework, resourceManagement, dss, zosResourceManagement, cps, RunResourceReclaimer.DEFAULT_RECONCILE_INTERVAL);
+    }
+
+    SlotResourceMonitor(IFramework framework, 
+            IResourceManagement resourceManagement,
+            IDynamicStatusStoreService dss, 
+            ZosResourceManagement zosResourceManagement,
+            IConfigurationPropertyStoreService cps,
+            long reconcileInterval) {
         this.resourceManagement = resourceManagement;
         this.dss = dss;
+        this.reclaimer = new RunResourceReclaimer(framework, dss, "slot.run.", slotRunPattern, 1, 
+                runName -> "slot.run." + runName + ".", reconcileInterval, this::discardSlot);
         this.logger.info("zOS Slot resource monitor initialised");
     }
 
@@ -42,30 +52,8 @@ public class SlotResourceMonitor implements Runnable {
     public void run() {
         logger.info("Starting Run Slot search");
         try {
-            //*** Find all the runs with slots
-            Map<String, String> slotRuns = dss.getPrefix("slot.run.");
-            
-            Set<String> activeRunNames = this.framework.getFrameworkRuns().getActiveRunNames();
-
-            for(String key : slotRuns.keySet()) {
-                Matcher matcher = slotRunPattern.matcher(key);
-                if (matcher.find()) {
-                    String runName = matcher.group(1);
-
-                    if (!activeRunNames.contains(runName)) {
-                        String imageId = matcher.group(2);
-                        String slot    = matcher.group(3);
-
-                        logger.info("Discarding slot " + slot + " on image " + imageId + " as run " + runName + " has gone");
-
-                        try {
-                            ZosProvisionedImageImpl.deleteDss(runName, imageId, slot, dss);
-                        } catch(Exception e) {
-                            logger.error("Failed to discard slot " + slot + " on image " + imageId + " as run " + runName);
-                        }
-                    }
-                }
-            }
+            //*** Discard the slots of the runs that have gone
+            this.reclaimer.reclaim();
         } catch(Exception e) {
             logger.error("Failure during slot scan",e);
         }
@@ -76,24 +64,22 @@ public class SlotResourceMonitor implements Runnable {
 
     public void runFinishedOrDeleted(String runName) {
         try {
-            Map<String, String> slotRuns = dss.getPrefix("slot.run." + runName + ".");
-            for(String key : slotRuns.keySet()) {
-                Matcher matcher = slotRunPattern.matcher(key);
-                if (matcher.find()) {
-                    String imageId = matcher.group(2);
-                    String slot    = matcher.group(3);
+            this.reclaimer.runFinishedOrDeleted(runName);
+        } catch(Exception e) {
+            logger.error("Failed to discard slots for run " + runName, e);
+        }
+    }
+
+    private void discardSlot(String runName, Matcher matcher, Set<String> deleteProperties) {
+        String imageId = matcher.group(2);
+        String slot    = matcher.group(3);
 
-                    logger.info("Discarding slot " + slot + " on image " + imageId + " as run " + runName + " has gone");
+        logger.info("Discarding slot " + slot + " on image " + imageId + " as run " + runName + " has gone");
 
-                    try {
-                        ZosProvisionedImageImpl.deleteDss(runName, imageId, slot, dss);
-                    } catch(Exception e) {
-                        logger.error("Failed to discard slot " + slot + " on image " + imageId + " as run " + runName);
-                    }
-                }
-            }
+        try {
+            ZosProvisionedImageImpl.deleteDss(runName, imageId, slot, dss);
         } catch(Exception e) {
-            logger.error("Failed to delete ports for run " + runName);
+            logger.error("Failed to discard slot " + slot + " on image " + imageId + " as run " + runName);
         }
     }
 
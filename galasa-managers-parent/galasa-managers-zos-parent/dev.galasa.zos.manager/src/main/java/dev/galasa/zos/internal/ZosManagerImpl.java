@@ -55,6 +55,7 @@ import dev.galasa.zos.internal.properties.TSOCommandExtraBundle;
 import dev.galasa.zos.internal.properties.UNIXCommandExtraBundle;
 import dev.galasa.zos.internal.properties.ZosPropertiesSingleton;
 import dev.galasa.zos.spi.IZosManagerSpi;
+import dev.galasa.zos.spi.ZosMetricsRecorder;
 import dev.galasa.zos.spi.ZosImageDependencyField;
 
 @Component(service = { IManager.class })
@@ -213,6 +214,16 @@ public class ZosManagerImpl extends AbstractManager implements IZosManagerSpi {
         }
     }
 
+    /* (non-Javadoc)
+     * @see dev.galasa.framework.spi.AbstractManager#shutdown()
+     */
+    @Override
+    public void shutdown() {
+        //*** Add the timings recorded by the zOS managers during the run to the metrics
+        ZosMetricsRecorder.flush(this.dss, getFramework().getTestRunName());
+        super.shutdown();
+    }
+
     //*** We do not allow auto generate of the zos image fields as they need
     //*** to be done first AND the primary image needs to be the first one
     protected IZosImage generateZosImage(Field field) throws ZosManagerException {
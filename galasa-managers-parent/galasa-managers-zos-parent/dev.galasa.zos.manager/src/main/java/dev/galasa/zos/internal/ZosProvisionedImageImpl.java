@@ -16,6 +16,7 @@ import dev.galasa.framework.spi.IDynamicResource;
 import dev.galasa.framework.spi.IDynamicStatusStoreService;
 import dev.galasa.zos.ZosManagerException;
 import dev.galasa.zos.internal.properties.ImageMaxSlots;
+import dev.galasa.zos.spi.ZosMetricsRecorder;
 
 public class ZosProvisionedImageImpl extends ZosBaseImageImpl {
 
@@ -58,6 +59,15 @@ public class ZosProvisionedImageImpl extends ZosBaseImageImpl {
     }
 
     public boolean allocateImage() throws ZosManagerException {
+        long start = System.currentTimeMillis();
+        try {
+            return allocateSlot();
+        } finally {
+            ZosMetricsRecorder.time(ZosMetricsRecorder.SLOT_ALLOCATION, System.currentTimeMillis() - start, getImageID());
+        }
+    }
+
+    protected boolean allocateSlot() throws ZosManagerException {
         String runName = getZosManager().getFramework().getTestRunName();
 
         int maxSlots = ImageMaxSlots.get(getImageID());
@@ -77,7 +87,7 @@ public class ZosProvisionedImageImpl extends ZosBaseImageImpl {
             if (!dss.putSwap("image." + getImageID() + ".current.slots", currentSlots, Integer.toString(usedSlots))) {
                 //*** The value of the current slots changed whilst this was running,  so we need to try again with the updated value
                 Thread.sleep(200); //*** To avoid race conditions
-                return allocateImage();
+                return allocateSlot();
             }
 
             //*** Now generate a slot name so that we can track who is using all the slots
@@ -95,6 +105,8 @@ public class ZosProvisionedImageImpl extends ZosBaseImageImpl {
                 String prefix = "image." + getImageID() + ".slot." + actualSlotname;
                 HashMap<String, String> otherProps = new HashMap<>();
                 otherProps.put("slot.run." + runName + "." + prefix, "active");
+                //*** Index the image so the metrics server can find its slot count without a scan
+                otherProps.put(ZosMetricsRecorder.SLOT_INDEX_PREFIX + getImageID(), "true");
                 if (dss.putSwap(prefix, null, runName, otherProps)) {
                     allocatedSlotName = actualSlotname;
 
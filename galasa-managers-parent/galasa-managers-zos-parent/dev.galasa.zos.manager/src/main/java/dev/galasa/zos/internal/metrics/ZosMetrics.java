@@ -5,6 +5,8 @@
  */
 package dev.galasa.zos.internal.metrics;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.logging.Log;
@@ -12,11 +14,15 @@ import org.apache.commons.logging.LogFactory;
 import org.osgi.service.component.annotations.Component;
 
 import dev.galasa.framework.spi.AbstractManager;
+import dev.galasa.framework.spi.IConfigurationPropertyStoreService;
 import dev.galasa.framework.spi.IDynamicStatusStoreService;
 import dev.galasa.framework.spi.IFramework;
 import dev.galasa.framework.spi.IMetricsProvider;
 import dev.galasa.framework.spi.IMetricsServer;
 import dev.galasa.framework.spi.MetricsServerException;
+import dev.galasa.zos.internal.properties.ImageMaxSlots;
+import dev.galasa.zos.internal.properties.ZosPropertiesSingleton;
+import dev.galasa.zos.spi.ZosMetricsRecorder;
 import io.prometheus.client.Gauge;
 
 @Component(service= {IMetricsProvider.class})
@@ -25,8 +31,12 @@ public class ZosMetrics implements IMetricsProvider, Runnable {
     private IFramework                         framework;
     private IMetricsServer                     metricsServer;
     private IDynamicStatusStoreService         dss;
+    private IConfigurationPropertyStoreService cps;
 
     private Gauge                              noSlots;
+    private ZosMetricsCollector                collector;
+
+    private static final String                CURRENT_SLOTS_SUFFIX = ".current.slots";
 
     @Override
     public boolean initialise(IFramework framework, IMetricsServer metricsServer) throws MetricsServerException {
@@ -34,6 +44,8 @@ public class ZosMetrics implements IMetricsProvider, Runnable {
         this.metricsServer = metricsServer;
         try {
             this.dss = this.framework.getDynamicStatusStoreService("zos");
+            this.cps = this.framework.getConfigurationPropertyService("zos");
+            ZosPropertiesSingleton.setCps(this.cps);
         } catch (Exception e) {
             throw new MetricsServerException("Unable to initialise zOS Metrics", e);
         }
@@ -43,6 +55,8 @@ public class ZosMetrics implements IMetricsProvider, Runnable {
                 .help("How many times insufficent slots has occurred")
                 .register();
 
+        this.collector = new ZosMetricsCollector().register();
+
         return true;
     }
 
@@ -64,14 +78,31 @@ public class ZosMetrics implements IMetricsProvider, Runnable {
         logger.info("zOS Poll");;
 
         try {
+            //*** The timings and counts recorded by the runs, in one request, added to the totals
+            Map<String, String> metrics = ZosMetricsRecorder.addRunsToTotals(dss, dss.getPrefix(ZosMetricsRecorder.METRICS_PREFIX));
+
             //*** Insufficent Slots
-            String sNoSlots = AbstractManager.nulled(dss.get("metrics.slots.insufficent"));
+            String sNoSlots = AbstractManager.nulled(metrics.get("metrics.slots.insufficent"));
             if (sNoSlots == null) {
                 this.noSlots.set(0.0);
             } else {
                 this.noSlots.set(Double.parseDouble(sNoSlots));
             }
 
+            //*** Slot usage and capacity of each image that has had a slot allocated
+            HashMap<String, Integer> usedSlots = new HashMap<>();
+            HashMap<String, Integer> maxSlots = new HashMap<>();
+            for (String key : metrics.keySet()) {
+                if (!key.startsWith(ZosMetricsRecorder.SLOT_INDEX_PREFIX)) {
+                    continue;
+                }
+                String imageId = key.substring(ZosMetricsRecorder.SLOT_INDEX_PREFIX.length());
+                String currentSlots = AbstractManager.nulled(dss.get("image." + imageId + CURRENT_SLOTS_SUFFIX));
+                usedSlots.put(imageId, currentSlots == null ? 0 : Integer.parseInt(currentSlots));
+                maxSlots.put(imageId, ImageMaxSlots.get(imageId));
+            }
+
+            this.collector.update(metrics, usedSlots, maxSlots);
 
             this.metricsServer.metricsPollSuccessful();
         } catch(Exception e) {
@@ -0,0 +1,160 @@
+/*
+ * Licensed Materials - Property of IBM
+ * 
+ * (c) Copyright IBM Corp. 2020.
+ */
+package dev.galasa.zos.internal.metrics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import dev.galasa.zos.spi.ZosMetricsRecorder;
+import io.prometheus.client.Collector;
+
+/**
+ * Exposes the zOS metrics read from the DSS by the last {@link ZosMetrics} poll, so a scrape does not go to the DSS
+ */
+public class ZosMetricsCollector extends Collector {
+
+    private static final Map<String, MetricDefinition> timerDefinitions = new LinkedHashMap<>();
+    private static final Map<String, MetricDefinition> countDefinitions = new LinkedHashMap<>();
+    static {
+        timerDefinitions.put(ZosMetricsRecorder.ZOSMF_REQUEST, new MetricDefinition("galasa_zos_zosmf_request_duration_seconds", "zOSMF request duration", "server", "endpoint"));
+        timerDefinitions.put(ZosMetricsRecorder.BATCH_JOB, new MetricDefinition("galasa_zos_batch_job_duration_seconds", "Batch job submit to complete duration", "image"));
+        timerDefinitions.put(ZosMetricsRecorder.TERMINAL_CONNECT, new MetricDefinition("galasa_zos_terminal_connect_duration_seconds", "3270 terminal connect duration", "image"));
+        timerDefinitions.put(ZosMetricsRecorder.SLOT_ALLOCATION, new MetricDefinition("galasa_zos_slot_allocation_duration_seconds", "Slot allocation duration", "image"));
+        countDefinitions.put(ZosMetricsRecorder.ZOSMF_ERROR, new MetricDefinition("galasa_zos_zosmf_request_errors_total", "zOSMF requests that failed or returned an unexpected status code", "server", "endpoint"));
+    }
+
+    private volatile Map<String, String>  metrics   = Collections.emptyMap();
+    private volatile Map<String, Integer> usedSlots = Collections.emptyMap();
+    private volatile Map<String, Integer> maxSlots  = Collections.emptyMap();
+
+    /**
+     * Replace the metrics exposed
+     * @param metrics the DSS metrics properties
+     * @param usedSlots the current slots in use for each image
+     * @param maxSlots the maximum slots for each image
+     */
+    public void update(Map<String, String> metrics, Map<String, Integer> usedSlots, Map<String, Integer> maxSlots) {
+        this.metrics = new HashMap<>(metrics);
+        this.usedSlots = new HashMap<>(usedSlots);
+        this.maxSlots = new HashMap<>(maxSlots);
+    }
+
+    @Override
+    public List<MetricFamilySamples> collect() {
+        Map<String, List<MetricFamilySamples.Sample>> timerSamples = new HashMap<>();
+        Map<String, List<MetricFamilySamples.Sample>> countSamples = new HashMap<>();
+
+        for (Entry<String, String> entry : this.metrics.entrySet()) {
+            String key = entry.getKey();
+            long[] values = ZosMetricsRecorder.parse(entry.getValue());
+            if (values == null) {
+                continue;
+            }
+            if (key.startsWith(ZosMetricsRecorder.TIMER_PREFIX)) {
+                addTimerSamples(key.substring(ZosMetricsRecorder.TIMER_PREFIX.length()), values, timerSamples);
+            } else if (key.startsWith(ZosMetricsRecorder.COUNT_PREFIX)) {
+                addCountSamples(key.substring(ZosMetricsRecorder.COUNT_PREFIX.length()), values, countSamples);
+            }
+        }
+
+        List<MetricFamilySamples> families = new ArrayList<>();
+        for (Entry<String, MetricDefinition> entry : timerDefinitions.entrySet()) {
+            MetricDefinition definition = entry.getValue();
+            families.add(new MetricFamilySamples(definition.name, Type.HISTOGRAM, definition.help, timerSamples.getOrDefault(entry.getKey(), Collections.emptyList())));
+        }
+        for (Entry<String, MetricDefinition> entry : countDefinitions.entrySet()) {
+            MetricDefinition definition = entry.getValue();
+            families.add(new MetricFamilySamples(definition.name, Type.COUNTER, definition.help, countSamples.getOrDefault(entry.getKey(), Collections.emptyList())));
+        }
+        families.add(slotFamily("galasa_zos_image_slots_used", "The slots currently in use on the image", this.usedSlots));
+        families.add(slotFamily("galasa_zos_image_slots_max", "The maximum slots available on the image", this.maxSlots));
+        return families;
+    }
+
+    private void addTimerSamples(String key, long[] values, Map<String, List<MetricFamilySamples.Sample>> samples) {
+        long[] buckets = ZosMetricsRecorder.getBuckets();
+        if (values.length != buckets.length + 2) {
+            return;
+        }
+        for (Entry<String, MetricDefinition> entry : timerDefinitions.entrySet()) {
+            List<String> labelValues = labelValues(key, entry.getKey(), entry.getValue());
+            if (labelValues == null) {
+                continue;
+            }
+            MetricDefinition definition = entry.getValue();
+            List<MetricFamilySamples.Sample> timerSamples = samples.computeIfAbsent(entry.getKey(), k -> new ArrayList<>());
+
+            List<String> bucketLabelNames = new ArrayList<>(definition.labelNames);
+            bucketLabelNames.add("le");
+            long cumulative = 0;
+            for (int i = 0; i < buckets.length; i++) {
+                cumulative += values[i + 2];
+                List<String> bucketLabelValues = new ArrayList<>(labelValues);
+                bucketLabelValues.add(doubleToGoString(buckets[i] / 1000.0));
+                timerSamples.add(new MetricFamilySamples.Sample(definition.name + "_bucket", bucketLabelNames, bucketLabelValues, cumulative));
+            }
+            List<String> infLabelValues = new ArrayList<>(labelValues);
+            infLabelValues.add("+Inf");
+            timerSamples.add(new MetricFamilySamples.Sample(definition.name + "_bucket", bucketLabelNames, infLabelValues, values[0]));
+            timerSamples.add(new MetricFamilySamples.Sample(definition.name + "_count", definition.labelNames, labelValues, values[0]));
+            timerSamples.add(new MetricFamilySamples.Sample(definition.name + "_sum", definition.labelNames, labelValues, values[1] / 1000.0));
+            return;
+        }
+    }
+
+    private void addCountSamples(String key, long[] values, Map<String, List<MetricFamilySamples.Sample>> samples) {
+        for (Entry<String, MetricDefinition> entry : countDefinitions.entrySet()) {
+            List<String> labelValues = labelValues(key, entry.getKey(), entry.getValue());
+            if (labelValues == null) {
+                continue;
+            }
+            MetricDefinition definition = entry.getValue();
+            samples.computeIfAbsent(entry.getKey(), k -> new ArrayList<>())
+                .add(new MetricFamilySamples.Sample(definition.name, definition.labelNames, labelValues, values[0]));
+            return;
+        }
+    }
+
+    /**
+     * The label values of a key, if it is a key of the named metric
+     */
+    private List<String> labelValues(String key, String name, MetricDefinition definition) {
+        if (!key.startsWith(name + ".")) {
+            return null;
+        }
+        String[] labelValues = key.substring(name.length() + 1).split("\\.");
+        if (labelValues.length != definition.labelNames.size()) {
+            return null;
+        }
+        return Arrays.asList(labelValues);
+    }
+
+    private MetricFamilySamples slotFamily(String name, String help, Map<String, Integer> slots) {
+        List<MetricFamilySamples.Sample> samples = new ArrayList<>();
+        for (Entry<String, Integer> entry : slots.entrySet()) {
+            samples.add(new MetricFamilySamples.Sample(name, Arrays.asList("image"), Arrays.asList(entry.getKey()), entry.getValue()));
+        }
+        return new MetricFamilySamples(name, Type.GAUGE, help, samples);
+    }
+
+    private static class MetricDefinition {
+        private final String       name;
+        private final String       help;
+        private final List<String> labelNames;
+
+        private MetricDefinition(String name, String help, String... labelNames) {
+            this.name = name;
+            this.help = help;
+            this.labelNames = Arrays.asList(labelNames);
+        }
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * Licensed Materials - Property of IBM
+ * 
+ * (c) Copyright IBM Corp. 2020.
+ */
+package dev.galasa.zos.spi;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import dev.galasa.framework.spi.DynamicStatusStoreException;
+import dev.galasa.framework.spi.IDynamicStatusStoreService;
+
+/**
+ * Records timings and counts for the zOS Managers, to be reported by the zOS metrics provider.<br>
+ * Recording only updates counters held in memory, so it is cheap enough to do for every zOSMF request. The zOS Manager
+ * puts the counters in the zOS DSS in a single batch when it shuts down, under keys of its own run so runs ending at
+ * the same time do not contend. The metrics server reads them with one prefix request per poll, adds them to the
+ * totals and deletes them.
+ * <p>
+ * A timer total is held in the DSS as <code>metrics.timer.[name].[label values]=[count],[sum millis],[bucket counts]</code>
+ * and a counter total as <code>metrics.count.[name].[label values]=[count]</code>. The counters of a run not yet added
+ * to the totals are <code>metrics.run.[run name].[flush].timer...</code> and <code>metrics.run.[run name].[flush].count...</code>
+ * </p>
+ */
+public class ZosMetricsRecorder {
+
+    /** zOSMF request duration, labelled with the zOSMF server image and endpoint */
+    public static final String ZOSMF_REQUEST = "zosmf.request";
+    /** zOSMF requests that failed or returned an unexpected status code, labelled with the zOSMF server image and endpoint */
+    public static final String ZOSMF_ERROR = "zosmf.error";
+    /** Batch job submit to complete duration, labelled with the image */
+    public static final String BATCH_JOB = "batch.job";
+    /** 3270 terminal connect duration, labelled with the image */
+    public static final String TERMINAL_CONNECT = "terminal.connect";
+    /** Slot allocation duration, including retries when the slot count is contended, labelled with the image */
+    public static final String SLOT_ALLOCATION = "slot.allocation";
+
+    public static final String METRICS_PREFIX = "metrics.";
+    public static final String TIMER_PREFIX = "metrics.timer.";
+    public static final String COUNT_PREFIX = "metrics.count.";
+    public static final String RUN_PREFIX = "metrics.run.";
+    /** The images that slots have been allocated on, so the slot counters can be read without a scan of the slots */
+    public static final String SLOT_INDEX_PREFIX = "metrics.slots.image.";
+
+    /** The upper bounds of the timer buckets in milliseconds, anything longer is only in the count */
+    private static final long[] BUCKETS = { 100, 250, 500, 1000, 2500, 5000, 10000, 30000, 60000, 300000, 900000 };
+
+    private static final Map<String, long[]> timers = new HashMap<>();
+    private static final Map<String, Long> counts = new HashMap<>();
+    private static final Object lock = new Object();
+    private static int flushes = 0;
+
+    private static final Log logger = LogFactory.getLog(ZosMetricsRecorder.class);
+
+    private ZosMetricsRecorder() {
+    }
+
+    /**
+     * Record a timing
+     * @param name the timer name
+     * @param millis the time taken
+     * @param labels the label values
+     */
+    public static void time(String name, long millis, String... labels) {
+        String key = key(name, labels);
+        synchronized (lock) {
+            long[] timer = timers.computeIfAbsent(key, k -> new long[BUCKETS.length + 2]);
+            add(timer, timer(millis));
+        }
+    }
+
+    /**
+     * Record an occurrence
+     * @param name the counter name
+     * @param labels the label values
+     */
+    public static void count(String name, String... labels) {
+        String key = key(name, labels);
+        synchronized (lock) {
+            counts.merge(key, 1L, Long::sum);
+        }
+    }
+
+    /**
+     * Put the timings and counts recorded since the last flush in the DSS, for the metrics server to add to the totals
+     * @param dss the zOS DSS
+     * @param runName the run the timings and counts were recorded by
+     */
+    public static void flush(IDynamicStatusStoreService dss, String runName) {
+        HashMap<String, String> properties = new HashMap<>();
+        synchronized (lock) {
+            String runPrefix = RUN_PREFIX + runName + "." + (flushes++) + ".";
+            for (Entry<String, long[]> entry : timers.entrySet()) {
+                properties.put(runPrefix + TIMER_PREFIX.substring(METRICS_PREFIX.length()) + entry.getKey(), format(entry.getValue()));
+            }
+            for (Entry<String, Long> entry : counts.entrySet()) {
+                properties.put(runPrefix + COUNT_PREFIX.substring(METRICS_PREFIX.length()) + entry.getKey(), Long.toString(entry.getValue()));
+            }
+            timers.clear();
+            counts.clear();
+        }
+
+        if (properties.isEmpty()) {
+            return;
+        }
+        try {
+            dss.put(properties);
+        } catch (DynamicStatusStoreException e) {
+            logger.warn("Unable to store the zOS metrics of run " + runName + ", they have been lost", e);
+        }
+    }
+
+    /**
+     * Add the timings and counts put in the DSS by the runs to the totals, and delete them
+     * @param dss the zOS DSS
+     * @param metrics the DSS properties with the {@link #METRICS_PREFIX} prefix
+     * @return the metrics properties with the new totals, without those of the runs
+     * @throws DynamicStatusStoreException
+     */
+    public static Map<String, String> addRunsToTotals(IDynamicStatusStoreService dss, Map<String, String> metrics) throws DynamicStatusStoreException {
+        HashMap<String, String> totals = new HashMap<>();
+        HashMap<String, long[]> updatedTotals = new HashMap<>();
+        HashSet<String> runKeys = new HashSet<>();
+        for (Entry<String, String> entry : metrics.entrySet()) {
+            String key = entry.getKey();
+            if (!key.startsWith(RUN_PREFIX)) {
+                totals.put(key, entry.getValue());
+                continue;
+            }
+            runKeys.add(key);
+
+            // Skip the run name and flush number
+            String[] parts = key.substring(RUN_PREFIX.length()).split("\\.", 3);
+            long[] delta = parse(entry.getValue());
+            if (parts.length < 3 || delta == null) {
+                continue;
+            }
+            String totalKey = METRICS_PREFIX + parts[2];
+            long[] values = updatedTotals.get(totalKey);
+            if (values == null) {
+                values = parse(metrics.get(totalKey));
+            }
+            if (values == null || values.length != delta.length) {
+                values = new long[delta.length];
+            }
+            add(values, delta);
+            updatedTotals.put(totalKey, values);
+        }
+
+        if (runKeys.isEmpty()) {
+            return totals;
+        }
+
+        // Only the metrics server updates the totals, so they do not need to be swapped
+        HashMap<String, String> properties = new HashMap<>();
+        for (Entry<String, long[]> entry : updatedTotals.entrySet()) {
+            properties.put(entry.getKey(), format(entry.getValue()));
+        }
+        if (!properties.isEmpty()) {
+            dss.put(properties);
+        }
+        dss.delete(runKeys);
+
+        totals.putAll(properties);
+        return totals;
+    }
+
+    /**
+     * Parse a DSS metric value
+     * @param value a comma separated list of numbers
+     * @return the numbers, or null if the value is not valid
+     */
+    public static long[] parse(String value) {
+        if (value == null) {
+            return null;
+        }
+        String[] parts = value.split(",");
+        long[] values = new long[parts.length];
+        try {
+            for (int i = 0; i < parts.length; i++) {
+                values[i] = Long.parseLong(parts[i].trim());
+            }
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        return values;
+    }
+
+    /**
+     * @return the upper bounds of the timer buckets in milliseconds
+     */
+    public static long[] getBuckets() {
+        return BUCKETS.clone();
+    }
+
+    private static long[] timer(long millis) {
+        long[] timer = new long[BUCKETS.length + 2];
+        timer[0] = 1;
+        timer[1] = millis;
+        for (int i = 0; i < BUCKETS.length; i++) {
+            if (millis <= BUCKETS[i]) {
+                timer[i + 2] = 1;
+                break;
+            }
+        }
+        return timer;
+    }
+
+    private static void add(long[] values, long[] delta) {
+        for (int i = 0; i < values.length; i++) {
+            values[i] += delta[i];
+        }
+    }
+
+    private static String format(long[] values) {
+        StringBuilder value = new StringBuilder();
+        for (long v : values) {
+            if (value.length() > 0) {
+                value.append(",");
+            }
+            value.append(v);
+        }
+        return value.toString();
+    }
+
+    private static String key(String name, String... labels) {
+        StringBuilder key = new StringBuilder(name);
+        for (String label : labels) {
+            // The label values are separated by dots in the key
+            key.append(".").append(label == null ? "unknown" : label.replaceAll("[.\\s]", "_"));
+        }
+        return key.toString();
+    }
+}
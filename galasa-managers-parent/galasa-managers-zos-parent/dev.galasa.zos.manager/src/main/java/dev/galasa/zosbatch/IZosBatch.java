@@ -49,4 +49,14 @@ public interface IZosBatch {
      * @throws ZosBatchException 
      */
     public List<IZosBatchJob> getJobs(String jobname, String owner) throws ZosBatchException;
+    
+    /**
+     * Create a new, empty, set of jobs with dependencies between them. The jobs are submitted concurrently, 
+     * in dependency order, when {@link IZosBatchJobSet#submit()} is called
+     * 
+     * @return the {@link IZosBatchJobSet}
+     * @throws ZosBatchException
+     */
+    @NotNull
+    public IZosBatchJobSet newJobSet() throws ZosBatchException;
 }
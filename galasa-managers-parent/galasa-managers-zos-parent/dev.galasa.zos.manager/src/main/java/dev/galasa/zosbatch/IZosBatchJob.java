@@ -5,6 +5,8 @@
  */
 package dev.galasa.zosbatch;
 
+import java.util.List;
+
 /**
  * <p>Represents a zOS Batch Job.</p>
  * 
@@ -78,7 +80,8 @@ public interface IZosBatchJob {
     public IZosBatchJobOutput retrieveOutput() throws ZosBatchException;
     
     /**
-     * Convenience method to retrieve the content of a spool file from the batch job given the ddname.<p>
+     * Convenience method to retrieve the content of a spool file from the batch job given the ddname. Only the content of
+     * the requested spool file is retrieved.<p>
      * <b>NOTE:</b> Returns the first matching instance in the list. If the batch job has multiple steps, there may be multiple 
      * instances of the ddname. 
      * 
@@ -88,6 +91,17 @@ public interface IZosBatchJob {
      */
     public IZosBatchJobOutputSpoolFile getSpoolFile(String ddname) throws ZosBatchException;
     
+    /**
+     * List the spool files of the batch job without retrieving their content. The content of each spool file is retrieved 
+     * from zOS when requested, either in full via {@link IZosBatchJobOutputSpoolFile#getRecords()} or by record range via
+     * {@link IZosBatchJobOutputSpoolFile#getRecords(long, long)}, {@link IZosBatchJobOutputSpoolFile#recordIterator()} and
+     * {@link IZosBatchJobOutputSpoolFile#findFirst(java.util.regex.Pattern)} 
+     * 
+     * @return the spool files
+     * @throws ZosBatchException
+     */
+    public List<IZosBatchJobOutputSpoolFile> listSpoolFiles() throws ZosBatchException;
+    
     /**
      * Cancel the batch job
      * 
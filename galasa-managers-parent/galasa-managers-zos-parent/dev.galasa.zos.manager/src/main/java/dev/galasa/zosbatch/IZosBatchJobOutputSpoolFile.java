@@ -5,6 +5,8 @@
  */
 package dev.galasa.zosbatch;
 
+import java.util.regex.Pattern;
+
 /**
  * Represents the a spool file from a zOS Batch job 
  * 
@@ -42,9 +44,41 @@ public interface IZosBatchJobOutputSpoolFile {
     public String getDdname();
     
     /**
-     * Return the content of this zOS batch job spool file
+     * Return the content of this zOS batch job spool file. If the content has not already been retrieved from zOS, it is 
+     * retrieved now. Returns null if the content could not be retrieved 
      * @return the zOS batch job spool file content
      */
     public String getRecords();
+    
+    /**
+     * Return the number of records in this zOS batch job spool file, as reported by zOS
+     * @return the number of records, or -1 if not known
+     */
+    public long getRecordCount();
+    
+    /**
+     * Return a range of records from this zOS batch job spool file, without retrieving the complete spool file
+     * @param firstRecord the zero based index of the first record
+     * @param numberOfRecords the maximum number of records to return
+     * @return the records, separated by new line characters
+     * @throws ZosBatchException
+     */
+    public String getRecords(long firstRecord, long numberOfRecords) throws ZosBatchException;
+    
+    /**
+     * Return an iterator over the records of this zOS batch job spool file
+     * @return the record iterator
+     * @throws ZosBatchException
+     */
+    public IZosBatchJobOutputSpoolFileIterator recordIterator() throws ZosBatchException;
+    
+    /**
+     * Return the first record in this zOS batch job spool file that contains a match for the supplied {@link Pattern}.
+     * Records are only retrieved from zOS until a match is found
+     * @param pattern the pattern to search for
+     * @return the first matching record, or null if no record matches
+     * @throws ZosBatchException
+     */
+    public String findFirst(Pattern pattern) throws ZosBatchException;
 
 }
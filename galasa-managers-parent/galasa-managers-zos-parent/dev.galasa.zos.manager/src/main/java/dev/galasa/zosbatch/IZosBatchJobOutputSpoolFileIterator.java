@@ -0,0 +1,29 @@
+/*
+ * Licensed Materials - Property of IBM
+ * 
+ * (c) Copyright IBM Corp. 2020.
+ */
+package dev.galasa.zosbatch;
+
+/**
+ * Iterates over the records of a zOS Batch job spool file. Where the spool file content has not already been retrieved,
+ * the records are retrieved from zOS in blocks, so the complete spool file is never held in memory
+ * 
+ */
+public interface IZosBatchJobOutputSpoolFileIterator {
+    
+    /**
+     * Returns true if the spool file has more records
+     * @return true if there are more records
+     * @throws ZosBatchException
+     */
+    public boolean hasNext() throws ZosBatchException;
+    
+    /**
+     * Returns the next record in the spool file
+     * @return the record
+     * @throws ZosBatchException if there are no more records or the records could not be retrieved
+     */
+    public String next() throws ZosBatchException;
+
+}
@@ -0,0 +1,65 @@
+/*
+ * Licensed Materials - Property of IBM
+ * 
+ * (c) Copyright IBM Corp. 2020.
+ */
+package dev.galasa.zosbatch;
+
+import java.util.Map;
+import java.util.concurrent.Future;
+
+import javax.validation.constraints.NotNull;
+
+/**
+ * A set of zOS Batch jobs with dependencies between them.<p>
+ * Jobs are added with the ids of the jobs they depend on. When the set is submitted, jobs without outstanding
+ * dependencies are submitted concurrently, and each dependent job is submitted as soon as all the jobs it depends on 
+ * have completed with an acceptable return code. If a job fails, the jobs that depend on it are not submitted.
+ *
+ */
+public interface IZosBatchJobSet {
+    
+    /**
+     * Add a job to the set. The job is acceptable if it completes with a numeric return code of 4 or less
+     * 
+     * @param id - A unique id for the job within this set
+     * @param jcl - The JCL to submit. Must not include the JOB statement
+     * @param dependsOn - The ids of jobs in this set that must complete before this job is submitted
+     * @return this job set
+     * @throws ZosBatchException
+     */
+    public IZosBatchJobSet addJob(@NotNull String id, @NotNull String jcl, String... dependsOn) throws ZosBatchException;
+    
+    /**
+     * Add a job to the set
+     * 
+     * @param id - A unique id for the job within this set
+     * @param jcl - The JCL to submit. Must not include the JOB statement
+     * @param jobname - {@link IZosBatchJobname} A provisioned jobname, if null, a new unique jobname will be provisioned
+     * @param jobcard - {@link ZosBatchJobcard} Overrides for the job card values, may be null
+     * @param maxReturnCode - The highest numeric return code that allows dependent jobs to be submitted 
+     * @param dependsOn - The ids of jobs in this set that must complete before this job is submitted
+     * @return this job set
+     * @throws ZosBatchException
+     */
+    public IZosBatchJobSet addJob(@NotNull String id, @NotNull String jcl, IZosBatchJobname jobname, ZosBatchJobcard jobcard, int maxReturnCode, String... dependsOn) throws ZosBatchException;
+    
+    /**
+     * Submit the jobs in the set. The returned {@link Future} completes when every job in the set has completed, failed 
+     * or been skipped
+     * 
+     * @return the results of all the jobs in the set, keyed by job id
+     * @throws ZosBatchException if the set has already been submitted, or the dependencies are unknown or circular
+     */
+    public Future<Map<String, IZosBatchJobSetResult>> submit() throws ZosBatchException;
+    
+    /**
+     * Return the result of a single job in the set. The set must have been submitted
+     * 
+     * @param id - The id of the job
+     * @return a {@link Future} that completes when the job has completed, failed or been skipped
+     * @throws ZosBatchException if the set has not been submitted or the id is unknown
+     */
+    public Future<IZosBatchJobSetResult> getJobResult(@NotNull String id) throws ZosBatchException;
+
+}
@@ -0,0 +1,67 @@
+/*
+ * Licensed Materials - Property of IBM
+ * 
+ * (c) Copyright IBM Corp. 2020.
+ */
+package dev.galasa.zosbatch;
+
+/**
+ * The result of a job in a {@link IZosBatchJobSet}
+ *
+ */
+public interface IZosBatchJobSetResult {
+    
+    /**
+     * The status of a job in a {@link IZosBatchJobSet}
+     */
+    public enum JobSetStatus {
+        /**
+         * The job completed with an acceptable return code
+         */
+        COMPLETED,
+        /**
+         * The job could not be submitted, did not complete, or completed with an unacceptable return code
+         */
+        FAILED,
+        /**
+         * The job was not submitted because a job it depends on did not complete
+         */
+        SKIPPED;
+    }
+    
+    /**
+     * Return the id of the job within the set
+     * 
+     * @return the job id
+     */
+    public String getId();
+    
+    /**
+     * Return the status of the job
+     * 
+     * @return the {@link JobSetStatus}
+     */
+    public JobSetStatus getStatus();
+    
+    /**
+     * Return the zOS Batch job 
+     * 
+     * @return the {@link IZosBatchJob}, or null if the job was not submitted
+     */
+    public IZosBatchJob getJob();
+    
+    /**
+     * Return the highest return code of the job, as returned by {@link IZosBatchJob#waitForJob()}
+     * 
+     * @return the return code, or {@link Integer#MIN_VALUE} if the job did not complete or the return code is non numeric
+     */
+    public int getReturnCode();
+    
+    /**
+     * Return the exception that caused the job to fail
+     * 
+     * @return the exception, or null
+     */
+    public ZosBatchException getException();
+
+}
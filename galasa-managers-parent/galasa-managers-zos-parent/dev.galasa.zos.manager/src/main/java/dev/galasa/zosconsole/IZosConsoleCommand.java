@@ -5,13 +5,18 @@
  */
 package dev.galasa.zosconsole;
 
+import java.util.regex.Pattern;
+
 /**
  * Represents a zOS Console Command.<br><br> 
  * When the command is issued via {@link IZosConsole#issueCommand(String)} or {@link IZosConsole#issueCommand(String, String)}, the immediate response message, 
  * if available, together with a command response key, is received from the zOS Console.
  * The immediate response message is available via the {@link #getResponse()} method.<br> 
  * The {@link #requestResponse()} method uses the command response key to request any delayed response messages from the zOS Console associated with this command 
- * and returns all responses messages issued since the initial response or previous {@link #requestResponse()} method call.
+ * and returns all responses messages issued since the initial response or previous {@link #requestResponse()} method call.<br><br>
+ * The {@link #waitForMessage(Pattern, long)} and {@link #subscribe(IZosConsoleMessageListener)} methods have the delayed response 
+ * messages requested in the background, so the test need not poll {@link #requestResponse()}. Messages received in the background 
+ * are still returned by the next {@link #requestResponse()} method call.
  */
 public interface IZosConsoleCommand {
 
@@ -28,6 +33,30 @@ public interface IZosConsoleCommand {
      * @throws ZosConsoleException
      */
     public String requestResponse() throws ZosConsoleException;
+
+    /**
+     * Wait for a response message from the current console command that matches a pattern. Messages already received, 
+     * including the immediate response, are matched first
+     * @param pattern the pattern the message must contain a match for
+     * @param timeout time (in milliseconds) to wait for the message
+     * @return the first matching message
+     * @throws ZosConsoleException if no matching message arrives before the timeout
+     */
+    public String waitForMessage(Pattern pattern, long timeout) throws ZosConsoleException;
+
+    /**
+     * Subscribe to the delayed response messages from the current console command. The listener is called with each 
+     * message as it arrives until it is unsubscribed or the test run ends
+     * @param listener the listener
+     * @throws ZosConsoleException
+     */
+    public void subscribe(IZosConsoleMessageListener listener) throws ZosConsoleException;
+
+    /**
+     * Stop calling a listener with the response messages from the current console command
+     * @param listener the listener
+     */
+    public void unsubscribe(IZosConsoleMessageListener listener);
     
     /**
      * Return the command
@@ -0,0 +1,20 @@
+/*
+ * Licensed Materials - Property of IBM
+ * 
+ * (c) Copyright IBM Corp. 2020.
+ */
+package dev.galasa.zosconsole;
+
+/**
+ * Receives the response messages from a zOS Console Command as they arrive. See
+ * {@link IZosConsoleCommand#subscribe(IZosConsoleMessageListener)}
+ */
+public interface IZosConsoleMessageListener {
+
+    /**
+     * Called, on a thread other than the test thread, with each message
+     * @param command the console command the message is in response to
+     * @param message the message
+     */
+    public void message(IZosConsoleCommand command, String message);
+}
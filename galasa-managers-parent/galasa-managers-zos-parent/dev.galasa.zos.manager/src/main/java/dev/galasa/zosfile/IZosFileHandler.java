@@ -5,6 +5,8 @@
  */
 package dev.galasa.zosfile;
 
+import java.util.List;
+
 import dev.galasa.zos.IZosImage;
 
 /**
@@ -64,4 +66,13 @@ public interface IZosFileHandler {
      * @throws ZosVSAMDatasetException 
      */
     public IZosVSAMDataset newVSAMDataset(String dsname, IZosImage image) throws ZosVSAMDatasetException;
+
+    /**
+     * Retrieve the attributes of several existing data sets, using one request to each zOS image rather than one request
+     * for each data set. See {@link IZosDataset#retrieveAttibutes()}
+     * 
+     * @param datasets
+     * @throws ZosDatasetException
+     */
+    public void retrieveAttibutes(List<IZosDataset> datasets) throws ZosDatasetException;
 }
@@ -5,6 +5,8 @@
  */
 package dev.galasa.zosfile;
 
+import java.util.List;
+
 import javax.validation.constraints.NotNull;
 
 import dev.galasa.zosfile.IZosDataset.DatasetDataType;
@@ -203,6 +205,42 @@ public interface IZosVSAMDataset {
      */
     public byte[] retrieveAsBinary() throws ZosVSAMDatasetException;
     
+    /**
+     * Retrieve the record with the supplied key from a KSDS in text mode, without copying the whole data set.
+     * The key is the characters of the key, e.g. {@code ABC}, which are quoted for IDCAMS, or a hexadecimal key, 
+     * e.g. {@code X'C1C2C3'}. A key shorter than the key length of the data set is treated as a generic key
+     * @param key the record key
+     * @return the record, or null if there is no record with the key
+     * @throws ZosVSAMDatasetException
+     */
+    public String readByKey(@NotNull String key) throws ZosVSAMDatasetException;
+    
+    /**
+     * Retrieve the records with keys from {@code fromKey} to {@code toKey} inclusive from a KSDS in text mode.
+     * See {@link #readByKey(String)} for the key format 
+     * @param fromKey the key of the first record
+     * @param toKey the key of the last record
+     * @return the records, empty if there are no records in the range
+     * @throws ZosVSAMDatasetException
+     */
+    public List<String> readRange(@NotNull String fromKey, @NotNull String toKey) throws ZosVSAMDatasetException;
+    
+    /**
+     * Retrieve the first records of the VSAM data set in text mode
+     * @param count the maximum number of records to return
+     * @return the records
+     * @throws ZosVSAMDatasetException
+     */
+    public List<String> readFirst(int count) throws ZosVSAMDatasetException;
+    
+    /**
+     * Returns an iterator over the records of the VSAM data set in text mode. The records are retrieved from zOS 
+     * in blocks as the iterator advances
+     * @return the iterator
+     * @throws ZosVSAMDatasetException
+     */
+    public IZosVSAMDatasetRecordIterator recordIterator() throws ZosVSAMDatasetException;
+    
     /**
      * Store the content of the data set with the test output
      * <p>See {@link #setDataType(DatasetDataType)}
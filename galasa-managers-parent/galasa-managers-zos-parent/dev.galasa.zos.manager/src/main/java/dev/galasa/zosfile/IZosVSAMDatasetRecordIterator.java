@@ -0,0 +1,29 @@
+/*
+ * Licensed Materials - Property of IBM
+ * 
+ * (c) Copyright IBM Corp. 2020.
+ */
+package dev.galasa.zosfile;
+
+/**
+ * Iterates over the records of a VSAM data set in text mode. The records are retrieved from zOS in blocks, so the
+ * complete data set is never copied or held in memory
+ * 
+ */
+public interface IZosVSAMDatasetRecordIterator {
+    
+    /**
+     * Returns true if the VSAM data set has more records
+     * @return true if there are more records
+     * @throws ZosVSAMDatasetException
+     */
+    public boolean hasNext() throws ZosVSAMDatasetException;
+    
+    /**
+     * Returns the next record in the VSAM data set
+     * @return the record
+     * @throws ZosVSAMDatasetException if there are no more records or the records could not be retrieved
+     */
+    public String next() throws ZosVSAMDatasetException;
+
+}
@@ -92,7 +92,8 @@ public class TestSlotResourceMonitor {
         PowerMockito.mockStatic(ZosProvisionedImageImpl.class);
         PowerMockito.doNothing().when(ZosProvisionedImageImpl.class, "deleteDss", Mockito.anyString(), Mockito.anyString(), Mockito.anyString(), Mockito.any());
 
-        slotResourceMonitor = new SlotResourceMonitor(frameworkMock, resourceManagementMock, dssMock, zosResourceManagementMock, cpsMock);
+        // Reconcile with the DSS on every run
+        slotResourceMonitor = new SlotResourceMonitor(frameworkMock, resourceManagementMock, dssMock, zosResourceManagementMock, cpsMock, 0);
         slotResourceMonitorSpy = PowerMockito.spy(slotResourceMonitor);
         
         slotResourceMonitorSpy.run();
@@ -151,6 +152,6 @@ public class TestSlotResourceMonitor {
         
         Mockito.when(dssMock.getPrefix(Mockito.any())).thenThrow(new RuntimeException());
         slotResourceMonitorSpy.runFinishedOrDeleted("RUN2");
-        Assert.assertEquals("run() should log specified message", "Failed to delete ports for run RUN2", logMessage);
+        Assert.assertEquals("run() should log specified message", "Failed to discard slots for run RUN2", logMessage);
     }
 }
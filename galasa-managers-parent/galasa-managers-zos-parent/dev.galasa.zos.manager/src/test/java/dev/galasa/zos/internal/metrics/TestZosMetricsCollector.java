@@ -0,0 +1,115 @@
+/*
+ * Licensed Materials - Property of IBM
+ * 
+ * (c) Copyright IBM Corp. 2020.
+ */
+package dev.galasa.zos.internal.metrics;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import dev.galasa.framework.spi.DynamicStatusStoreException;
+import dev.galasa.framework.spi.IDynamicStatusStoreService;
+import dev.galasa.zos.spi.ZosMetricsRecorder;
+import io.prometheus.client.Collector.MetricFamilySamples;
+import io.prometheus.client.Collector.MetricFamilySamples.Sample;
+
+@RunWith(MockitoJUnitRunner.class)
+public class TestZosMetricsCollector {
+
+    @Mock
+    private IDynamicStatusStoreService dssMock;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testRecordFlushAndCollect() throws DynamicStatusStoreException {
+        HashMap<String, String> dss = new HashMap<>();
+        Mockito.doAnswer(invocation -> {
+            dss.putAll(invocation.getArgument(0));
+            return null;
+        }).when(dssMock).put(Mockito.anyMap());
+        Mockito.doAnswer(invocation -> {
+            dss.keySet().removeAll(invocation.getArgument(0));
+            return null;
+        }).when(dssMock).delete(Mockito.anySet());
+
+        ZosMetricsRecorder.time(ZosMetricsRecorder.ZOSMF_REQUEST, 50, "MFSYSA", "restjobs/jobs");
+        ZosMetricsRecorder.time(ZosMetricsRecorder.ZOSMF_REQUEST, 2000, "MFSYSA", "restjobs/jobs");
+        ZosMetricsRecorder.count(ZosMetricsRecorder.ZOSMF_ERROR, "MFSYSA", "restjobs/jobs");
+        ZosMetricsRecorder.flush(dssMock, "U1");
+        ZosMetricsRecorder.time(ZosMetricsRecorder.ZOSMF_REQUEST, 100, "MFSYSA", "restjobs/jobs");
+        ZosMetricsRecorder.flush(dssMock, "U2");
+
+        Assert.assertFalse("flush() should put the timers and counters in the DSS", dss.isEmpty());
+        for (String key : dss.keySet()) {
+            Assert.assertTrue("flush() should put the timers and counters under keys of the run", key.startsWith(ZosMetricsRecorder.RUN_PREFIX));
+        }
+
+        dss.put(ZosMetricsRecorder.COUNT_PREFIX + "zosmf.error.MFSYSA.restjobs/jobs", "4");
+        Map<String, String> metrics = ZosMetricsRecorder.addRunsToTotals(dssMock, new HashMap<>(dss));
+
+        Assert.assertEquals("addRunsToTotals() should add the runs to the DSS timer", "3,2150,2,0,0,0,1,0,0,0,0,0,0", dss.get(ZosMetricsRecorder.TIMER_PREFIX + "zosmf.request.MFSYSA.restjobs/jobs"));
+        Assert.assertEquals("addRunsToTotals() should add the runs to the DSS counter", "5", dss.get(ZosMetricsRecorder.COUNT_PREFIX + "zosmf.error.MFSYSA.restjobs/jobs"));
+        for (String key : dss.keySet()) {
+            Assert.assertFalse("addRunsToTotals() should delete the keys of the runs", key.startsWith(ZosMetricsRecorder.RUN_PREFIX));
+        }
+        Assert.assertEquals("addRunsToTotals() should return the totals", dss, metrics);
+
+        HashMap<String, Integer> usedSlots = new HashMap<>();
+        usedSlots.put("IMAGE", 1);
+        HashMap<String, Integer> maxSlots = new HashMap<>();
+        maxSlots.put("IMAGE", 2);
+        ZosMetricsCollector collector = new ZosMetricsCollector();
+        collector.update(metrics, usedSlots, maxSlots);
+        Map<String, Double> samples = samples(collector.collect());
+
+        Assert.assertEquals("collect() should return the request count", 3.0, samples.get("galasa_zos_zosmf_request_duration_seconds_count{MFSYSA,restjobs/jobs}"), 0.0);
+        Assert.assertEquals("collect() should return the request time", 2.15, samples.get("galasa_zos_zosmf_request_duration_seconds_sum{MFSYSA,restjobs/jobs}"), 0.0001);
+        Assert.assertEquals("collect() should return cumulative buckets", 2.0, samples.get("galasa_zos_zosmf_request_duration_seconds_bucket{MFSYSA,restjobs/jobs,1.0}"), 0.0);
+        Assert.assertEquals("collect() should return cumulative buckets", 3.0, samples.get("galasa_zos_zosmf_request_duration_seconds_bucket{MFSYSA,restjobs/jobs,+Inf}"), 0.0);
+        Assert.assertEquals("collect() should return the error count", 5.0, samples.get("galasa_zos_zosmf_request_errors_total{MFSYSA,restjobs/jobs}"), 0.0);
+        Assert.assertEquals("collect() should return the slots used", 1.0, samples.get("galasa_zos_image_slots_used{IMAGE}"), 0.0);
+        Assert.assertEquals("collect() should return the maximum slots", 2.0, samples.get("galasa_zos_image_slots_max{IMAGE}"), 0.0);
+    }
+
+    @Test
+    public void testFlushFailureDropsMetrics() throws DynamicStatusStoreException {
+        Mockito.doThrow(new DynamicStatusStoreException("failed")).when(dssMock).put(Mockito.anyMap());
+
+        ZosMetricsRecorder.count(ZosMetricsRecorder.ZOSMF_ERROR, "MFSYSA", "restjobs/jobs");
+        ZosMetricsRecorder.flush(dssMock, "U1");
+        ZosMetricsRecorder.flush(dssMock, "U1");
+
+        Mockito.verify(dssMock, Mockito.times(1)).put(Mockito.anyMap());
+    }
+
+    @Test
+    public void testCollectIgnoresInvalidValues() {
+        HashMap<String, String> dss = new HashMap<>();
+        dss.put(ZosMetricsRecorder.TIMER_PREFIX + "zosmf.request.MFSYSA.restjobs/jobs", "1,2");
+        dss.put(ZosMetricsRecorder.COUNT_PREFIX + "zosmf.error.MFSYSA", "1");
+        dss.put(ZosMetricsRecorder.COUNT_PREFIX + "zosmf.error.MFSYSA.restjobs/jobs", "rubbish");
+        ZosMetricsCollector collector = new ZosMetricsCollector();
+        collector.update(dss, new HashMap<>(), new HashMap<>());
+
+        Assert.assertTrue("collect() should ignore invalid values", samples(collector.collect()).isEmpty());
+    }
+
+    private Map<String, Double> samples(List<MetricFamilySamples> families) {
+        HashMap<String, Double> samples = new HashMap<>();
+        for (MetricFamilySamples family : families) {
+            for (Sample sample : family.samples) {
+                samples.put(sample.name + "{" + String.join(",", sample.labelValues) + "}", sample.value);
+            }
+        }
+        return samples;
+    }
+}
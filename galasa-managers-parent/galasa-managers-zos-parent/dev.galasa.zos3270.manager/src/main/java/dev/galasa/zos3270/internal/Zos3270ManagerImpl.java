@@ -130,7 +130,7 @@ public class Zos3270ManagerImpl extends AbstractManager implements IZos3270Manag
             terminalCount++;
             String terminaId = "term" + (terminalCount);
 
-            Zos3270TerminalImpl terminal = new Zos3270TerminalImpl(terminaId, host.getHostname(), host.getTelnetPort(),
+            Zos3270TerminalImpl terminal = new Zos3270TerminalImpl(terminaId, image.getImageID(), host.getHostname(), host.getTelnetPort(),
                     host.isTelnetPortTls(), getFramework(), autoConnect);
 
             this.terminals.add(terminal);
@@ -32,6 +32,7 @@ import dev.galasa.ResultArchiveStoreContentType;
 import dev.galasa.SetContentType;
 import dev.galasa.framework.spi.IConfidentialTextService;
 import dev.galasa.framework.spi.IFramework;
+import dev.galasa.zos.spi.ZosMetricsRecorder;
 import dev.galasa.zos3270.AttentionIdentification;
 import dev.galasa.zos3270.IScreenUpdateListener;
 import dev.galasa.zos3270.TerminalInterruptedException;
@@ -51,6 +52,7 @@ public class Zos3270TerminalImpl extends Terminal implements IScreenUpdateListen
     private final Gson                     gson         = new GsonBuilder().setPrettyPrinting().create();
 
     private final String                   terminalId;
+    private final String                   imageId;
     private int                            updateId;
     private final String                   runId;
 
@@ -66,10 +68,11 @@ public class Zos3270TerminalImpl extends Terminal implements IScreenUpdateListen
     private boolean                        logConsoleTerminals;
     private boolean                        autoConnect;
 
-    public Zos3270TerminalImpl(String id, String host, int port, boolean tls, IFramework framework, boolean autoConnect)
+    public Zos3270TerminalImpl(String id, String imageId, String host, int port, boolean tls, IFramework framework, boolean autoConnect)
             throws Zos3270ManagerException, TerminalInterruptedException {
         super(id, host, port, tls);
         this.terminalId = id;
+        this.imageId = imageId;
         this.runId = framework.getTestRunName();
         this.autoConnect = autoConnect;
 
@@ -113,6 +116,13 @@ public class Zos3270TerminalImpl extends Terminal implements IScreenUpdateListen
         return this.autoConnect;
     }
 
+    @Override
+    public synchronized void connect() throws NetworkException {
+        long start = System.currentTimeMillis();
+        super.connect();
+        ZosMetricsRecorder.time(ZosMetricsRecorder.TERMINAL_CONNECT, System.currentTimeMillis() - start, this.imageId);
+    }
+
     @Override
     public synchronized void screenUpdated(Direction direction, AttentionIdentification aid) {
         updateId++;
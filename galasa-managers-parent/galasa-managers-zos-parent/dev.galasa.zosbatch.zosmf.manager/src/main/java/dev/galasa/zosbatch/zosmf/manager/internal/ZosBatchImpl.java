@@ -17,17 +17,17 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.http.HttpStatus;
 
-import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 
 import dev.galasa.zos.IZosImage;
 import dev.galasa.zosbatch.IZosBatch;
 import dev.galasa.zosbatch.IZosBatchJob;
+import dev.galasa.zosbatch.IZosBatchJobSet;
 import dev.galasa.zosbatch.IZosBatchJobname;
 import dev.galasa.zosbatch.ZosBatchException;
 import dev.galasa.zosbatch.ZosBatchJobcard;
 import dev.galasa.zosbatch.ZosBatchManagerException;
+import dev.galasa.zosbatch.zosmf.manager.internal.json.Job;
 import dev.galasa.zosbatch.zosmf.manager.internal.properties.RestrictToImage;
 import dev.galasa.zosmf.IZosmf.ZosmfCustomHeaders;
 import dev.galasa.zosmf.IZosmf.ZosmfRequestType;
@@ -57,18 +57,12 @@ public class ZosBatchImpl implements IZosBatch {
     
     @Override
     public @NotNull IZosBatchJob submitJob(@NotNull String jcl, IZosBatchJobname jobname, ZosBatchJobcard jobcard) throws ZosBatchException {
-        if (jobname == null) {
-            jobname = new ZosBatchJobnameImpl(this.image.getImageID());
-        }
-        
-        if (jobcard == null) {
-            jobcard = new ZosBatchJobcard();
-        }
-        
-        ZosBatchJobImpl zosBatchJob = new ZosBatchJobImpl(this.image, jobname, jcl, jobcard);
-        this.zosBatchJobs.add(zosBatchJob);
-        
-        return zosBatchJob.submitJob();
+        return newZosBatchJob(jcl, jobname, jobcard).submitJob();
+    }
+    
+    @Override
+    public @NotNull IZosBatchJobSet newJobSet() throws ZosBatchException {
+        return new ZosBatchJobSetImpl(this, this.image);
     }
 
 
@@ -87,29 +81,46 @@ public class ZosBatchImpl implements IZosBatch {
      * Clean up any existing batch jobs
      * @throws ZosBatchException
      */
-    public void cleanup() throws ZosBatchException {
+    public synchronized void cleanup() throws ZosBatchException {
         
         Iterator<ZosBatchJobImpl> iterator = zosBatchJobs.iterator();
         while (iterator.hasNext()) {
             ZosBatchJobImpl zosBatchJobImpl = iterator.next();
             if (zosBatchJobImpl.submitted()) {
-                if (!zosBatchJobImpl.isComplete()) {
-                    zosBatchJobImpl.cancel();
-                    zosBatchJobImpl.archiveJobOutput();
-                    zosBatchJobImpl.purge();
+                if (ZosBatchManagerImpl.jobCleaner != null) {
+                    ZosBatchManagerImpl.jobCleaner.submit(zosBatchJobImpl);
                 } else {
-                    if (!zosBatchJobImpl.isArchived()) {
-                        zosBatchJobImpl.archiveJobOutput();
-                    }
-                    if (!zosBatchJobImpl.isPurged()) {
-                        zosBatchJobImpl.purge();
-                    }
+                    zosBatchJobImpl.cleanup();
                 }
             }
             iterator.remove();
         }
     }
 
+    /**
+     * Create a batch job that will be cleaned up with the other jobs created by this instance
+     * @param jcl
+     * @param jobname the jobname, or null to generate one
+     * @param jobcard the jobcard, or null to use the default
+     * @return the unsubmitted batch job
+     * @throws ZosBatchException
+     */
+    protected ZosBatchJobImpl newZosBatchJob(String jcl, IZosBatchJobname jobname, ZosBatchJobcard jobcard) throws ZosBatchException {
+        if (jobname == null) {
+            jobname = new ZosBatchJobnameImpl(this.image.getImageID());
+        }
+        
+        if (jobcard == null) {
+            jobcard = new ZosBatchJobcard();
+        }
+        
+        ZosBatchJobImpl zosBatchJob = new ZosBatchJobImpl(this.image, jobname, jcl, jobcard);
+        synchronized (this) {
+            this.zosBatchJobs.add(zosBatchJob);
+        }
+        return zosBatchJob;
+    }
+
     protected List<IZosBatchJob> getBatchJobs(String suppliedJobname, String suppliedOwner) throws ZosBatchException {
         IZosmfRestApiProcessor zosmfApiProcessor;
         try {
@@ -140,23 +151,21 @@ public class ZosBatchImpl implements IZosBatch {
         
         logger.trace(responseBodyObject);
         if (response.getStatusCode() == HttpStatus.SC_OK) {
-            // Get the jobs
-            JsonArray jsonArray;
+            // Get the jobs, binding them as they are read as a prefix can match a great many jobs
+            Job[] jobs;
             try {
-                jsonArray = response.getJsonArrayContent();
+                jobs = response.getJsonContent(Job[].class);
             } catch (ZosmfException e) {
                 throw new ZosBatchException(e);
             }
-            for (JsonElement jsonElement : jsonArray) {
-                JsonObject responseBody = jsonElement.getAsJsonObject();
-                String jobnameString = responseBody.get("jobname").getAsString();
+            for (Job job : jobs) {
                 ZosBatchJobnameImpl jobname = new ZosBatchJobnameImpl();
-                jobname.setName(jobnameString);
+                jobname.setName(job.jobname);
                 ZosBatchJobImpl zosBatchJob = new ZosBatchJobImpl(this.image, jobname, null, null);
-                zosBatchJob.setJobid(responseBody.get("jobid").getAsString());
-                zosBatchJob.setOwner(responseBody.get("owner").getAsString());
-                zosBatchJob.setType(responseBody.get("type").getAsString());
-                zosBatchJob.setStatus(responseBody.get("status").getAsString());
+                zosBatchJob.setJobid(job.jobid);
+                zosBatchJob.setOwner(job.owner);
+                zosBatchJob.setType(job.type);
+                zosBatchJob.setStatus(job.status);
                 zosBatchJob.setJobPathValues();
                 zosBatchJobList.add(zosBatchJob);
             }
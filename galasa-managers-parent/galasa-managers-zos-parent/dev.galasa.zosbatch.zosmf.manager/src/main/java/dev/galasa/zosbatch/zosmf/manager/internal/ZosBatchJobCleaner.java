@@ -0,0 +1,144 @@
+/*
+ * Licensed Materials - Property of IBM
+ * 
+ * (c) Copyright IBM Corp. 2020.
+ */
+package dev.galasa.zosbatch.zosmf.manager.internal;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import dev.galasa.zos.IZosImage;
+import dev.galasa.zosbatch.ZosBatchException;
+import dev.galasa.zosbatch.ZosBatchManagerException;
+import dev.galasa.zosbatch.zosmf.manager.internal.properties.RestrictToImage;
+import dev.galasa.zosmf.IZosmfRestApiProcessor;
+import dev.galasa.zosmf.ZosmfManagerException;
+
+/**
+ * Archives and purges zOS Batch jobs on a bounded pool of threads.<br>
+ * Each job is cleaned up on a worker thread using a zOS/MF REST API processor dedicated to that worker, with the spool files
+ * being written to the RAS as they are retrieved. The archive location is captured when the job is submitted for cleanup so
+ * that the cleanup may continue after the manager has moved on to the next test method.
+ */
+public class ZosBatchJobCleaner {
+
+    private final ExecutorService executor;
+
+    private final boolean async;
+
+    private final List<Future<ZosBatchJobImpl>> pending = new LinkedList<>();
+
+    private final ThreadLocal<Map<String, IZosmfRestApiProcessor>> workerProcessors = ThreadLocal.withInitial(HashMap::new);
+
+    private static final Log logger = LogFactory.getLog(ZosBatchJobCleaner.class);
+
+    public ZosBatchJobCleaner(int threads, boolean async) {
+        this.async = async;
+        this.executor = Executors.newFixedThreadPool(threads, new CleanerThreadFactory());
+    }
+
+    /**
+     * Is the cleanup allowed to overlap with the next test method
+     * @return true if the manager need not wait at a test method boundary
+     */
+    public boolean isAsync() {
+        return this.async;
+    }
+
+    /**
+     * Queue a submitted job to be archived and purged
+     * @param zosBatchJob the job
+     */
+    public synchronized void submit(ZosBatchJobImpl zosBatchJob) {
+        zosBatchJob.setArchiveLocation(ZosBatchManagerImpl.archivePath, ZosBatchManagerImpl.currentTestMethodArchiveFolderName);
+        this.pending.add(this.executor.submit(() -> cleanupJob(zosBatchJob)));
+    }
+
+    /**
+     * Wait for all queued jobs to be archived and purged
+     * @throws ZosBatchException if any job failed to be cleaned up
+     */
+    public void waitForCompletion() throws ZosBatchException {
+        List<Future<ZosBatchJobImpl>> waitingFor;
+        synchronized (this) {
+            waitingFor = new LinkedList<>(this.pending);
+            this.pending.clear();
+        }
+        int failures = 0;
+        Throwable firstFailure = null;
+        Iterator<Future<ZosBatchJobImpl>> iterator = waitingFor.iterator();
+        while (iterator.hasNext()) {
+            try {
+                iterator.next().get();
+            } catch (ExecutionException e) {
+                failures++;
+                if (firstFailure == null) {
+                    firstFailure = e.getCause();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ZosBatchException("Interrupted waiting for batch job cleanup to complete", e);
+            }
+        }
+        if (failures > 0) {
+            throw new ZosBatchException("Failed to archive or purge " + failures + " batch job(s)", firstFailure);
+        }
+    }
+
+    /**
+     * Stop the worker threads. Any cleanup not already started is abandoned
+     */
+    public void shutdown() {
+        this.executor.shutdownNow();
+    }
+
+    protected ZosBatchJobImpl cleanupJob(ZosBatchJobImpl zosBatchJob) throws ZosBatchException {
+        // The job is not changed to use the worker processor, as the test may still be using the job on its own thread
+        try {
+            zosBatchJob.cleanup(workerProcessor(zosBatchJob.getImage()));
+        } catch (ZosBatchException e) {
+            logger.error("Problem cleaning up batch job " + zosBatchJob.getJobname().getName() + " " + zosBatchJob.getJobId(), e);
+            throw e;
+        }
+        return zosBatchJob;
+    }
+
+    protected IZosmfRestApiProcessor workerProcessor(IZosImage image) throws ZosBatchException {
+        Map<String, IZosmfRestApiProcessor> processors = this.workerProcessors.get();
+        IZosmfRestApiProcessor processor = processors.get(image.getImageID());
+        if (processor == null) {
+            try {
+                processor = ZosBatchManagerImpl.zosmfManager.newDedicatedZosmfRestApiProcessor(image, RestrictToImage.get(image.getImageID()));
+            } catch (ZosmfManagerException | ZosBatchManagerException e) {
+                throw new ZosBatchException(e);
+            }
+            processors.put(image.getImageID(), processor);
+        }
+        return processor;
+    }
+
+    private static class CleanerThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "zosbatch-cleanup-" + this.threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
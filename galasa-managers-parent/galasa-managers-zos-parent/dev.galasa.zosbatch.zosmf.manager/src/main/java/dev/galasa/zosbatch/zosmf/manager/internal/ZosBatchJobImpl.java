@@ -31,6 +31,7 @@ import com.google.gson.JsonObject;
 
 import dev.galasa.ResultArchiveStoreContentType;
 import dev.galasa.zos.IZosImage;
+import dev.galasa.zos.spi.ZosMetricsRecorder;
 import dev.galasa.zosbatch.IZosBatchJob;
 import dev.galasa.zosbatch.IZosBatchJobOutput;
 import dev.galasa.zosbatch.IZosBatchJobOutputSpoolFile;
@@ -39,6 +40,7 @@ import dev.galasa.zosbatch.ZosBatchException;
 import dev.galasa.zosbatch.ZosBatchJobcard;
 import dev.galasa.zosbatch.ZosBatchJobcard.Typrun;
 import dev.galasa.zosbatch.ZosBatchManagerException;
+import dev.galasa.zosbatch.zosmf.manager.internal.json.Job;
 import dev.galasa.zosbatch.zosmf.manager.internal.properties.MsgLevel;
 import dev.galasa.zosbatch.zosmf.manager.internal.properties.JobWaitTimeout;
 import dev.galasa.zosbatch.zosmf.manager.internal.properties.MsgClass;
@@ -76,6 +78,7 @@ public class ZosBatchJobImpl implements IZosBatchJob {
     private boolean jobNotFound;
     private String retcode;
     private boolean jobComplete;
+    private long submitTime;
     private boolean outputComplete;
     private boolean jobArchived;
     private boolean jobPurged;
@@ -84,6 +87,8 @@ public class ZosBatchJobImpl implements IZosBatchJob {
     private ZosBatchJobOutputImpl jobOutput;
     private boolean useSysaff;
     private int uniqueId;
+    private Path archivePath;
+    private String archiveFolderName;
     
     private static final String PROP_REASON = "reason";
     private static final String PROP_RC = "rc";
@@ -99,6 +104,8 @@ public class ZosBatchJobImpl implements IZosBatchJob {
     
     private static final String SLASH = "/";
     private static final String QUERY = "?";
+    private static final String RECORDS = "/records";
+    private static final String JCL_RECORDS = "/JCL" + RECORDS;
     public static final String RESTJOBS_PATH = SLASH + "zosmf" + SLASH + "restjobs" + SLASH + "jobs";
     
     private static final String LOG_JOB_NOT_SUBMITTED = "Job has not been submitted by manager";
@@ -164,6 +171,7 @@ public class ZosBatchJobImpl implements IZosBatchJob {
             this.type = jsonNull(responseBody, PROP_TYPE);
             this.retcode = jsonNull(responseBody, PROP_RETCODE);
             setJobPathValues();
+            this.submitTime = System.currentTimeMillis();
             logger.info("JOB " + this + " Submitted");
         } else {            
             // Error case - BAD_REQUEST or INTERNAL_SERVER_ERROR
@@ -262,7 +270,39 @@ public class ZosBatchJobImpl implements IZosBatchJob {
     
     @Override
     public IZosBatchJobOutputSpoolFile getSpoolFile(@NotNull String ddname) throws ZosBatchException {
-        return ((ZosBatchJobOutputImpl) retrieveOutput()).getSpoolFile(ddname);
+        if (this.outputComplete) {
+            return jobOutput().getSpoolFile(ddname);
+        }
+        for (IZosBatchJobOutputSpoolFile spoolFile : listSpoolFiles()) {
+            if (spoolFile.getDdname().equals(ddname)) {
+                ((ZosBatchJobOutputSpoolFileImpl) spoolFile).retrieve();
+                return spoolFile;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public List<IZosBatchJobOutputSpoolFile> listSpoolFiles() throws ZosBatchException {
+        if (!submitted()) {
+            throw new ZosBatchException(LOG_JOB_NOT_SUBMITTED);
+        }
+        List<IZosBatchJobOutputSpoolFile> spoolFiles = new ArrayList<>();
+        if (this.outputComplete) {
+            spoolFiles.addAll(jobOutput().getSpoolFiles());
+            return spoolFiles;
+        }
+        updateJobStatus();
+        if (this.jobNotFound) {
+            return spoolFiles;
+        }
+        for (JsonElement jsonElement : getSpoolFileList()) {
+            JsonObject responseBody = jsonElement.getAsJsonObject();
+            String id = jsonNull(responseBody, PROP_ID);
+            spoolFiles.add(new ZosBatchJobOutputSpoolFileImpl(this, responseBody, this.jobFilesPath + SLASH + id + RECORDS, null));
+        }
+        spoolFiles.add(new ZosBatchJobOutputSpoolFileImpl(this, this.jobFilesPath + JCL_RECORDS, null));
+        return spoolFiles;
     }
 
     @Override
@@ -270,49 +310,92 @@ public class ZosBatchJobImpl implements IZosBatchJob {
         if (jobOutput() == null) {
             retrieveOutput();
         }
-        String dirName = this.jobname.getName() + "_" + uniqueId + "_" + this.jobid + "_" + this.retcode.replace(" ", "-").replace(StringUtils.repeat(QUERY, 4), "UNKNOWN");
+        String dirName = archiveDirectoryName();
         Iterator<IZosBatchJobOutputSpoolFile> iterator = jobOutput().iterator();
         while (iterator.hasNext()) {
-            IZosBatchJobOutputSpoolFile spoolFile = iterator.next();
-            StringBuilder fileName = new StringBuilder();
-            fileName.append(spoolFile.getJobname());
-            fileName.append("_");
-            fileName.append(spoolFile.getJobid());
-            if (!spoolFile.getStepname().isEmpty()){
-                fileName.append("_");
-                fileName.append(spoolFile.getStepname());
-            }
-            if (!spoolFile.getProcstep().isEmpty()){
-                fileName.append("_");
-                fileName.append(spoolFile.getProcstep());
-            }
-            fileName.append("_");
-            fileName.append(spoolFile.getDdname());
-            fileName.append(".txt");
-            logger.info("        " + fileName.toString());
-            storeArtifact(spoolFile.getRecords(), dirName, fileName.toString());
+            storeSpoolFile(iterator.next(), dirName);
         }
         this.jobArchived = true;
     }
 
     protected void getOutput() throws ZosBatchException {
+        getOutput(false);
+    }
+
+    /**
+     * Retrieve the job output, optionally writing each spool file to the RAS as soon as it has been retrieved
+     * @param archive store each spool file in the RAS
+     * @throws ZosBatchException
+     */
+    protected void getOutput(boolean archive) throws ZosBatchException {
+        getOutput(archive, this.zosmfApiProcessor);
+    }
+
+    /**
+     * Retrieve the job output using the supplied zOS/MF REST API processor, optionally writing each spool file to the RAS
+     * as soon as it has been retrieved
+     * @param archive store each spool file in the RAS
+     * @param zosmfApiProcessor the zOS/MF REST API processor to send the requests with
+     * @throws ZosBatchException
+     */
+    protected void getOutput(boolean archive, IZosmfRestApiProcessor zosmfApiProcessor) throws ZosBatchException {
     
         if (!submitted()) {
             throw new ZosBatchException(LOG_JOB_NOT_SUBMITTED);
         }
-        updateJobStatus();
+        updateJobStatus(zosmfApiProcessor);
         if (this.jobNotFound) {
             return;
         }
         
         // First, get a list of spool files
         this.jobOutput = new ZosBatchJobOutputImpl(this.jobname.getName(), this.jobid);
+        String dirName = archive ? archiveDirectoryName() : null;
+        for (JsonElement jsonElement : getSpoolFileList(zosmfApiProcessor)) {
+            JsonObject responseBody = jsonElement.getAsJsonObject();
+            String id = jsonNull(responseBody, PROP_ID);
+            int index = this.jobOutput.size();
+            addOutputFileContent(responseBody, this.jobFilesPath + SLASH + id + RECORDS, zosmfApiProcessor);
+            if (archive) {
+                storeAddedSpoolFile(index, dirName);
+            }
+        }
+        
+        // Get the JCLIN
+        int index = this.jobOutput.size();
+        addOutputFileContent(null, this.jobFilesPath + JCL_RECORDS, zosmfApiProcessor);
+        if (archive) {
+            storeAddedSpoolFile(index, dirName);
+            this.jobArchived = true;
+        }
+        
+        if (this.jobComplete) {
+            this.outputComplete = true;
+        }
+    }
+
+    /**
+     * Get the list of spool files for the job from zOS/MF
+     * @return the spool file list
+     * @throws ZosBatchException
+     */
+    protected JsonArray getSpoolFileList() throws ZosBatchException {
+        return getSpoolFileList(this.zosmfApiProcessor);
+    }
+
+    /**
+     * Get the list of spool files for the job from zOS/MF using the supplied zOS/MF REST API processor
+     * @param zosmfApiProcessor the zOS/MF REST API processor to send the request with
+     * @return the spool file list
+     * @throws ZosBatchException
+     */
+    protected JsonArray getSpoolFileList(IZosmfRestApiProcessor zosmfApiProcessor) throws ZosBatchException {
         this.jobFilesPath = RESTJOBS_PATH + SLASH + this.jobname.getName() + SLASH + this.jobid + "/files";
         HashMap<String, String> headers = new HashMap<>();
         headers.put(ZosmfCustomHeaders.X_CSRF_ZOSMF_HEADER.toString(), "");
         IZosmfResponse response;
         try {
-            response = this.zosmfApiProcessor.sendRequest(ZosmfRequestType.GET, this.jobFilesPath, headers, null, new ArrayList<>(Arrays.asList(HttpStatus.SC_OK, HttpStatus.SC_BAD_REQUEST, HttpStatus.SC_INTERNAL_SERVER_ERROR)), true);
+            response = zosmfApiProcessor.sendRequest(ZosmfRequestType.GET, this.jobFilesPath, headers, null, new ArrayList<>(Arrays.asList(HttpStatus.SC_OK, HttpStatus.SC_BAD_REQUEST, HttpStatus.SC_INTERNAL_SERVER_ERROR)), true);
         } catch (ZosmfException e) {
             throw new ZosBatchException(e);
         }
@@ -326,31 +409,17 @@ public class ZosBatchJobImpl implements IZosBatchJob {
         
         logger.trace(responseBodyObject);
         if (response.getStatusCode() == HttpStatus.SC_OK) {
-            // Get the spool files
-            JsonArray jsonArray;
             try {
-                jsonArray = response.getJsonArrayContent();
+                return response.getJsonArrayContent();
             } catch (ZosmfException e) {
                 throw new ZosBatchException(e);
             }
-            for (JsonElement jsonElement : jsonArray) {
-                JsonObject responseBody = jsonElement.getAsJsonObject();
-                String id = jsonNull(responseBody, PROP_ID);
-                addOutputFileContent(responseBody, this.jobFilesPath + "/" + id + "/records");
-            }
         } else {            
             // Error case - BAD_REQUEST or INTERNAL_SERVER_ERROR
             String displayMessage = buildErrorString("Retrieve job output", (JsonObject) responseBodyObject); 
             logger.error(displayMessage);
             throw new ZosBatchException(displayMessage);
         }
-        
-        // Get the JCLIN
-        addOutputFileContent(null, this.jobFilesPath + "/JCL/records");
-        
-        if (this.jobComplete) {
-            this.outputComplete = true;
-        }
     }
 
     protected void setJobid(String jobid) {
@@ -370,18 +439,22 @@ public class ZosBatchJobImpl implements IZosBatchJob {
     }
 
     protected void cancel(boolean purge) throws ZosBatchException {
+        cancel(purge, this.zosmfApiProcessor);
+    }
+
+    protected void cancel(boolean purge, IZosmfRestApiProcessor zosmfApiProcessor) throws ZosBatchException {
         HashMap<String, String> headers = new HashMap<>();
         headers.put(ZosmfCustomHeaders.X_IBM_JOB_MODIFY_VERSION.toString(), "2.0");
         headers.put(ZosmfCustomHeaders.X_CSRF_ZOSMF_HEADER.toString(), "");
         IZosmfResponse response;
         try {
             if (purge) {
-                response = this.zosmfApiProcessor.sendRequest(ZosmfRequestType.DELETE, this.jobPath, headers, null, new ArrayList<>(Arrays.asList(HttpStatus.SC_OK, HttpStatus.SC_BAD_REQUEST, HttpStatus.SC_INTERNAL_SERVER_ERROR)), true);
+                response = zosmfApiProcessor.sendRequest(ZosmfRequestType.DELETE, this.jobPath, headers, null, new ArrayList<>(Arrays.asList(HttpStatus.SC_OK, HttpStatus.SC_BAD_REQUEST, HttpStatus.SC_INTERNAL_SERVER_ERROR)), true);
             } else {
                 JsonObject requestBody = new JsonObject();
                 requestBody.addProperty("request", "cancel");
                 requestBody.addProperty("version", "2.0");
-                response = this.zosmfApiProcessor.sendRequest(ZosmfRequestType.PUT_JSON, this.jobPath, headers, requestBody, new ArrayList<>(Arrays.asList(HttpStatus.SC_OK, HttpStatus.SC_BAD_REQUEST, HttpStatus.SC_INTERNAL_SERVER_ERROR)), true);
+                response = zosmfApiProcessor.sendRequest(ZosmfRequestType.PUT_JSON, this.jobPath, headers, requestBody, new ArrayList<>(Arrays.asList(HttpStatus.SC_OK, HttpStatus.SC_BAD_REQUEST, HttpStatus.SC_INTERNAL_SERVER_ERROR)), true);
             }
         } catch (ZosmfException e) {
             throw new ZosBatchException(e);
@@ -440,6 +513,28 @@ public class ZosBatchJobImpl implements IZosBatchJob {
         return this.jobOutput;
     }
 
+    protected IZosImage getImage() {
+        return this.jobImage;
+    }
+
+    protected IZosmfRestApiProcessor getZosmfApiProcessor() {
+        return this.zosmfApiProcessor;
+    }
+
+    protected void setZosmfApiProcessor(IZosmfRestApiProcessor zosmfApiProcessor) {
+        this.zosmfApiProcessor = zosmfApiProcessor;
+    }
+
+    /**
+     * Fix the location in the RAS the job output is stored in, rather than using the location for the current test method 
+     * @param archivePath the archive path
+     * @param archiveFolderName the test method archive folder name
+     */
+    protected void setArchiveLocation(Path archivePath, String archiveFolderName) {
+        this.archivePath = archivePath;
+        this.archiveFolderName = archiveFolderName;
+    }
+
     private String jobStatus() {
         return "JOBID=" + getJobId() + 
               " JOBNAME=" + this.jobname.getName() + 
@@ -455,6 +550,10 @@ public class ZosBatchJobImpl implements IZosBatchJob {
     }
 
     protected void updateJobStatus() throws ZosBatchException {
+        updateJobStatus(this.zosmfApiProcessor);
+    }
+
+    protected void updateJobStatus(IZosmfRestApiProcessor zosmfApiProcessor) throws ZosBatchException {
         if (!submitted()) {
             throw new ZosBatchException(LOG_JOB_NOT_SUBMITTED);
         }
@@ -463,35 +562,43 @@ public class ZosBatchJobImpl implements IZosBatchJob {
         
         IZosmfResponse response;
         try {
-            response = this.zosmfApiProcessor.sendRequest(ZosmfRequestType.GET, RESTJOBS_PATH + SLASH + this.jobname.getName() + "/" + this.jobid, headers, null, new ArrayList<>(Arrays.asList(HttpStatus.SC_OK, HttpStatus.SC_BAD_REQUEST, HttpStatus.SC_INTERNAL_SERVER_ERROR)), true);
+            response = zosmfApiProcessor.sendRequest(ZosmfRequestType.GET, RESTJOBS_PATH + SLASH + this.jobname.getName() + "/" + this.jobid, headers, null, new ArrayList<>(Arrays.asList(HttpStatus.SC_OK, HttpStatus.SC_BAD_REQUEST, HttpStatus.SC_INTERNAL_SERVER_ERROR)), true);
         } catch (ZosmfException e) {
             throw new ZosBatchException(e);
         }
         
-        JsonObject responseBody;
-        try {
-            responseBody = response.getJsonContent();
-        } catch (ZosmfException e) {
-            throw new ZosBatchException(e);
-        }
-            
-        logger.trace(responseBody);
         if (response.getStatusCode() == HttpStatus.SC_OK) {
+            // The status is polled, so bind only the fields used rather than building a JSON tree each time
+            Job job;
+            try {
+                job = response.getJsonContent(Job.class);
+            } catch (ZosmfException e) {
+                throw new ZosBatchException(e);
+            }
             this.jobNotFound = false;
-            this.owner = jsonNull(responseBody, PROP_OWNER);
-            this.type = jsonNull(responseBody, PROP_TYPE);
-            this.status = jsonNull(responseBody, "status");
+            this.owner = job.owner;
+            this.type = job.type;
+            this.status = job.status;
             if (this.status != null && "OUTPUT".equals(this.status)) {
+                if (!this.jobComplete && this.submitTime > 0) {
+                    ZosMetricsRecorder.time(ZosMetricsRecorder.BATCH_JOB, System.currentTimeMillis() - this.submitTime, this.jobImage.getImageID());
+                }
                 this.jobComplete = true;
             }
-            String retcodeProperty = jsonNull(responseBody, PROP_RETCODE);
-            if (retcodeProperty != null) {
-                this.retcode = retcodeProperty;
+            if (job.retcode != null) {
+                this.retcode = job.retcode;
             } else {
                 this.retcode = StringUtils.repeat(QUERY, 4);
             }
             logger.debug(jobStatus());
         } else {
+            JsonObject responseBody;
+            try {
+                responseBody = response.getJsonContent();
+            } catch (ZosmfException e) {
+                throw new ZosBatchException(e);
+            }
+            logger.trace(responseBody);
             if (response.getStatusCode() == HttpStatus.SC_BAD_REQUEST &&
                     jsonZero(responseBody, PROP_RC) == 4 &&
                     jsonZero(responseBody, PROP_REASON) == 10) {
@@ -508,20 +615,49 @@ public class ZosBatchJobImpl implements IZosBatchJob {
     }
 
     protected void addOutputFileContent(JsonObject responseBody, String path) throws ZosBatchException {
+        addOutputFileContent(responseBody, path, this.zosmfApiProcessor);
+    }
+
+    protected void addOutputFileContent(JsonObject responseBody, String path, IZosmfRestApiProcessor zosmfApiProcessor) throws ZosBatchException {
+        String fileOutput = getSpoolFileContent(path, null, zosmfApiProcessor);
+        if (fileOutput == null) {
+            return;
+        }
+        if (responseBody != null) {
+            this.jobOutput.add(new ZosBatchJobOutputSpoolFileImpl(this, responseBody, path, fileOutput));
+        } else {
+            this.jobOutput.add(new ZosBatchJobOutputSpoolFileImpl(this, path, fileOutput));
+        }
+    }
+
+    /**
+     * Get the content of a spool file from zOS/MF
+     * @param path the zOS/MF path to the spool file records
+     * @param recordRange the {@code X-IBM-Record-Range} value, i.e. {@code first,count}, or null for all records  
+     * @return the content, or null if the job is complete and the spool file no longer exists
+     * @throws ZosBatchException
+     */
+    protected String getSpoolFileContent(String path, String recordRange) throws ZosBatchException {
+        return getSpoolFileContent(path, recordRange, this.zosmfApiProcessor);
+    }
+
+    protected String getSpoolFileContent(String path, String recordRange, IZosmfRestApiProcessor zosmfApiProcessor) throws ZosBatchException {
     
         HashMap<String, String> headers = new HashMap<>();
         headers.put(ZosmfCustomHeaders.X_CSRF_ZOSMF_HEADER.toString(), "");
+        if (recordRange != null) {
+            headers.put(ZosmfCustomHeaders.X_IBM_RECORD_RANGE.toString(), recordRange);
+        }
         IZosmfResponse response;
         try {
-            response = this.zosmfApiProcessor.sendRequest(ZosmfRequestType.GET, path, headers, null, new ArrayList<>(Arrays.asList(HttpStatus.SC_OK, HttpStatus.SC_BAD_REQUEST, HttpStatus.SC_INTERNAL_SERVER_ERROR)), true);
+            response = zosmfApiProcessor.sendRequest(ZosmfRequestType.GET, path, headers, null, new ArrayList<>(Arrays.asList(HttpStatus.SC_OK, HttpStatus.SC_BAD_REQUEST, HttpStatus.SC_INTERNAL_SERVER_ERROR)), true);
         } catch (ZosmfException e) {
             throw new ZosBatchException(e);
         }
     
-        String fileOutput;
         if (response.getStatusCode() == HttpStatus.SC_OK) {
             try {
-                fileOutput = response.getTextContent();
+                return response.getTextContent();
             } catch (ZosmfException e) {
                 throw new ZosBatchException(e);
             }
@@ -534,18 +670,13 @@ public class ZosBatchJobImpl implements IZosBatchJob {
                 throw new ZosBatchException(e);
             }
             if (this.jobComplete && spoolFileNotFound(errorResponseBody)) {
-                return; 
+                return null; 
             } else {
                 String displayMessage = buildErrorString("Retrieve job output", errorResponseBody);
                 logger.error(displayMessage);
                 throw new ZosBatchException(displayMessage);
             }
         }
-        if (responseBody != null) {
-            this.jobOutput.add(responseBody, fileOutput);
-        } else {
-            this.jobOutput.addJcl(fileOutput);
-        }
     }
 
     protected boolean spoolFileNotFound(JsonObject errorResponseBody) {
@@ -781,17 +912,88 @@ public class ZosBatchJobImpl implements IZosBatchJob {
     }
 
     protected void archiveJobOutput() throws ZosBatchException {
+        archiveJobOutput(this.zosmfApiProcessor);
+    }
+
+    protected void archiveJobOutput(IZosmfRestApiProcessor zosmfApiProcessor) throws ZosBatchException {
         if (!isArchived() || !this.jobComplete) {
-            saveOutputToTestResultsArchive();
+            if (jobOutput() == null && submitted()) {
+                getOutput(true, zosmfApiProcessor);
+            } else {
+                saveOutputToTestResultsArchive();
+            }
+        }
+    }
+
+    /**
+     * Cancel the job if it is still running, then archive and purge it
+     * @throws ZosBatchException
+     */
+    protected void cleanup() throws ZosBatchException {
+        cleanup(this.zosmfApiProcessor);
+    }
+
+    /**
+     * Cancel the job if it is still running, then archive and purge it, sending the requests with the supplied
+     * zOS/MF REST API processor rather than the one the job was submitted with, so it can be done on another thread
+     * @param zosmfApiProcessor the zOS/MF REST API processor to send the requests with
+     * @throws ZosBatchException
+     */
+    protected void cleanup(IZosmfRestApiProcessor zosmfApiProcessor) throws ZosBatchException {
+        if (!isComplete()) {
+            cancel(false, zosmfApiProcessor);
+            archiveJobOutput(zosmfApiProcessor);
+            if (!isPurged()) {
+                cancel(true, zosmfApiProcessor);
+            }
+        } else {
+            if (!isArchived()) {
+                archiveJobOutput(zosmfApiProcessor);
+            }
+            if (!isPurged()) {
+                cancel(true, zosmfApiProcessor);
+            }
+        }
+    }
+
+    protected String archiveDirectoryName() {
+        return this.jobname.getName() + "_" + uniqueId + "_" + this.jobid + "_" + getRetcode().replace(" ", "-").replace(StringUtils.repeat(QUERY, 4), "UNKNOWN");
+    }
+
+    private void storeAddedSpoolFile(int index, String dirName) throws ZosBatchException {
+        if (this.jobOutput.size() > index) {
+            storeSpoolFile(this.jobOutput.getSpoolFiles().get(index), dirName);
+        }
+    }
+
+    protected void storeSpoolFile(IZosBatchJobOutputSpoolFile spoolFile, String dirName) throws ZosBatchException {
+        StringBuilder fileName = new StringBuilder();
+        fileName.append(spoolFile.getJobname());
+        fileName.append("_");
+        fileName.append(spoolFile.getJobid());
+        if (!spoolFile.getStepname().isEmpty()){
+            fileName.append("_");
+            fileName.append(spoolFile.getStepname());
+        }
+        if (!spoolFile.getProcstep().isEmpty()){
+            fileName.append("_");
+            fileName.append(spoolFile.getProcstep());
         }
+        fileName.append("_");
+        fileName.append(spoolFile.getDdname());
+        fileName.append(".txt");
+        logger.info("        " + fileName.toString());
+        storeArtifact(spoolFile.getRecords(), dirName, fileName.toString());
     }
 
     protected void storeArtifact(String content, String... artifactPathElements) throws ZosBatchException {
         try {
-            if (ZosBatchManagerImpl.archivePath == null) {
+            Path rootPath = this.archivePath != null ? this.archivePath : ZosBatchManagerImpl.archivePath;
+            String folderName = this.archiveFolderName != null ? this.archiveFolderName : ZosBatchManagerImpl.currentTestMethodArchiveFolderName;
+            if (rootPath == null) {
                 throw new ZosBatchException("Unable to get archive path");
             }
-            Path artifactPath = ZosBatchManagerImpl.archivePath.resolve(ZosBatchManagerImpl.currentTestMethodArchiveFolderName);
+            Path artifactPath = rootPath.resolve(folderName);
             String lastElement = artifactPathElements[artifactPathElements.length-1];
             for (String artifactPathElement : artifactPathElements) {
                 if (!lastElement.equals(artifactPathElement)) {
@@ -39,6 +39,10 @@ public class ZosBatchJobOutputImpl implements IZosBatchJobOutput, Iterable<IZosB
         spoolFiles.add(new ZosBatchJobOutputSpoolFileImpl(spoolFile, records));
     }
 
+    public void add(IZosBatchJobOutputSpoolFile spoolFile) {
+        spoolFiles.add(spoolFile);
+    }
+
     @Override
     public String getJobname() throws ZosBatchException {
         return this.jobname;
@@ -5,9 +5,19 @@
  */
 package dev.galasa.zosbatch.zosmf.manager.internal;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
 import com.google.gson.JsonObject;
 
 import dev.galasa.zosbatch.IZosBatchJobOutputSpoolFile;
+import dev.galasa.zosbatch.IZosBatchJobOutputSpoolFileIterator;
+import dev.galasa.zosbatch.ZosBatchException;
 
 /**
  * Implementation of {@link IZosBatchJobOutputSpoolFile} using zOS/MF
@@ -21,7 +31,17 @@ public class ZosBatchJobOutputSpoolFileImpl implements IZosBatchJobOutputSpoolFi
     private String procstep;
     private String ddname;
     private String records;
-    
+    private List<String> recordList;
+    private long recordCount = -1;
+    private ZosBatchJobImpl zosBatchJob;
+    private String recordsPath;
+
+    protected static final int RECORD_BLOCK_SIZE = 1000;
+
+    private static final String JESJCLIN = "JESJCLIN";
+
+    private static final Log logger = LogFactory.getLog(ZosBatchJobOutputSpoolFileImpl.class);
+
     /**
      * Constructor for creating JESJCLIN spool file
      * @param jobname
@@ -34,10 +54,10 @@ public class ZosBatchJobOutputSpoolFileImpl implements IZosBatchJobOutputSpoolFi
         this.jobid = jobid;
         this.stepname = "";
         this.procstep = "";
-        this.ddname = "JESJCLIN";
+        this.ddname = JESJCLIN;
         this.records = records;
     }
-    
+
     /**
      * Constructor for creating spool file
      * @param spoolFile
@@ -50,9 +70,38 @@ public class ZosBatchJobOutputSpoolFileImpl implements IZosBatchJobOutputSpoolFi
         this.stepname = jsonNull(spoolFile, "stepname");
         this.procstep = jsonNull(spoolFile, "procstep");
         this.ddname = spoolFile.get("ddname").getAsString();
+        String recordCountString = jsonNull(spoolFile, "record-count");
+        if (!recordCountString.isEmpty()) {
+            this.recordCount = Long.parseLong(recordCountString);
+        }
         this.records = records;
     }
 
+    /**
+     * Constructor for creating JESJCLIN spool file whose records can be retrieved from zOS on demand
+     * @param zosBatchJob the batch job
+     * @param recordsPath the zOS/MF path to the records
+     * @param records the records, or null if not yet retrieved
+     */
+    public ZosBatchJobOutputSpoolFileImpl(ZosBatchJobImpl zosBatchJob, String recordsPath, String records) {
+        this(zosBatchJob.getJobname().getName(), zosBatchJob.getJobId(), records);
+        this.zosBatchJob = zosBatchJob;
+        this.recordsPath = recordsPath;
+    }
+
+    /**
+     * Constructor for creating spool file whose records can be retrieved from zOS on demand
+     * @param zosBatchJob the batch job
+     * @param spoolFile
+     * @param recordsPath the zOS/MF path to the records
+     * @param records the records, or null if not yet retrieved
+     */
+    public ZosBatchJobOutputSpoolFileImpl(ZosBatchJobImpl zosBatchJob, JsonObject spoolFile, String recordsPath, String records) {
+        this(spoolFile, records);
+        this.zosBatchJob = zosBatchJob;
+        this.recordsPath = recordsPath;
+    }
+
     @Override
     public String getJobname() {
         return this.jobname;
@@ -85,7 +134,45 @@ public class ZosBatchJobOutputSpoolFileImpl implements IZosBatchJobOutputSpoolFi
 
     @Override
     public String getRecords() {
-        return this.records;        
+        if (this.records == null && this.zosBatchJob != null) {
+            try {
+                retrieve();
+            } catch (ZosBatchException e) {
+                logger.error("Unable to retrieve records for " + this, e);
+            }
+        }
+        return this.records;
+    }
+
+
+    @Override
+    public long getRecordCount() {
+        return this.recordCount;
+    }
+
+
+    @Override
+    public String getRecords(long firstRecord, long numberOfRecords) throws ZosBatchException {
+        return String.join("\n", recordRange(firstRecord, numberOfRecords));
+    }
+
+
+    @Override
+    public IZosBatchJobOutputSpoolFileIterator recordIterator() throws ZosBatchException {
+        return new RecordIterator();
+    }
+
+
+    @Override
+    public String findFirst(Pattern pattern) throws ZosBatchException {
+        IZosBatchJobOutputSpoolFileIterator iterator = recordIterator();
+        while (iterator.hasNext()) {
+            String record = iterator.next();
+            if (pattern.matcher(record).find()) {
+                return record;
+            }
+        }
+        return null;
     }
 
 
@@ -95,10 +182,100 @@ public class ZosBatchJobOutputSpoolFileImpl implements IZosBatchJobOutputSpoolFi
     }
 
 
+    /**
+     * Retrieve the complete content of the spool file from zOS, if not already retrieved
+     * @throws ZosBatchException
+     */
+    protected void retrieve() throws ZosBatchException {
+        if (this.records == null) {
+            if (this.zosBatchJob == null) {
+                throw new ZosBatchException("Unable to retrieve records for " + this);
+            }
+            this.records = this.zosBatchJob.getSpoolFileContent(this.recordsPath, null);
+        }
+    }
+
+
+    /**
+     * Return a range of records, from memory if the content has already been retrieved, otherwise from zOS using the
+     * {@code X-IBM-Record-Range} header
+     * @param firstRecord the zero based index of the first record
+     * @param numberOfRecords the maximum number of records to return
+     * @return the records
+     * @throws ZosBatchException
+     */
+    protected List<String> recordRange(long firstRecord, long numberOfRecords) throws ZosBatchException {
+        if (firstRecord < 0 || numberOfRecords < 0) {
+            throw new ZosBatchException("Invalid record range " + firstRecord + "," + numberOfRecords);
+        }
+        if (numberOfRecords == 0) {
+            return new ArrayList<>();
+        }
+        if (this.records != null) {
+            if (this.recordList == null) {
+                this.recordList = splitRecords(this.records);
+            }
+            int from = (int) Math.min(firstRecord, this.recordList.size());
+            int to = (int) Math.min(firstRecord + numberOfRecords, this.recordList.size());
+            return new ArrayList<>(this.recordList.subList(from, to));
+        }
+        if (this.zosBatchJob == null) {
+            throw new ZosBatchException("Unable to retrieve records for " + this);
+        }
+        String content = this.zosBatchJob.getSpoolFileContent(this.recordsPath, firstRecord + "," + numberOfRecords);
+        return content == null ? new ArrayList<>() : splitRecords(content);
+    }
+
+    protected static List<String> splitRecords(String content) {
+        if (content.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<String> recordList = new ArrayList<>(Arrays.asList(content.split("\r?\n", -1)));
+        if (content.endsWith("\n")) {
+            recordList.remove(recordList.size()-1);
+        }
+        return recordList;
+    }
+
+
     protected String jsonNull(JsonObject content, String memberName) {
         if (content.get(memberName) != null && !content.get(memberName).isJsonNull()) {
             return content.get(memberName).getAsString();
         }
         return "";
     }
+
+    /**
+     * Iterates over the records, retrieving {@link #RECORD_BLOCK_SIZE} records at a time
+     */
+    protected class RecordIterator implements IZosBatchJobOutputSpoolFileIterator {
+
+        private List<String> block = new ArrayList<>();
+        private int blockIndex;
+        private long nextRecord;
+        private boolean lastBlock;
+
+        @Override
+        public boolean hasNext() throws ZosBatchException {
+            if (this.blockIndex < this.block.size()) {
+                return true;
+            }
+            if (this.lastBlock) {
+                return false;
+            }
+            this.block = recordRange(this.nextRecord, RECORD_BLOCK_SIZE);
+            this.blockIndex = 0;
+            this.nextRecord += this.block.size();
+            this.lastBlock = this.block.size() < RECORD_BLOCK_SIZE;
+            return !this.block.isEmpty();
+        }
+
+        @Override
+        public String next() throws ZosBatchException {
+            if (!hasNext()) {
+                throw new ZosBatchException("No more records in " + ZosBatchJobOutputSpoolFileImpl.this);
+            }
+            return this.block.get(this.blockIndex++);
+        }
+    }
 }
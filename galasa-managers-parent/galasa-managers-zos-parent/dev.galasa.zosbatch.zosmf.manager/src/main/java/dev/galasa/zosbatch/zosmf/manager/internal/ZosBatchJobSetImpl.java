@@ -0,0 +1,231 @@
+/*
+ * Licensed Materials - Property of IBM
+ * 
+ * (c) Copyright IBM Corp. 2020.
+ */
+package dev.galasa.zosbatch.zosmf.manager.internal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.validation.constraints.NotNull;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import dev.galasa.zos.IZosImage;
+import dev.galasa.zosbatch.IZosBatchJobSet;
+import dev.galasa.zosbatch.IZosBatchJobSetResult;
+import dev.galasa.zosbatch.IZosBatchJobSetResult.JobSetStatus;
+import dev.galasa.zosbatch.IZosBatchJobname;
+import dev.galasa.zosbatch.ZosBatchException;
+import dev.galasa.zosbatch.ZosBatchJobcard;
+import dev.galasa.zosbatch.ZosBatchManagerException;
+import dev.galasa.zosbatch.zosmf.manager.internal.properties.JobSetConcurrency;
+import dev.galasa.zosbatch.zosmf.manager.internal.properties.RestrictToImage;
+import dev.galasa.zosmf.IZosmfRestApiProcessor;
+import dev.galasa.zosmf.ZosmfManagerException;
+
+/**
+ * Implementation of {@link IZosBatchJobSet} using zOS/MF
+ *
+ */
+public class ZosBatchJobSetImpl implements IZosBatchJobSet {
+
+    private final ZosBatchImpl zosBatch;
+    private final IZosImage image;
+    private final Map<String, JobSetEntry> entries = new LinkedHashMap<>();
+    private boolean submitted;
+
+    protected static final int DEFAULT_MAX_RETURN_CODE = 4;
+
+    private static final Log logger = LogFactory.getLog(ZosBatchJobSetImpl.class);
+
+    public ZosBatchJobSetImpl(ZosBatchImpl zosBatch, IZosImage image) {
+        this.zosBatch = zosBatch;
+        this.image = image;
+    }
+
+    @Override
+    public IZosBatchJobSet addJob(@NotNull String id, @NotNull String jcl, String... dependsOn) throws ZosBatchException {
+        return addJob(id, jcl, null, null, DEFAULT_MAX_RETURN_CODE, dependsOn);
+    }
+
+    @Override
+    public synchronized IZosBatchJobSet addJob(@NotNull String id, @NotNull String jcl, IZosBatchJobname jobname, ZosBatchJobcard jobcard, int maxReturnCode, String... dependsOn) throws ZosBatchException {
+        if (this.submitted) {
+            throw new ZosBatchException("Job set has already been submitted");
+        }
+        if (this.entries.containsKey(id)) {
+            throw new ZosBatchException("Job set already contains a job with id \"" + id + "\"");
+        }
+        this.entries.put(id, new JobSetEntry(id, jcl, jobname, jobcard, maxReturnCode, dependsOn));
+        return this;
+    }
+
+    @Override
+    public synchronized Future<Map<String, IZosBatchJobSetResult>> submit() throws ZosBatchException {
+        if (this.submitted) {
+            throw new ZosBatchException("Job set has already been submitted");
+        }
+        List<JobSetEntry> orderedEntries = dependencyOrder();
+
+        int concurrency;
+        try {
+            concurrency = JobSetConcurrency.get(this.image.getImageID());
+        } catch (ZosBatchManagerException e) {
+            throw new ZosBatchException("Unable to get job set concurrency property value", e);
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(concurrency, Math.max(orderedEntries.size(), 1)), runnable -> {
+            Thread thread = new Thread(runnable, "zosbatch-jobset-" + this.image.getImageID());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.submitted = true;
+
+        // Entries are in dependency order, so the futures of all predecessors already exist
+        for (JobSetEntry entry : orderedEntries) {
+            CompletableFuture<?>[] predecessors = entry.dependsOn.stream().map(dependency -> this.entries.get(dependency).future).toArray(CompletableFuture[]::new);
+            entry.future = CompletableFuture.allOf(predecessors).thenApplyAsync(ignored -> runJob(entry), executor);
+        }
+
+        CompletableFuture<?>[] all = orderedEntries.stream().map(entry -> entry.future).toArray(CompletableFuture[]::new);
+        return CompletableFuture.allOf(all).handle((ignored, throwable) -> {
+            executor.shutdown();
+            Map<String, IZosBatchJobSetResult> results = new LinkedHashMap<>();
+            for (JobSetEntry entry : this.entries.values()) {
+                results.put(entry.id, entry.future.join());
+            }
+            return results;
+        });
+    }
+
+    @Override
+    public synchronized Future<IZosBatchJobSetResult> getJobResult(@NotNull String id) throws ZosBatchException {
+        if (!this.submitted) {
+            throw new ZosBatchException("Job set has not been submitted");
+        }
+        JobSetEntry entry = this.entries.get(id);
+        if (entry == null) {
+            throw new ZosBatchException("Job set does not contain a job with id \"" + id + "\"");
+        }
+        return entry.future;
+    }
+
+    /**
+     * Order the jobs so that every job follows the jobs it depends on
+     * @return the ordered jobs
+     * @throws ZosBatchException if a dependency is unknown or circular
+     */
+    protected List<JobSetEntry> dependencyOrder() throws ZosBatchException {
+        Map<String, Integer> outstanding = new HashMap<>();
+        Map<String, List<String>> dependants = new HashMap<>();
+        for (JobSetEntry entry : this.entries.values()) {
+            outstanding.put(entry.id, entry.dependsOn.size());
+            for (String dependency : entry.dependsOn) {
+                if (!this.entries.containsKey(dependency)) {
+                    throw new ZosBatchException("Job \"" + entry.id + "\" depends on unknown job \"" + dependency + "\"");
+                }
+                dependants.computeIfAbsent(dependency, key -> new ArrayList<>()).add(entry.id);
+            }
+        }
+
+        LinkedList<String> ready = new LinkedList<>();
+        outstanding.forEach((id, count) -> {
+            if (count == 0) {
+                ready.add(id);
+            }
+        });
+        List<JobSetEntry> ordered = new ArrayList<>();
+        while (!ready.isEmpty()) {
+            String id = ready.removeFirst();
+            ordered.add(this.entries.get(id));
+            for (String dependant : dependants.getOrDefault(id, new ArrayList<>())) {
+                int count = outstanding.merge(dependant, -1, Integer::sum);
+                if (count == 0) {
+                    ready.add(dependant);
+                }
+            }
+        }
+        if (ordered.size() != this.entries.size()) {
+            List<String> circular = new ArrayList<>(this.entries.keySet());
+            ordered.forEach(entry -> circular.remove(entry.id));
+            throw new ZosBatchException("Job set contains circular dependencies between jobs " + circular);
+        }
+        return ordered;
+    }
+
+    protected IZosBatchJobSetResult runJob(JobSetEntry entry) {
+        for (String dependency : entry.dependsOn) {
+            IZosBatchJobSetResult dependencyResult = this.entries.get(dependency).future.join();
+            if (dependencyResult.getStatus() != JobSetStatus.COMPLETED) {
+                logger.info("Job set job \"" + entry.id + "\" skipped because \"" + dependency + "\" " + dependencyResult.getStatus());
+                return new ZosBatchJobSetResultImpl(entry.id, JobSetStatus.SKIPPED, null, Integer.MIN_VALUE, null);
+            }
+        }
+
+        ZosBatchJobImpl zosBatchJob = null;
+        try {
+            zosBatchJob = this.zosBatch.newZosBatchJob(entry.jcl, entry.jobname, entry.jobcard);
+            zosBatchJob.setZosmfApiProcessor(dedicatedProcessor());
+            zosBatchJob.submitJob();
+            int returnCode = zosBatchJob.waitForJob();
+            JobSetStatus status = returnCode != Integer.MIN_VALUE && returnCode <= entry.maxReturnCode ? JobSetStatus.COMPLETED : JobSetStatus.FAILED;
+            logger.info("Job set job \"" + entry.id + "\" " + status + " " + zosBatchJob.getJobname().getName() + " " + zosBatchJob.getJobId() + " RETCODE=" + zosBatchJob.getRetcode());
+            return new ZosBatchJobSetResultImpl(entry.id, status, zosBatchJob, returnCode, null);
+        } catch (ZosBatchException e) {
+            logger.error("Job set job \"" + entry.id + "\" FAILED", e);
+            return new ZosBatchJobSetResultImpl(entry.id, JobSetStatus.FAILED, zosBatchJob != null && zosBatchJob.submitted() ? zosBatchJob : null, Integer.MIN_VALUE, e);
+        } catch (RuntimeException e) {
+            // Fail only this job, so the other jobs in the set still report their results
+            logger.error("Job set job \"" + entry.id + "\" FAILED", e);
+            return new ZosBatchJobSetResultImpl(entry.id, JobSetStatus.FAILED, zosBatchJob != null && zosBatchJob.submitted() ? zosBatchJob : null, Integer.MIN_VALUE, 
+                    new ZosBatchException("Unexpected error running job set job \"" + entry.id + "\"", e));
+        }
+    }
+
+    /**
+     * Jobs in the set run concurrently, so each needs a zOS/MF REST API processor of its own
+     * @return a new processor
+     * @throws ZosBatchException
+     */
+    protected IZosmfRestApiProcessor dedicatedProcessor() throws ZosBatchException {
+        try {
+            return ZosBatchManagerImpl.zosmfManager.newDedicatedZosmfRestApiProcessor(this.image, RestrictToImage.get(this.image.getImageID()));
+        } catch (ZosmfManagerException | ZosBatchManagerException e) {
+            throw new ZosBatchException(e);
+        }
+    }
+
+    protected static class JobSetEntry {
+        private final String id;
+        private final String jcl;
+        private final IZosBatchJobname jobname;
+        private final ZosBatchJobcard jobcard;
+        private final int maxReturnCode;
+        private final List<String> dependsOn;
+        private CompletableFuture<IZosBatchJobSetResult> future;
+
+        protected JobSetEntry(String id, String jcl, IZosBatchJobname jobname, ZosBatchJobcard jobcard, int maxReturnCode, String... dependsOn) {
+            this.id = id;
+            this.jcl = jcl;
+            this.jobname = jobname;
+            this.jobcard = jobcard;
+            this.maxReturnCode = maxReturnCode;
+            this.dependsOn = dependsOn == null ? new ArrayList<>() : Arrays.asList(dependsOn);
+        }
+
+        protected String getId() {
+            return this.id;
+        }
+    }
+}
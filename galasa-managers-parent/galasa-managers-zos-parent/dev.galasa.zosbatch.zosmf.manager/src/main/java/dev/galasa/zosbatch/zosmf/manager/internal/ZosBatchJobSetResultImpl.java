@@ -0,0 +1,61 @@
+/*
+ * Licensed Materials - Property of IBM
+ * 
+ * (c) Copyright IBM Corp. 2020.
+ */
+package dev.galasa.zosbatch.zosmf.manager.internal;
+
+import dev.galasa.zosbatch.IZosBatchJob;
+import dev.galasa.zosbatch.IZosBatchJobSetResult;
+import dev.galasa.zosbatch.ZosBatchException;
+
+/**
+ * Implementation of {@link IZosBatchJobSetResult}
+ *
+ */
+public class ZosBatchJobSetResultImpl implements IZosBatchJobSetResult {
+
+    private final String id;
+    private final JobSetStatus status;
+    private final IZosBatchJob job;
+    private final int returnCode;
+    private final ZosBatchException exception;
+
+    public ZosBatchJobSetResultImpl(String id, JobSetStatus status, IZosBatchJob job, int returnCode, ZosBatchException exception) {
+        this.id = id;
+        this.status = status;
+        this.job = job;
+        this.returnCode = returnCode;
+        this.exception = exception;
+    }
+
+    @Override
+    public String getId() {
+        return this.id;
+    }
+
+    @Override
+    public JobSetStatus getStatus() {
+        return this.status;
+    }
+
+    @Override
+    public IZosBatchJob getJob() {
+        return this.job;
+    }
+
+    @Override
+    public int getReturnCode() {
+        return this.returnCode;
+    }
+
+    @Override
+    public ZosBatchException getException() {
+        return this.exception;
+    }
+
+    @Override
+    public String toString() {
+        return "ID=" + this.id + " STATUS=" + this.status + " RC=" + this.returnCode;
+    }
+}
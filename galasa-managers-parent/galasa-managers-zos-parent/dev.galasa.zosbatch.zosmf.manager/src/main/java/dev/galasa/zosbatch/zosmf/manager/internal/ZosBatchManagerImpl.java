@@ -39,6 +39,8 @@ import dev.galasa.zosbatch.ZosBatchField;
 import dev.galasa.zosbatch.ZosBatchJobname;
 import dev.galasa.zosbatch.ZosBatchManagerException;
 import dev.galasa.zosbatch.spi.IZosBatchSpi;
+import dev.galasa.zosbatch.zosmf.manager.internal.properties.AsyncCleanup;
+import dev.galasa.zosbatch.zosmf.manager.internal.properties.CleanupThreads;
 import dev.galasa.zosbatch.zosmf.manager.internal.properties.ZosBatchZosmfPropertiesSingleton;
 import dev.galasa.zosmf.spi.IZosmfManagerSpi;
 
@@ -66,6 +68,11 @@ public class ZosBatchManagerImpl extends AbstractManager implements IZosBatchSpi
         ZosBatchManagerImpl.zosmfManager = zosmfManager;
     }
 
+    protected static ZosBatchJobCleaner jobCleaner;
+    public static void setJobCleaner(ZosBatchJobCleaner jobCleaner) {
+        ZosBatchManagerImpl.jobCleaner = jobCleaner;
+    }
+
     private final HashMap<String, ZosBatchImpl> taggedZosBatches = new HashMap<>();
     private final HashMap<String, ZosBatchImpl> zosBatches = new HashMap<>();
 
@@ -157,6 +164,7 @@ public class ZosBatchManagerImpl extends AbstractManager implements IZosBatchSpi
     public void provisionStart() throws ManagerException, ResourceUnavailableException {
         setArchivePath(artifactsRoot.resolve(PROVISIONING).resolve(ZOSBATCH_JOBS));
         setCurrentTestMethodArchiveFolderName("preTest");
+        setJobCleaner(new ZosBatchJobCleaner(CleanupThreads.get(), AsyncCleanup.get()));
     }
 
     /*
@@ -196,6 +204,7 @@ public class ZosBatchManagerImpl extends AbstractManager implements IZosBatchSpi
     @Override
     public String endOfTestClass(@NotNull String currentResult, Throwable currentException) throws ManagerException {
         cleanup();
+        waitForCleanup();
         setArchivePath(artifactsRoot.resolve(PROVISIONING).resolve(ZOSBATCH_JOBS));
         setCurrentTestMethodArchiveFolderName("postTest");
         
@@ -211,8 +220,14 @@ public class ZosBatchManagerImpl extends AbstractManager implements IZosBatchSpi
     public void endOfTestRun() {
         try {
             cleanup();
+            waitForCleanup();
         } catch (ZosBatchException e) {
             logger.error("Problem in endOfTestRun()", e);
+        } finally {
+            if (jobCleaner != null) {
+                jobCleaner.shutdown();
+                setJobCleaner(null);
+            }
         }
     }
     
@@ -223,6 +238,15 @@ public class ZosBatchManagerImpl extends AbstractManager implements IZosBatchSpi
         for (Entry<String, ZosBatchImpl> entry : this.zosBatches.entrySet()) {
             entry.getValue().cleanup();
         }
+        if (jobCleaner != null && !jobCleaner.isAsync()) {
+            waitForCleanup();
+        }
+    }
+    
+    protected void waitForCleanup() throws ZosBatchException {
+        if (jobCleaner != null) {
+            jobCleaner.waitForCompletion();
+        }
     }
     
     @GenerateAnnotatedField(annotation=ZosBatch.class)
@@ -0,0 +1,20 @@
+/*
+ * Licensed Materials - Property of IBM
+ * 
+ * (c) Copyright IBM Corp. 2020.
+ */
+package dev.galasa.zosbatch.zosmf.manager.internal.json;
+
+/**
+ * The status of a job, as returned by zOS/MF for a job status or job list request
+ */
+public class Job {
+
+    public String jobid;   // NOSONAR
+    public String jobname; // NOSONAR
+    public String owner;   // NOSONAR
+    public String type;    // NOSONAR
+    public String status;  // NOSONAR
+    public String retcode; // NOSONAR
+
+}
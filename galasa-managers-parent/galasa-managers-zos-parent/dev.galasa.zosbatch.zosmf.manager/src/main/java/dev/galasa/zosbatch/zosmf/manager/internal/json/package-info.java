@@ -0,0 +1,9 @@
+/*
+ * Licensed Materials - Property of IBM
+ * 
+ * (c) Copyright IBM Corp. 2020.
+ */
+/**
+ * z/OS Batch Manager - z/OS MF REST jobs JSON POJOs
+ */
+package dev.galasa.zosbatch.zosmf.manager.internal.json;
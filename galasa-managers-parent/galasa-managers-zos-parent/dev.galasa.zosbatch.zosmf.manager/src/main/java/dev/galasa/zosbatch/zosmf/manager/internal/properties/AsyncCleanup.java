@@ -0,0 +1,47 @@
+/*
+ * Licensed Materials - Property of IBM
+ * 
+ * (c) Copyright IBM Corp. 2020.
+ */
+package dev.galasa.zosbatch.zosmf.manager.internal.properties;
+
+import dev.galasa.zosbatch.ZosBatchManagerException;
+import dev.galasa.framework.spi.ConfigurationPropertyStoreException;
+import dev.galasa.framework.spi.cps.CpsProperties;
+
+/**
+ * zOS Batch job asynchronous cleanup
+ * 
+ * @galasa.cps.property
+ * 
+ * @galasa.name zosbatch.cleanup.async
+ * 
+ * @galasa.description Allow the archive and purge of zOS Batch jobs to overlap with the next test method. When false, the 
+ * manager waits for the cleanup to complete at each test method boundary. Outstanding cleanup is always completed at the end
+ * of the test class
+ * 
+ * @galasa.required No
+ * 
+ * @galasa.default true
+ * 
+ * @galasa.valid_values true or false
+ * 
+ * @galasa.examples 
+ * <code>zosbatch.cleanup.async=false</code>
+ *
+ */
+public class AsyncCleanup extends CpsProperties {
+
+    public static boolean get() throws ZosBatchManagerException {
+        try {
+            String asyncString = getStringNulled(ZosBatchZosmfPropertiesSingleton.cps(), "cleanup", "async");
+            if (asyncString == null || asyncString.isEmpty()) {
+                return true;
+            }
+            return Boolean.parseBoolean(asyncString);
+        } catch (ConfigurationPropertyStoreException e) {
+            throw new ZosBatchManagerException("Problem asking the CPS for the batch job asynchronous cleanup property", e);
+        }
+    }
+
+}
@@ -0,0 +1,53 @@
+/*
+ * Licensed Materials - Property of IBM
+ * 
+ * (c) Copyright IBM Corp. 2020.
+ */
+package dev.galasa.zosbatch.zosmf.manager.internal.properties;
+
+import dev.galasa.zosbatch.ZosBatchManagerException;
+import dev.galasa.framework.spi.ConfigurationPropertyStoreException;
+import dev.galasa.framework.spi.cps.CpsProperties;
+
+/**
+ * zOS Batch job cleanup threads
+ * 
+ * @galasa.cps.property
+ * 
+ * @galasa.name zosbatch.cleanup.threads
+ * 
+ * @galasa.description The number of threads used to archive and purge zOS Batch jobs at the end of each test method
+ * 
+ * @galasa.required No
+ * 
+ * @galasa.default 8
+ * 
+ * @galasa.valid_values 1 to {@link Integer#MAX_VALUE}
+ * 
+ * @galasa.examples 
+ * <code>zosbatch.cleanup.threads=8</code>
+ *
+ */
+public class CleanupThreads extends CpsProperties {
+
+    private static final int DEFAULT_CLEANUP_THREADS = 8;
+
+    public static int get() throws ZosBatchManagerException {
+        try {
+            String threadsString = getStringNulled(ZosBatchZosmfPropertiesSingleton.cps(), "cleanup", "threads");
+
+            if (threadsString == null) {
+                return DEFAULT_CLEANUP_THREADS;
+            } else {
+                int threads = Integer.parseInt(threadsString);
+                if (threads < 1) {
+                    throw new ZosBatchManagerException("Batch job cleanup threads property must be greater than 0");
+                }
+                return threads;
+            }
+        } catch (ConfigurationPropertyStoreException | NumberFormatException e) {
+            throw new ZosBatchManagerException("Problem asking the CPS for the batch job cleanup threads property", e);
+        }
+    }
+
+}
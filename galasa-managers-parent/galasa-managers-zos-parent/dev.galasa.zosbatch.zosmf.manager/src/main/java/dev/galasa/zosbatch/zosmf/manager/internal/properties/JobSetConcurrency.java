@@ -0,0 +1,54 @@
+/*
+ * Licensed Materials - Property of IBM
+ * 
+ * (c) Copyright IBM Corp. 2020.
+ */
+package dev.galasa.zosbatch.zosmf.manager.internal.properties;
+
+import dev.galasa.zosbatch.ZosBatchManagerException;
+import dev.galasa.framework.spi.ConfigurationPropertyStoreException;
+import dev.galasa.framework.spi.cps.CpsProperties;
+
+/**
+ * zOS Batch job set concurrency
+ * 
+ * @galasa.cps.property
+ * 
+ * @galasa.name zosbatch.batchjob.[imageid].jobset.concurrency
+ * 
+ * @galasa.description The maximum number of jobs from a zOS Batch job set that are submitted and waited on at the same time
+ * 
+ * @galasa.required No
+ * 
+ * @galasa.default 8
+ * 
+ * @galasa.valid_values 1 to {@link Integer#MAX_VALUE}
+ * 
+ * @galasa.examples 
+ * <code>zosbatch.batchjob.MVSA.jobset.concurrency=8</code><br>
+ * <code>zosbatch.batchjob.default.jobset.concurrency=4</code>
+ *
+ */
+public class JobSetConcurrency extends CpsProperties {
+
+    private static final int DEFAULT_JOB_SET_CONCURRENCY = 8;
+
+    public static int get(String imageId) throws ZosBatchManagerException {
+        try {
+            String concurrencyString = getStringNulled(ZosBatchZosmfPropertiesSingleton.cps(), "batchjob", "jobset.concurrency", imageId);
+
+            if (concurrencyString == null) {
+                return DEFAULT_JOB_SET_CONCURRENCY;
+            } else {
+                int concurrency = Integer.parseInt(concurrencyString);
+                if (concurrency < 1) {
+                    throw new ZosBatchManagerException("Batch job set concurrency property must be greater than 0");
+                }
+                return concurrency;
+            }
+        } catch (ConfigurationPropertyStoreException | NumberFormatException e) {
+            throw new ZosBatchManagerException("Problem asking the CPS for the batch job set concurrency property for zOS image "  + imageId, e);
+        }
+    }
+
+}
@@ -29,6 +29,7 @@ import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 import org.powermock.reflect.Whitebox;
 
+import com.google.gson.Gson;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 
@@ -38,6 +39,7 @@ import dev.galasa.zosbatch.IZosBatchJob;
 import dev.galasa.zosbatch.ZosBatchException;
 import dev.galasa.zosbatch.ZosBatchJobcard;
 import dev.galasa.zosbatch.ZosBatchManagerException;
+import dev.galasa.zosbatch.zosmf.manager.internal.json.Job;
 import dev.galasa.zosbatch.zosmf.manager.internal.properties.JobWaitTimeout;
 import dev.galasa.zosbatch.zosmf.manager.internal.properties.JobnamePrefix;
 import dev.galasa.zosbatch.zosmf.manager.internal.properties.RestrictToImage;
@@ -156,6 +158,7 @@ public class TestZosBatchImpl {
         Mockito.when(zosmfApiProcessorMock.sendRequest(Mockito.eq(ZosmfRequestType.GET), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyBoolean())).thenReturn(zosmfResponseMockStatus);
         Mockito.when(zosmfResponseMockStatus.getJsonArrayContent()).thenReturn(getJsonArray());
         Mockito.when(zosmfResponseMockStatus.getJsonContent()).thenReturn(getJsonObject());
+        Mockito.when(zosmfResponseMockStatus.getJsonContent(Job[].class)).thenAnswer(invocation -> new Gson().fromJson(zosmfResponseMockStatus.getJsonArrayContent(), Job[].class));
         Mockito.when(zosmfResponseMockStatus.getStatusCode()).thenReturn(HttpStatus.SC_OK);
         
         zosBatch = new ZosBatchImpl(zosImageMock);
@@ -174,6 +177,21 @@ public class TestZosBatchImpl {
         Assert.assertEquals("getJobname() should return mocked mocked ZosJobnameImpl", zosJobnameMock, zosBatchJob.getJobname());
     }
     
+    @Test
+    public void testNewJobSet() throws Exception {
+        Assert.assertTrue("newJobSet() should return a ZosBatchJobSetImpl", zosBatchSpy.newJobSet() instanceof ZosBatchJobSetImpl);
+    }
+    
+    @Test
+    public void testNewZosBatchJob() throws Exception {
+        ZosBatchJobImpl zosBatchJob = zosBatchSpy.newZosBatchJob("JCL", null, null);
+        Assert.assertFalse("newZosBatchJob() should not submit the job", zosBatchJob.submitted());
+        Assert.assertEquals("newZosBatchJob() should register the job", 1, ((List<?>) Whitebox.getInternalState(zosBatchSpy, "zosBatchJobs")).size());
+        
+        zosBatchJob = zosBatchSpy.newZosBatchJob("JCL", zosJobnameMock, zosBatchJobcardMock);
+        Assert.assertEquals("getJobname() should return mocked mocked ZosJobnameImpl", zosJobnameMock, zosBatchJob.getJobname());
+    }
+    
     @Test
     public void testGetJobs() throws Exception {
         Mockito.doReturn(zosBatchJobListMock).when(zosBatchSpy).getBatchJobs(Mockito.any(), Mockito.any());
@@ -0,0 +1,153 @@
+/*
+ * Licensed Materials - Property of IBM
+ * 
+ * (c) Copyright IBM Corp. 2020.
+ */
+package dev.galasa.zosbatch.zosmf.manager.internal;
+
+import java.nio.file.Path;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import dev.galasa.zos.IZosImage;
+import dev.galasa.zosbatch.IZosBatchJobname;
+import dev.galasa.zosbatch.ZosBatchException;
+import dev.galasa.zosbatch.ZosBatchManagerException;
+import dev.galasa.zosbatch.zosmf.manager.internal.properties.RestrictToImage;
+import dev.galasa.zosmf.IZosmfRestApiProcessor;
+import dev.galasa.zosmf.ZosmfManagerException;
+import dev.galasa.zosmf.internal.ZosmfManagerImpl;
+
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({RestrictToImage.class})
+public class TestZosBatchJobCleaner {
+    
+    private ZosBatchJobCleaner zosBatchJobCleaner;
+    
+    private ZosBatchJobCleaner zosBatchJobCleanerSpy;
+
+    @Mock
+    private IZosImage zosImageMock;
+
+    @Mock
+    private IZosBatchJobname zosJobnameMock;
+
+    @Mock
+    private ZosmfManagerImpl zosmfManagerMock;
+    
+    @Mock
+    private IZosmfRestApiProcessor dedicatedZosmfApiProcessorMock;
+    
+    @Mock
+    private ZosBatchJobImpl zosBatchJobMock;
+    
+    @Mock
+    private Path archivePathMock;
+    
+    private static final String FIXED_JOBNAME = "GAL45678";
+
+    @Rule
+    public ExpectedException exceptionRule = ExpectedException.none();
+    
+    @Before
+    public void setup() throws Exception {
+        Mockito.when(zosImageMock.getImageID()).thenReturn("image");
+        Mockito.when(zosJobnameMock.getName()).thenReturn(FIXED_JOBNAME);
+        Mockito.when(zosBatchJobMock.getImage()).thenReturn(zosImageMock);
+        Mockito.when(zosBatchJobMock.getJobname()).thenReturn(zosJobnameMock);
+        
+        PowerMockito.mockStatic(RestrictToImage.class);
+        Mockito.when(RestrictToImage.get(Mockito.any())).thenReturn(true);
+        ZosBatchManagerImpl.setZosmfManager(zosmfManagerMock);
+        ZosBatchManagerImpl.setArchivePath(archivePathMock);
+        ZosBatchManagerImpl.setCurrentTestMethodArchiveFolderName("testMethod");
+        
+        zosBatchJobCleaner = new ZosBatchJobCleaner(2, true);
+        zosBatchJobCleanerSpy = Mockito.spy(zosBatchJobCleaner);
+    }
+    
+    @After
+    public void tearDown() {
+        zosBatchJobCleaner.shutdown();
+    }
+    
+    @Test
+    public void testIsAsync() {
+        Assert.assertTrue("isAsync() should return true", zosBatchJobCleaner.isAsync());
+        ZosBatchJobCleaner syncCleaner = new ZosBatchJobCleaner(1, false);
+        Assert.assertFalse("isAsync() should return false", syncCleaner.isAsync());
+        syncCleaner.shutdown();
+    }
+    
+    @Test
+    public void testSubmit() throws ZosBatchException {
+        Mockito.doReturn(dedicatedZosmfApiProcessorMock).when(zosBatchJobCleanerSpy).workerProcessor(Mockito.any());
+        
+        zosBatchJobCleanerSpy.submit(zosBatchJobMock);
+        ZosBatchManagerImpl.setCurrentTestMethodArchiveFolderName("nextTestMethod");
+        zosBatchJobCleanerSpy.waitForCompletion();
+        
+        Mockito.verify(zosBatchJobMock, Mockito.times(1)).setArchiveLocation(archivePathMock, "testMethod");
+        Mockito.verify(zosBatchJobMock, Mockito.times(1)).cleanup(dedicatedZosmfApiProcessorMock);
+        Mockito.verify(zosBatchJobMock, Mockito.never()).setZosmfApiProcessor(Mockito.any());
+    }
+    
+    @Test
+    public void testWaitForCompletionException() throws ZosBatchException {
+        Mockito.doReturn(dedicatedZosmfApiProcessorMock).when(zosBatchJobCleanerSpy).workerProcessor(Mockito.any());
+        Mockito.doThrow(new ZosBatchException("exception")).when(zosBatchJobMock).cleanup(Mockito.any());
+        
+        zosBatchJobCleanerSpy.submit(zosBatchJobMock);
+        zosBatchJobCleanerSpy.submit(zosBatchJobMock);
+        
+        exceptionRule.expect(ZosBatchException.class);
+        exceptionRule.expectMessage("Failed to archive or purge 2 batch job(s)");
+        zosBatchJobCleanerSpy.waitForCompletion();
+    }
+    
+    @Test
+    public void testCleanupJob() throws ZosBatchException {
+        Mockito.doReturn(dedicatedZosmfApiProcessorMock).when(zosBatchJobCleanerSpy).workerProcessor(Mockito.any());
+        
+        Assert.assertEquals("cleanupJob() should return the supplied job", zosBatchJobMock, zosBatchJobCleanerSpy.cleanupJob(zosBatchJobMock));
+        
+        Mockito.doThrow(new ZosBatchException("exception")).when(zosBatchJobMock).cleanup(Mockito.any());
+        try {
+            zosBatchJobCleanerSpy.cleanupJob(zosBatchJobMock);
+            Assert.fail("cleanupJob() should throw ZosBatchException");
+        } catch (ZosBatchException e) {
+            Assert.assertEquals("cleanupJob() should throw the expected exception", "exception", e.getMessage());
+        }
+        Mockito.verify(zosBatchJobMock, Mockito.times(2)).cleanup(dedicatedZosmfApiProcessorMock);
+        Mockito.verify(zosBatchJobMock, Mockito.never()).setZosmfApiProcessor(Mockito.any());
+    }
+    
+    @Test
+    public void testWorkerProcessor() throws ZosBatchException, ZosmfManagerException {
+        Mockito.when(zosmfManagerMock.newDedicatedZosmfRestApiProcessor(Mockito.any(), Mockito.anyBoolean())).thenReturn(dedicatedZosmfApiProcessorMock);
+        
+        Assert.assertEquals("workerProcessor() should return the dedicated processor", dedicatedZosmfApiProcessorMock, zosBatchJobCleaner.workerProcessor(zosImageMock));
+        Assert.assertEquals("workerProcessor() should return the dedicated processor", dedicatedZosmfApiProcessorMock, zosBatchJobCleaner.workerProcessor(zosImageMock));
+        Mockito.verify(zosmfManagerMock, Mockito.times(1)).newDedicatedZosmfRestApiProcessor(zosImageMock, true);
+    }
+    
+    @Test
+    public void testWorkerProcessorException() throws ZosBatchException, ZosBatchManagerException {
+        Mockito.when(RestrictToImage.get(Mockito.any())).thenThrow(new ZosBatchManagerException("exception"));
+        
+        exceptionRule.expect(ZosBatchException.class);
+        exceptionRule.expectMessage("exception");
+        zosBatchJobCleaner.workerProcessor(zosImageMock);
+    }
+}
@@ -11,6 +11,9 @@ import java.nio.channels.SeekableByteChannel;
 import java.nio.file.FileSystem;
 import java.nio.file.Path;
 import java.nio.file.spi.FileSystemProvider;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 
 import org.apache.http.HttpStatus;
 import org.hamcrest.core.StringStartsWith;
@@ -29,6 +32,7 @@ import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 import org.powermock.reflect.Whitebox;
 
+import com.google.gson.Gson;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonNull;
 import com.google.gson.JsonObject;
@@ -41,6 +45,7 @@ import dev.galasa.zosbatch.IZosBatchJobOutputSpoolFile;
 import dev.galasa.zosbatch.ZosBatchException;
 import dev.galasa.zosbatch.ZosBatchJobcard;
 import dev.galasa.zosbatch.ZosBatchManagerException;
+import dev.galasa.zosbatch.zosmf.manager.internal.json.Job;
 import dev.galasa.zosbatch.zosmf.manager.internal.properties.JobWaitTimeout;
 import dev.galasa.zosbatch.zosmf.manager.internal.properties.RestrictToImage;
 import dev.galasa.zosbatch.zosmf.manager.internal.properties.TruncateJCLRecords;
@@ -286,6 +291,7 @@ public class TestZosBatchJobImpl {
 
         JsonObject responseBody = getJsonObject();
         Mockito.when(zosmfResponseMockStatus.getJsonContent()).thenReturn(responseBody);
+        Mockito.when(zosmfResponseMockStatus.getJsonContent(Job.class)).thenAnswer(invocation -> job(zosmfResponseMockStatus.getJsonContent()));
         Mockito.when(zosmfResponseMockStatus.getStatusCode()).thenReturn(HttpStatus.SC_OK);
         Assert.assertEquals("waitForJob() should return zero", 0, zosBatchJobSpy.waitForJob());
 
@@ -327,8 +333,8 @@ public class TestZosBatchJobImpl {
     @Test
     public void testRetrieveOutput() throws Exception {
         Mockito.doReturn(true).when(zosBatchJobSpy).submitted();
-        Mockito.doNothing().when(zosBatchJobSpy).updateJobStatus();
-        Mockito.doNothing().when(zosBatchJobSpy).addOutputFileContent(Mockito.any(), Mockito.any());
+        Mockito.doNothing().when(zosBatchJobSpy).updateJobStatus(Mockito.any());
+        Mockito.doNothing().when(zosBatchJobSpy).addOutputFileContent(Mockito.any(), Mockito.any(), Mockito.any());
         Mockito.doNothing().when(zosBatchJobSpy).archiveJobOutput();
         Mockito.doNothing().when(zosBatchJobSpy).purge();
         Whitebox.setInternalState(zosBatchJobSpy, "jobid", FIXED_JOBID);
@@ -362,8 +368,8 @@ public class TestZosBatchJobImpl {
     @Test
     public void testRetrieveOutputZosmfException() throws ZosBatchException, ZosmfException {
         Mockito.doReturn(true).when(zosBatchJobSpy).submitted();
-        Mockito.doNothing().when(zosBatchJobSpy).updateJobStatus();
-        Mockito.doNothing().when(zosBatchJobSpy).addOutputFileContent(Mockito.any(), Mockito.any());
+        Mockito.doNothing().when(zosBatchJobSpy).updateJobStatus(Mockito.any());
+        Mockito.doNothing().when(zosBatchJobSpy).addOutputFileContent(Mockito.any(), Mockito.any(), Mockito.any());
         Mockito.when(zosmfApiProcessorMock.sendRequest(Mockito.eq(ZosmfRequestType.GET), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyBoolean())).thenThrow(new ZosmfException("exception"));
         
         exceptionRule.expect(ZosBatchException.class);
@@ -375,8 +381,8 @@ public class TestZosBatchJobImpl {
     @Test
     public void testRetrieveOutputZosmfResponseException() throws ZosBatchException, ZosmfException {
         Mockito.doReturn(true).when(zosBatchJobSpy).submitted();
-        Mockito.doNothing().when(zosBatchJobSpy).updateJobStatus();
-        Mockito.doNothing().when(zosBatchJobSpy).addOutputFileContent(Mockito.any(), Mockito.any());
+        Mockito.doNothing().when(zosBatchJobSpy).updateJobStatus(Mockito.any());
+        Mockito.doNothing().when(zosBatchJobSpy).addOutputFileContent(Mockito.any(), Mockito.any(), Mockito.any());
         Mockito.when(zosmfApiProcessorMock.sendRequest(Mockito.eq(ZosmfRequestType.GET), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyBoolean())).thenReturn(zosmfResponseMockStatus);
     
         Mockito.when(zosmfResponseMockStatus.getContent()).thenReturn(getJsonArray());
@@ -392,8 +398,8 @@ public class TestZosBatchJobImpl {
     @Test
     public void testRetrieveOutputZosmfResponseException1() throws ZosBatchException, ZosmfException {
         Mockito.doReturn(true).when(zosBatchJobSpy).submitted();
-        Mockito.doNothing().when(zosBatchJobSpy).updateJobStatus();
-        Mockito.doNothing().when(zosBatchJobSpy).addOutputFileContent(Mockito.any(), Mockito.any());
+        Mockito.doNothing().when(zosBatchJobSpy).updateJobStatus(Mockito.any());
+        Mockito.doNothing().when(zosBatchJobSpy).addOutputFileContent(Mockito.any(), Mockito.any(), Mockito.any());
         Mockito.when(zosmfApiProcessorMock.sendRequest(Mockito.eq(ZosmfRequestType.GET), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyBoolean())).thenReturn(zosmfResponseMockStatus);
     
         Mockito.when(zosmfResponseMockStatus.getContent()).thenThrow(new ZosmfException("exception"));
@@ -407,8 +413,8 @@ public class TestZosBatchJobImpl {
     @Test
     public void testRetrieveOutputBadHttpResponseException() throws Exception {
         Mockito.doReturn(true).when(zosBatchJobSpy).submitted();
-        Mockito.doNothing().when(zosBatchJobSpy).updateJobStatus();
-        Mockito.doNothing().when(zosBatchJobSpy).addOutputFileContent(Mockito.any(), Mockito.any());
+        Mockito.doNothing().when(zosBatchJobSpy).updateJobStatus(Mockito.any());
+        Mockito.doNothing().when(zosBatchJobSpy).addOutputFileContent(Mockito.any(), Mockito.any(), Mockito.any());
         Whitebox.setInternalState(zosBatchJobSpy, "jobid", FIXED_JOBID);
         Mockito.when(zosmfApiProcessorMock.sendRequest(Mockito.eq(ZosmfRequestType.GET), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyBoolean())).thenReturn(zosmfResponseMockStatus);
     
@@ -520,9 +526,63 @@ public class TestZosBatchJobImpl {
     @Test
     public void testGetSpoolFile() throws ZosBatchException, ZosmfException {
         Mockito.when(zosBatchJobOutputMock.getSpoolFile(Mockito.any())).thenReturn(zosBatchJobOutputSpoolFileMock);
-        PowerMockito.doReturn(zosBatchJobOutputMock).when(zosBatchJobSpy).retrieveOutput();
+        PowerMockito.doReturn(zosBatchJobOutputMock).when(zosBatchJobSpy).jobOutput();
+        Whitebox.setInternalState(zosBatchJobSpy, "outputComplete", true);
         
         Assert.assertEquals("getSpoolFile() should return the the mocked IZosBatchJobOutputSpoolFile", zosBatchJobOutputSpoolFileMock, zosBatchJobSpy.getSpoolFile("DDNAME"));
+        
+        Whitebox.setInternalState(zosBatchJobSpy, "outputComplete", false);
+        ZosBatchJobOutputSpoolFileImpl spoolFileMock = Mockito.mock(ZosBatchJobOutputSpoolFileImpl.class);
+        Mockito.when(spoolFileMock.getDdname()).thenReturn("DDNAME");
+        List<IZosBatchJobOutputSpoolFile> spoolFiles = new ArrayList<>();
+        spoolFiles.add(spoolFileMock);
+        PowerMockito.doReturn(spoolFiles).when(zosBatchJobSpy).listSpoolFiles();
+        
+        Assert.assertEquals("getSpoolFile() should return the the matching spool file", spoolFileMock, zosBatchJobSpy.getSpoolFile("DDNAME"));
+        Mockito.verify(spoolFileMock, Mockito.times(1)).retrieve();
+        Assert.assertNull("getSpoolFile() should return null", zosBatchJobSpy.getSpoolFile("OTHER"));
+        Mockito.verify(spoolFileMock, Mockito.times(1)).retrieve();
+    }
+    
+    @Test
+    public void testListSpoolFiles() throws ZosBatchException {
+        Whitebox.setInternalState(zosBatchJobSpy, "jobid", FIXED_JOBID);
+        Mockito.doNothing().when(zosBatchJobSpy).updateJobStatus();
+        PowerMockito.doReturn(getJsonArray()).when(zosBatchJobSpy).getSpoolFileList();
+        
+        List<IZosBatchJobOutputSpoolFile> spoolFiles = zosBatchJobSpy.listSpoolFiles();
+        Assert.assertEquals("listSpoolFiles() should return the spool files and JCL", 2, spoolFiles.size());
+        Assert.assertEquals("listSpoolFiles() should return the JCL last", "JESJCLIN", spoolFiles.get(1).getDdname());
+        Mockito.verify(zosmfApiProcessorMock, Mockito.times(0)).sendRequest(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyBoolean());
+        
+        Whitebox.setInternalState(zosBatchJobSpy, "jobNotFound", true);
+        Assert.assertTrue("listSpoolFiles() should return an empty list", zosBatchJobSpy.listSpoolFiles().isEmpty());
+        
+        ZosBatchJobOutputImpl zosBatchJobOutput = new ZosBatchJobOutputImpl(FIXED_JOBNAME, FIXED_JOBID);
+        zosBatchJobOutput.addJcl("JCL");
+        Whitebox.setInternalState(zosBatchJobSpy, "jobOutput", zosBatchJobOutput);
+        Whitebox.setInternalState(zosBatchJobSpy, "outputComplete", true);
+        Assert.assertEquals("listSpoolFiles() should return the retrieved spool files", 1, zosBatchJobSpy.listSpoolFiles().size());
+    }
+    
+    @Test
+    public void testListSpoolFilesNotSubmittedException() throws ZosBatchException {
+        exceptionRule.expect(ZosBatchException.class);
+        exceptionRule.expectMessage("Job has not been submitted by manager");
+        zosBatchJobSpy.listSpoolFiles();
+    }
+    
+    @Test
+    public void testGetSpoolFileContentRecordRange() throws ZosBatchException, ZosmfException {
+        Mockito.when(zosmfApiProcessorMock.sendRequest(Mockito.eq(ZosmfRequestType.GET), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyBoolean())).thenReturn(zosmfResponseMockStatus);
+        Mockito.when(zosmfResponseMockStatus.getTextContent()).thenReturn("content");
+        Mockito.when(zosmfResponseMockStatus.getStatusCode()).thenReturn(HttpStatus.SC_OK);
+        
+        Assert.assertEquals("getSpoolFileContent() should return the content", "content", zosBatchJobSpy.getSpoolFileContent("path", "10,20"));
+        HashMap<String, String> expectedHeaders = new HashMap<>();
+        expectedHeaders.put("X-CSRF-ZOSMF-HEADER", "");
+        expectedHeaders.put("X-IBM-Record-Range", "10,20");
+        Mockito.verify(zosmfApiProcessorMock, Mockito.times(1)).sendRequest(Mockito.eq(ZosmfRequestType.GET), Mockito.eq("path"), Mockito.eq(expectedHeaders), Mockito.any(), Mockito.any(), Mockito.anyBoolean());
     }
 
     @Test
@@ -535,6 +595,7 @@ public class TestZosBatchJobImpl {
         JsonObject jsonObject = getJsonObject();
         jsonObject.remove("status");
         Mockito.when(zosmfResponseMockStatus.getJsonContent()).thenReturn(jsonObject);
+        Mockito.when(zosmfResponseMockStatus.getJsonContent(Job.class)).thenAnswer(invocation -> job(zosmfResponseMockStatus.getJsonContent()));
         Mockito.when(zosmfResponseMockStatus.getStatusCode()).thenReturn(HttpStatus.SC_OK);
         
         zosBatchJobSpy.updateJobStatus();
@@ -684,12 +745,92 @@ public class TestZosBatchJobImpl {
         Assert.assertEquals("isArchived() should return the true", true, zosBatchJobSpy.isArchived());
 
         PowerMockito.doReturn(null).doReturn(zosBatchJobOutput).when(zosBatchJobSpy).jobOutput();
+        Mockito.doReturn(false).when(zosBatchJobSpy).submitted();
         Whitebox.setInternalState(zosBatchJobSpy, "jobArchived", false);
         Whitebox.setInternalState(zosBatchJobSpy, "jobComplete", false);
         zosBatchJobSpy.archiveJobOutput();
         Assert.assertEquals("isArchived() should return the true", true, zosBatchJobSpy.isArchived());
         
         PowerMockito.doReturn(null).when(zosBatchJobSpy).jobOutput();
+        Mockito.doReturn(true).when(zosBatchJobSpy).submitted();
+        Mockito.doNothing().when(zosBatchJobSpy).getOutput(Mockito.eq(true), Mockito.any());
+        Whitebox.setInternalState(zosBatchJobSpy, "jobArchived", false);
+        Whitebox.setInternalState(zosBatchJobSpy, "jobComplete", true);
+        zosBatchJobSpy.archiveJobOutput();
+        Mockito.verify(zosBatchJobSpy, Mockito.times(1)).getOutput(Mockito.eq(true), Mockito.any());
+        
+        PowerMockito.doReturn(null).when(zosBatchJobSpy).jobOutput();
+    }
+    
+    @Test
+    public void testGetOutputArchive() throws Exception {
+        Mockito.doReturn(true).when(zosBatchJobSpy).submitted();
+        Mockito.doNothing().when(zosBatchJobSpy).updateJobStatus(Mockito.any());
+        Answer<Void> addAnswer = new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) throws Throwable {
+                ZosBatchJobOutputImpl jobOutput = Whitebox.getInternalState(zosBatchJobSpy, "jobOutput");
+                jobOutput.addJcl("records");
+                return null;
+            }
+        };
+        Mockito.doAnswer(addAnswer).when(zosBatchJobSpy).addOutputFileContent(Mockito.any(), Mockito.any(), Mockito.any());
+        Mockito.doNothing().when(zosBatchJobSpy).storeSpoolFile(Mockito.any(), Mockito.any());
+        Whitebox.setInternalState(zosBatchJobSpy, "jobid", FIXED_JOBID);
+        Whitebox.setInternalState(zosBatchJobSpy, "retcode", FIXED_RETCODE_0000);
+        Mockito.when(zosmfApiProcessorMock.sendRequest(Mockito.eq(ZosmfRequestType.GET), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyBoolean())).thenReturn(zosmfResponseMockStatus);
+        Mockito.when(zosmfResponseMockStatus.getJsonArrayContent()).thenReturn(getJsonArray());
+        Mockito.when(zosmfResponseMockStatus.getStatusCode()).thenReturn(HttpStatus.SC_OK);
+        
+        zosBatchJobSpy.getOutput(true);
+        Mockito.verify(zosBatchJobSpy, Mockito.times(2)).storeSpoolFile(Mockito.any(), Mockito.any());
+        Assert.assertTrue("isArchived() should return the true", zosBatchJobSpy.isArchived());
+        
+        Mockito.clearInvocations(zosBatchJobSpy);
+        Mockito.doNothing().when(zosBatchJobSpy).addOutputFileContent(Mockito.any(), Mockito.any(), Mockito.any());
+        zosBatchJobSpy.getOutput(true);
+        Mockito.verify(zosBatchJobSpy, Mockito.times(0)).storeSpoolFile(Mockito.any(), Mockito.any());
+    }
+    
+    @Test
+    public void testCleanup() throws ZosBatchException {
+        Mockito.doNothing().when(zosBatchJobSpy).cancel(Mockito.anyBoolean(), Mockito.any());
+        Mockito.doNothing().when(zosBatchJobSpy).archiveJobOutput(Mockito.any());
+        
+        Whitebox.setInternalState(zosBatchJobSpy, "jobComplete", false);
+        zosBatchJobSpy.cleanup();
+        Mockito.verify(zosBatchJobSpy, Mockito.times(1)).cancel(false, zosmfApiProcessorMock);
+        Mockito.verify(zosBatchJobSpy, Mockito.times(1)).archiveJobOutput(zosmfApiProcessorMock);
+        Mockito.verify(zosBatchJobSpy, Mockito.times(1)).cancel(true, zosmfApiProcessorMock);
+        
+        Mockito.clearInvocations(zosBatchJobSpy);
+        Whitebox.setInternalState(zosBatchJobSpy, "jobComplete", true);
+        Whitebox.setInternalState(zosBatchJobSpy, "jobArchived", true);
+        Whitebox.setInternalState(zosBatchJobSpy, "jobPurged", true);
+        zosBatchJobSpy.cleanup();
+        Mockito.verify(zosBatchJobSpy, Mockito.times(0)).archiveJobOutput(Mockito.any());
+        Mockito.verify(zosBatchJobSpy, Mockito.times(0)).cancel(Mockito.anyBoolean(), Mockito.any());
+        
+        Whitebox.setInternalState(zosBatchJobSpy, "jobArchived", false);
+        Whitebox.setInternalState(zosBatchJobSpy, "jobPurged", false);
+        zosBatchJobSpy.cleanup();
+        Mockito.verify(zosBatchJobSpy, Mockito.times(1)).archiveJobOutput(zosmfApiProcessorMock);
+        Mockito.verify(zosBatchJobSpy, Mockito.times(1)).cancel(true, zosmfApiProcessorMock);
+        Mockito.verify(zosBatchJobSpy, Mockito.times(0)).cancel(false, zosmfApiProcessorMock);
+    }
+    
+    @Test
+    public void testCleanupWithProcessor() throws ZosBatchException {
+        Mockito.doNothing().when(zosBatchJobSpy).cancel(Mockito.anyBoolean(), Mockito.any());
+        Mockito.doNothing().when(zosBatchJobSpy).archiveJobOutput(Mockito.any());
+        IZosmfRestApiProcessor workerProcessorMock = Mockito.mock(IZosmfRestApiProcessor.class);
+        
+        Whitebox.setInternalState(zosBatchJobSpy, "jobComplete", false);
+        zosBatchJobSpy.cleanup(workerProcessorMock);
+        Mockito.verify(zosBatchJobSpy, Mockito.times(1)).cancel(false, workerProcessorMock);
+        Mockito.verify(zosBatchJobSpy, Mockito.times(1)).archiveJobOutput(workerProcessorMock);
+        Mockito.verify(zosBatchJobSpy, Mockito.times(1)).cancel(true, workerProcessorMock);
+        Assert.assertSame("cleanup() should not change the processor of the job", zosmfApiProcessorMock, zosBatchJobSpy.getZosmfApiProcessor());
     }
     
     @Test
@@ -872,6 +1013,16 @@ public class TestZosBatchJobImpl {
         zosBatchJobSpy.storeArtifact("content", "artifactPathElements");
     }
     
+    @Test 
+    public void testStoreArtifactArchiveLocation() throws ZosBatchException, IOException {
+        Path archivePathMock = newMockedPath(false);
+        ZosBatchManagerImpl.setArchivePath(null);
+        zosBatchJobSpy.setArchiveLocation(archivePathMock, "folder");
+        
+        zosBatchJobSpy.storeArtifact("content", "artifactPathElement");
+        Mockito.verify(archivePathMock, Mockito.times(1)).resolve("folder");
+    }
+    
     @Test 
     public void testStoreArtifactIOException() throws ZosBatchException, IOException {       
         exceptionRule.expect(ZosBatchException.class);
@@ -1086,6 +1237,10 @@ public class TestZosBatchJobImpl {
         return responseBody;
     }
     
+    private Job job(JsonObject jsonObject) {
+        return new Gson().fromJson(jsonObject, Job.class);
+    }
+    
     private JsonArray getJsonArray() {
         JsonArray fileArray = new JsonArray();
         fileArray.add(getJsonObject());
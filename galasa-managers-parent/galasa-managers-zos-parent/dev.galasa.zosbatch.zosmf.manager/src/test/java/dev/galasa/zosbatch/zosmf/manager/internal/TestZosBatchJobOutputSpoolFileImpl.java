@@ -5,14 +5,24 @@
  */
 package dev.galasa.zosbatch.zosmf.manager.internal;
 
+import java.util.regex.Pattern;
+
 import org.junit.Assert;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnitRunner;
 
 import com.google.gson.JsonNull;
 import com.google.gson.JsonObject;
 
+import dev.galasa.zosbatch.IZosBatchJobOutputSpoolFileIterator;
+import dev.galasa.zosbatch.IZosBatchJobname;
+import dev.galasa.zosbatch.ZosBatchException;
+
 @RunWith(MockitoJUnitRunner.class)
 public class TestZosBatchJobOutputSpoolFileImpl { 
 
@@ -30,6 +40,17 @@ public class TestZosBatchJobOutputSpoolFileImpl {
 
     private static final String DUMMY = "dummy";
     
+    private static final String PATH = "path";
+    
+    @Mock
+    private ZosBatchJobImpl zosBatchJobMock;
+    
+    @Mock
+    private IZosBatchJobname zosBatchJobnameMock;
+    
+    @Rule
+    public ExpectedException exceptionRule = ExpectedException.none();
+    
     @Test
     public void testJclConstructor() {
         ZosBatchJobOutputSpoolFileImpl zosBatchJobOutputSpoolFile = new ZosBatchJobOutputSpoolFileImpl(JOBNAME, JOBID, RECORDS);
@@ -75,4 +96,104 @@ public class TestZosBatchJobOutputSpoolFileImpl {
         jsonObject.addProperty(JOBNAME, JOBNAME);
         Assert.assertEquals("jsonNull() should return an empty String", JOBNAME, zosBatchJobOutputSpoolFile.jsonNull(jsonObject, JOBNAME));        
     }
+    
+    @Test
+    public void testLazyRecords() throws ZosBatchException {
+        Mockito.when(zosBatchJobMock.getJobname()).thenReturn(zosBatchJobnameMock);
+        Mockito.when(zosBatchJobnameMock.getName()).thenReturn(JOBNAME);
+        Mockito.when(zosBatchJobMock.getJobId()).thenReturn(JOBID);
+        Mockito.when(zosBatchJobMock.getSpoolFileContent(PATH, null)).thenReturn(RECORDS);
+        
+        ZosBatchJobOutputSpoolFileImpl zosBatchJobOutputSpoolFile = new ZosBatchJobOutputSpoolFileImpl(zosBatchJobMock, PATH, null);
+        Assert.assertEquals("getJobname() should return the job value", JOBNAME, zosBatchJobOutputSpoolFile.getJobname());
+        Mockito.verify(zosBatchJobMock, Mockito.times(0)).getSpoolFileContent(Mockito.any(), Mockito.any());
+        Assert.assertEquals("getRecords() should return the retrieved value", RECORDS, zosBatchJobOutputSpoolFile.getRecords());
+        Assert.assertEquals("getRecords() should return the retrieved value", RECORDS, zosBatchJobOutputSpoolFile.getRecords());
+        Mockito.verify(zosBatchJobMock, Mockito.times(1)).getSpoolFileContent(PATH, null);
+        
+        Mockito.when(zosBatchJobMock.getSpoolFileContent(PATH, null)).thenThrow(new ZosBatchException("exception"));
+        zosBatchJobOutputSpoolFile = new ZosBatchJobOutputSpoolFileImpl(zosBatchJobMock, PATH, null);
+        Assert.assertNull("getRecords() should return null", zosBatchJobOutputSpoolFile.getRecords());
+    }
+    
+    @Test
+    public void testRecordCount() {
+        JsonObject jsonObject = new JsonObject();
+        jsonObject.addProperty(JOBNAME, JOBNAME);
+        jsonObject.addProperty(JOBID, JOBID);
+        jsonObject.addProperty(DDNAME, DDNAME);
+        Assert.assertEquals("getRecordCount() should return -1", -1, new ZosBatchJobOutputSpoolFileImpl(jsonObject, RECORDS).getRecordCount());
+        
+        jsonObject.addProperty("record-count", 99);
+        Assert.assertEquals("getRecordCount() should return the supplied value", 99, new ZosBatchJobOutputSpoolFileImpl(jsonObject, RECORDS).getRecordCount());
+    }
+    
+    @Test
+    public void testGetRecordsRange() throws ZosBatchException {
+        ZosBatchJobOutputSpoolFileImpl zosBatchJobOutputSpoolFile = new ZosBatchJobOutputSpoolFileImpl(JOBNAME, JOBID, "A\nB\nC\nD\n");
+        Assert.assertEquals("getRecords() should return the requested range", "B\nC", zosBatchJobOutputSpoolFile.getRecords(1, 2));
+        Assert.assertEquals("getRecords() should return the available records", "D", zosBatchJobOutputSpoolFile.getRecords(3, 10));
+        Assert.assertEquals("getRecords() should return no records", "", zosBatchJobOutputSpoolFile.getRecords(10, 10));
+        Assert.assertEquals("getRecords() should return no records", "", zosBatchJobOutputSpoolFile.getRecords(0, 0));
+        
+        Mockito.when(zosBatchJobMock.getJobname()).thenReturn(zosBatchJobnameMock);
+        Mockito.when(zosBatchJobMock.getSpoolFileContent(PATH, "5,2")).thenReturn("F\nG\n");
+        zosBatchJobOutputSpoolFile = new ZosBatchJobOutputSpoolFileImpl(zosBatchJobMock, PATH, null);
+        Assert.assertEquals("getRecords() should return the requested range", "F\nG", zosBatchJobOutputSpoolFile.getRecords(5, 2));
+        Mockito.verify(zosBatchJobMock, Mockito.times(0)).getSpoolFileContent(PATH, null);
+    }
+    
+    @Test
+    public void testGetRecordsRangeException() throws ZosBatchException {
+        ZosBatchJobOutputSpoolFileImpl zosBatchJobOutputSpoolFile = new ZosBatchJobOutputSpoolFileImpl(JOBNAME, JOBID, RECORDS);
+        exceptionRule.expect(ZosBatchException.class);
+        exceptionRule.expectMessage("Invalid record range -1,1");
+        zosBatchJobOutputSpoolFile.getRecords(-1, 1);
+    }
+    
+    @Test
+    public void testRecordIterator() throws ZosBatchException {
+        StringBuilder firstBlock = new StringBuilder();
+        for (int i = 0; i < ZosBatchJobOutputSpoolFileImpl.RECORD_BLOCK_SIZE; i++) {
+            firstBlock.append("record" + i + "\n");
+        }
+        Mockito.when(zosBatchJobMock.getJobname()).thenReturn(zosBatchJobnameMock);
+        Mockito.when(zosBatchJobMock.getSpoolFileContent(PATH, "0," + ZosBatchJobOutputSpoolFileImpl.RECORD_BLOCK_SIZE)).thenReturn(firstBlock.toString());
+        Mockito.when(zosBatchJobMock.getSpoolFileContent(PATH, ZosBatchJobOutputSpoolFileImpl.RECORD_BLOCK_SIZE + "," + ZosBatchJobOutputSpoolFileImpl.RECORD_BLOCK_SIZE)).thenReturn("last\n");
+        ZosBatchJobOutputSpoolFileImpl zosBatchJobOutputSpoolFile = new ZosBatchJobOutputSpoolFileImpl(zosBatchJobMock, PATH, null);
+        
+        IZosBatchJobOutputSpoolFileIterator iterator = zosBatchJobOutputSpoolFile.recordIterator();
+        int count = 0;
+        String record = null;
+        while (iterator.hasNext()) {
+            record = iterator.next();
+            count++;
+        }
+        Assert.assertEquals("recordIterator() should return all the records", ZosBatchJobOutputSpoolFileImpl.RECORD_BLOCK_SIZE + 1, count);
+        Assert.assertEquals("recordIterator() should return the last record last", "last", record);
+        Mockito.verify(zosBatchJobMock, Mockito.times(2)).getSpoolFileContent(Mockito.any(), Mockito.any());
+        
+        exceptionRule.expect(ZosBatchException.class);
+        exceptionRule.expectMessage("No more records in ");
+        iterator.next();
+    }
+    
+    @Test
+    public void testFindFirst() throws ZosBatchException {
+        ZosBatchJobOutputSpoolFileImpl zosBatchJobOutputSpoolFile = new ZosBatchJobOutputSpoolFileImpl(JOBNAME, JOBID, "IEF142I STEP1 - STEP WAS EXECUTED - COND CODE 0000\nIEF142I STEP2 - STEP WAS EXECUTED - COND CODE 0004\n");
+        Assert.assertEquals("findFirst() should return the first matching record", "IEF142I STEP2 - STEP WAS EXECUTED - COND CODE 0004", zosBatchJobOutputSpoolFile.findFirst(Pattern.compile("COND CODE 000[1-9]")));
+        Assert.assertNull("findFirst() should return null", zosBatchJobOutputSpoolFile.findFirst(Pattern.compile("ABEND")));
+    }
+    
+    @Test
+    public void testRetrieveException() throws ZosBatchException {
+        JsonObject jsonObject = new JsonObject();
+        jsonObject.addProperty(JOBNAME, JOBNAME);
+        jsonObject.addProperty(JOBID, JOBID);
+        jsonObject.addProperty(DDNAME, DDNAME);
+        ZosBatchJobOutputSpoolFileImpl zosBatchJobOutputSpoolFile = new ZosBatchJobOutputSpoolFileImpl(jsonObject, null);
+        exceptionRule.expect(ZosBatchException.class);
+        exceptionRule.expectMessage("Unable to retrieve records for ");
+        zosBatchJobOutputSpoolFile.retrieve();
+    }
 }
@@ -0,0 +1,222 @@
+/*
+ * Licensed Materials - Property of IBM
+ * 
+ * (c) Copyright IBM Corp. 2020.
+ */
+package dev.galasa.zosbatch.zosmf.manager.internal;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import dev.galasa.zos.IZosImage;
+import dev.galasa.zosbatch.IZosBatchJobSetResult;
+import dev.galasa.zosbatch.IZosBatchJobSetResult.JobSetStatus;
+import dev.galasa.zosbatch.IZosBatchJobname;
+import dev.galasa.zosbatch.ZosBatchException;
+import dev.galasa.zosbatch.ZosBatchManagerException;
+import dev.galasa.zosbatch.zosmf.manager.internal.ZosBatchJobSetImpl.JobSetEntry;
+import dev.galasa.zosbatch.zosmf.manager.internal.properties.JobSetConcurrency;
+import dev.galasa.zosbatch.zosmf.manager.internal.properties.RestrictToImage;
+import dev.galasa.zosmf.IZosmfRestApiProcessor;
+import dev.galasa.zosmf.internal.ZosmfManagerImpl;
+
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({JobSetConcurrency.class, RestrictToImage.class})
+public class TestZosBatchJobSetImpl {
+    
+    private ZosBatchJobSetImpl zosBatchJobSet;
+
+    @Mock
+    private IZosImage zosImageMock;
+
+    @Mock
+    private ZosBatchImpl zosBatchMock;
+
+    @Mock
+    private IZosBatchJobname zosJobnameMock;
+
+    @Mock
+    private ZosmfManagerImpl zosmfManagerMock;
+    
+    @Mock
+    private IZosmfRestApiProcessor dedicatedZosmfApiProcessorMock;
+    
+    @Mock
+    private ZosBatchJobImpl zosBatchJobMock1;
+    
+    @Mock
+    private ZosBatchJobImpl zosBatchJobMock2;
+    
+    @Mock
+    private ZosBatchJobImpl zosBatchJobMock3;
+    
+    private static final String FIXED_JOBNAME = "GAL45678";
+
+    @Rule
+    public ExpectedException exceptionRule = ExpectedException.none();
+    
+    @Before
+    public void setup() throws Exception {
+        Mockito.when(zosImageMock.getImageID()).thenReturn("image");
+        Mockito.when(zosJobnameMock.getName()).thenReturn(FIXED_JOBNAME);
+        
+        PowerMockito.mockStatic(JobSetConcurrency.class);
+        Mockito.when(JobSetConcurrency.get(Mockito.any())).thenReturn(2);
+        PowerMockito.mockStatic(RestrictToImage.class);
+        Mockito.when(RestrictToImage.get(Mockito.any())).thenReturn(true);
+        Mockito.when(zosmfManagerMock.newDedicatedZosmfRestApiProcessor(Mockito.any(), Mockito.anyBoolean())).thenReturn(dedicatedZosmfApiProcessorMock);
+        ZosBatchManagerImpl.setZosmfManager(zosmfManagerMock);
+        
+        Mockito.when(zosBatchMock.newZosBatchJob(Mockito.eq("JCL1"), Mockito.any(), Mockito.any())).thenReturn(zosBatchJobMock1);
+        Mockito.when(zosBatchMock.newZosBatchJob(Mockito.eq("JCL2"), Mockito.any(), Mockito.any())).thenReturn(zosBatchJobMock2);
+        Mockito.when(zosBatchMock.newZosBatchJob(Mockito.eq("JCL3"), Mockito.any(), Mockito.any())).thenReturn(zosBatchJobMock3);
+        for (ZosBatchJobImpl zosBatchJobMock : new ZosBatchJobImpl[] {zosBatchJobMock1, zosBatchJobMock2, zosBatchJobMock3}) {
+            Mockito.when(zosBatchJobMock.getJobname()).thenReturn(zosJobnameMock);
+            Mockito.when(zosBatchJobMock.submitted()).thenReturn(true);
+            Mockito.when(zosBatchJobMock.waitForJob()).thenReturn(0);
+        }
+        
+        zosBatchJobSet = new ZosBatchJobSetImpl(zosBatchMock, zosImageMock);
+    }
+    
+    @Test
+    public void testSubmit() throws Exception {
+        zosBatchJobSet.addJob("STEP3", "JCL3", "STEP1", "STEP2");
+        zosBatchJobSet.addJob("STEP1", "JCL1");
+        zosBatchJobSet.addJob("STEP2", "JCL2", "STEP1");
+        
+        Map<String, IZosBatchJobSetResult> results = zosBatchJobSet.submit().get(10, TimeUnit.SECONDS);
+        Assert.assertEquals("submit() should return a result for each job", 3, results.size());
+        for (IZosBatchJobSetResult result : results.values()) {
+            Assert.assertEquals("getStatus() should return COMPLETED", JobSetStatus.COMPLETED, result.getStatus());
+            Assert.assertEquals("getReturnCode() should return 0", 0, result.getReturnCode());
+        }
+        Assert.assertEquals("getJob() should return the mocked job", zosBatchJobMock2, results.get("STEP2").getJob());
+        Assert.assertEquals("getJobResult() should return the result of the job", results.get("STEP1"), zosBatchJobSet.getJobResult("STEP1").get());
+        Mockito.verify(zosBatchJobMock1).setZosmfApiProcessor(dedicatedZosmfApiProcessorMock);
+        
+        exceptionRule.expect(ZosBatchException.class);
+        exceptionRule.expectMessage("Job set has already been submitted");
+        zosBatchJobSet.submit();
+    }
+    
+    @Test
+    public void testSubmitFailedAndSkipped() throws Exception {
+        Mockito.when(zosBatchJobMock1.waitForJob()).thenReturn(8);
+        Mockito.when(zosBatchJobMock2.submitJob()).thenThrow(new ZosBatchException("exception"));
+        zosBatchJobSet.addJob("STEP1", "JCL1");
+        zosBatchJobSet.addJob("STEP2", "JCL2", null, null, 4);
+        zosBatchJobSet.addJob("STEP3", "JCL3", "STEP1");
+        
+        Map<String, IZosBatchJobSetResult> results = zosBatchJobSet.submit().get(10, TimeUnit.SECONDS);
+        Assert.assertEquals("getStatus() should return FAILED", JobSetStatus.FAILED, results.get("STEP1").getStatus());
+        Assert.assertEquals("getReturnCode() should return 8", 8, results.get("STEP1").getReturnCode());
+        Assert.assertEquals("getStatus() should return FAILED", JobSetStatus.FAILED, results.get("STEP2").getStatus());
+        Assert.assertEquals("getException() should return the exception", "exception", results.get("STEP2").getException().getMessage());
+        Assert.assertEquals("getStatus() should return SKIPPED", JobSetStatus.SKIPPED, results.get("STEP3").getStatus());
+        Assert.assertNull("getJob() should return null", results.get("STEP3").getJob());
+        Mockito.verify(zosBatchMock, Mockito.never()).newZosBatchJob(Mockito.eq("JCL3"), Mockito.any(), Mockito.any());
+    }
+    
+    @Test
+    public void testSubmitRuntimeException() throws Exception {
+        Mockito.when(zosBatchJobMock1.waitForJob()).thenThrow(new IllegalStateException("runtime exception"));
+        zosBatchJobSet.addJob("STEP1", "JCL1");
+        zosBatchJobSet.addJob("STEP2", "JCL2");
+        zosBatchJobSet.addJob("STEP3", "JCL3", "STEP1");
+        
+        Map<String, IZosBatchJobSetResult> results = zosBatchJobSet.submit().get(10, TimeUnit.SECONDS);
+        Assert.assertEquals("submit() should return a result for each job", 3, results.size());
+        Assert.assertEquals("getStatus() should return FAILED", JobSetStatus.FAILED, results.get("STEP1").getStatus());
+        Assert.assertEquals("getJob() should return the submitted job", zosBatchJobMock1, results.get("STEP1").getJob());
+        Assert.assertEquals("getException() should return the exception", "Unexpected error running job set job \"STEP1\"", results.get("STEP1").getException().getMessage());
+        Assert.assertEquals("getException() should have the runtime exception as the cause", "runtime exception", results.get("STEP1").getException().getCause().getMessage());
+        Assert.assertEquals("getStatus() should return COMPLETED", JobSetStatus.COMPLETED, results.get("STEP2").getStatus());
+        Assert.assertEquals("getStatus() should return SKIPPED", JobSetStatus.SKIPPED, results.get("STEP3").getStatus());
+    }
+    
+    @Test
+    public void testAddJobDuplicate() throws Exception {
+        zosBatchJobSet.addJob("STEP1", "JCL1");
+        exceptionRule.expect(ZosBatchException.class);
+        exceptionRule.expectMessage("Job set already contains a job with id \"STEP1\"");
+        zosBatchJobSet.addJob("STEP1", "JCL2");
+    }
+    
+    @Test
+    public void testAddJobAfterSubmit() throws Exception {
+        zosBatchJobSet.addJob("STEP1", "JCL1");
+        zosBatchJobSet.submit();
+        exceptionRule.expect(ZosBatchException.class);
+        exceptionRule.expectMessage("Job set has already been submitted");
+        zosBatchJobSet.addJob("STEP2", "JCL2");
+    }
+    
+    @Test
+    public void testDependencyOrder() throws Exception {
+        zosBatchJobSet.addJob("STEP3", "JCL3", "STEP2");
+        zosBatchJobSet.addJob("STEP2", "JCL2", "STEP1");
+        zosBatchJobSet.addJob("STEP1", "JCL1");
+        List<JobSetEntry> ordered = zosBatchJobSet.dependencyOrder();
+        Assert.assertEquals("dependencyOrder() should return STEP1 first", "STEP1", ordered.get(0).getId());
+        Assert.assertEquals("dependencyOrder() should return STEP2 second", "STEP2", ordered.get(1).getId());
+        Assert.assertEquals("dependencyOrder() should return STEP3 last", "STEP3", ordered.get(2).getId());
+    }
+    
+    @Test
+    public void testDependencyOrderUnknown() throws Exception {
+        zosBatchJobSet.addJob("STEP1", "JCL1", "STEP9");
+        exceptionRule.expect(ZosBatchException.class);
+        exceptionRule.expectMessage("Job \"STEP1\" depends on unknown job \"STEP9\"");
+        zosBatchJobSet.submit();
+    }
+    
+    @Test
+    public void testDependencyOrderCircular() throws Exception {
+        zosBatchJobSet.addJob("STEP1", "JCL1");
+        zosBatchJobSet.addJob("STEP2", "JCL2", "STEP1", "STEP3");
+        zosBatchJobSet.addJob("STEP3", "JCL3", "STEP2");
+        exceptionRule.expect(ZosBatchException.class);
+        exceptionRule.expectMessage("Job set contains circular dependencies between jobs [STEP2, STEP3]");
+        zosBatchJobSet.submit();
+    }
+    
+    @Test
+    public void testGetJobResultNotSubmitted() throws Exception {
+        zosBatchJobSet.addJob("STEP1", "JCL1");
+        exceptionRule.expect(ZosBatchException.class);
+        exceptionRule.expectMessage("Job set has not been submitted");
+        zosBatchJobSet.getJobResult("STEP1");
+    }
+    
+    @Test
+    public void testGetJobResultUnknown() throws Exception {
+        zosBatchJobSet.addJob("STEP1", "JCL1");
+        zosBatchJobSet.submit();
+        exceptionRule.expect(ZosBatchException.class);
+        exceptionRule.expectMessage("Job set does not contain a job with id \"STEP2\"");
+        zosBatchJobSet.getJobResult("STEP2");
+    }
+    
+    @Test
+    public void testSubmitConcurrencyException() throws Exception {
+        Mockito.when(JobSetConcurrency.get(Mockito.any())).thenThrow(new ZosBatchManagerException("exception"));
+        zosBatchJobSet.addJob("STEP1", "JCL1");
+        exceptionRule.expect(ZosBatchException.class);
+        exceptionRule.expectMessage("Unable to get job set concurrency property value");
+        zosBatchJobSet.submit();
+    }
+}
@@ -106,6 +106,7 @@ public class TestZosBatchManagerImpl {
         
         ZosBatchManagerImpl.setZosManager(zosManagerMock);
         ZosBatchManagerImpl.setZosmfManager(zosmfManagerMock);
+        ZosBatchManagerImpl.setJobCleaner(null);
         zosBatchZosmfPropertiesSingleton = new ZosBatchZosmfPropertiesSingleton();
         zosBatchZosmfPropertiesSingleton.activate();
         
@@ -187,8 +188,12 @@ public class TestZosBatchManagerImpl {
     @Test
     public void testProvisionStart() throws Exception {
         Whitebox.setInternalState(zosBatchManagerSpy, "artifactsRoot", new File("/").toPath());
+        ZosBatchZosmfPropertiesSingleton.setCps(Mockito.mock(IConfigurationPropertyStoreService.class));
         zosBatchManagerSpy.provisionStart();
         Assert.assertEquals("currentTestMethodArchiveFolderName should contain the supplied value", "preTest", ZosBatchManagerImpl.currentTestMethodArchiveFolderName);
+        Assert.assertNotNull("jobCleaner should have been created", ZosBatchManagerImpl.jobCleaner);
+        Assert.assertTrue("jobCleaner should default to asynchronous", ZosBatchManagerImpl.jobCleaner.isAsync());
+        ZosBatchManagerImpl.jobCleaner.shutdown();
     }
 
     @Test
@@ -215,6 +220,11 @@ public class TestZosBatchManagerImpl {
         ZosBatchManagerImpl.setCurrentTestMethodArchiveFolderName(DummyTestClass.class.getDeclaredMethod("dummyTestMethod").getName());
         zosBatchManagerSpy.endOfTestClass(null, null);
         Assert.assertEquals("currentTestMethodArchiveFolderName should be expeacted value", "postTest", ZosBatchManagerImpl.currentTestMethodArchiveFolderName);
+        
+        ZosBatchJobCleaner jobCleanerMock = Mockito.mock(ZosBatchJobCleaner.class);
+        ZosBatchManagerImpl.setJobCleaner(jobCleanerMock);
+        zosBatchManagerSpy.endOfTestClass(null, null);
+        Mockito.verify(jobCleanerMock, Mockito.times(1)).waitForCompletion();
     }
     
     @Test
@@ -228,6 +238,12 @@ public class TestZosBatchManagerImpl {
         Mockito.doThrow(new ZosBatchException()).when(zosBatchManagerSpy).cleanup();
         zosBatchManagerSpy.endOfTestRun();
         Assert.assertEquals("testEndOfTestRun() should log expected message", "Problem in endOfTestRun()", logMessage);
+        
+        ZosBatchJobCleaner jobCleanerMock = Mockito.mock(ZosBatchJobCleaner.class);
+        ZosBatchManagerImpl.setJobCleaner(jobCleanerMock);
+        zosBatchManagerSpy.endOfTestRun();
+        Mockito.verify(jobCleanerMock, Mockito.times(1)).shutdown();
+        Assert.assertNull("jobCleaner should have been removed", ZosBatchManagerImpl.jobCleaner);
     }
     
     @Test
@@ -242,6 +258,16 @@ public class TestZosBatchManagerImpl {
         Whitebox.setInternalState(zosBatchManagerSpy, "zosBatches", taggedZosBatches);
         zosBatchManagerSpy.cleanup();
         PowerMockito.verifyPrivate(zosBatchImpl, Mockito.times(2)).invoke("cleanup");        
+        
+        ZosBatchJobCleaner jobCleanerMock = Mockito.mock(ZosBatchJobCleaner.class);
+        ZosBatchManagerImpl.setJobCleaner(jobCleanerMock);
+        Mockito.when(jobCleanerMock.isAsync()).thenReturn(true);
+        zosBatchManagerSpy.cleanup();
+        Mockito.verify(jobCleanerMock, Mockito.times(0)).waitForCompletion();
+        
+        Mockito.when(jobCleanerMock.isAsync()).thenReturn(false);
+        zosBatchManagerSpy.cleanup();
+        Mockito.verify(jobCleanerMock, Mockito.times(1)).waitForCompletion();
     }
     
     @Test
@@ -0,0 +1,84 @@
+/*
+ * Licensed Materials - Property of IBM
+ * 
+ * (c) Copyright IBM Corp. 2020.
+ */
+package dev.galasa.zosbatch.zosmf.manager.internal.properties;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import dev.galasa.framework.spi.ConfigurationPropertyStoreException;
+import dev.galasa.framework.spi.IConfigurationPropertyStoreService;
+import dev.galasa.framework.spi.cps.CpsProperties;
+import dev.galasa.zosbatch.ZosBatchManagerException;
+
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({ZosBatchZosmfPropertiesSingleton.class, CpsProperties.class})
+public class TestAsyncCleanup {
+    
+    @Mock
+    private IConfigurationPropertyStoreService configurationPropertyStoreServiceMock;
+    
+    @Rule
+    public ExpectedException exceptionRule = ExpectedException.none();
+    
+    @Test
+    public void testConstructor() {
+        AsyncCleanup asyncCleanup = new AsyncCleanup();
+        Assert.assertNotNull("Object was not created", asyncCleanup);
+    }
+    
+    @Test
+    public void testNullandEmpty() throws Exception {
+        Assert.assertEquals("Unexpected value returned from AsyncCleanup.get()", true, getProperty(null));
+        Assert.assertEquals("Unexpected value returned from AsyncCleanup.get()", true, getProperty(""));
+    }
+    
+    @Test
+    public void testValid() throws Exception {
+        Assert.assertEquals("Unexpected value returned from AsyncCleanup.get()", true, getProperty("true"));
+        Assert.assertEquals("Unexpected value returned from AsyncCleanup.get()", true, getProperty("TRUE"));
+        Assert.assertEquals("Unexpected value returned from AsyncCleanup.get()", false, getProperty("false"));
+        Assert.assertEquals("Unexpected value returned from AsyncCleanup.get()", false, getProperty("FALSE"));
+    }
+    
+    @Test
+    public void testInvalid() throws Exception {
+        Assert.assertEquals("Unexpected value returned from AsyncCleanup.get()", false, getProperty("XXX"));
+    }
+    
+    @Test
+    public void testException() throws Exception {
+        exceptionRule.expect(ZosBatchManagerException.class);
+        exceptionRule.expectMessage("Problem asking the CPS for the batch job asynchronous cleanup property");
+        
+        getProperty("ANY", true);
+    }
+
+    private boolean getProperty(String value) throws Exception {
+        return getProperty(value, false);
+    }
+    
+    private boolean getProperty(String value, boolean exception) throws Exception {
+        PowerMockito.spy(ZosBatchZosmfPropertiesSingleton.class);
+        PowerMockito.doReturn(configurationPropertyStoreServiceMock).when(ZosBatchZosmfPropertiesSingleton.class, "cps");
+        PowerMockito.spy(CpsProperties.class);
+        
+        if (!exception) {
+            PowerMockito.doReturn(value).when(CpsProperties.class, "getStringNulled", Mockito.any(), Mockito.anyString(), Mockito.anyString());            
+        } else {
+            PowerMockito.doThrow(new ConfigurationPropertyStoreException()).when(CpsProperties.class, "getStringNulled", Mockito.any(), Mockito.anyString(), Mockito.anyString());
+        }
+        
+        return AsyncCleanup.get();
+    }
+}
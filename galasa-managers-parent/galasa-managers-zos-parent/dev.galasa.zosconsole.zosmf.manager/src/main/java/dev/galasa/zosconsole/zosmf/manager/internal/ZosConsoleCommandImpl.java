@@ -7,6 +7,7 @@ package dev.galasa.zosconsole.zosmf.manager.internal;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.regex.Pattern;
 
 import javax.validation.constraints.NotNull;
 
@@ -14,10 +15,12 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.http.HttpStatus;
 
+import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 
 import dev.galasa.zos.IZosImage;
 import dev.galasa.zosconsole.IZosConsoleCommand;
+import dev.galasa.zosconsole.IZosConsoleMessageListener;
 import dev.galasa.zosconsole.ZosConsoleException;
 import dev.galasa.zosconsole.ZosConsoleManagerException;
 import dev.galasa.zosconsole.zosmf.manager.internal.properties.RestrictToImage;
@@ -34,6 +37,7 @@ import dev.galasa.zosmf.ZosmfManagerException;
 public class ZosConsoleCommandImpl implements IZosConsoleCommand {
     
     private IZosmfRestApiProcessor zosmfApiProcessor;
+    private IZosmfRestApiProcessor backgroundZosmfApiProcessor;
 
     private IZosImage image;
     private String consoleName;
@@ -41,6 +45,8 @@ public class ZosConsoleCommandImpl implements IZosConsoleCommand {
     private String commandImmediateResponse;
     private String commandResponseKey;
     private String commandDelayedResponse = "";
+    private final StringBuilder unreadResponse = new StringBuilder();
+    private final ZosConsoleMessageMatcher messageMatcher = new ZosConsoleMessageMatcher(this);
     
     private static final String SLASH = "/";
     private static final String RESTCONSOLE_PATH = SLASH + "zosmf" + SLASH + "restconsoles" + SLASH + "consoles" + SLASH;
@@ -85,6 +91,7 @@ public class ZosConsoleCommandImpl implements IZosConsoleCommand {
         if (response.getStatusCode() == HttpStatus.SC_OK) {
             this.commandImmediateResponse = content.get("cmd-response").getAsString();
             this.commandResponseKey = content.get("cmd-response-key").getAsString();
+            this.messageMatcher.add(this.commandImmediateResponse);
         } else {
             // Error case - BAD_REQUEST or INTERNAL_SERVER_ERROR
             this.commandImmediateResponse = content.get("reason").getAsString();
@@ -106,25 +113,103 @@ public class ZosConsoleCommandImpl implements IZosConsoleCommand {
 
     @Override
     public String requestResponse() throws ZosConsoleException {
+        boolean fetched = fetchResponse(false);
+        synchronized (this.unreadResponse) {
+            // Include anything received in the background since the last request
+            if (fetched || this.unreadResponse.length() > 0) {
+                this.commandDelayedResponse = this.unreadResponse.toString();
+                this.unreadResponse.setLength(0);
+            }
+        }
+        return this.commandDelayedResponse;
+    }
+
+    @Override
+    public String waitForMessage(Pattern pattern, long timeout) throws ZosConsoleException {
+        String message;
+        ZosConsoleMessageMonitor.watch(this);
+        try {
+            message = this.messageMatcher.waitFor(pattern, timeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ZosConsoleException("Interrupted waiting for a message in response to console command \"" + this.command + "\"", e);
+        } finally {
+            ZosConsoleMessageMonitor.unwatch(this);
+        }
+        
+        if (message == null) {
+            throw new ZosConsoleException("Timed out waiting for a message matching \"" + pattern.pattern() + "\" in response to console command \"" + this.command + "\"");
+        }
+        return message;
+    }
+
+    @Override
+    public void subscribe(IZosConsoleMessageListener listener) throws ZosConsoleException {
+        this.messageMatcher.addListener(listener);
+        ZosConsoleMessageMonitor.watch(this);
+    }
+
+    @Override
+    public void unsubscribe(IZosConsoleMessageListener listener) {
+        if (this.messageMatcher.removeListener(listener)) {
+            ZosConsoleMessageMonitor.unwatch(this);
+        }
+    }
+
+    /**
+     * Request the delayed response messages, keep them for the next {@link #requestResponse()} and pass them to anything 
+     * waiting for or subscribed to them
+     * @param background true if requested by the {@link ZosConsoleMessageMonitor} thread rather than the test
+     * @return true if zOSMF returned the response
+     * @throws ZosConsoleException
+     */
+    protected boolean fetchResponse(boolean background) throws ZosConsoleException {
+        // The request is made without holding the buffer, so the background thread does not block requestResponse()
         IZosmfResponse response;
         try {
-            response = this.zosmfApiProcessor.sendRequest(ZosmfRequestType.GET, RESTCONSOLE_PATH + this.consoleName + "/solmsgs/" + this.commandResponseKey, null, null, new ArrayList<>(Arrays.asList(HttpStatus.SC_OK)), true);
+            response = getZosmfApiProcessor(background).sendRequest(ZosmfRequestType.GET, RESTCONSOLE_PATH + this.consoleName + "/solmsgs/" + this.commandResponseKey, null, null, new ArrayList<>(Arrays.asList(HttpStatus.SC_OK)), true);
         } catch (ZosmfException e) {
             throw new ZosConsoleException(e);
         }
         
-        if (response.getStatusCode() == HttpStatus.SC_OK) {
-            JsonObject content;
+        if (response.getStatusCode() != HttpStatus.SC_OK) {
+            return false;
+        }
+        
+        JsonObject content;
+        try {
+            content = response.getJsonContent();
+        } catch (ZosmfException e) {
+            throw new ZosConsoleException(logUnableToIsuueCommand());
+        }
+        
+        logger.trace(content);
+        // Treat a response without any messages as empty, rather than failing the monitor thread
+        JsonElement cmdResponse = content.get("cmd-response");
+        String delayedResponse = cmdResponse == null || cmdResponse.isJsonNull() ? "" : cmdResponse.getAsString();
+        synchronized (this.unreadResponse) {
+            this.unreadResponse.append(delayedResponse);
+        }
+        // Outside the lock so the listeners can call requestResponse()
+        this.messageMatcher.add(delayedResponse);
+        return true;
+    }
+
+    /**
+     * The background thread uses a processor of its own, as the shared one belongs to the test thread
+     */
+    protected IZosmfRestApiProcessor getZosmfApiProcessor(boolean background) throws ZosConsoleException {
+        if (!background) {
+            return this.zosmfApiProcessor;
+        }
+        if (this.backgroundZosmfApiProcessor == null) {
             try {
-                content = response.getJsonContent();
-            } catch (ZosmfException e) {
-                throw new ZosConsoleException(logUnableToIsuueCommand());
+                this.backgroundZosmfApiProcessor = ZosConsoleManagerImpl.zosmfManager.newDedicatedZosmfRestApiProcessor(this.image, RestrictToImage.get(this.image.getImageID()));
+            } catch (ZosConsoleManagerException | ZosmfManagerException e) {
+                throw new ZosConsoleException(e);
             }
-        
-            logger.trace(content);
-            this.commandDelayedResponse = content.get("cmd-response").getAsString();
         }
-        return this.commandDelayedResponse;
+        return this.backgroundZosmfApiProcessor;
     }
 
     @Override
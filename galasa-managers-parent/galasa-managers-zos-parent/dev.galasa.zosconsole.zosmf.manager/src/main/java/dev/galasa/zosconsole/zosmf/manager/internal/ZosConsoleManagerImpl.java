@@ -122,6 +122,15 @@ public class ZosConsoleManagerImpl extends AbstractManager implements IZosConsol
                otherManager instanceof IZosmfManagerSpi;
     }
 
+    /* (non-Javadoc)
+     * @see dev.galasa.framework.spi.AbstractManager#shutdown()
+     */
+    @Override
+    public void shutdown() {
+        ZosConsoleMessageMonitor.unwatchAll();
+        super.shutdown();
+    }
+
     @GenerateAnnotatedField(annotation=ZosConsole.class)
     public IZosConsole generateZosConsole(Field field, List<Annotation> annotations) throws ZosManagerException {
         ZosConsole annotationZosConsole = field.getAnnotation(ZosConsole.class);
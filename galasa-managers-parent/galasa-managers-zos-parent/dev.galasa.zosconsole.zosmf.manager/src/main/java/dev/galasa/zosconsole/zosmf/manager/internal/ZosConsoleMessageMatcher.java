@@ -0,0 +1,107 @@
+/*
+ * Licensed Materials - Property of IBM
+ * 
+ * (c) Copyright IBM Corp. 2020.
+ */
+package dev.galasa.zosconsole.zosmf.manager.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Pattern;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import dev.galasa.zosconsole.IZosConsoleCommand;
+import dev.galasa.zosconsole.IZosConsoleMessageListener;
+
+/**
+ * The messages received in response to a console command, shared by everything waiting for or subscribed to them.<br>
+ * Responses are split in to messages as they arrive. Each waiter only matches its pattern against the messages that
+ * have arrived since it last looked, and each listener is called once with each new message.
+ */
+public class ZosConsoleMessageMatcher {
+
+    private final IZosConsoleCommand command;
+    private final List<String> messages = new ArrayList<>();
+    private final List<IZosConsoleMessageListener> listeners = new CopyOnWriteArrayList<>();
+
+    private static final Log logger = LogFactory.getLog(ZosConsoleMessageMatcher.class);
+
+    public ZosConsoleMessageMatcher(IZosConsoleCommand command) {
+        this.command = command;
+    }
+
+    /**
+     * Add a response from the console
+     * @param response one or more messages
+     */
+    public void add(String response) {
+        if (response == null || response.isEmpty()) {
+            return;
+        }
+
+        List<String> newMessages = new ArrayList<>();
+        for (String message : response.split("[\\r\\n]+")) {
+            if (!message.trim().isEmpty()) {
+                newMessages.add(message);
+            }
+        }
+        if (newMessages.isEmpty()) {
+            return;
+        }
+
+        synchronized (this.messages) {
+            this.messages.addAll(newMessages);
+            this.messages.notifyAll();
+        }
+
+        // Outside the lock so a slow listener does not hold up the waiters
+        for (IZosConsoleMessageListener listener : this.listeners) {
+            for (String message : newMessages) {
+                try {
+                    listener.message(this.command, message);
+                } catch (RuntimeException e) {
+                    logger.warn("Console message listener failed for message \"" + message + "\"", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Wait for a message that contains a match for a pattern
+     * @param pattern the pattern
+     * @param timeout time (in milliseconds) to wait
+     * @return the first matching message, or null if none arrived in time
+     * @throws InterruptedException
+     */
+    public String waitFor(Pattern pattern, long timeout) throws InterruptedException {
+        long whenTimeout = System.currentTimeMillis() + timeout;
+        int matched = 0;
+        synchronized (this.messages) {
+            while (true) {
+                for (; matched < this.messages.size(); matched++) {
+                    String message = this.messages.get(matched);
+                    if (pattern.matcher(message).find()) {
+                        return message;
+                    }
+                }
+
+                long wait = whenTimeout - System.currentTimeMillis();
+                if (wait <= 0) {
+                    return null;
+                }
+                this.messages.wait(wait);
+            }
+        }
+    }
+
+    public void addListener(IZosConsoleMessageListener listener) {
+        this.listeners.add(listener);
+    }
+
+    public boolean removeListener(IZosConsoleMessageListener listener) {
+        return this.listeners.remove(listener);
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Licensed Materials - Property of IBM
+ * 
+ * (c) Copyright IBM Corp. 2020.
+ */
+package dev.galasa.zosconsole.zosmf.manager.internal;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import dev.galasa.zosconsole.ZosConsoleException;
+
+/**
+ * Requests the delayed responses of the console commands that are being waited for or subscribed to, all from the
+ * one background thread, so the test does not have to poll for them
+ */
+public class ZosConsoleMessageMonitor {
+
+    private static final long POLL_INTERVAL = 1000;
+
+    private static final Map<ZosConsoleCommandImpl, Integer> watchedCommands = new HashMap<>();
+    private static Thread monitorThread;
+
+    private static final Log logger = LogFactory.getLog(ZosConsoleMessageMonitor.class);
+
+    private ZosConsoleMessageMonitor() {
+    }
+
+    /**
+     * Start requesting the responses of a command, until {@link #unwatch(ZosConsoleCommandImpl)} has been called as
+     * many times as this
+     * @param command the command
+     */
+    public static void watch(ZosConsoleCommandImpl command) {
+        synchronized (watchedCommands) {
+            watchedCommands.merge(command, 1, Integer::sum);
+            // Restart the thread should it have died, so the commands are never left unmonitored
+            if (monitorThread == null || !monitorThread.isAlive()) {
+                monitorThread = new Thread(ZosConsoleMessageMonitor::run);
+                monitorThread.setDaemon(true);
+                monitorThread.setName("GalasaZosConsoleMessageMonitor");
+                monitorThread.start();
+            }
+            watchedCommands.notifyAll();
+        }
+    }
+
+    public static void unwatch(ZosConsoleCommandImpl command) {
+        synchronized (watchedCommands) {
+            watchedCommands.computeIfPresent(command, (c, watchers) -> watchers > 1 ? watchers - 1 : null);
+        }
+    }
+
+    /**
+     * Stop requesting the responses of all commands
+     */
+    public static void unwatchAll() {
+        synchronized (watchedCommands) {
+            watchedCommands.clear();
+        }
+    }
+
+    private static void run() {
+        while (true) {
+            List<ZosConsoleCommandImpl> commands;
+            try {
+                synchronized (watchedCommands) {
+                    while (watchedCommands.isEmpty()) {
+                        watchedCommands.wait();
+                    }
+                    commands = new ArrayList<>(watchedCommands.keySet());
+                }
+
+                for (ZosConsoleCommandImpl command : commands) {
+                    requestResponse(command);
+                }
+
+                Thread.sleep(POLL_INTERVAL);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private static void requestResponse(ZosConsoleCommandImpl command) {
+        try {
+            command.fetchResponse(true);
+        } catch (ZosConsoleException | RuntimeException e) {
+            // A failure of one command must not stop the thread monitoring the others
+            logger.warn("Unable to request the response to console command \"" + command.getCommand() + "\", it will no longer be requested", e);
+            synchronized (watchedCommands) {
+                watchedCommands.remove(command);
+            }
+        }
+    }
+}
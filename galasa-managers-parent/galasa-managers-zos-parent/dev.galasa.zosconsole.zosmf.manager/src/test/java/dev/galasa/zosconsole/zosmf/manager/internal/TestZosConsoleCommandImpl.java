@@ -5,6 +5,11 @@
  */
 package dev.galasa.zosconsole.zosmf.manager.internal;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+
 import org.apache.http.HttpStatus;
 import org.junit.Assert;
 import org.junit.Before;
@@ -22,6 +27,7 @@ import org.powermock.reflect.Whitebox;
 import com.google.gson.JsonObject;
 
 import dev.galasa.zos.IZosImage;
+import dev.galasa.zosconsole.IZosConsoleMessageListener;
 import dev.galasa.zosconsole.ZosConsoleException;
 import dev.galasa.zosconsole.ZosConsoleManagerException;
 import dev.galasa.zosconsole.zosmf.manager.internal.properties.RestrictToImage;
@@ -69,6 +75,7 @@ public class TestZosConsoleCommandImpl {
         Mockito.when(RestrictToImage.get(Mockito.any())).thenReturn(true);
 
         Mockito.when(zosmfManagerMock.newZosmfRestApiProcessor(zosImageMock, RestrictToImage.get(zosImageMock.getImageID()))).thenReturn(zosmfApiProcessorMock);
+        Mockito.when(zosmfManagerMock.newDedicatedZosmfRestApiProcessor(Mockito.any(), Mockito.anyBoolean())).thenReturn(zosmfApiProcessorMock);
         ZosConsoleManagerImpl.setZosmfManager(zosmfManagerMock);
         
         Mockito.when(zosmfApiProcessorMock.sendRequest(Mockito.eq(ZosmfRequestType.PUT_JSON), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyBoolean())).thenReturn(zosmfResponseMock);
@@ -165,6 +172,97 @@ public class TestZosConsoleCommandImpl {
         zosConsoleCommand.requestResponse();
     }
 
+    @Test
+    public void testWaitForMessage() throws ZosConsoleException {
+        zosConsoleCommand.issueCommand();
+        
+        Assert.assertEquals("waitForMessage() should return the immediate response", CONSOLE_RESOPNSE, zosConsoleCommand.waitForMessage(Pattern.compile("CONSOLE_RESPONSE"), 1000));
+    }
+
+    @Test
+    public void testWaitForMessageTimeout() throws ZosConsoleException, ZosmfException {
+        exceptionRule.expect(ZosConsoleException.class);
+        exceptionRule.expectMessage("Timed out waiting for a message matching \"NOT_THERE\" in response to console command \"" + CONSOLE_COMMAND + "\"");
+        Mockito.when(zosmfApiProcessorMock.sendRequest(Mockito.eq(ZosmfRequestType.GET), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyBoolean())).thenReturn(zosmfResponseMock);
+        zosConsoleCommand.issueCommand();
+        
+        zosConsoleCommand.waitForMessage(Pattern.compile("NOT_THERE"), 10);
+    }
+
+    @Test
+    public void testSubscribe() throws ZosConsoleException, ZosmfException {
+        Mockito.when(zosmfApiProcessorMock.sendRequest(Mockito.eq(ZosmfRequestType.GET), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyBoolean())).thenReturn(zosmfResponseMock);
+        List<String> messages = Collections.synchronizedList(new ArrayList<>());
+        IZosConsoleMessageListener listener = (command, message) -> messages.add(message);
+        
+        zosConsoleCommand.subscribe(listener);
+        Assert.assertEquals("requestResponse() should return the expected response", CONSOLE_RESOPNSE, zosConsoleCommand.requestResponse());
+        zosConsoleCommand.unsubscribe(listener);
+        Assert.assertTrue("subscribed listener should be called with the response", messages.contains(CONSOLE_RESOPNSE));
+    }
+
+    @Test
+    public void testFetchResponseNotLocked() throws ZosConsoleException, ZosmfException {
+        Object unreadResponse = Whitebox.getInternalState(zosConsoleCommand, "unreadResponse");
+        List<String> locked = Collections.synchronizedList(new ArrayList<>());
+        Mockito.when(zosmfApiProcessorMock.sendRequest(Mockito.eq(ZosmfRequestType.GET), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyBoolean())).thenAnswer(invocation -> {
+            if (Thread.holdsLock(unreadResponse)) {
+                locked.add("request");
+            }
+            return zosmfResponseMock;
+        });
+        IZosConsoleMessageListener listener = (command, message) -> {
+            if (Thread.holdsLock(unreadResponse)) {
+                locked.add("listener");
+            }
+        };
+        
+        // Added to the matcher directly, so the background monitor does not also fetch the response
+        ((ZosConsoleMessageMatcher) Whitebox.getInternalState(zosConsoleCommand, "messageMatcher")).addListener(listener);
+        Assert.assertTrue("fetchResponse() should return the response", zosConsoleCommand.fetchResponse(true));
+        Assert.assertTrue("fetchResponse() should not hold the response buffer over the request or the listeners " + locked, locked.isEmpty());
+        Assert.assertEquals("requestResponse() should include the response fetched in the background", CONSOLE_RESOPNSE + CONSOLE_RESOPNSE, zosConsoleCommand.requestResponse());
+    }
+
+    @Test
+    public void testFailingListener() throws ZosConsoleException {
+        List<String> messages = Collections.synchronizedList(new ArrayList<>());
+        ZosConsoleMessageMatcher matcher = (ZosConsoleMessageMatcher) Whitebox.getInternalState(zosConsoleCommand, "messageMatcher");
+        matcher.addListener((command, message) -> {
+            throw new IllegalStateException("listener failed");
+        });
+        matcher.addListener((command, message) -> messages.add(message));
+        
+        zosConsoleCommand.issueCommand();
+        Assert.assertTrue("a failing listener should not stop the other listeners being called", messages.contains(CONSOLE_RESOPNSE));
+        Assert.assertEquals("a failing listener should not stop the waiters matching", CONSOLE_RESOPNSE, matcher.waitFor(Pattern.compile("CONSOLE_RESPONSE"), 0));
+    }
+
+    @Test
+    public void testFetchResponseWithoutMessages() throws ZosConsoleException, ZosmfException {
+        Mockito.when(zosmfApiProcessorMock.sendRequest(Mockito.eq(ZosmfRequestType.GET), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyBoolean())).thenReturn(zosmfResponseMock);
+        Mockito.when(zosmfResponseMock.getJsonContent()).thenReturn(new JsonObject());
+        
+        Assert.assertTrue("fetchResponse() should accept a response without any messages", zosConsoleCommand.fetchResponse(true));
+        Assert.assertEquals("requestResponse() should return an empty response", "", zosConsoleCommand.requestResponse());
+    }
+
+    @Test
+    public void testMonitorRestarted() throws Exception {
+        Thread deadThread = new Thread(() -> {});
+        deadThread.start();
+        deadThread.join();
+        Whitebox.setInternalState(ZosConsoleMessageMonitor.class, "monitorThread", deadThread);
+        try {
+            ZosConsoleMessageMonitor.watch(zosConsoleCommand);
+            Thread monitorThread = (Thread) Whitebox.getInternalState(ZosConsoleMessageMonitor.class, "monitorThread");
+            Assert.assertNotSame("watch() should replace a monitor thread that has died", deadThread, monitorThread);
+            Assert.assertTrue("watch() should start a new monitor thread", monitorThread.isAlive());
+        } finally {
+            ZosConsoleMessageMonitor.unwatch(zosConsoleCommand);
+        }
+    }
+
     @Test
     public void testLogUnableToIsuueCommand() {
         Whitebox.setInternalState(zosConsoleCommandSpy, "command", CONSOLE_COMMAND);
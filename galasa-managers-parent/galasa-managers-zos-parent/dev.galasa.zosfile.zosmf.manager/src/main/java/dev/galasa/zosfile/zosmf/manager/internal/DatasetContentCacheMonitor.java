@@ -0,0 +1,45 @@
+/*
+ * Licensed Materials - Property of IBM
+ * 
+ * (c) Copyright IBM Corp. 2020.
+ */
+package dev.galasa.zosfile.zosmf.manager.internal;
+
+import java.time.Instant;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import dev.galasa.framework.spi.IDynamicStatusStoreService;
+import dev.galasa.framework.spi.IResourceManagement;
+
+/**
+ * Delete the data set content cache entries that have expired from the DSS
+ */
+public class DatasetContentCacheMonitor implements Runnable {
+
+    private final IResourceManagement        resourceManagement;
+    private final IDynamicStatusStoreService dss;
+    private final Log                        logger = LogFactory.getLog(this.getClass());
+
+    public DatasetContentCacheMonitor(IResourceManagement resourceManagement, IDynamicStatusStoreService dss) {
+        this.resourceManagement = resourceManagement;
+        this.dss = dss;
+        this.logger.info("zOS File data set content cache monitor initialised");
+    }
+
+    @Override
+    public void run() {
+        logger.info("Starting data set content cache expiry");
+        try {
+            int deleted = ZosDatasetContentCache.deleteExpired(this.dss, Instant.now());
+            logger.info("Deleted " + deleted + " expired data set content cache properties");
+        } catch(Exception e) {
+            logger.error("Failure during data set content cache expiry", e);
+        }
+
+        this.resourceManagement.resourceManagementRunSuccessful();
+        logger.info("Finished data set content cache expiry");
+    }
+
+}
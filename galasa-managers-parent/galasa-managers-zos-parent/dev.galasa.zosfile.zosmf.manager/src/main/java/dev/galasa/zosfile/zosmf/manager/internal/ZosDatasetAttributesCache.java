@@ -0,0 +1,92 @@
+/*
+ * Licensed Materials - Property of IBM
+ * 
+ * (c) Copyright IBM Corp. 2020.
+ */
+package dev.galasa.zosfile.zosmf.manager.internal;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import com.google.gson.JsonObject;
+
+/**
+ * Cache of data set attributes for the run, keyed by image, data set and the source of the attributes, i.e. LISTDSI or the
+ * zOS/MF data set list. An entry is used only while it is younger than the time to live supplied by the caller
+ */
+public class ZosDatasetAttributesCache {
+
+    private static final Map<String, CachedAttributes> cache = new ConcurrentHashMap<>();
+
+    protected static final String SOURCE_LISTDSI = "LISTDSI";
+    protected static final String SOURCE_ZOSMF = "ZOSMF";
+
+    private static final String SEPARATOR = "/";
+
+    private ZosDatasetAttributesCache() {
+    }
+
+    /**
+     * Return the cached attributes of a data set
+     * @param imageId the zOS image
+     * @param dsname the data set name
+     * @param source the source of the attributes
+     * @param ttlSeconds the time to live of the entry
+     * @return a copy of the attributes, or null if there is no entry younger than the time to live
+     */
+    public static JsonObject get(String imageId, String dsname, String source, long ttlSeconds) {
+        if (ttlSeconds <= 0) {
+            return null;
+        }
+        String key = key(imageId, dsname, source);
+        CachedAttributes cachedAttributes = cache.get(key);
+        if (cachedAttributes == null) {
+            return null;
+        }
+        if (System.nanoTime() - cachedAttributes.retrieved > TimeUnit.SECONDS.toNanos(ttlSeconds)) {
+            cache.remove(key, cachedAttributes);
+            return null;
+        }
+        return cachedAttributes.attributes.deepCopy();
+    }
+
+    /**
+     * Record the attributes of a data set as just retrieved
+     * @param imageId the zOS image
+     * @param dsname the data set name
+     * @param source the source of the attributes
+     * @param attributes the attributes
+     */
+    public static void put(String imageId, String dsname, String source, JsonObject attributes) {
+        cache.put(key(imageId, dsname, source), new CachedAttributes(attributes.deepCopy(), System.nanoTime()));
+    }
+
+    /**
+     * Remove the entries for a data set from all sources
+     * @param imageId
+     * @param dsname
+     */
+    public static void invalidate(String imageId, String dsname) {
+        String prefix = imageId + SEPARATOR + dsname + SEPARATOR;
+        cache.keySet().removeIf(key -> key.startsWith(prefix));
+    }
+
+    protected static void clear() {
+        cache.clear();
+    }
+
+    private static String key(String imageId, String dsname, String source) {
+        return imageId + SEPARATOR + dsname + SEPARATOR + source;
+    }
+
+    private static class CachedAttributes {
+        private final JsonObject attributes;
+        private final long retrieved;
+
+        private CachedAttributes(JsonObject attributes, long retrieved) {
+            this.attributes = attributes;
+            this.retrieved = retrieved;
+        }
+    }
+}
@@ -11,12 +11,18 @@ import java.io.InputStreamReader;
 import java.net.URL;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 import org.apache.commons.lang3.math.NumberUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.osgi.framework.FrameworkUtil;
 
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 
@@ -41,6 +47,8 @@ public class ZosDatasetAttributesListdsi {
     private boolean initialised;
     
     private static final String LISTDSI_EXEC_NAME = "LISTDSI";
+    
+    protected static final int LISTDSI_BATCH_SIZE = 50;
 
     private static final String PROP_LISTDSIRC    = "listdsirc";
     private static final String PROP_SYSDSNAME    = "sysdsname";    
@@ -123,8 +131,37 @@ public class ZosDatasetAttributesListdsi {
         if (!initialised) {
             initialise();
         }
-        JsonObject listdsiJson = execListdsi(dsname);
-        
+        return datasetAttributes(execListdsi(dsname));
+    }
+
+    /**
+     * Get the attributes of several data sets, issuing one LISTDSI EXEC command for each {@link #LISTDSI_BATCH_SIZE} data sets
+     * @param dsnames the data set names
+     * @return the attributes of each data set, keyed by data set name
+     * @throws ZosDatasetException
+     */
+    public Map<String, JsonObject> get(List<String> dsnames) throws ZosDatasetException {
+        Map<String, JsonObject> attributes = new LinkedHashMap<>();
+        if (dsnames.isEmpty()) {
+            return attributes;
+        }
+        if (!initialised) {
+            initialise();
+        }
+        for (int from = 0; from < dsnames.size(); from += LISTDSI_BATCH_SIZE) {
+            List<String> batch = dsnames.subList(from, Math.min(from + LISTDSI_BATCH_SIZE, dsnames.size()));
+            JsonArray listdsiJsonArray = execListdsi(batch);
+            if (listdsiJsonArray.size() != batch.size()) {
+                throw new ZosDatasetException("LISTDSI returned attributes for " + listdsiJsonArray.size() + " data sets, expected " + batch.size());
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                attributes.put(batch.get(i), datasetAttributes(listdsiJsonArray.get(i).getAsJsonObject()));
+            }
+        }
+        return attributes;
+    }
+    
+    protected JsonObject datasetAttributes(JsonObject listdsiJson) throws ZosDatasetException {
         if (listdsiJson.get(PROP_LISTDSIRC) == null) {
             throw new ZosDatasetException("Invalid JSON object returend from LISTDSI:\n" + listdsiJson);
         }
@@ -316,7 +353,21 @@ public class ZosDatasetAttributesListdsi {
     }
 
     protected JsonObject execListdsi(String dsname) throws ZosDatasetException {
-        String command = "tsocmd \"EXEC '" + execDatasetName + "(" + LISTDSI_EXEC_NAME + ")' '" + dsname + "'\" 2>/dev/null;echo RC=$?";
+        JsonArray listdsiJsonArray = execListdsi(Arrays.asList(dsname));
+        if (listdsiJsonArray.size() != 1) {
+            throw new ZosDatasetException("Invalid JSON returned from LISTDSI:\n" + listdsiJsonArray);
+        }
+        return listdsiJsonArray.get(0).getAsJsonObject();
+    }
+
+    /**
+     * Issue the LISTDSI EXEC command for one or more data sets
+     * @param dsnames the data set names
+     * @return the LISTDSI variables for each data set, in the order of the data set names
+     * @throws ZosDatasetException
+     */
+    protected JsonArray execListdsi(List<String> dsnames) throws ZosDatasetException {
+        String command = "tsocmd \"EXEC '" + execDatasetName + "(" + LISTDSI_EXEC_NAME + ")' '" + String.join(" ", dsnames) + "'\" 2>/dev/null;echo RC=$?";
         String tsocmdRc;
         try {
             tsocmdRc = this.unixCommand.issueCommand(command);
@@ -328,7 +379,13 @@ public class ZosDatasetAttributesListdsi {
         }
         String json = execDataset.memberRetrieveAsText("JSON");
         logger.debug("LISTDSI JSON:\n" + json);
-        return new JsonParser().parse(json).getAsJsonObject();
+        JsonElement jsonElement = new JsonParser().parse(json);
+        if (jsonElement.isJsonArray()) {
+            return jsonElement.getAsJsonArray();
+        }
+        JsonArray jsonArray = new JsonArray();
+        jsonArray.add(jsonElement.getAsJsonObject());
+        return jsonArray;
     }
 
     protected void createExecDataset() throws ZosDatasetException {
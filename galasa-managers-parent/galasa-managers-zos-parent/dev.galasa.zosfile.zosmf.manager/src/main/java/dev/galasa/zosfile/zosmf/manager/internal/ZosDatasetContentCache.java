@@ -0,0 +1,286 @@
+/*
+ * Licensed Materials - Property of IBM
+ * 
+ * (c) Copyright IBM Corp. 2020.
+ */
+package dev.galasa.zosfile.zosmf.manager.internal;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import dev.galasa.framework.spi.DynamicStatusStoreException;
+import dev.galasa.framework.spi.IDynamicStatusStoreService;
+import dev.galasa.zosfile.ZosDatasetException;
+
+/**
+ * Cache of data set and member content, keyed by image, data set, member and data type.<br>
+ * Each entry holds the digest of the content last written or read, the zOS/MF {@code ETag} of the content on the image and,
+ * when it was read, the content itself. The digest and {@code ETag} are also kept in the DSS so that unchanged content need
+ * not be uploaded again by a later run. An entry is only a hint: it is always confirmed with a conditional request before use.<br>
+ * The DSS entries are not used once they are {@link #DSS_TTL} old, and are deleted by the {@link ZosFileResourceManagement}
+ * sweep, so those of data sets that are only ever read do not remain in the DSS.
+ */
+public class ZosDatasetContentCache {
+
+    private static final Map<String, CachedContent> cache = new ConcurrentHashMap<>();
+
+    private static IDynamicStatusStoreService dss;
+    public static void setDss(IDynamicStatusStoreService dynamicStatusStoreService) {
+        dss = dynamicStatusStoreService;
+    }
+
+    protected static final int MAX_CACHED_CONTENT_SIZE = 1024 * 1024;
+
+    private static final String DSS_PREFIX = "dataset.content.";
+    private static final String DSS_DIGEST = ".digest";
+    private static final String DSS_ETAG = ".etag";
+    private static final String DSS_STORED = ".stored";
+    protected static final Duration DSS_TTL = Duration.ofDays(7);
+    private static final String SEPARATOR = "/";
+
+    private static final Log logger = LogFactory.getLog(ZosDatasetContentCache.class);
+
+    private ZosDatasetContentCache() {
+    }
+
+    /**
+     * Build the cache key for a data set or member
+     * @param imageId the zOS image
+     * @param dsname the data set name
+     * @param memberName the member name, or null
+     * @param dataType the data type, e.g. text or binary
+     * @return the key
+     */
+    public static String key(String imageId, String dsname, String memberName, String dataType) {
+        return imageId + SEPARATOR + dsname + SEPARATOR + (memberName == null ? "" : memberName) + SEPARATOR + dataType;
+    }
+
+    /**
+     * Return the cached entry for a key, falling back to the digest and {@code ETag} held in the DSS
+     * @param key
+     * @return the entry, or null if nothing is cached
+     */
+    public static CachedContent get(String key) {
+        CachedContent cachedContent = cache.get(key);
+        if (cachedContent == null && dss != null) {
+            try {
+                String digest = dss.get(DSS_PREFIX + key + DSS_DIGEST);
+                String etag = dss.get(DSS_PREFIX + key + DSS_ETAG);
+                String stored = dss.get(DSS_PREFIX + key + DSS_STORED);
+                if (digest != null && etag != null && !expired(stored, Instant.now())) {
+                    cachedContent = new CachedContent(digest, etag, null);
+                    cache.put(key, cachedContent);
+                }
+            } catch (DynamicStatusStoreException e) {
+                logger.warn("Unable to read data set content cache entry from the DSS", e);
+            }
+        }
+        return cachedContent;
+    }
+
+    /**
+     * Record the content now on the image. The entry is removed if there is no {@code ETag} to confirm it with later
+     * @param key
+     * @param digest the digest of the content
+     * @param etag the zOS/MF {@code ETag} of the content
+     * @param content the content to serve to later reads, or null if only the digest is to be kept
+     */
+    public static void put(String key, String digest, String etag, Object content) {
+        if (etag == null || digest == null) {
+            invalidate(key);
+            return;
+        }
+        if (content != null && contentSize(content) > MAX_CACHED_CONTENT_SIZE) {
+            content = null;
+        }
+        cache.put(key, new CachedContent(digest, etag, content));
+        if (dss != null) {
+            Map<String, String> properties = new HashMap<>();
+            properties.put(DSS_PREFIX + key + DSS_DIGEST, digest);
+            properties.put(DSS_PREFIX + key + DSS_ETAG, etag);
+            properties.put(DSS_PREFIX + key + DSS_STORED, Instant.now().toString());
+            try {
+                dss.put(properties);
+            } catch (DynamicStatusStoreException e) {
+                logger.warn("Unable to store data set content cache entry in the DSS", e);
+            }
+        }
+    }
+
+    /**
+     * Remove a single entry
+     * @param key
+     */
+    public static void invalidate(String key) {
+        cache.remove(key);
+        deleteFromDss(key + DSS_DIGEST, key + DSS_ETAG, key + DSS_STORED);
+    }
+
+    /**
+     * Remove the entries for a member in all data types
+     * @param imageId
+     * @param dsname
+     * @param memberName
+     */
+    public static void invalidateMember(String imageId, String dsname, String memberName) {
+        invalidatePrefix(imageId + SEPARATOR + dsname + SEPARATOR + memberName + SEPARATOR);
+    }
+
+    /**
+     * Remove the entries for a data set and all of its members
+     * @param imageId
+     * @param dsname
+     */
+    public static void invalidateDataset(String imageId, String dsname) {
+        invalidatePrefix(imageId + SEPARATOR + dsname + SEPARATOR);
+    }
+
+    /**
+     * Calculate the digest of text or binary content
+     * @param content a {@link String} or byte array
+     * @return the hex encoded SHA-256 digest
+     * @throws ZosDatasetException
+     */
+    public static String digest(Object content) throws ZosDatasetException {
+        byte[] bytes;
+        if (content instanceof String) {
+            bytes = ((String) content).getBytes(StandardCharsets.UTF_8);
+        } else if (content instanceof byte[]) {
+            bytes = (byte[]) content;
+        } else {
+            throw new ZosDatasetException("Unable to calculate digest. Invalid content object type: " + (content == null ? null : content.getClass().getName()));
+        }
+        MessageDigest messageDigest;
+        try {
+            messageDigest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new ZosDatasetException("Unable to calculate digest", e);
+        }
+        StringBuilder digest = new StringBuilder();
+        for (byte b : messageDigest.digest(bytes)) {
+            digest.append(String.format("%02x", b));
+        }
+        return digest.toString();
+    }
+
+    /**
+     * Delete the DSS entries that were stored more than {@link #DSS_TTL} ago, or have no stored time
+     * @param dynamicStatusStoreService the zOS File DSS
+     * @param now the time to expire the entries at
+     * @return the number of entries deleted
+     * @throws DynamicStatusStoreException
+     */
+    public static int deleteExpired(IDynamicStatusStoreService dynamicStatusStoreService, Instant now) throws DynamicStatusStoreException {
+        Map<String, String> properties = dynamicStatusStoreService.getPrefix(DSS_PREFIX);
+        Set<String> expiredKeys = new HashSet<>();
+        for (Entry<String, String> entry : properties.entrySet()) {
+            String key = entry.getKey();
+            String entryKey;
+            if (key.endsWith(DSS_DIGEST)) {
+                entryKey = key.substring(0, key.length() - DSS_DIGEST.length());
+            } else if (key.endsWith(DSS_ETAG)) {
+                entryKey = key.substring(0, key.length() - DSS_ETAG.length());
+            } else if (key.endsWith(DSS_STORED)) {
+                entryKey = key.substring(0, key.length() - DSS_STORED.length());
+            } else {
+                continue;
+            }
+            if (expired(properties.get(entryKey + DSS_STORED), now)) {
+                expiredKeys.add(key);
+            }
+        }
+        if (!expiredKeys.isEmpty()) {
+            dynamicStatusStoreService.delete(expiredKeys);
+        }
+        return expiredKeys.size();
+    }
+
+    protected static void clear() {
+        cache.clear();
+    }
+
+    private static boolean expired(String stored, Instant now) {
+        if (stored == null) {
+            return true;
+        }
+        try {
+            return Instant.parse(stored).plus(DSS_TTL).isBefore(now);
+        } catch (DateTimeParseException e) {
+            return true;
+        }
+    }
+
+    private static void invalidatePrefix(String prefix) {
+        cache.keySet().removeIf(key -> key.startsWith(prefix));
+        if (dss != null) {
+            try {
+                dss.deletePrefix(DSS_PREFIX + prefix);
+            } catch (DynamicStatusStoreException e) {
+                logger.warn("Unable to delete data set content cache entries from the DSS", e);
+            }
+        }
+    }
+
+    private static void deleteFromDss(String... keys) {
+        if (dss != null) {
+            try {
+                for (String key : keys) {
+                    dss.delete(DSS_PREFIX + key);
+                }
+            } catch (DynamicStatusStoreException e) {
+                logger.warn("Unable to delete data set content cache entry from the DSS", e);
+            }
+        }
+    }
+
+    private static int contentSize(Object content) {
+        if (content instanceof byte[]) {
+            return ((byte[]) content).length;
+        }
+        return ((String) content).length();
+    }
+
+    /**
+     * A cache entry
+     */
+    public static class CachedContent {
+        private final String digest;
+        private final String etag;
+        private final Object content;
+
+        public CachedContent(String digest, String etag, Object content) {
+            this.digest = digest;
+            this.etag = etag;
+            this.content = content;
+        }
+
+        public String getDigest() {
+            return this.digest;
+        }
+
+        public String getEtag() {
+            return this.etag;
+        }
+
+        /**
+         * Return the cached content
+         * @return the content, or null if only the digest is cached
+         */
+        public Object getContent() {
+            return this.content;
+        }
+    }
+}
@@ -5,6 +5,7 @@
  */
 package dev.galasa.zosfile.zosmf.manager.internal;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -21,6 +22,7 @@ import java.util.Map;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.apache.http.HttpHeaders;
 import org.apache.http.HttpStatus;
 
 import com.google.gson.JsonArray;
@@ -32,6 +34,11 @@ import dev.galasa.zos.IZosImage;
 import dev.galasa.zosfile.IZosDataset;
 import dev.galasa.zosfile.ZosDatasetException;
 import dev.galasa.zosfile.ZosFileManagerException;
+import dev.galasa.zosfile.zosmf.manager.internal.ZosDatasetContentCache.CachedContent;
+import dev.galasa.zosfile.zosmf.manager.internal.json.DatasetList;
+import dev.galasa.zosfile.zosmf.manager.internal.json.MemberList;
+import dev.galasa.zosfile.zosmf.manager.internal.properties.DatasetAttributesCacheTtl;
+import dev.galasa.zosfile.zosmf.manager.internal.properties.DatasetContentCache;
 import dev.galasa.zosfile.zosmf.manager.internal.properties.RestrictZosmfToImage;
 import dev.galasa.zosmf.IZosmf.ZosmfCustomHeaders;
 import dev.galasa.zosmf.IZosmf.ZosmfRequestType;
@@ -86,6 +93,10 @@ public class ZosDatasetImpl implements IZosDataset {
     private DatasetDataType dataType = DatasetDataType.TEXT;
 
     private ZosDatasetAttributesListdsi zosDatasetAttributesListdsi;
+    
+    private boolean contentCache;
+    
+    private long attributesCacheTtl;
 
     private static final String PROP_VOLSER = "volser";     
     private static final String PROP_UNIT = "unit";       
@@ -104,7 +115,6 @@ public class ZosDatasetImpl implements IZosDataset {
     private static final String PROP_DSNTYPE = "dsntype";
     private static final String PROP_DSNAME = "dsname";
     private static final String PROP_RETURNED_ROWS = "returnedRows";
-    private static final String PROP_MORE_ROWS = "moreRows";
     private static final String PROP_ITEMS = "items";
     private static final String PROP_MEMBER = "member";
     
@@ -139,6 +149,8 @@ public class ZosDatasetImpl implements IZosDataset {
         
         try {
             this.zosmfApiProcessor = ZosFileManagerImpl.zosmfManager.newZosmfRestApiProcessor(this.image, RestrictZosmfToImage.get(image.getImageID()));
+            this.contentCache = DatasetContentCache.get(image.getImageID());
+            this.attributesCacheTtl = DatasetAttributesCacheTtl.get(image.getImageID());
         } catch (ZosFileManagerException | ZosmfManagerException e) {
             throw new ZosDatasetException(e);
         }
@@ -199,6 +211,8 @@ public class ZosDatasetImpl implements IZosDataset {
             }
             logger.info(LOG_DATA_SET + quoted(this.dsname) + " created" + logOnImage() + retained);
             this.datasetCreated = true;
+            ZosDatasetContentCache.invalidateDataset(this.image.getImageID(), this.dsname);
+            ZosDatasetAttributesCache.invalidate(this.image.getImageID(), this.dsname);
         } else {
             logger.warn(LOG_DATA_SET + quoted(this.dsname) + " not created" + logOnImage());
         }
@@ -245,6 +259,8 @@ public class ZosDatasetImpl implements IZosDataset {
             logger.error(displayMessage);
             throw new ZosDatasetException(displayMessage);
         }
+        ZosDatasetContentCache.invalidateDataset(this.image.getImageID(), this.dsname);
+        ZosDatasetAttributesCache.invalidate(this.image.getImageID(), this.dsname);
         
         if (exists()) {
             logger.info(LOG_DATA_SET + quoted(this.dsname) + " not deleted" + logOnImage());
@@ -268,26 +284,25 @@ public class ZosDatasetImpl implements IZosDataset {
             throw new ZosDatasetException(e);
         }
         
-        JsonObject responseBody;
-        try {
-            responseBody = response.getJsonContent();
-        } catch (ZosmfException e) {
-            throw new ZosDatasetException("Unable to list data set " + quoted(this.dsname) + logOnImage(), e);
-        }
-        
-        logger.trace(responseBody);
         if (response.getStatusCode() == HttpStatus.SC_OK) {
-            int returnedRowsValue = responseBody.get(PROP_RETURNED_ROWS).getAsInt();
-            if (returnedRowsValue == 1) {
-                JsonArray items = responseBody.getAsJsonArray(PROP_ITEMS);
-                JsonObject item = items.get(0).getAsJsonObject();
-                String dsnameValue = item.get(PROP_DSNAME).getAsString();
-                if (this.dsname.equals(dsnameValue)) {
-                    logger.trace(LOG_DATA_SET + quoted(this.dsname) + " exists" + logOnImage());
-                    return true;
-                }
+            DatasetList datasetList;
+            try {
+                datasetList = response.getJsonContent(DatasetList.class);
+            } catch (ZosmfException e) {
+                throw new ZosDatasetException("Unable to list data set " + quoted(this.dsname) + logOnImage(), e);
+            }
+            if (datasetList.returnedRows == 1 && this.dsname.equals(datasetList.items.get(0).dsname)) {
+                logger.trace(LOG_DATA_SET + quoted(this.dsname) + " exists" + logOnImage());
+                return true;
             }
         } else {            
+            JsonObject responseBody;
+            try {
+                responseBody = response.getJsonContent();
+            } catch (ZosmfException e) {
+                throw new ZosDatasetException("Unable to list data set " + quoted(this.dsname) + logOnImage(), e);
+            }
+            logger.trace(responseBody);
             // Error case - BAD_REQUEST or INTERNAL_SERVER_ERROR
             String displayMessage = buildErrorString(LOG_LISTING, responseBody); 
             logger.error(displayMessage);
@@ -407,6 +422,8 @@ public class ZosDatasetImpl implements IZosDataset {
             logger.error(displayMessage);
             throw new ZosDatasetException(displayMessage);
         }
+        ZosDatasetContentCache.invalidateMember(this.image.getImageID(), this.dsname, memberName);
+        ZosDatasetAttributesCache.invalidate(this.image.getImageID(), this.dsname);
         
         if (memberExists(memberName)) {
             logger.info(LOG_MEMBER + memberName + " not deleted from data set " + quoted(this.dsname) + logOnImage());
@@ -512,17 +529,24 @@ public class ZosDatasetImpl implements IZosDataset {
                 throw new ZosDatasetException(e);
             }
             
-            JsonObject responseBody;
-            try {
-                responseBody = response.getJsonContent();
-            } catch (ZosmfException e) {
-                throw new ZosDatasetException("Unable to retrieve member list of data set " + quoted(this.dsname) + logOnImage(), e);
-            }
-            
-            logger.trace(responseBody);
             if (response.getStatusCode() == HttpStatus.SC_OK) {
-                moreRows = getMembers(responseBody);
+                // Bind the list as it is read, a large PDS can have many thousands of members
+                MemberList memberList;
+                try {
+                    memberList = response.getJsonContent(MemberList.class);
+                } catch (ZosmfException e) {
+                    throw new ZosDatasetException("Unable to retrieve member list of data set " + quoted(this.dsname) + logOnImage(), e);
+                }
+                logger.trace(memberList.returnedRows + " members returned");
+                moreRows = getMembers(memberList);
             } else {
+                JsonObject responseBody;
+                try {
+                    responseBody = response.getJsonContent();
+                } catch (ZosmfException e) {
+                    throw new ZosDatasetException("Unable to retrieve member list of data set " + quoted(this.dsname) + logOnImage(), e);
+                }
+                logger.trace(responseBody);
                 // Error case - BAD_REQUEST or INTERNAL_SERVER_ERROR
                 String displayMessage = buildErrorString(LOG_LISTING, responseBody); 
                 logger.error(displayMessage);
@@ -732,11 +756,33 @@ public class ZosDatasetImpl implements IZosDataset {
 
     @Override
     public void retrieveAttibutes() throws ZosDatasetException {
-        if (this.zosDatasetAttributesListdsi == null) {
-            this.zosDatasetAttributesListdsi = new ZosDatasetAttributesListdsi(this.image);
+        JsonObject datasteAttributes = ZosDatasetAttributesCache.get(this.image.getImageID(), this.dsname, ZosDatasetAttributesCache.SOURCE_LISTDSI, this.attributesCacheTtl);
+        if (datasteAttributes == null) {
+            if (this.zosDatasetAttributesListdsi == null) {
+                this.zosDatasetAttributesListdsi = new ZosDatasetAttributesListdsi(this.image);
+            }
+            datasteAttributes = zosDatasetAttributesListdsi.get(this.dsname);
+            cacheListdsiAttributes(datasteAttributes);
         }
-        JsonObject datasteAttributes = zosDatasetAttributesListdsi.get(this.dsname);
-        
+        setListdsiAttributes(datasteAttributes);
+    }
+
+    /**
+     * Keep the LISTDSI attributes of the data set for later calls to {@link #retrieveAttibutes()}
+     * @param datasteAttributes the attributes
+     */
+    protected void cacheListdsiAttributes(JsonObject datasteAttributes) {
+        if (this.attributesCacheTtl > 0) {
+            ZosDatasetAttributesCache.put(this.image.getImageID(), this.dsname, ZosDatasetAttributesCache.SOURCE_LISTDSI, datasteAttributes);
+        }
+    }
+
+    /**
+     * Set the attributes of this object from the LISTDSI attributes of the data set
+     * @param datasteAttributes the attributes
+     * @throws ZosDatasetException if LISTDSI was unable to get the attributes
+     */
+    protected void setListdsiAttributes(JsonObject datasteAttributes) throws ZosDatasetException {
         int listdsiRc = datasteAttributes.get(PROP_LISTDSIRC).getAsInt();
         JsonElement value;
         if (listdsiRc != 0) {
@@ -768,11 +814,14 @@ public class ZosDatasetImpl implements IZosDataset {
 
     @Override
     public String getAttibutesAsString() throws ZosDatasetException {
-        if (!exists()) {
-            throw new ZosDatasetException(LOG_DATA_SET + quoted(this.dsname) + LOG_DOES_NOT_EXIST + logOnImage());
+        JsonObject jsonObject = ZosDatasetAttributesCache.get(this.image.getImageID(), this.dsname, ZosDatasetAttributesCache.SOURCE_ZOSMF, this.attributesCacheTtl);
+        if (jsonObject == null) {
+            if (!exists()) {
+                throw new ZosDatasetException(LOG_DATA_SET + quoted(this.dsname) + LOG_DOES_NOT_EXIST + logOnImage());
+            }
+            jsonObject = getAttibutes();
         }
         StringBuilder attributes = new StringBuilder();
-        JsonObject jsonObject = getAttibutes();
         attributes.append("Data Set Name=");
         attributes.append(emptyStringWhenNull(jsonObject, PROP_DSNAME));
         attributes.append(COMMA);
@@ -823,6 +872,10 @@ public class ZosDatasetImpl implements IZosDataset {
     }
 
     protected JsonObject getAttibutes() throws ZosDatasetException {
+        JsonObject cachedAttributes = ZosDatasetAttributesCache.get(this.image.getImageID(), this.dsname, ZosDatasetAttributesCache.SOURCE_ZOSMF, this.attributesCacheTtl);
+        if (cachedAttributes != null) {
+            return cachedAttributes;
+        }
         if (!exists()) {
             throw new ZosDatasetException(LOG_DATA_SET + quoted(this.dsname) + LOG_DOES_NOT_EXIST + logOnImage());
         }
@@ -864,6 +917,9 @@ public class ZosDatasetImpl implements IZosDataset {
             throw new ZosDatasetException(displayMessage);
         }
         logger.trace("Attibutes of data set " + quoted(this.dsname) + "  retrieved from  image " + this.image.getImageID());
+        if (this.attributesCacheTtl > 0) {
+            ZosDatasetAttributesCache.put(this.image.getImageID(), this.dsname, ZosDatasetAttributesCache.SOURCE_ZOSMF, attributes);
+        }
         
         return attributes;
     }
@@ -951,28 +1007,28 @@ public class ZosDatasetImpl implements IZosDataset {
     }
 
     protected Object retrieve(String memberName) throws ZosDatasetException {
-      Map<String, String> headers = new HashMap<>();
-      String dType = this.dataType.toString();
-      headers.put(ZosmfCustomHeaders.X_IBM_DATA_TYPE.toString(), dType);
-      String urlPath = RESTFILES_DATASET_PATH + SLASH + joinDSN(memberName);
-      IZosmfResponse response;
-      if ("binary".equals(dType)) {
-            this.convert = false;
-        }
-        try {
-            response = this.zosmfApiProcessor.sendRequest(ZosmfRequestType.GET, urlPath, headers, null,
-                    new ArrayList<>(Arrays.asList(HttpStatus.SC_OK, HttpStatus.SC_BAD_REQUEST, HttpStatus.SC_NOT_FOUND, HttpStatus.SC_INTERNAL_SERVER_ERROR)), this.convert);
-        } catch (ZosmfException e) {
-            throw new ZosDatasetException(e);
+        CachedContent cachedContent = null;
+        if (this.contentCache) {
+            cachedContent = ZosDatasetContentCache.get(contentCacheKey(memberName));
+            if (cachedContent != null && cachedContent.getContent() == null) {
+                cachedContent = null;
+            }
         }
+        IZosmfResponse response = sendRetrieveRequest(memberName, cachedContent != null ? cachedContent.getEtag() : null);
   
         Object content;
-        if (response.getStatusCode() == HttpStatus.SC_OK) {
+        if (response.getStatusCode() == HttpStatus.SC_NOT_MODIFIED) {
+            logger.trace("Content of data set " + quoted(joinDSN(memberName)) + " unchanged" + logOnImage() + ", using cached content");
+            return cachedContentCopy(cachedContent);
+        } else if (response.getStatusCode() == HttpStatus.SC_OK) {
             try {
                 content = response.getContent();
             } catch (ZosmfException e) {
                 throw new ZosDatasetException("Unable to retrieve content of data set " + quoted(joinDSN(memberName)) + logOnImage(), e);
             }
+            if (this.contentCache) {
+                content = cacheRetrievedContent(memberName, content, response.getHeader(HttpHeaders.ETAG));
+            }
         } else {            
             JsonObject responseBody;
             try {
@@ -991,6 +1047,107 @@ public class ZosDatasetImpl implements IZosDataset {
         return content;
     }
 
+    /**
+     * Send the request to retrieve the content of the data set or member
+     * @param memberName the member name, or null
+     * @param etag when not null, the {@code ETag} of the cached content. zOS/MF returns {@code 304 Not Modified} rather than the 
+     * content if it is unchanged 
+     * @return the response
+     * @throws ZosDatasetException
+     */
+    protected IZosmfResponse sendRetrieveRequest(String memberName, String etag) throws ZosDatasetException {
+        Map<String, String> headers = new HashMap<>();
+        String dType = this.dataType.toString();
+        headers.put(ZosmfCustomHeaders.X_IBM_DATA_TYPE.toString(), dType);
+        if (etag != null) {
+            headers.put(HttpHeaders.IF_NONE_MATCH, etag);
+        }
+        String urlPath = RESTFILES_DATASET_PATH + SLASH + joinDSN(memberName);
+        if ("binary".equals(dType)) {
+            this.convert = false;
+        }
+        try {
+            return this.zosmfApiProcessor.sendRequest(ZosmfRequestType.GET, urlPath, headers, null,
+                    new ArrayList<>(Arrays.asList(HttpStatus.SC_OK, HttpStatus.SC_NOT_MODIFIED, HttpStatus.SC_BAD_REQUEST, HttpStatus.SC_NOT_FOUND, HttpStatus.SC_INTERNAL_SERVER_ERROR)), this.convert);
+        } catch (ZosmfException e) {
+            throw new ZosDatasetException(e);
+        }
+    }
+
+    /**
+     * Cache content just retrieved from the image. Binary content is read into memory so it can be cached
+     * @param memberName the member name, or null
+     * @param content the retrieved content
+     * @param etag the {@code ETag} returned with the content
+     * @return the content, to be used in place of the content supplied
+     * @throws ZosDatasetException
+     */
+    protected Object cacheRetrievedContent(String memberName, Object content, String etag) throws ZosDatasetException {
+        String cacheKey = contentCacheKey(memberName);
+        if (etag == null) {
+            ZosDatasetContentCache.invalidate(cacheKey);
+            return content;
+        }
+        Object cacheableContent = content;
+        if (content instanceof InputStream) {
+            cacheableContent = inputStreamToByteArray((InputStream) content);
+            content = new ByteArrayInputStream((byte[]) cacheableContent);
+        }
+        if (cacheableContent instanceof String || cacheableContent instanceof byte[]) {
+            ZosDatasetContentCache.put(cacheKey, ZosDatasetContentCache.digest(cacheableContent), etag, cacheableContent);
+        } else {
+            ZosDatasetContentCache.invalidate(cacheKey);
+        }
+        return content;
+    }
+
+    /**
+     * Return the cached content in the form {@link #retrieve(String)} would have returned it
+     * @param cachedContent
+     * @return the content
+     */
+    protected Object cachedContentCopy(CachedContent cachedContent) {
+        if (cachedContent.getContent() instanceof byte[]) {
+            return new ByteArrayInputStream((byte[]) cachedContent.getContent());
+        }
+        return cachedContent.getContent();
+    }
+
+    /**
+     * Is the content already on the image. When the digest matches the content last written or read, the {@code ETag}
+     * recorded with it is confirmed with a conditional request
+     * @param memberName the member name, or null
+     * @param digest the digest of the content to be written
+     * @return true if the content need not be written
+     * @throws ZosDatasetException
+     */
+    protected boolean contentUnchanged(String memberName, String digest) throws ZosDatasetException {
+        CachedContent cachedContent = ZosDatasetContentCache.get(contentCacheKey(memberName));
+        if (cachedContent == null || !digest.equals(cachedContent.getDigest())) {
+            return false;
+        }
+        IZosmfResponse response = sendRetrieveRequest(memberName, cachedContent.getEtag());
+        if (response.getStatusCode() == HttpStatus.SC_NOT_MODIFIED) {
+            return true;
+        }
+        if (response.getStatusCode() == HttpStatus.SC_OK) {
+            // The content has changed on the image since it was cached, but may still match
+            try {
+                cacheRetrievedContent(memberName, response.getContent(), response.getHeader(HttpHeaders.ETAG));
+            } catch (ZosmfException e) {
+                throw new ZosDatasetException("Unable to retrieve content of data set " + quoted(joinDSN(memberName)) + logOnImage(), e);
+            }
+            CachedContent retrievedContent = ZosDatasetContentCache.get(contentCacheKey(memberName));
+            return retrievedContent != null && digest.equals(retrievedContent.getDigest());
+        }
+        ZosDatasetContentCache.invalidate(contentCacheKey(memberName));
+        return false;
+    }
+
+    protected String contentCacheKey(String memberName) {
+        return ZosDatasetContentCache.key(this.image.getImageID(), this.dsname, memberName, getDataType().toString());
+    }
+
     protected byte[] inputStreamToByteArray(InputStream in) throws ZosDatasetException {
         ByteArrayOutputStream out = new ByteArrayOutputStream();
         byte[] buffer = new byte[2048];
@@ -1011,6 +1168,14 @@ public class ZosDatasetImpl implements IZosDataset {
         if (!exists()) {
             throw new ZosDatasetException(LOG_DATA_SET + quoted(this.dsname) + LOG_DOES_NOT_EXIST + logOnImage());
         }
+        String digest = null;
+        if (this.contentCache) {
+            digest = ZosDatasetContentCache.digest(content);
+            if (contentUnchanged(memberName, digest)) {
+                logger.trace(LOG_DATA_SET + quoted(joinDSN(memberName)) + " unchanged" + logOnImage());
+                return;
+            }
+        }
         Map<String, String> headers = new HashMap<>();
         headers.put(ZosmfCustomHeaders.X_IBM_DATA_TYPE.toString(), getDataType().toString());
     
@@ -1036,6 +1201,11 @@ public class ZosDatasetImpl implements IZosDataset {
             logger.error(displayMessage);
             throw new ZosDatasetException(displayMessage);
         }
+        ZosDatasetAttributesCache.invalidate(this.image.getImageID(), this.dsname);
+        if (this.contentCache) {
+            // Only the digest is kept, as the content returned by a later read may not be identical to the content written
+            ZosDatasetContentCache.put(contentCacheKey(memberName), digest, response.getHeader(HttpHeaders.ETAG), null);
+        }
     
         logger.trace(LOG_DATA_SET + quoted(joinDSN(memberName)) + " updated" + logOnImage());
     }
@@ -1059,6 +1229,14 @@ public class ZosDatasetImpl implements IZosDataset {
         if (!exists()) {
             throw new ZosDatasetException(LOG_DATA_SET + quoted(this.dsname) + LOG_DOES_NOT_EXIST + logOnImage());
         }
+        String digest = null;
+        if (this.contentCache) {
+            digest = ZosDatasetContentCache.digest(content);
+            if (contentUnchanged(memberName, digest)) {
+                logger.trace(LOG_DATA_SET + quoted(joinDSN(memberName)) + " unchanged" + logOnImage());
+                return;
+            }
+        }
         Map<String, String> headers = new HashMap<>();
         headers.put(ZosmfCustomHeaders.X_IBM_DATA_TYPE.toString(), getDataType().toString());
     
@@ -1084,6 +1262,11 @@ public class ZosDatasetImpl implements IZosDataset {
             logger.error(displayMessage);
             throw new ZosDatasetException(displayMessage);
         }
+        ZosDatasetAttributesCache.invalidate(this.image.getImageID(), this.dsname);
+        if (this.contentCache) {
+            // Only the digest is kept, as the content returned by a later read may not be identical to the content written
+            ZosDatasetContentCache.put(contentCacheKey(memberName), digest, response.getHeader(HttpHeaders.ETAG), null);
+        }
     
         logger.trace(LOG_DATA_SET + quoted(joinDSN(memberName)) + " updated" + logOnImage());
     }
@@ -1144,24 +1327,18 @@ public class ZosDatasetImpl implements IZosDataset {
         return requestBody;
     }
 
-    protected boolean getMembers(JsonObject responseBody) {
+    protected boolean getMembers(MemberList memberList) {
         boolean moreRows = false;
     
-        int returnedRowsValue = responseBody.get(PROP_RETURNED_ROWS).getAsInt();
+        int returnedRowsValue = memberList.returnedRows;
         if (returnedRowsValue > 0) {
-            JsonElement moreRowselement = responseBody.get(PROP_MORE_ROWS);
-            if (moreRowselement != null) {
-                moreRows = moreRowselement.getAsBoolean();
-            } else {
-                moreRows = false;
-            }
-            JsonArray items = responseBody.getAsJsonArray(PROP_ITEMS);            
+            moreRows = memberList.moreRows;
             for (int i = 0; i < returnedRowsValue; i++) {
-                JsonObject item = items.get(i).getAsJsonObject();
+                String memberName = memberList.items.get(i).member;
                 if (moreRows && i == returnedRowsValue-1) {
-                    this.memberStart = item.get(PROP_MEMBER).getAsString();
+                    this.memberStart = memberName;
                 }
-                this.datasetMembers.add(item.get(PROP_MEMBER).getAsString());
+                this.datasetMembers.add(memberName);
             }
         }
         return moreRows;
@@ -1246,6 +1423,10 @@ public class ZosDatasetImpl implements IZosDataset {
         return " on image " + this.image.getImageID();
     }
     
+    protected IZosImage getImage() {
+        return this.image;
+    }
+    
     @Override
     public String toString() {
         return this.dsname;
@@ -7,7 +7,12 @@ package dev.galasa.zosfile.zosmf.manager.internal;
 
 import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import com.google.gson.JsonObject;
 
 import dev.galasa.zos.IZosImage;
 import dev.galasa.zosfile.IZosDataset;
@@ -61,6 +66,32 @@ public class ZosFileHandlerImpl implements IZosFileHandler {
         this.zosVsamDatasets.add(zosVsamDataset);
         return zosVsamDataset;
     }
+
+    @Override
+    public void retrieveAttibutes(List<IZosDataset> datasets) throws ZosDatasetException {
+        Map<String, List<ZosDatasetImpl>> datasetsByImage = new LinkedHashMap<>();
+        for (IZosDataset dataset : datasets) {
+            if (!(dataset instanceof ZosDatasetImpl)) {
+                throw new ZosDatasetException("Unable to retrieve attibutes of data set " + dataset.getName() + ". Invalid data set object type: " + dataset.getClass().getName());
+            }
+            ZosDatasetImpl zosDataset = (ZosDatasetImpl) dataset;
+            datasetsByImage.computeIfAbsent(zosDataset.getImage().getImageID(), imageId -> new ArrayList<>()).add(zosDataset);
+        }
+        
+        for (List<ZosDatasetImpl> imageDatasets : datasetsByImage.values()) {
+            List<String> dsnames = imageDatasets.stream().map(ZosDatasetImpl::getName).distinct().collect(Collectors.toList());
+            Map<String, JsonObject> attributes = newZosDatasetAttributesListdsi(imageDatasets.get(0).getImage()).get(dsnames);
+            for (ZosDatasetImpl zosDataset : imageDatasets) {
+                JsonObject datasetAttributes = attributes.get(zosDataset.getName());
+                zosDataset.cacheListdsiAttributes(datasetAttributes);
+                zosDataset.setListdsiAttributes(datasetAttributes);
+            }
+        }
+    }
+    
+    protected ZosDatasetAttributesListdsi newZosDatasetAttributesListdsi(IZosImage image) {
+        return new ZosDatasetAttributesListdsi(image);
+    }
     
     public void cleanup(boolean testComplete) throws ZosFileManagerException {
         cleanupDatasets(testComplete);
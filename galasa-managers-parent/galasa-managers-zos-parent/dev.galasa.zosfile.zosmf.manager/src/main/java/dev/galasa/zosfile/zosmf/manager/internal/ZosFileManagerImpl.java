@@ -24,6 +24,7 @@ import dev.galasa.ManagerException;
 import dev.galasa.framework.spi.AbstractManager;
 import dev.galasa.framework.spi.AnnotatedField;
 import dev.galasa.framework.spi.ConfigurationPropertyStoreException;
+import dev.galasa.framework.spi.DynamicStatusStoreException;
 import dev.galasa.framework.spi.GenerateAnnotatedField;
 import dev.galasa.framework.spi.IFramework;
 import dev.galasa.framework.spi.IManager;
@@ -127,7 +128,8 @@ public class ZosFileManagerImpl extends AbstractManager implements IZosFileSpi {
         super.initialise(framework, allManagers, activeManagers, galasaTest);
         try {
             ZosFileZosmfPropertiesSingleton.setCps(framework.getConfigurationPropertyService(NAMESPACE));
-        } catch (ConfigurationPropertyStoreException e) {
+            ZosDatasetContentCache.setDss(framework.getDynamicStatusStoreService(NAMESPACE));
+        } catch (ConfigurationPropertyStoreException | DynamicStatusStoreException e) {
             throw new ZosFileManagerException("Unable to request framework services", e);
         }
 
@@ -0,0 +1,59 @@
+/*
+ * Licensed Materials - Property of IBM
+ * 
+ * (c) Copyright IBM Corp. 2020.
+ */
+package dev.galasa.zosfile.zosmf.manager.internal;
+
+import java.util.concurrent.TimeUnit;
+
+import org.osgi.service.component.annotations.Component;
+
+import dev.galasa.framework.spi.IDynamicStatusStoreService;
+import dev.galasa.framework.spi.IFramework;
+import dev.galasa.framework.spi.IResourceManagement;
+import dev.galasa.framework.spi.IResourceManagementProvider;
+import dev.galasa.framework.spi.ResourceManagerException;
+
+@Component(service= {IResourceManagementProvider.class})
+public class ZosFileResourceManagement implements IResourceManagementProvider {
+
+    private IFramework                     framework;
+    private IResourceManagement            resourceManagement;
+    private IDynamicStatusStoreService     dss;
+
+    private DatasetContentCacheMonitor     datasetContentCacheMonitor;
+
+    @Override
+    public boolean initialise(IFramework framework, IResourceManagement resourceManagement) throws ResourceManagerException {
+        this.framework = framework;
+        this.resourceManagement = resourceManagement;
+        try {
+            this.dss = this.framework.getDynamicStatusStoreService(ZosFileManagerImpl.NAMESPACE);
+        } catch (Exception e) {
+            throw new ResourceManagerException("Unable to initialise zOS File resource monitor", e);
+        }
+
+        datasetContentCacheMonitor = new DatasetContentCacheMonitor(resourceManagement, dss);
+
+        return true;
+    }
+
+    @Override
+    public void start() {
+        this.resourceManagement.getScheduledExecutorService().scheduleWithFixedDelay(datasetContentCacheMonitor, 
+                this.framework.getRandom().nextInt(60),
+                3600, 
+                TimeUnit.SECONDS);
+    }
+
+    @Override
+    public void shutdown() {
+    }
+
+    @Override
+    public void runFinishedOrDeleted(String runName) {
+        // The data set content cache is not owned by a run
+    }
+
+}
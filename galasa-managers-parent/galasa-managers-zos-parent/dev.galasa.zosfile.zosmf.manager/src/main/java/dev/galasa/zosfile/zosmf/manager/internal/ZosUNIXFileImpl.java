@@ -6,6 +6,7 @@
 package dev.galasa.zosfile.zosmf.manager.internal;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.text.SimpleDateFormat;
@@ -13,12 +14,22 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.SortedMap;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import javax.validation.constraints.NotEmpty;
 
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+import org.apache.commons.compress.utils.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -33,8 +44,12 @@ import dev.galasa.zos.IZosImage;
 import dev.galasa.zosfile.IZosUNIXFile;
 import dev.galasa.zosfile.ZosFileManagerException;
 import dev.galasa.zosfile.ZosUNIXFileException;
+import dev.galasa.zosfile.zosmf.manager.internal.json.UnixFile;
+import dev.galasa.zosfile.zosmf.manager.internal.json.UnixFileList;
 import dev.galasa.zosfile.zosmf.manager.internal.properties.DirectoryListMaxItems;
 import dev.galasa.zosfile.zosmf.manager.internal.properties.RestrictZosmfToImage;
+import dev.galasa.zosfile.zosmf.manager.internal.properties.UnixArchiveThreads;
+import dev.galasa.zosfile.zosmf.manager.internal.properties.UnixBulkArchive;
 import dev.galasa.zosfile.zosmf.manager.internal.properties.UnixFilePermissions;
 import dev.galasa.zosmf.IZosmf.ZosmfCustomHeaders;
 import dev.galasa.zosmf.IZosmf.ZosmfRequestType;
@@ -42,6 +57,9 @@ import dev.galasa.zosmf.IZosmfResponse;
 import dev.galasa.zosmf.IZosmfRestApiProcessor;
 import dev.galasa.zosmf.ZosmfException;
 import dev.galasa.zosmf.ZosmfManagerException;
+import dev.galasa.zosunixcommand.IZosUNIXCommand;
+import dev.galasa.zosunixcommand.ZosUNIXCommandException;
+import dev.galasa.zosunixcommand.ZosUNIXCommandManagerException;
 
 public class ZosUNIXFileImpl implements IZosUNIXFile {
     
@@ -71,11 +89,13 @@ public class ZosUNIXFileImpl implements IZosUNIXFile {
     private UNIXFileDataType dataType;
 
     private int maxItems;
+    
+    private boolean bulkArchive;
+    
+    private int archiveThreads;
 
     private static final String PROP_TYPE = "type";
     private static final String PROP_MODE = "mode";
-    private static final String PROP_RETURNED_ROWS = "returnedRows";
-    private static final String PROP_TOTAL_ROWS = "totalRows";
     private static final String PROP_ITEMS = "items";
     private static final String PROP_NAME = "name";    
     private static final String PROP_SIZE = "size";
@@ -94,6 +114,10 @@ public class ZosUNIXFileImpl implements IZosUNIXFile {
     private static final String TYPE_FIFO = "FIFO";
     private static final String TYPE_SOCKET = "socket";
     private static final String TYPE_UNKNOWN = "UNKNOWN";
+    
+    private static final String ARCHIVE_DIRECTORY = SLASH + "tmp" + SLASH;
+    private static final String ARCHIVE_SUFFIX = ".pax";
+    private static final String ARCHIVE_TEXT_CONVERSION = " -o from=IBM-1047,to=ISO8859-1";
 
     private static final String LOG_UNIX_PATH = "UNIX path ";
     private static final String LOG_LISTING = "listing";
@@ -119,6 +143,8 @@ public class ZosUNIXFileImpl implements IZosUNIXFile {
             this.zosmfApiProcessor = ZosFileManagerImpl.zosmfManager.newZosmfRestApiProcessor(this.image, RestrictZosmfToImage.get(image.getImageID()));
             this.maxItems = DirectoryListMaxItems.get(image.getImageID());
             this.mode = UnixFilePermissions.get(this.image.getImageID());
+            this.bulkArchive = UnixBulkArchive.get(this.image.getImageID());
+            this.archiveThreads = UnixArchiveThreads.get(this.image.getImageID());
         } catch (ZosFileManagerException | ZosmfManagerException e) {
             throw new ZosUNIXFileException(e);
         }
@@ -499,12 +525,17 @@ public class ZosUNIXFileImpl implements IZosUNIXFile {
 
 
     protected String retrieve(String path) throws ZosUNIXFileException {
+        return retrieve(path, this.zosmfApiProcessor);
+    }
+
+
+    protected String retrieve(String path, IZosmfRestApiProcessor apiProcessor) throws ZosUNIXFileException {
         Map<String, String> headers = new HashMap<>();
         headers.put(ZosmfCustomHeaders.X_IBM_DATA_TYPE.toString(), getDataType().toString());
         String urlPath = RESTFILES_FILE_SYSTEM_PATH + path;
         IZosmfResponse response;
         try {
-            response = this.zosmfApiProcessor.sendRequest(ZosmfRequestType.GET, urlPath, headers, null,
+            response = apiProcessor.sendRequest(ZosmfRequestType.GET, urlPath, headers, null,
                     new ArrayList<>(Arrays.asList(HttpStatus.SC_OK, HttpStatus.SC_BAD_REQUEST, HttpStatus.SC_INTERNAL_SERVER_ERROR)), true);
         } catch (ZosmfException e) {
             throw new ZosUNIXFileException(e);
@@ -542,18 +573,15 @@ public class ZosUNIXFileImpl implements IZosUNIXFile {
             throw new ZosUNIXFileException(LOG_UNIX_PATH + quoted(path) + LOG_DOES_NOT_EXIST + logOnImage());
         }
         if (isDirectory(path)) {
-            Map<String, String> paths = listDirectory(path, true);
-            for (Map.Entry<String,String> entry : paths.entrySet()) {
-                String entryPath = entry.getKey();
-                String entryType = entry.getValue();
-                if (entryType.equals(TYPE_FILE)) {
-                    String archiveLocation = storeArtifact(retrieve(entryPath), false, StringUtils.stripStart(entryPath, SLASH).split(SLASH));
-                    logger.info(quoted(entryPath) + LOG_ARCHIVED_TO + archiveLocation);
-                } else if (entryType.equals(TYPE_DIRECTORY)) {
-                    String archiveLocation = storeArtifact(null, true, StringUtils.stripStart(entryPath, SLASH).split(SLASH));
-                    logger.info(quoted(entryPath) + LOG_ARCHIVED_TO + archiveLocation);
+            if (this.bulkArchive) {
+                try {
+                    saveDirectoryToResultsArchiveBulk(path);
+                    return;
+                } catch (ZosUNIXFileException e) {
+                    logger.warn("Unable to archive " + LOG_UNIX_PATH + quoted(path) + " in bulk" + logOnImage() + ", archiving each file in turn", e);
                 }
             }
+            saveDirectoryToResultsArchive(path);
         } else {
             String archiveLocation = storeArtifact(retrieve(path), false, this.unixPath);
             logger.info(quoted(this.unixPath) + LOG_ARCHIVED_TO + archiveLocation);
@@ -561,6 +589,160 @@ public class ZosUNIXFileImpl implements IZosUNIXFile {
     }
 
 
+    protected void saveDirectoryToResultsArchive(String path) throws ZosUNIXFileException {
+        Map<String, String> paths = listDirectory(path, true);
+        Queue<String> files = new ConcurrentLinkedQueue<>();
+        for (Map.Entry<String,String> entry : paths.entrySet()) {
+            String entryPath = entry.getKey();
+            String entryType = entry.getValue();
+            if (entryType.equals(TYPE_FILE)) {
+                files.add(entryPath);
+            } else if (entryType.equals(TYPE_DIRECTORY)) {
+                String archiveLocation = storeArtifact(null, true, StringUtils.stripStart(entryPath, SLASH).split(SLASH));
+                logger.info(quoted(entryPath) + LOG_ARCHIVED_TO + archiveLocation);
+            }
+        }
+        
+        int threads = Math.min(this.archiveThreads, files.size());
+        if (threads <= 1) {
+            for (String entryPath : files) {
+                String archiveLocation = storeArtifact(retrieve(entryPath), false, StringUtils.stripStart(entryPath, SLASH).split(SLASH));
+                logger.info(quoted(entryPath) + LOG_ARCHIVED_TO + archiveLocation);
+            }
+            return;
+        }
+        
+        // Each worker has its own zOSMF connections and takes the next file from the shared queue
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<Void>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < threads; i++) {
+                IZosmfRestApiProcessor apiProcessor = newDedicatedZosmfApiProcessor();
+                futures.add(executor.submit(() -> {
+                    String entryPath;
+                    while ((entryPath = files.poll()) != null) {
+                        String archiveLocation = storeArtifact(retrieve(entryPath, apiProcessor), false, StringUtils.stripStart(entryPath, SLASH).split(SLASH));
+                        logger.info(quoted(entryPath) + LOG_ARCHIVED_TO + archiveLocation);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            files.clear();
+            throw new ZosUNIXFileException("Unable to archive " + LOG_UNIX_PATH + quoted(path) + logOnImage(), e.getCause());
+        } catch (InterruptedException e) {
+            files.clear();
+            Thread.currentThread().interrupt();
+            throw new ZosUNIXFileException("Interrupted archiving " + LOG_UNIX_PATH + quoted(path) + logOnImage(), e);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+
+    protected void saveDirectoryToResultsArchiveBulk(String path) throws ZosUNIXFileException {
+        String directory = StringUtils.stripEnd(path, SLASH);
+        int index = directory.lastIndexOf(SLASH);
+        String parent = index == 0 ? SLASH : directory.substring(0, index);
+        String name = directory.substring(index + 1);
+        String archivePath = ARCHIVE_DIRECTORY + ZosFileManagerImpl.getRunId() + "." + new SimpleDateFormat("yyyyMMddHHmmssSSS").format(new Date()) + ARCHIVE_SUFFIX;
+        
+        IZosUNIXCommand unixCommand;
+        try {
+            unixCommand = ZosFileManagerImpl.zosUnixCommandManager.getZosUNIXCommand(this.image);
+        } catch (ZosUNIXCommandManagerException e) {
+            throw new ZosUNIXFileException("Unable to get zOS UNIX command instance" + logOnImage(), e);
+        }
+        
+        String conversion = getDataType() == UNIXFileDataType.TEXT ? ARCHIVE_TEXT_CONVERSION : "";
+        String command = "cd " + shellQuoted(parent) + " && pax -w -x pax" + conversion + " -f " + shellQuoted(archivePath) + " " + shellQuoted(name) + ";echo RC=$?";
+        String response;
+        try {
+            response = unixCommand.issueCommand(command);
+        } catch (ZosUNIXCommandException e) {
+            throw new ZosUNIXFileException("Problem issuing zOS UNIX command", e);
+        }
+        try {
+            if (response == null || !response.trim().endsWith("RC=0")) {
+                throw new ZosUNIXFileException("Unable to create archive of " + LOG_UNIX_PATH + quoted(path) + logOnImage() + ": " + response);
+            }
+            unpackArchive(retrieveArchive(archivePath), parent);
+        } finally {
+            try {
+                unixCommand.issueCommand("rm -f " + shellQuoted(archivePath));
+            } catch (ZosUNIXCommandException e) {
+                logger.warn("Unable to delete archive " + quoted(archivePath) + logOnImage(), e);
+            }
+        }
+    }
+
+
+    protected InputStream retrieveArchive(String archivePath) throws ZosUNIXFileException {
+        Map<String, String> headers = new HashMap<>();
+        headers.put(ZosmfCustomHeaders.X_IBM_DATA_TYPE.toString(), UNIXFileDataType.BINARY.toString());
+        String urlPath = RESTFILES_FILE_SYSTEM_PATH + archivePath;
+        IZosmfResponse response;
+        try {
+            response = this.zosmfApiProcessor.sendRequest(ZosmfRequestType.GET, urlPath, headers, null,
+                    new ArrayList<>(Arrays.asList(HttpStatus.SC_OK, HttpStatus.SC_BAD_REQUEST, HttpStatus.SC_INTERNAL_SERVER_ERROR)), false);
+        } catch (ZosmfException e) {
+            throw new ZosUNIXFileException(e);
+        }
+        
+        try {
+            if (response.getStatusCode() == HttpStatus.SC_OK) {
+                Object content = response.getContent();
+                if (!(content instanceof InputStream)) {
+                    throw new ZosUNIXFileException("Unable to retrieve archive " + quoted(archivePath) + logOnImage() + ". Invalid content object type: " + content.getClass().getName());
+                }
+                return (InputStream) content;
+            }
+            JsonObject responseBody = response.getJsonContent();
+            logger.trace(responseBody);
+            // Error case - BAD_REQUEST or INTERNAL_SERVER_ERROR
+            String displayMessage = buildErrorString(LOG_READING_FROM, responseBody, archivePath); 
+            logger.error(displayMessage);
+            throw new ZosUNIXFileException(displayMessage);
+        } catch (ZosmfException e) {
+            throw new ZosUNIXFileException("Unable to retrieve archive " + quoted(archivePath) + logOnImage(), e);
+        }
+    }
+
+
+    protected void unpackArchive(InputStream archive, String parent) throws ZosUNIXFileException {
+        String root = parent.endsWith(SLASH) ? parent : parent + SLASH;
+        try (TarArchiveInputStream archiveStream = new TarArchiveInputStream(archive)) {
+            TarArchiveEntry entry;
+            while ((entry = archiveStream.getNextTarEntry()) != null) {
+                String entryPath = root + StringUtils.stripEnd(entry.getName(), SLASH);
+                String archiveLocation;
+                if (entry.isDirectory()) {
+                    archiveLocation = storeArtifact(null, true, StringUtils.stripStart(entryPath, SLASH).split(SLASH));
+                } else if (entry.isFile()) {
+                    archiveLocation = storeArtifact(IOUtils.toByteArray(archiveStream), false, StringUtils.stripStart(entryPath, SLASH).split(SLASH));
+                } else {
+                    continue;
+                }
+                logger.info(quoted(entryPath) + LOG_ARCHIVED_TO + archiveLocation);
+            }
+        } catch (IOException e) {
+            throw new ZosUNIXFileException("Unable to unpack archive of " + LOG_UNIX_PATH + quoted(parent) + logOnImage(), e);
+        }
+    }
+
+
+    protected IZosmfRestApiProcessor newDedicatedZosmfApiProcessor() throws ZosUNIXFileException {
+        try {
+            return ZosFileManagerImpl.zosmfManager.newDedicatedZosmfRestApiProcessor(this.image, RestrictZosmfToImage.get(this.image.getImageID()));
+        } catch (ZosFileManagerException | ZosmfManagerException e) {
+            throw new ZosUNIXFileException(e);
+        }
+    }
+
+
     protected boolean isDirectory(String path) throws ZosUNIXFileException {
         if (path.equals(this.unixPath) && !exists(path)) {
             return this.type.equals(TYPE_DIRECTORY);
@@ -584,22 +766,29 @@ public class ZosUNIXFileImpl implements IZosUNIXFile {
         IZosmfResponse response;
         try {
             response = this.zosmfApiProcessor.sendRequest(ZosmfRequestType.GET, urlPath, headers, null,
-                    new ArrayList<>(Arrays.asList(HttpStatus.SC_OK, HttpStatus.SC_NOT_FOUND, HttpStatus.SC_BAD_REQUEST, HttpStatus.SC_INTERNAL_SERVER_ERROR)), true);
+                    new ArrayList<>(Arrays.asList(HttpStatus.SC_OK, HttpStatus.SC_NOT_FOUND, HttpStatus.SC_BAD_REQUEST, HttpStatus.SC_INTERNAL_SERVER_ERROR)), false);
         } catch (ZosmfException e) {
             throw new ZosUNIXFileException(e);
         }
             
-        JsonObject responseBody;
-        try {
-            responseBody = response.getJsonContent();
-        } catch (ZosmfException e) {
-            throw new ZosUNIXFileException(LOG_UNABLE_TO_LIST_UNIX_PATH + quoted(path) + logOnImage(), e);
-        }
-        
-        logger.trace(responseBody);
         if (response.getStatusCode() == HttpStatus.SC_OK) {
-            return getPaths(path, responseBody, recursive);
+            // Bind the list as it is read, rather than holding the response and a JSON tree of it
+            UnixFileList unixFileList;
+            try {
+                unixFileList = response.getJsonContent(UnixFileList.class);
+            } catch (ZosmfException e) {
+                throw new ZosUNIXFileException(LOG_UNABLE_TO_LIST_UNIX_PATH + quoted(path) + logOnImage(), e);
+            }
+            logger.trace(unixFileList.returnedRows + " files and directories returned");
+            return getPaths(path, unixFileList, recursive);
         } else {
+            JsonObject responseBody;
+            try {
+                responseBody = response.getJsonContent();
+            } catch (ZosmfException e) {
+                throw new ZosUNIXFileException(LOG_UNABLE_TO_LIST_UNIX_PATH + quoted(path) + logOnImage(), e);
+            }
+            logger.trace(responseBody);
             // Error case - BAD_REQUEST or INTERNAL_SERVER_ERROR
             String displayMessage = buildErrorString(LOG_LISTING, responseBody, path); 
             logger.error(displayMessage);
@@ -608,22 +797,21 @@ public class ZosUNIXFileImpl implements IZosUNIXFile {
     }
 
 
-    protected Map<String, String> getPaths(String root, JsonObject responseBody, boolean recursive) throws ZosUNIXFileException {
+    protected Map<String, String> getPaths(String root, UnixFileList unixFileList, boolean recursive) throws ZosUNIXFileException {
         if (!root.endsWith(SLASH)) {
             root = root + SLASH;
         }
-        int returnedRowsValue = responseBody.get(PROP_RETURNED_ROWS).getAsInt();
-        int totalRowsValue = responseBody.get(PROP_TOTAL_ROWS).getAsInt();
+        int returnedRowsValue = unixFileList.returnedRows;
+        int totalRowsValue = unixFileList.totalRows;
         if (totalRowsValue > returnedRowsValue) {
             throw new ZosUNIXFileException("The number of files and directories (" + totalRowsValue  + ") in UNIX path " + quoted(root) + " is greater than the maximum allowed rows (" + Integer.toString(this.maxItems) + ")");
         }
         SortedMap<String, String> paths = new TreeMap<>();
         if (returnedRowsValue > 0) {
-            JsonArray items = responseBody.getAsJsonArray(PROP_ITEMS);            
             for (int i = 0; i < returnedRowsValue; i++) {
-                JsonObject item = items.get(i).getAsJsonObject();
-                String path = root + item.get(PROP_NAME).getAsString();
-                String pathType = determineType(item.get(PROP_MODE).getAsString());
+                UnixFile item = unixFileList.items.get(i);
+                String path = root + item.name;
+                String pathType = determineType(item.mode);
                 if (!(path.endsWith("/.") || path.endsWith("/.."))) {
                     paths.put(path, pathType);
                     if (pathType.equals(TYPE_DIRECTORY)) {
@@ -693,6 +881,15 @@ public class ZosUNIXFileImpl implements IZosUNIXFile {
         return "\"" + name + "\"";
     }
 
+    /**
+     * Quote a value for the zOS UNIX shell, so that spaces and special characters in it are taken literally
+     * @param value the value
+     * @return the value in single quotes, with any single quotes in it escaped
+     */
+    protected String shellQuoted(String value) {
+        return "'" + value.replace("'", "'\\''") + "'";
+    }
+
     protected String logOnImage() {
         return " on image " + this.image.getImageID();
     }
@@ -12,6 +12,8 @@ import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
+import java.util.List;
+import java.util.regex.Pattern;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.logging.Log;
@@ -30,6 +32,7 @@ import dev.galasa.zosfile.IZosDataset.DatasetOrganization;
 import dev.galasa.zosfile.IZosDataset.RecordFormat;
 import dev.galasa.zosfile.IZosDataset.SpaceUnit;
 import dev.galasa.zosfile.IZosVSAMDataset;
+import dev.galasa.zosfile.IZosVSAMDatasetRecordIterator;
 import dev.galasa.zosfile.ZosDatasetException;
 import dev.galasa.zosfile.ZosFileManagerException;
 import dev.galasa.zosfile.ZosVSAMDatasetException;
@@ -147,8 +150,14 @@ public class ZosVSAMDatasetImpl implements IZosVSAMDataset {
     private int idcamsRc;
     
     private DatasetDataType dataType = DatasetDataType.TEXT;
+    
+    private ZosDatasetImpl recordDataset;
 
     private static int temporaryQualifierCounter = 0;
+    
+    protected static final int RECORD_BLOCK_SIZE = 1000;
+    
+    private static final Pattern HEX_KEY = Pattern.compile("[Xx]'[0-9A-Fa-f]+'");
 
     // Abbreviations used as parameters in the IDCAMS commands
     private static final String PARM_NAME = "NAME";
@@ -183,6 +192,7 @@ public class ZosVSAMDatasetImpl implements IZosVSAMDataset {
     private static final String LOG_DOES_NOT_EXIST = " does not exist";
     private static final String LOG_UNABLE_TO_DELETE_REPRO_DATASET = "Unable to delete IDCAMS REPRO temporary dataset";
     private static final String LOG_UNABLE_TO_RETRIEVE_CONTENT_FROM_REPRO_DATASET = "Unable to retrieve content from IDCAMS REPRO temporary dataset";
+    private static final String NO_RECORDS_PROCESSED = "NUMBER OF RECORDS PROCESSED WAS 0";
 
     private static final Log logger = LogFactory.getLog(ZosVSAMDatasetImpl.class);
 
@@ -251,6 +261,7 @@ public class ZosVSAMDatasetImpl implements IZosVSAMDataset {
         requestBody.add(PROP_INPUT, amsInput);
         
         idcamsRequest(requestBody);
+        deleteRecordDataset();
             
         if (exists()) {
             logger.info(LOG_VSAM_DATA_SET + quoted(this.name) + " not deleted" + logOnImage());
@@ -380,6 +391,34 @@ public class ZosVSAMDatasetImpl implements IZosVSAMDataset {
         return content;
     }
 
+    @Override
+    public String readByKey(String key) throws ZosVSAMDatasetException {
+        String keyLiteral = keyLiteral(key);
+        List<String> records = readRecords(keyLiteral, keyLiteral, 0, 1);
+        return records.isEmpty() ? null : records.get(0);
+    }
+
+    @Override
+    public List<String> readRange(String fromKey, String toKey) throws ZosVSAMDatasetException {
+        return readRecords(keyLiteral(fromKey), keyLiteral(toKey), 0, 0);
+    }
+
+    @Override
+    public List<String> readFirst(int count) throws ZosVSAMDatasetException {
+        if (count < 0) {
+            throw new ZosVSAMDatasetException("Invalid record count " + count);
+        }
+        if (count == 0) {
+            return new ArrayList<>();
+        }
+        return readRecords(null, null, 0, count);
+    }
+
+    @Override
+    public IZosVSAMDatasetRecordIterator recordIterator() throws ZosVSAMDatasetException {
+        return new RecordIterator();
+    }
+
     public void saveToResultsArchive() throws ZosVSAMDatasetException {
         try {
             if (exists()) {
@@ -794,6 +833,54 @@ public class ZosVSAMDatasetImpl implements IZosVSAMDataset {
         return "REPRO -\n  INDATASET(" + this.name + ") -\n  OUTDATASET(" + outDatasetName + ")";
     }
 
+    /**
+     * Get the IDCAMS form of a record key. A hexadecimal key, e.g. {@code X'C1C2C3'}, is used as it is, any other key
+     * is a character key
+     * @param key the record key
+     * @return the key for the IDCAMS {@code FROMKEY} and {@code TOKEY} parameters
+     */
+    protected static String keyLiteral(String key) {
+        if (HEX_KEY.matcher(key).matches()) {
+            return key;
+        }
+        return quotedKey(key);
+    }
+
+    /**
+     * Quote a character record key for IDCAMS, so that blanks, commas and parentheses in it are taken literally
+     * @param key the record key
+     * @return the key in single quotes, with any single quotes in it doubled
+     */
+    protected static String quotedKey(String key) {
+        return "'" + key.replace("'", "''") + "'";
+    }
+
+    /**
+     * Get the IDCAMS REPRO command to copy selected records to a data set
+     * @param outDatasetName the target data set
+     * @param fromKey the IDCAMS form of the key of the first record, or null
+     * @param toKey the IDCAMS form of the key of the last record, or null
+     * @param skip the number of records to skip, or 0
+     * @param count the maximum number of records to copy, or 0 for all
+     * @return the command
+     */
+    protected String getReproRecordsCommand(String outDatasetName, String fromKey, String toKey, long skip, long count) {
+        StringBuilder sb = new StringBuilder(getReproToCommand(outDatasetName));
+        if (fromKey != null) {
+            sb.append(" -\n  FROMKEY(" + fromKey + ")");
+        }
+        if (toKey != null) {
+            sb.append(" -\n  TOKEY(" + toKey + ")");
+        }
+        if (skip > 0) {
+            sb.append(" -\n  SKIP(" + skip + ")");
+        }
+        if (count > 0) {
+            sb.append(" -\n  COUNT(" + count + ")");
+        }
+        return sb.toString();
+    }
+
     @Override
     public String getReproFromCommand(String inDatasetName) {
         return "REPRO -\n  INDATASET(" + inDatasetName + ") -\n  OUTDATASET(" + this.name + ")";
@@ -871,6 +958,81 @@ public class ZosVSAMDatasetImpl implements IZosVSAMDataset {
         return reproDataset;
     }
 
+    /**
+     * Copy the selected records to the record data set with IDCAMS REPRO and retrieve them. The VSAM data set is not
+     * checked for existence first, IDCAMS reports the error if it does not exist
+     * @param fromKey the key of the first record, or null
+     * @param toKey the key of the last record, or null
+     * @param skip the number of records to skip, or 0
+     * @param count the maximum number of records to return, or 0 for all
+     * @return the records
+     * @throws ZosVSAMDatasetException
+     */
+    protected List<String> readRecords(String fromKey, String toKey, long skip, long count) throws ZosVSAMDatasetException {
+        ZosDatasetImpl toDataset = getRecordDataset();
+        
+        JsonArray amsInput = new JsonArray();
+        String[] items = getReproRecordsCommand(toDataset.getName(), fromKey, toKey, skip, count).split("\n");
+        for (String item : items ) {
+            amsInput.add(item);
+        }
+        JsonObject requestBody = new JsonObject();
+        requestBody.add(PROP_INPUT, amsInput);
+        
+        idcamsRequest(requestBody);
+        
+        if (this.idcamsRc > 4) {
+            throw new ZosVSAMDatasetException("IDCAMS REPRO failed for " + LOG_VSAM_DATA_SET + quoted(this.name) + logOnImage() + ". RC=" + this.idcamsRc + "\n" + this.idcamsOutput);
+        }
+        // The record data set is reused, so it must not be read when REPRO did not replace its content
+        if (this.idcamsOutput != null && this.idcamsOutput.contains(NO_RECORDS_PROCESSED)) {
+            return new ArrayList<>();
+        }
+        
+        String content;
+        try {
+            content = toDataset.retrieveAsText();
+        } catch (ZosDatasetException e) {
+            throw new ZosVSAMDatasetException(LOG_UNABLE_TO_RETRIEVE_CONTENT_FROM_REPRO_DATASET, e);
+        }
+        return splitRecords(content);
+    }
+
+    /**
+     * Return the temporary data set used to read records, creating it on first use. It is reused by every read
+     * @return the record data set
+     * @throws ZosVSAMDatasetException
+     */
+    protected ZosDatasetImpl getRecordDataset() throws ZosVSAMDatasetException {
+        if (this.recordDataset == null) {
+            this.recordDataset = createReproDataset(null);
+            this.recordDataset.setDataType(DatasetDataType.TEXT);
+        }
+        return this.recordDataset;
+    }
+
+    protected void deleteRecordDataset() {
+        if (this.recordDataset != null) {
+            try {
+                this.recordDataset.delete();
+            } catch (ZosDatasetException e) {
+                logger.warn(LOG_UNABLE_TO_DELETE_REPRO_DATASET, e);
+            }
+            this.recordDataset = null;
+        }
+    }
+
+    protected static List<String> splitRecords(String content) {
+        if (content == null || content.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<String> recordList = new ArrayList<>(Arrays.asList(content.split("\r?\n", -1)));
+        if (content.endsWith("\n")) {
+            recordList.remove(recordList.size()-1);
+        }
+        return recordList;
+    }
+
     protected static String temporaryLLQ() {
         return ZosFileManagerImpl.getRunId() + ".T" + StringUtils.leftPad(String.valueOf(++temporaryQualifierCounter), 4, "0");
     }
@@ -1141,4 +1303,71 @@ public class ZosVSAMDatasetImpl implements IZosVSAMDataset {
     public boolean retainToTestEnd() {
         return this.retainToTestEnd;
     }
+
+    /**
+     * Iterates over the records. The records of a KSDS are retrieved {@link #RECORD_BLOCK_SIZE} at a time, each block
+     * continuing from the key of the last record read, so every record is copied by REPRO once. The RBA or relative
+     * record number of an ESDS or RRDS record cannot be found from its text, so their records are retrieved with a
+     * single REPRO
+     */
+    protected class RecordIterator implements IZosVSAMDatasetRecordIterator {
+
+        private List<String> block = new ArrayList<>();
+        private int blockIndex;
+        private boolean lastBlock;
+        private int iteratorKeyOffset = -1;
+        private int iteratorKeyLength;
+        private String lastKey;
+
+        @Override
+        public boolean hasNext() throws ZosVSAMDatasetException {
+            if (this.blockIndex < this.block.size()) {
+                return true;
+            }
+            if (this.lastBlock) {
+                return false;
+            }
+            if (this.iteratorKeyOffset < 0) {
+                findKey();
+            }
+            if (this.iteratorKeyLength == 0) {
+                this.block = readRecords(null, null, 0, 0);
+                this.lastBlock = true;
+            } else {
+                // Skip the last record read, which is where FROMKEY positions
+                this.block = this.lastKey == null ? readRecords(null, null, 0, RECORD_BLOCK_SIZE) : readRecords(this.lastKey, null, 1, RECORD_BLOCK_SIZE);
+                this.lastBlock = this.block.size() < RECORD_BLOCK_SIZE;
+                if (!this.block.isEmpty()) {
+                    this.lastKey = keyOf(this.block.get(this.block.size() - 1));
+                }
+            }
+            this.blockIndex = 0;
+            return !this.block.isEmpty();
+        }
+
+        private void findKey() throws ZosVSAMDatasetException {
+            if (ZosVSAMDatasetImpl.this.keyLength > 0) {
+                this.iteratorKeyOffset = ZosVSAMDatasetImpl.this.keyOffset;
+                this.iteratorKeyLength = ZosVSAMDatasetImpl.this.keyLength;
+            } else {
+                this.iteratorKeyLength = Integer.parseInt(getValueFromListcat("KEYLEN"));
+                this.iteratorKeyOffset = this.iteratorKeyLength > 0 ? Integer.parseInt(getValueFromListcat("RKP")) : 0;
+            }
+        }
+
+        private String keyOf(String record) throws ZosVSAMDatasetException {
+            if (record.length() < this.iteratorKeyOffset + this.iteratorKeyLength) {
+                throw new ZosVSAMDatasetException("Unable to find the key of the last record read from " + LOG_VSAM_DATA_SET + quoted(ZosVSAMDatasetImpl.this.name));
+            }
+            return quotedKey(record.substring(this.iteratorKeyOffset, this.iteratorKeyOffset + this.iteratorKeyLength));
+        }
+
+        @Override
+        public String next() throws ZosVSAMDatasetException {
+            if (!hasNext()) {
+                throw new ZosVSAMDatasetException("No more records in " + LOG_VSAM_DATA_SET + quoted(ZosVSAMDatasetImpl.this.name));
+            }
+            return this.block.get(this.blockIndex++);
+        }
+    }
 }
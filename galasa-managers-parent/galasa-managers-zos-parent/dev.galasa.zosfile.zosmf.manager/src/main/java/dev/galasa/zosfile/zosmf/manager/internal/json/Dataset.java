@@ -0,0 +1,12 @@
+/*
+ * Licensed Materials - Property of IBM
+ * 
+ * (c) Copyright IBM Corp. 2020.
+ */
+package dev.galasa.zosfile.zosmf.manager.internal.json;
+
+public class Dataset {
+
+    public String dsname; // NOSONAR
+
+}
@@ -0,0 +1,19 @@
+/*
+ * Licensed Materials - Property of IBM
+ * 
+ * (c) Copyright IBM Corp. 2020.
+ */
+package dev.galasa.zosfile.zosmf.manager.internal.json;
+
+import java.util.List;
+
+/**
+ * The response to a zOS/MF data set list request
+ */
+public class DatasetList {
+
+    public int           returnedRows; // NOSONAR
+    public boolean       moreRows;     // NOSONAR
+    public List<Dataset> items;        // NOSONAR
+
+}
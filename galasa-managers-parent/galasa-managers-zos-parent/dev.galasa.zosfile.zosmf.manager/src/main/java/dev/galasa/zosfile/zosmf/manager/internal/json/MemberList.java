@@ -0,0 +1,19 @@
+/*
+ * Licensed Materials - Property of IBM
+ * 
+ * (c) Copyright IBM Corp. 2020.
+ */
+package dev.galasa.zosfile.zosmf.manager.internal.json;
+
+import java.util.List;
+
+/**
+ * The response to a zOS/MF member list request
+ */
+public class MemberList {
+
+    public int          returnedRows; // NOSONAR
+    public boolean      moreRows;     // NOSONAR
+    public List<Member> items;        // NOSONAR
+
+}
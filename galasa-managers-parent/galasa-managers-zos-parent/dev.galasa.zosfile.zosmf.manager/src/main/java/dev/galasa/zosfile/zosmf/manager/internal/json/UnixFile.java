@@ -0,0 +1,13 @@
+/*
+ * Licensed Materials - Property of IBM
+ * 
+ * (c) Copyright IBM Corp. 2020.
+ */
+package dev.galasa.zosfile.zosmf.manager.internal.json;
+
+public class UnixFile {
+
+    public String name; // NOSONAR
+    public String mode; // NOSONAR
+
+}
@@ -0,0 +1,19 @@
+/*
+ * Licensed Materials - Property of IBM
+ * 
+ * (c) Copyright IBM Corp. 2020.
+ */
+package dev.galasa.zosfile.zosmf.manager.internal.json;
+
+import java.util.List;
+
+/**
+ * The response to a zOS/MF UNIX file list request
+ */
+public class UnixFileList {
+
+    public int            returnedRows; // NOSONAR
+    public int            totalRows;    // NOSONAR
+    public List<UnixFile> items;        // NOSONAR
+
+}
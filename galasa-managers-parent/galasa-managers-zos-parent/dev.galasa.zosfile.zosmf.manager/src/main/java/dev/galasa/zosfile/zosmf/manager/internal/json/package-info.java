@@ -0,0 +1,9 @@
+/*
+ * Licensed Materials - Property of IBM
+ * 
+ * (c) Copyright IBM Corp. 2020.
+ */
+/**
+ * z/OS File Manager - z/OS MF REST files JSON POJOs
+ */
+package dev.galasa.zosfile.zosmf.manager.internal.json;
@@ -0,0 +1,56 @@
+/*
+ * Licensed Materials - Property of IBM
+ * 
+ * (c) Copyright IBM Corp. 2020.
+ */
+package dev.galasa.zosfile.zosmf.manager.internal.properties;
+
+import dev.galasa.framework.spi.ConfigurationPropertyStoreException;
+import dev.galasa.framework.spi.cps.CpsProperties;
+import dev.galasa.zosfile.ZosFileManagerException;
+
+/**
+ * Data set attributes cache time to live
+ * 
+ * @galasa.cps.property
+ * 
+ * @galasa.name zosfile.dataset.[imageid].attributes.cache.ttl
+ * 
+ * @galasa.description The number of seconds for which data set attributes retrieved from the zOS image are reused, rather 
+ * than retrieved again. Cached attributes are discarded when the data set is created, deleted or written to by the test. 
+ * A value of 0 disables the cache
+ * 
+ * @galasa.required No
+ * 
+ * @galasa.default 60
+ * 
+ * @galasa.valid_values 0 or greater
+ * 
+ * @galasa.examples 
+ * <code>zosfile.dataset.attributes.cache.ttl=60</code><br>
+ * <code>zosfile.dataset.SYSA.attributes.cache.ttl=0</code>
+ *
+ */
+public class DatasetAttributesCacheTtl extends CpsProperties {
+
+    private static final long CACHE_TTL = 60;
+
+    public static long get(String imageId) throws ZosFileManagerException {
+        try {
+            String ttlString = getStringNulled(ZosFileZosmfPropertiesSingleton.cps(), "dataset", "attributes.cache.ttl", imageId);
+
+            if (ttlString == null) {
+                return CACHE_TTL;
+            } else {
+                long ttl = Long.parseLong(ttlString);
+                if (ttl < 0) {
+                    throw new ZosFileManagerException("Data set attributes cache TTL property must not be negative");
+                }
+                return ttl;
+            }
+        } catch (ConfigurationPropertyStoreException | NumberFormatException e) {
+            throw new ZosFileManagerException("Problem asking the CPS for the data set attributes cache TTL property for zOS image "  + imageId, e);
+        }
+    }
+
+}
@@ -0,0 +1,52 @@
+/*
+ * Licensed Materials - Property of IBM
+ * 
+ * (c) Copyright IBM Corp. 2020.
+ */
+package dev.galasa.zosfile.zosmf.manager.internal.properties;
+
+import dev.galasa.framework.spi.ConfigurationPropertyStoreException;
+import dev.galasa.framework.spi.cps.CpsProperties;
+import dev.galasa.zosfile.ZosFileManagerException;
+
+/**
+ * Cache data set content
+ * 
+ * @galasa.cps.property
+ * 
+ * @galasa.name zosfile.dataset.[imageid].content.cache
+ * 
+ * @galasa.description Record the digest and zOS/MF ETag of data set and member content as it is written or read. Content that 
+ * is unchanged since it was last written is not uploaded again, and content that is unchanged since it was last read is served
+ * from the cache. The ETag is always confirmed with the zOS image before the cache is used
+ * 
+ * @galasa.required No
+ * 
+ * @galasa.default true
+ * 
+ * @galasa.valid_values true or false
+ * 
+ * @galasa.examples 
+ * <code>zosfile.dataset.content.cache=false</code><br>
+ * <code>zosfile.dataset.SYSA.content.cache=true</code>
+ *
+ */
+public class DatasetContentCache extends CpsProperties {
+
+    private static final boolean CONTENT_CACHE = true;
+
+    public static boolean get(String imageId) throws ZosFileManagerException {
+        try {
+            String contentCacheString = getStringNulled(ZosFileZosmfPropertiesSingleton.cps(), "dataset", "content.cache", imageId);
+
+            if (contentCacheString == null) {
+                return CONTENT_CACHE;
+            } else {
+                return Boolean.parseBoolean(contentCacheString);
+            }
+        } catch (ConfigurationPropertyStoreException e) {
+            throw new ZosFileManagerException("Problem asking the CPS for the data set content cache property for zOS image "  + imageId, e);
+        }
+    }
+
+}
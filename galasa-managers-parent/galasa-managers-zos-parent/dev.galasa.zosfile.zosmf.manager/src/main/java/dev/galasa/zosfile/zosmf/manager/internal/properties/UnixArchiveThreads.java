@@ -0,0 +1,55 @@
+/*
+ * Licensed Materials - Property of IBM
+ * 
+ * (c) Copyright IBM Corp. 2020.
+ */
+package dev.galasa.zosfile.zosmf.manager.internal.properties;
+
+import dev.galasa.framework.spi.ConfigurationPropertyStoreException;
+import dev.galasa.framework.spi.cps.CpsProperties;
+import dev.galasa.zosfile.ZosFileManagerException;
+
+/**
+ * The number of UNIX files retrieved concurrently when archiving a directory
+ * 
+ * @galasa.cps.property
+ * 
+ * @galasa.name zosfile.unix.[imageid].archive.threads
+ * 
+ * @galasa.description The maximum number of files zOSMF is asked to return at the same time when a UNIX directory is 
+ * stored in the Results Archive Store file by file
+ * 
+ * @galasa.required No
+ * 
+ * @galasa.default 4
+ * 
+ * @galasa.valid_values 1 or greater
+ * 
+ * @galasa.examples 
+ * <code>zosfile.unix.archive.threads=8</code><br>
+ * <code>zosfile.unix.SYSA.archive.threads=1</code>
+ *
+ */
+public class UnixArchiveThreads extends CpsProperties {
+
+    private static final int ARCHIVE_THREADS = 4;
+
+    public static int get(String imageId) throws ZosFileManagerException {
+        try {
+            String threadsString = getStringNulled(ZosFileZosmfPropertiesSingleton.cps(), "unix", "archive.threads", imageId);
+
+            if (threadsString == null) {
+                return ARCHIVE_THREADS;
+            } else {
+                int threads = Integer.parseInt(threadsString);
+                if (threads <= 0) {
+                    throw new ZosFileManagerException("UNIX archive threads property must be greater than 0");
+                }
+                return threads;
+            }
+        } catch (ConfigurationPropertyStoreException | NumberFormatException e) {
+            throw new ZosFileManagerException("Problem asking the CPS for the UNIX archive threads property for zOS image "  + imageId, e);
+        }
+    }
+
+}
@@ -0,0 +1,52 @@
+/*
+ * Licensed Materials - Property of IBM
+ * 
+ * (c) Copyright IBM Corp. 2020.
+ */
+package dev.galasa.zosfile.zosmf.manager.internal.properties;
+
+import dev.galasa.framework.spi.ConfigurationPropertyStoreException;
+import dev.galasa.framework.spi.cps.CpsProperties;
+import dev.galasa.zosfile.ZosFileManagerException;
+
+/**
+ * Archive UNIX directories to the RAS using a single pax archive
+ * 
+ * @galasa.cps.property
+ * 
+ * @galasa.name zosfile.unix.[imageid].bulk.archive
+ * 
+ * @galasa.description When storing a UNIX directory in the Results Archive Store, pack the directory into a single pax archive 
+ * on the zOS image and download it once, rather than retrieving each file in turn. If the archive cannot be created, each file is
+ * retrieved individually
+ * 
+ * @galasa.required No
+ * 
+ * @galasa.default true
+ * 
+ * @galasa.valid_values true or false
+ * 
+ * @galasa.examples 
+ * <code>zosfile.unix.bulk.archive=false</code><br>
+ * <code>zosfile.unix.SYSA.bulk.archive=true</code>
+ *
+ */
+public class UnixBulkArchive extends CpsProperties {
+
+    private static final boolean BULK_ARCHIVE = true;
+
+    public static boolean get(String imageId) throws ZosFileManagerException {
+        try {
+            String bulkArchiveString = getStringNulled(ZosFileZosmfPropertiesSingleton.cps(), "unix", "bulk.archive", imageId);
+
+            if (bulkArchiveString == null) {
+                return BULK_ARCHIVE;
+            } else {
+                return Boolean.parseBoolean(bulkArchiveString);
+            }
+        } catch (ConfigurationPropertyStoreException e) {
+            throw new ZosFileManagerException("Problem asking the CPS for the UNIX bulk archive property for zOS image "  + imageId, e);
+        }
+    }
+
+}
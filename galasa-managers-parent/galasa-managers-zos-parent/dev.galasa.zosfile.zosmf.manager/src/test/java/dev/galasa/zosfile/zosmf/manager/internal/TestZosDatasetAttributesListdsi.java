@@ -10,6 +10,9 @@ import java.io.IOException;
 import java.io.InputStreamReader;
 import java.net.URL;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
 
 import org.junit.Assert;
 import org.junit.Before;
@@ -26,6 +29,7 @@ import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 import org.powermock.reflect.Whitebox;
 
+import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 
 import dev.galasa.zos.IZosImage;
@@ -139,6 +143,25 @@ public class TestZosDatasetAttributesListdsi {
         zosDatasetAttributesListdsiSpy.get(DATASET_NAME);
     }
     
+    @Test
+    public void testGetList() throws ZosDatasetException {
+        Whitebox.setInternalState(zosDatasetAttributesListdsiSpy, "initialised", true);
+        Assert.assertTrue("get() should return an empty map", zosDatasetAttributesListdsiSpy.get(new ArrayList<>()).isEmpty());
+        
+        JsonArray jsonArray = new JsonArray();
+        jsonArray.add(buildJsonObject(false));
+        jsonArray.add(buildJsonObject(false));
+        PowerMockito.doReturn(jsonArray).when(zosDatasetAttributesListdsiSpy).execListdsi(Mockito.anyList());
+        Map<String, JsonObject> attributes = zosDatasetAttributesListdsiSpy.get(Arrays.asList(DATASET_NAME, DATASET_NAME + ".OTHER"));
+        Assert.assertEquals("get() should return attributes for each data set", 2, attributes.size());
+        Assert.assertEquals("get() should return the expected object", buildJsonResponse(), attributes.get(DATASET_NAME));
+        Mockito.verify(zosDatasetAttributesListdsiSpy, Mockito.times(1)).execListdsi(Mockito.anyList());
+        
+        exceptionRule.expect(ZosDatasetException.class);
+        exceptionRule.expectMessage("LISTDSI returned attributes for 2 data sets, expected 1");
+        zosDatasetAttributesListdsiSpy.get(Arrays.asList(DATASET_NAME));
+    }
+    
     @Test
     public void testFormatDate() {
         Assert.assertEquals("get() should return the expected object", "***None***", zosDatasetAttributesListdsiSpy.formatDate(null));
@@ -0,0 +1,179 @@
+/*
+ * Licensed Materials - Property of IBM
+ * 
+ * (c) Copyright IBM Corp. 2020.
+ */
+package dev.galasa.zosfile.zosmf.manager.internal;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import dev.galasa.framework.spi.DynamicStatusStoreException;
+import dev.galasa.framework.spi.IDynamicStatusStoreService;
+import dev.galasa.zosfile.ZosDatasetException;
+import dev.galasa.zosfile.zosmf.manager.internal.ZosDatasetContentCache.CachedContent;
+
+@RunWith(PowerMockRunner.class)
+public class TestZosDatasetContentCache {
+    
+    @Mock
+    private IDynamicStatusStoreService dssMock;
+
+    @Rule
+    public ExpectedException exceptionRule = ExpectedException.none();
+    
+    private static final String IMAGE = "IMAGE";
+    
+    private static final String DATASET_NAME = "DATA.SET.NAME";
+    
+    private static final String MEMBER_NAME = "MEMBER";
+    
+    private static final String CONTENT = "content";
+    
+    private static final String CONTENT_DIGEST = "ed7002b439e9ac845f22357d822bac1444730fbdb6016d3ec9432297b9ec9f73";
+    
+    private static final String ETAG = "etag";
+    
+    private String key;
+    
+    @Before
+    public void setup() {
+        ZosDatasetContentCache.clear();
+        ZosDatasetContentCache.setDss(null);
+        key = ZosDatasetContentCache.key(IMAGE, DATASET_NAME, MEMBER_NAME, "text");
+    }
+    
+    @After
+    public void after() {
+        ZosDatasetContentCache.clear();
+        ZosDatasetContentCache.setDss(null);
+    }
+    
+    @Test
+    public void testKey() {
+        Assert.assertEquals("key() should return the expected value", IMAGE + "/" + DATASET_NAME + "/" + MEMBER_NAME + "/text", key);
+        Assert.assertEquals("key() should return the expected value", IMAGE + "/" + DATASET_NAME + "//binary", ZosDatasetContentCache.key(IMAGE, DATASET_NAME, null, "binary"));
+    }
+    
+    @Test
+    public void testPutAndGet() {
+        Assert.assertNull("get() should return null", ZosDatasetContentCache.get(key));
+        
+        ZosDatasetContentCache.put(key, CONTENT_DIGEST, ETAG, CONTENT);
+        CachedContent cachedContent = ZosDatasetContentCache.get(key);
+        Assert.assertEquals("getDigest() should return the expected value", CONTENT_DIGEST, cachedContent.getDigest());
+        Assert.assertEquals("getEtag() should return the expected value", ETAG, cachedContent.getEtag());
+        Assert.assertEquals("getContent() should return the expected value", CONTENT, cachedContent.getContent());
+        
+        ZosDatasetContentCache.put(key, CONTENT_DIGEST, null, CONTENT);
+        Assert.assertNull("put() without an ETag should remove the entry", ZosDatasetContentCache.get(key));
+        
+        ZosDatasetContentCache.put(key, CONTENT_DIGEST, ETAG, new byte[ZosDatasetContentCache.MAX_CACHED_CONTENT_SIZE + 1]);
+        Assert.assertNull("put() should not keep large content", ZosDatasetContentCache.get(key).getContent());
+    }
+    
+    @Test
+    public void testInvalidate() {
+        String datasetKey = ZosDatasetContentCache.key(IMAGE, DATASET_NAME, null, "text");
+        String otherDatasetKey = ZosDatasetContentCache.key(IMAGE, DATASET_NAME + "2", MEMBER_NAME, "text");
+        ZosDatasetContentCache.put(key, CONTENT_DIGEST, ETAG, CONTENT);
+        ZosDatasetContentCache.put(datasetKey, CONTENT_DIGEST, ETAG, CONTENT);
+        ZosDatasetContentCache.put(otherDatasetKey, CONTENT_DIGEST, ETAG, CONTENT);
+        
+        ZosDatasetContentCache.invalidateMember(IMAGE, DATASET_NAME, MEMBER_NAME);
+        Assert.assertNull("invalidateMember() should remove the member", ZosDatasetContentCache.get(key));
+        Assert.assertNotNull("invalidateMember() should not remove the data set", ZosDatasetContentCache.get(datasetKey));
+        
+        ZosDatasetContentCache.put(key, CONTENT_DIGEST, ETAG, CONTENT);
+        ZosDatasetContentCache.invalidateDataset(IMAGE, DATASET_NAME);
+        Assert.assertNull("invalidateDataset() should remove the member", ZosDatasetContentCache.get(key));
+        Assert.assertNull("invalidateDataset() should remove the data set", ZosDatasetContentCache.get(datasetKey));
+        Assert.assertNotNull("invalidateDataset() should not remove other data sets", ZosDatasetContentCache.get(otherDatasetKey));
+        
+        ZosDatasetContentCache.invalidate(otherDatasetKey);
+        Assert.assertNull("invalidate() should remove the entry", ZosDatasetContentCache.get(otherDatasetKey));
+    }
+    
+    @Test
+    public void testDss() throws DynamicStatusStoreException {
+        ZosDatasetContentCache.setDss(dssMock);
+        ZosDatasetContentCache.put(key, CONTENT_DIGEST, ETAG, CONTENT);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<String, String>> properties = ArgumentCaptor.forClass(Map.class);
+        Mockito.verify(dssMock).put(properties.capture());
+        Assert.assertEquals("put() should store the digest in the DSS", CONTENT_DIGEST, properties.getValue().get("dataset.content." + key + ".digest"));
+        Assert.assertEquals("put() should store the ETag in the DSS", ETAG, properties.getValue().get("dataset.content." + key + ".etag"));
+        Assert.assertNotNull("put() should store the time in the DSS", properties.getValue().get("dataset.content." + key + ".stored"));
+        
+        ZosDatasetContentCache.clear();
+        Mockito.when(dssMock.get("dataset.content." + key + ".digest")).thenReturn(CONTENT_DIGEST);
+        Mockito.when(dssMock.get("dataset.content." + key + ".etag")).thenReturn(ETAG);
+        Mockito.when(dssMock.get("dataset.content." + key + ".stored")).thenReturn(Instant.now().minus(ZosDatasetContentCache.DSS_TTL).plusSeconds(60).toString());
+        CachedContent cachedContent = ZosDatasetContentCache.get(key);
+        Assert.assertEquals("getDigest() should return the value from the DSS", CONTENT_DIGEST, cachedContent.getDigest());
+        Assert.assertEquals("getEtag() should return the value from the DSS", ETAG, cachedContent.getEtag());
+        Assert.assertNull("getContent() should return null", cachedContent.getContent());
+        
+        ZosDatasetContentCache.invalidate(key);
+        Mockito.verify(dssMock).delete("dataset.content." + key + ".digest");
+        ZosDatasetContentCache.invalidateDataset(IMAGE, DATASET_NAME);
+        Mockito.verify(dssMock).deletePrefix("dataset.content." + IMAGE + "/" + DATASET_NAME + "/");
+        
+        ZosDatasetContentCache.clear();
+        Mockito.when(dssMock.get("dataset.content." + key + ".stored")).thenReturn(Instant.now().minus(ZosDatasetContentCache.DSS_TTL).minusSeconds(60).toString());
+        Assert.assertNull("get() should ignore an expired DSS entry", ZosDatasetContentCache.get(key));
+        
+        ZosDatasetContentCache.clear();
+        Mockito.when(dssMock.get(Mockito.anyString())).thenThrow(new DynamicStatusStoreException());
+        Assert.assertNull("get() should return null", ZosDatasetContentCache.get(key));
+    }
+    
+    @Test
+    public void testDeleteExpired() throws DynamicStatusStoreException {
+        Instant now = Instant.now();
+        String expiredKey = ZosDatasetContentCache.key(IMAGE, DATASET_NAME, null, "text");
+        String oldKey = ZosDatasetContentCache.key(IMAGE, DATASET_NAME, null, "binary");
+        Map<String, String> properties = new HashMap<>();
+        properties.put("dataset.content." + key + ".digest", CONTENT_DIGEST);
+        properties.put("dataset.content." + key + ".etag", ETAG);
+        properties.put("dataset.content." + key + ".stored", now.minusSeconds(60).toString());
+        properties.put("dataset.content." + expiredKey + ".digest", CONTENT_DIGEST);
+        properties.put("dataset.content." + expiredKey + ".etag", ETAG);
+        properties.put("dataset.content." + expiredKey + ".stored", now.minus(ZosDatasetContentCache.DSS_TTL).minusSeconds(60).toString());
+        properties.put("dataset.content." + oldKey + ".digest", CONTENT_DIGEST);
+        Mockito.when(dssMock.getPrefix("dataset.content.")).thenReturn(properties);
+        
+        Assert.assertEquals("deleteExpired() should return the number of properties deleted", 4, ZosDatasetContentCache.deleteExpired(dssMock, now));
+        Set<String> expected = new HashSet<>();
+        expected.add("dataset.content." + expiredKey + ".digest");
+        expected.add("dataset.content." + expiredKey + ".etag");
+        expected.add("dataset.content." + expiredKey + ".stored");
+        expected.add("dataset.content." + oldKey + ".digest");
+        Mockito.verify(dssMock).delete(expected);
+    }
+    
+    @Test
+    public void testDigest() throws ZosDatasetException {
+        Assert.assertEquals("digest() should return the expected value", CONTENT_DIGEST, ZosDatasetContentCache.digest(CONTENT));
+        Assert.assertEquals("digest() should return the expected value", CONTENT_DIGEST, ZosDatasetContentCache.digest(CONTENT.getBytes()));
+        
+        exceptionRule.expect(ZosDatasetException.class);
+        exceptionRule.expectMessage("Unable to calculate digest. Invalid content object type: java.lang.Integer");
+        ZosDatasetContentCache.digest(Integer.valueOf(1));
+    }
+}
@@ -7,6 +7,7 @@ package dev.galasa.zosfile.zosmf.manager.internal;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.channels.SeekableByteChannel;
 import java.nio.file.FileSystem;
@@ -18,6 +19,7 @@ import java.util.Collection;
 import org.apache.commons.lang3.NotImplementedException;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.apache.http.HttpHeaders;
 import org.apache.http.HttpStatus;
 import org.junit.Assert;
 import org.junit.Before;
@@ -34,6 +36,7 @@ import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 import org.powermock.reflect.Whitebox;
 
+import com.google.gson.Gson;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
@@ -47,6 +50,10 @@ import dev.galasa.zosfile.IZosDataset.RecordFormat;
 import dev.galasa.zosfile.IZosDataset.SpaceUnit;
 import dev.galasa.zosfile.ZosDatasetException;
 import dev.galasa.zosfile.ZosFileManagerException;
+import dev.galasa.zosfile.zosmf.manager.internal.json.DatasetList;
+import dev.galasa.zosfile.zosmf.manager.internal.json.MemberList;
+import dev.galasa.zosfile.zosmf.manager.internal.properties.DatasetAttributesCacheTtl;
+import dev.galasa.zosfile.zosmf.manager.internal.properties.DatasetContentCache;
 import dev.galasa.zosfile.zosmf.manager.internal.properties.RestrictZosmfToImage;
 import dev.galasa.zosmf.IZosmf.ZosmfRequestType;
 import dev.galasa.zosmf.IZosmfResponse;
@@ -56,7 +63,7 @@ import dev.galasa.zosmf.ZosmfManagerException;
 import dev.galasa.zosmf.internal.ZosmfManagerImpl;
 
 @RunWith(PowerMockRunner.class)
-@PrepareForTest({RestrictZosmfToImage.class, LogFactory.class})
+@PrepareForTest({RestrictZosmfToImage.class, DatasetContentCache.class, DatasetAttributesCacheTtl.class, LogFactory.class})
 public class TestZosDatasetImpl {
     
     private ZosDatasetImpl zosDataset;
@@ -75,6 +82,9 @@ public class TestZosDatasetImpl {
     @Mock
     private IZosmfResponse zosmfResponseMock;
     
+    @Mock
+    private IZosmfResponse zosmfResponseMockGet;
+    
     @Mock
     private ZosDatasetAttributesListdsi zosDatasetAttributesListdsiMock;
     
@@ -98,6 +108,8 @@ public class TestZosDatasetImpl {
     
     private static final String ERROR = "error";
     
+    private static final String ETAG = "etag";
+    
     @Before
     public void setup() throws Exception {
         PowerMockito.mockStatic(LogFactory.class);
@@ -119,6 +131,13 @@ public class TestZosDatasetImpl {
         
         PowerMockito.mockStatic(RestrictZosmfToImage.class);
         Mockito.when(RestrictZosmfToImage.get(Mockito.any())).thenReturn(true);
+        PowerMockito.mockStatic(DatasetContentCache.class);
+        Mockito.when(DatasetContentCache.get(Mockito.any())).thenReturn(true);
+        ZosDatasetContentCache.setDss(null);
+        ZosDatasetContentCache.clear();
+        PowerMockito.mockStatic(DatasetAttributesCacheTtl.class);
+        Mockito.when(DatasetAttributesCacheTtl.get(Mockito.any())).thenReturn(0L);
+        ZosDatasetAttributesCache.clear();
 
         Mockito.when(zosmfManagerMock.newZosmfRestApiProcessor(zosImageMock, RestrictZosmfToImage.get(zosImageMock.getImageID()))).thenReturn(zosmfApiProcessorMock);
         ZosFileManagerImpl.setZosmfManager(zosmfManagerMock);
@@ -288,17 +307,17 @@ public class TestZosDatasetImpl {
         Mockito.when(zosmfApiProcessorMock.sendRequest(Mockito.eq(ZosmfRequestType.GET), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyBoolean())).thenReturn(zosmfResponseMock);
         Mockito.when(zosmfResponseMock.getStatusCode()).thenReturn(HttpStatus.SC_OK);
         JsonObject jsonObject = getJsonObject();
-        Mockito.when(zosmfResponseMock.getJsonContent()).thenReturn(jsonObject);
+        Mockito.when(zosmfResponseMock.getJsonContent(DatasetList.class)).thenReturn(datasetList(jsonObject));
         
         Assert.assertTrue("exists() should return true", zosDatasetSpy.exists());
         
         jsonObject.add("items", getJsonArray("ANOTHER.DATASET.NAME", null, 1, 0));
-        Mockito.when(zosmfResponseMock.getJsonContent()).thenReturn(jsonObject);
+        Mockito.when(zosmfResponseMock.getJsonContent(DatasetList.class)).thenReturn(datasetList(jsonObject));
         
         Assert.assertFalse("exists() should return false", zosDatasetSpy.exists());
         
         jsonObject = getJsonObject(2);
-        Mockito.when(zosmfResponseMock.getJsonContent()).thenReturn(jsonObject);
+        Mockito.when(zosmfResponseMock.getJsonContent(DatasetList.class)).thenReturn(datasetList(jsonObject));
         
         Assert.assertFalse("exists() should return false", zosDatasetSpy.exists());
     }
@@ -739,14 +758,14 @@ public class TestZosDatasetImpl {
         PowerMockito.doReturn(true).when(zosDatasetSpy).isPDS();
         Mockito.when(zosmfApiProcessorMock.sendRequest(Mockito.eq(ZosmfRequestType.GET), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyBoolean())).thenReturn(zosmfResponseMock);
         JsonObject jsonObject = getJsonObject();
-        Mockito.when(zosmfResponseMock.getJsonContent()).thenReturn(jsonObject);
+        Mockito.when(zosmfResponseMock.getJsonContent(MemberList.class)).thenReturn(memberList(jsonObject));
         Mockito.when(zosmfResponseMock.getStatusCode()).thenReturn(HttpStatus.SC_OK);
         
         Collection<String> memberList = zosDatasetSpy.memberList();
         Assert.assertEquals("memberlist() should return a list with 1 member", listOfMembers(1), memberList);
 
         jsonObject = getJsonObject(2);
-        Mockito.when(zosmfResponseMock.getJsonContent()).thenReturn(jsonObject);
+        Mockito.when(zosmfResponseMock.getJsonContent(MemberList.class)).thenReturn(memberList(jsonObject));
         
         memberList = zosDatasetSpy.memberList();
         Assert.assertEquals("memberlist() should return a list with 2 members", listOfMembers(2), memberList);
@@ -754,7 +773,7 @@ public class TestZosDatasetImpl {
         jsonObject = getJsonObject(2);
         jsonObject.addProperty("moreRows", true);
         JsonObject jsonObject1 = getJsonObject(2, 2);
-        Mockito.when(zosmfResponseMock.getJsonContent()).thenReturn(jsonObject).thenReturn(jsonObject1);
+        Mockito.when(zosmfResponseMock.getJsonContent(MemberList.class)).thenReturn(memberList(jsonObject)).thenReturn(memberList(jsonObject1));
         
         memberList = zosDatasetSpy.memberList();
         Assert.assertEquals("memberlist() should return a list with 4 members", listOfMembers(4), memberList);
@@ -1040,6 +1059,25 @@ public class TestZosDatasetImpl {
         Assert.assertEquals("toString() should return the valid String", attributes.toString(), zosDatasetSpy.getAttibutesAsString());        
     }
     
+    @Test
+    public void testGetAttibutesAsStringCached() throws ZosDatasetException, ZosmfException {
+        Whitebox.setInternalState(zosDatasetSpy, "attributesCacheTtl", 60L);
+        PowerMockito.doReturn(true).when(zosDatasetSpy).exists();
+        Mockito.when(zosmfApiProcessorMock.sendRequest(Mockito.eq(ZosmfRequestType.GET), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyBoolean())).thenReturn(zosmfResponseMock);
+        Mockito.when(zosmfResponseMock.getStatusCode()).thenReturn(HttpStatus.SC_OK);
+        Mockito.when(zosmfResponseMock.getJsonContent()).thenReturn(getJsonObject());
+        
+        String attributes = zosDatasetSpy.getAttibutesAsString();
+        Assert.assertEquals("getAttibutesAsString() should return the cached attributes", attributes, zosDatasetSpy.getAttibutesAsString());
+        Mockito.verify(zosmfApiProcessorMock, Mockito.times(1)).sendRequest(Mockito.eq(ZosmfRequestType.GET), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyBoolean());
+        Mockito.verify(zosDatasetSpy, Mockito.times(1)).exists();
+        
+        Mockito.when(zosmfApiProcessorMock.sendRequest(Mockito.eq(ZosmfRequestType.DELETE), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyBoolean())).thenReturn(zosmfResponseMock);
+        Mockito.when(zosmfResponseMock.getStatusCode()).thenReturn(HttpStatus.SC_NO_CONTENT);
+        zosDatasetSpy.delete();
+        Assert.assertNull("delete() should remove the cached attributes", ZosDatasetAttributesCache.get(IMAGE, DATASET_NAME, ZosDatasetAttributesCache.SOURCE_ZOSMF, 60));
+    }
+    
     @Test
     public void testGetAttibutesAsStringNotExist() throws ZosDatasetException, ZosmfException {
         PowerMockito.doReturn(false).when(zosDatasetSpy).exists();
@@ -1147,6 +1185,25 @@ public class TestZosDatasetImpl {
         zosDatasetSpy.retrieveAttibutes();
     }
     
+    @Test
+    public void testRetrieveAttibutesCached() throws ZosDatasetException {
+        Whitebox.setInternalState(zosDatasetSpy, "attributesCacheTtl", 60L);
+        Whitebox.setInternalState(zosDatasetSpy, "zosDatasetAttributesListdsi", zosDatasetAttributesListdsiMock);
+        JsonObject jsonObject = new JsonObject();
+        jsonObject.addProperty("listdsirc", 0);
+        Mockito.when(zosDatasetAttributesListdsiMock.get(Mockito.anyString())).thenReturn(jsonObject);
+        PowerMockito.doNothing().when(zosDatasetSpy).setAttributes(Mockito.any());
+        
+        zosDatasetSpy.retrieveAttibutes();
+        zosDatasetSpy.retrieveAttibutes();
+        Mockito.verify(zosDatasetAttributesListdsiMock, Mockito.times(1)).get(DATASET_NAME);
+        Mockito.verify(zosDatasetSpy, Mockito.times(2)).setAttributes(jsonObject);
+        
+        ZosDatasetAttributesCache.invalidate(IMAGE, DATASET_NAME);
+        zosDatasetSpy.retrieveAttibutes();
+        Mockito.verify(zosDatasetAttributesListdsiMock, Mockito.times(2)).get(DATASET_NAME);
+    }
+    
     @Test
     public void testRetrieveAttibutesException() throws ZosDatasetException {
         exceptionRule.expect(ZosDatasetException.class);
@@ -1274,6 +1331,93 @@ public class TestZosDatasetImpl {
         zosDatasetSpy.retrieve(null);
     }
     
+    @Test
+    public void testInternalRetrieveCached() throws ZosDatasetException, ZosmfException {
+        Mockito.when(zosmfApiProcessorMock.sendRequest(Mockito.eq(ZosmfRequestType.GET), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyBoolean())).thenReturn(zosmfResponseMock);
+        Mockito.when(zosmfResponseMock.getStatusCode()).thenReturn(HttpStatus.SC_OK);
+        Mockito.when(zosmfResponseMock.getContent()).thenReturn(CONTENT);
+        Mockito.when(zosmfResponseMock.getHeader(HttpHeaders.ETAG)).thenReturn(ETAG);
+        
+        Assert.assertEquals("retrieve() should return the supplied value", CONTENT, zosDatasetSpy.retrieve(MEMBER_NAME));
+        
+        Mockito.when(zosmfResponseMock.getStatusCode()).thenReturn(HttpStatus.SC_NOT_MODIFIED);
+        Mockito.when(zosmfResponseMock.getContent()).thenReturn(null);
+        Assert.assertEquals("retrieve() should return the cached value", CONTENT, zosDatasetSpy.retrieve(MEMBER_NAME));
+        Mockito.verify(zosDatasetSpy).sendRetrieveRequest(MEMBER_NAME, ETAG);
+        
+        zosDatasetSpy.setDataType(DatasetDataType.BINARY);
+        Mockito.when(zosmfResponseMock.getStatusCode()).thenReturn(HttpStatus.SC_OK);
+        Mockito.when(zosmfResponseMock.getContent()).thenReturn(new ByteArrayInputStream(CONTENT.getBytes()));
+        Assert.assertEquals("retrieve() should return the supplied value", CONTENT, new String(zosDatasetSpy.inputStreamToByteArray((InputStream) zosDatasetSpy.retrieve(MEMBER_NAME))));
+        
+        Mockito.when(zosmfResponseMock.getStatusCode()).thenReturn(HttpStatus.SC_NOT_MODIFIED);
+        Assert.assertEquals("retrieve() should return the cached value", CONTENT, new String(zosDatasetSpy.inputStreamToByteArray((InputStream) zosDatasetSpy.retrieve(MEMBER_NAME))));
+    }
+    
+    @Test
+    public void testInternalRetrieveCacheDisabled() throws ZosDatasetException, ZosmfException {
+        Whitebox.setInternalState(zosDatasetSpy, "contentCache", false);
+        Mockito.when(zosmfApiProcessorMock.sendRequest(Mockito.eq(ZosmfRequestType.GET), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyBoolean())).thenReturn(zosmfResponseMock);
+        Mockito.when(zosmfResponseMock.getStatusCode()).thenReturn(HttpStatus.SC_OK);
+        Mockito.when(zosmfResponseMock.getContent()).thenReturn(CONTENT);
+        Mockito.when(zosmfResponseMock.getHeader(HttpHeaders.ETAG)).thenReturn(ETAG);
+        
+        zosDatasetSpy.retrieve(MEMBER_NAME);
+        zosDatasetSpy.retrieve(MEMBER_NAME);
+        Mockito.verify(zosDatasetSpy, Mockito.times(2)).sendRetrieveRequest(MEMBER_NAME, null);
+    }
+    
+    @Test
+    public void testInternalStoreTextUnchanged() throws ZosDatasetException, ZosmfException {
+        PowerMockito.doReturn(true).when(zosDatasetSpy).exists();
+        Mockito.when(zosmfApiProcessorMock.sendRequest(Mockito.eq(ZosmfRequestType.PUT_TEXT), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyBoolean())).thenReturn(zosmfResponseMock);
+        Mockito.when(zosmfApiProcessorMock.sendRequest(Mockito.eq(ZosmfRequestType.GET), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyBoolean())).thenReturn(zosmfResponseMockGet);
+        Mockito.when(zosmfResponseMock.getStatusCode()).thenReturn(HttpStatus.SC_CREATED);
+        Mockito.when(zosmfResponseMock.getHeader(HttpHeaders.ETAG)).thenReturn(ETAG);
+        
+        zosDatasetSpy.storeText(CONTENT, MEMBER_NAME, true);
+        Mockito.verify(zosDatasetSpy, Mockito.never()).sendRetrieveRequest(Mockito.any(), Mockito.any());
+        
+        // Unchanged on the image
+        Mockito.when(zosmfResponseMockGet.getStatusCode()).thenReturn(HttpStatus.SC_NOT_MODIFIED);
+        zosDatasetSpy.storeText(CONTENT, MEMBER_NAME, true);
+        Mockito.verify(zosDatasetSpy, Mockito.times(1)).sendRetrieveRequest(MEMBER_NAME, ETAG);
+        Mockito.verify(zosmfApiProcessorMock, Mockito.times(1)).sendRequest(Mockito.eq(ZosmfRequestType.PUT_TEXT), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyBoolean());
+        
+        // Different content
+        zosDatasetSpy.storeText(CONTENT + "2", MEMBER_NAME, true);
+        Mockito.verify(zosmfApiProcessorMock, Mockito.times(2)).sendRequest(Mockito.eq(ZosmfRequestType.PUT_TEXT), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyBoolean());
+    }
+    
+    @Test
+    public void testContentUnchanged() throws ZosDatasetException, ZosmfException {
+        String digest = ZosDatasetContentCache.digest(CONTENT);
+        Assert.assertFalse("contentUnchanged() should return false", zosDatasetSpy.contentUnchanged(MEMBER_NAME, digest));
+        
+        ZosDatasetContentCache.put(zosDatasetSpy.contentCacheKey(MEMBER_NAME), digest, ETAG, null);
+        Mockito.when(zosmfApiProcessorMock.sendRequest(Mockito.eq(ZosmfRequestType.GET), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyBoolean())).thenReturn(zosmfResponseMock);
+        Mockito.when(zosmfResponseMock.getStatusCode()).thenReturn(HttpStatus.SC_NOT_MODIFIED);
+        Assert.assertTrue("contentUnchanged() should return true", zosDatasetSpy.contentUnchanged(MEMBER_NAME, digest));
+        Assert.assertFalse("contentUnchanged() should return false", zosDatasetSpy.contentUnchanged(MEMBER_NAME, ZosDatasetContentCache.digest(CONTENT + "2")));
+        
+        // Changed on the image, but to the same content
+        Mockito.when(zosmfResponseMock.getStatusCode()).thenReturn(HttpStatus.SC_OK);
+        Mockito.when(zosmfResponseMock.getContent()).thenReturn(CONTENT);
+        Mockito.when(zosmfResponseMock.getHeader(HttpHeaders.ETAG)).thenReturn(ETAG + "2");
+        Assert.assertTrue("contentUnchanged() should return true", zosDatasetSpy.contentUnchanged(MEMBER_NAME, digest));
+        Assert.assertEquals("contentUnchanged() should update the ETag", ETAG + "2", ZosDatasetContentCache.get(zosDatasetSpy.contentCacheKey(MEMBER_NAME)).getEtag());
+        
+        // Changed on the image
+        Mockito.when(zosmfResponseMock.getContent()).thenReturn(CONTENT + "3");
+        Assert.assertFalse("contentUnchanged() should return false", zosDatasetSpy.contentUnchanged(MEMBER_NAME, digest));
+        
+        // Deleted from the image
+        ZosDatasetContentCache.put(zosDatasetSpy.contentCacheKey(MEMBER_NAME), digest, ETAG, null);
+        Mockito.when(zosmfResponseMock.getStatusCode()).thenReturn(HttpStatus.SC_NOT_FOUND);
+        Assert.assertFalse("contentUnchanged() should return false", zosDatasetSpy.contentUnchanged(MEMBER_NAME, digest));
+        Assert.assertNull("contentUnchanged() should remove the cache entry", ZosDatasetContentCache.get(zosDatasetSpy.contentCacheKey(MEMBER_NAME)));
+    }
+    
     @Test
     public void testInternalStoreText() throws ZosDatasetException, ZosmfException {
         PowerMockito.doReturn(true).when(zosDatasetSpy).exists();
@@ -1476,18 +1620,18 @@ public class TestZosDatasetImpl {
         Whitebox.setInternalState(zosDatasetSpy, "datasetMembers", new ArrayList<>());
         JsonObject jsonObject = new JsonObject();
         jsonObject.addProperty("returnedRows", 0);
-        Assert.assertFalse("getMembers() should return false", zosDatasetSpy.getMembers(jsonObject));
+        Assert.assertFalse("getMembers() should return false", zosDatasetSpy.getMembers(memberList(jsonObject)));
         Assert.assertEquals("datasetMembers should return a list with 0 members", listOfMembers(0), Whitebox.getInternalState(zosDatasetSpy,"datasetMembers"));
         
         Whitebox.setInternalState(zosDatasetSpy, "datasetMembers", new ArrayList<>());
         jsonObject = getJsonObject(1);
-        Assert.assertFalse("getMembers() should return false", zosDatasetSpy.getMembers(jsonObject));
+        Assert.assertFalse("getMembers() should return false", zosDatasetSpy.getMembers(memberList(jsonObject)));
         Assert.assertEquals("datasetMembers should return a list with 1 member", listOfMembers(1), Whitebox.getInternalState(zosDatasetSpy,"datasetMembers"));
         
         Whitebox.setInternalState(zosDatasetSpy, "datasetMembers", new ArrayList<>());
         jsonObject = getJsonObject(2);
         jsonObject.addProperty("moreRows", true);
-        Assert.assertTrue("getMembers() should return true", zosDatasetSpy.getMembers(jsonObject));
+        Assert.assertTrue("getMembers() should return true", zosDatasetSpy.getMembers(memberList(jsonObject)));
         Assert.assertEquals("datasetMembers should return a list with 2 members", listOfMembers(2), Whitebox.getInternalState(zosDatasetSpy,"datasetMembers"));
     }
     
@@ -1590,6 +1734,14 @@ public class TestZosDatasetImpl {
         return jsonArray;
     }
 
+    private DatasetList datasetList(JsonObject jsonObject) {
+        return new Gson().fromJson(jsonObject, DatasetList.class);
+    }
+
+    private MemberList memberList(JsonObject jsonObject) {
+        return new Gson().fromJson(jsonObject, MemberList.class);
+    }
+
     private Collection<String> listOfMembers(int count) {
         Collection<String> memberList = new ArrayList<>();
         for (int i = 0; i < count; i++) {
@@ -6,11 +6,16 @@
 package dev.galasa.zosfile.zosmf.manager.internal;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.junit.Assert;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.Mockito;
@@ -19,9 +24,14 @@ import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 import org.powermock.reflect.Whitebox;
 
+import com.google.gson.JsonObject;
+
 import dev.galasa.zos.IZosImage;
+import dev.galasa.zosfile.IZosDataset;
 import dev.galasa.zosfile.ZosDatasetException;
 import dev.galasa.zosfile.ZosVSAMDatasetException;
+import dev.galasa.zosfile.zosmf.manager.internal.properties.DatasetAttributesCacheTtl;
+import dev.galasa.zosfile.zosmf.manager.internal.properties.DatasetContentCache;
 import dev.galasa.zosfile.zosmf.manager.internal.properties.DirectoryListMaxItems;
 import dev.galasa.zosfile.zosmf.manager.internal.properties.RestrictZosmfToImage;
 import dev.galasa.zosfile.zosmf.manager.internal.properties.UnixFilePermissions;
@@ -29,7 +39,7 @@ import dev.galasa.zosmf.IZosmfRestApiProcessor;
 import dev.galasa.zosmf.internal.ZosmfManagerImpl;
 
 @RunWith(PowerMockRunner.class)
-@PrepareForTest({RestrictZosmfToImage.class, DirectoryListMaxItems.class, UnixFilePermissions.class})
+@PrepareForTest({RestrictZosmfToImage.class, DirectoryListMaxItems.class, UnixFilePermissions.class, DatasetContentCache.class, DatasetAttributesCacheTtl.class})
 public class TestZosFileHandlerImpl {
     
     private ZosFileHandlerImpl zosFileHandler;
@@ -48,6 +58,12 @@ public class TestZosFileHandlerImpl {
     @Mock
     private ZosDatasetImpl zosDatasetImplMock;
     
+    @Mock
+    private ZosDatasetImpl zosDatasetImplMock2;
+    
+    @Mock
+    private ZosDatasetAttributesListdsi zosDatasetAttributesListdsiMock;
+    
     @Mock
     private ZosVSAMDatasetImpl zosVSAMDatasetImplMock;
     
@@ -57,6 +73,9 @@ public class TestZosFileHandlerImpl {
     private static final String DATASET_NAME = "DATA.SET.NAME";
 
     private static final String UNIX_FILE_NAME = "/unix/file";
+
+    @Rule
+    public ExpectedException exceptionRule = ExpectedException.none();
     
     @Before
     public void setup() throws Exception {
@@ -66,6 +85,8 @@ public class TestZosFileHandlerImpl {
 
         PowerMockito.mockStatic(DirectoryListMaxItems.class);
         PowerMockito.mockStatic(UnixFilePermissions.class);
+        PowerMockito.mockStatic(DatasetContentCache.class);
+        PowerMockito.mockStatic(DatasetAttributesCacheTtl.class);
         
         Mockito.when(zosmfManagerMock.newZosmfRestApiProcessor(zosImageMock, RestrictZosmfToImage.get(zosImageMock.getImageID()))).thenReturn(zosmfApiProcessorMock);
         ZosFileManagerImpl.setZosmfManager(zosmfManagerMock);
@@ -85,6 +106,40 @@ public class TestZosFileHandlerImpl {
         Assert.assertTrue("Error in newDataset() method", obj instanceof ZosDatasetImpl);
     }
     
+    @Test
+    public void testRetrieveAttibutes() throws ZosDatasetException {
+        Mockito.when(zosDatasetImplMock.getImage()).thenReturn(zosImageMock);
+        Mockito.when(zosDatasetImplMock.getName()).thenReturn(DATASET_NAME);
+        Mockito.when(zosDatasetImplMock2.getImage()).thenReturn(zosImageMock);
+        Mockito.when(zosDatasetImplMock2.getName()).thenReturn(DATASET_NAME + "2");
+        Map<String, JsonObject> attributes = new HashMap<>();
+        JsonObject attributes1 = new JsonObject();
+        attributes1.addProperty("dsname", DATASET_NAME);
+        attributes.put(DATASET_NAME, attributes1);
+        JsonObject attributes2 = new JsonObject();
+        attributes2.addProperty("dsname", DATASET_NAME + "2");
+        attributes.put(DATASET_NAME + "2", attributes2);
+        Mockito.doReturn(zosDatasetAttributesListdsiMock).when(zosFileHandlerSpy).newZosDatasetAttributesListdsi(Mockito.any());
+        Mockito.when(zosDatasetAttributesListdsiMock.get(Mockito.anyList())).thenReturn(attributes);
+        
+        zosFileHandlerSpy.retrieveAttibutes(Arrays.asList(zosDatasetImplMock, zosDatasetImplMock2, zosDatasetImplMock));
+        
+        Mockito.verify(zosDatasetAttributesListdsiMock, Mockito.times(1)).get(Arrays.asList(DATASET_NAME, DATASET_NAME + "2"));
+        Mockito.verify(zosDatasetImplMock, Mockito.times(2)).setListdsiAttributes(attributes1);
+        Mockito.verify(zosDatasetImplMock2, Mockito.times(1)).setListdsiAttributes(attributes2);
+        Mockito.verify(zosDatasetImplMock2, Mockito.times(1)).cacheListdsiAttributes(attributes2);
+    }
+    
+    @Test
+    public void testRetrieveAttibutesException() throws ZosDatasetException {
+        IZosDataset zosDatasetMock = Mockito.mock(IZosDataset.class);
+        Mockito.when(zosDatasetMock.getName()).thenReturn(DATASET_NAME);
+        
+        exceptionRule.expect(ZosDatasetException.class);
+        exceptionRule.expectMessage("Unable to retrieve attibutes of data set " + DATASET_NAME + ". Invalid data set object type: ");
+        zosFileHandlerSpy.retrieveAttibutes(Arrays.asList(zosDatasetMock));
+    }
+    
     @Test
     public void testNewUNIXFile() throws Exception {
         Object obj = zosFileHandlerSpy.newUNIXFile(UNIX_FILE_NAME, zosImageMock);
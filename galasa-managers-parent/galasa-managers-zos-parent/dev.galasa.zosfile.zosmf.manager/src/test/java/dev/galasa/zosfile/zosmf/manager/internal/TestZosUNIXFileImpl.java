@@ -5,6 +5,8 @@
  */
 package dev.galasa.zosfile.zosmf.manager.internal;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.channels.SeekableByteChannel;
@@ -16,6 +18,8 @@ import java.util.Map;
 import java.util.SortedMap;
 import java.util.TreeMap;
 
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
 import org.apache.http.HttpStatus;
 import org.junit.Assert;
 import org.junit.Before;
@@ -32,6 +36,7 @@ import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 import org.powermock.reflect.Whitebox;
 
+import com.google.gson.Gson;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonPrimitive;
@@ -40,8 +45,11 @@ import dev.galasa.zos.IZosImage;
 import dev.galasa.zosfile.IZosUNIXFile.UNIXFileDataType;
 import dev.galasa.zosfile.ZosFileManagerException;
 import dev.galasa.zosfile.ZosUNIXFileException;
+import dev.galasa.zosfile.zosmf.manager.internal.json.UnixFileList;
 import dev.galasa.zosfile.zosmf.manager.internal.properties.DirectoryListMaxItems;
 import dev.galasa.zosfile.zosmf.manager.internal.properties.RestrictZosmfToImage;
+import dev.galasa.zosfile.zosmf.manager.internal.properties.UnixArchiveThreads;
+import dev.galasa.zosfile.zosmf.manager.internal.properties.UnixBulkArchive;
 import dev.galasa.zosfile.zosmf.manager.internal.properties.UnixFilePermissions;
 import dev.galasa.zosmf.IZosmf.ZosmfRequestType;
 import dev.galasa.zosmf.IZosmfResponse;
@@ -49,9 +57,11 @@ import dev.galasa.zosmf.IZosmfRestApiProcessor;
 import dev.galasa.zosmf.ZosmfException;
 import dev.galasa.zosmf.ZosmfManagerException;
 import dev.galasa.zosmf.internal.ZosmfManagerImpl;
+import dev.galasa.zosunixcommand.IZosUNIXCommand;
+import dev.galasa.zosunixcommand.spi.IZosUNIXCommandSpi;
 
 @RunWith(PowerMockRunner.class)
-@PrepareForTest({RestrictZosmfToImage.class, DirectoryListMaxItems.class, UnixFilePermissions.class})
+@PrepareForTest({RestrictZosmfToImage.class, DirectoryListMaxItems.class, UnixFilePermissions.class, UnixBulkArchive.class, UnixArchiveThreads.class})
 public class TestZosUNIXFileImpl {
     
     private ZosUNIXFileImpl zosUNIXFile;
@@ -69,6 +79,12 @@ public class TestZosUNIXFileImpl {
     
     @Mock
     private IZosmfResponse zosmfResponseMock;
+    
+    @Mock
+    private IZosUNIXCommandSpi zosUNIXCommandManagerMock;
+    
+    @Mock
+    private IZosUNIXCommand zosUNIXCommandMock;
 
     @Rule
     public ExpectedException exceptionRule = ExpectedException.none();
@@ -111,6 +127,12 @@ public class TestZosUNIXFileImpl {
         
         PowerMockito.mockStatic(UnixFilePermissions.class);
         Mockito.when(UnixFilePermissions.get(Mockito.any())).thenReturn(MODE);
+        
+        PowerMockito.mockStatic(UnixBulkArchive.class);
+        Mockito.when(UnixBulkArchive.get(Mockito.any())).thenReturn(false);
+        
+        PowerMockito.mockStatic(UnixArchiveThreads.class);
+        Mockito.when(UnixArchiveThreads.get(Mockito.any())).thenReturn(1);
 
         Mockito.when(zosmfManagerMock.newZosmfRestApiProcessor(zosImageMock, RestrictZosmfToImage.get(zosImageMock.getImageID()))).thenReturn(zosmfApiProcessorMock);
         ZosFileManagerImpl.setZosmfManager(zosmfManagerMock);
@@ -332,6 +354,8 @@ public class TestZosUNIXFileImpl {
         Assert.assertEquals("getAttributesAsString() should return the expected value", MODE, zosUNIXFileSpy.getAttributesAsString());
 
         Assert.assertEquals("quoted() should return the expected value", "\"" + UNIX_PATH + "\"", zosUNIXFileSpy.quoted(UNIX_PATH));
+        Assert.assertEquals("shellQuoted() should return the expected value", "'" + UNIX_PATH + "'", zosUNIXFileSpy.shellQuoted(UNIX_PATH));
+        Assert.assertEquals("shellQuoted() should escape single quotes", "'it'\\''s a '\\''path'\\'''", zosUNIXFileSpy.shellQuoted("it's a 'path'"));
 
         Assert.assertEquals("logOnImage() should return the expected value", " on image " + IMAGE , zosUNIXFileSpy.logOnImage());
 
@@ -679,6 +703,63 @@ public class TestZosUNIXFileImpl {
         zosUNIXFileSpy.saveToResultsArchive(UNIX_PATH);
     }
     
+    @Test
+    public void testSaveToResultsArchiveBulk() throws Exception {
+        Whitebox.setInternalState(zosUNIXFileSpy, "bulkArchive", true);
+        PowerMockito.doReturn(true).when(zosUNIXFileSpy).exists(Mockito.any());
+        PowerMockito.doReturn(true).when(zosUNIXFileSpy).isDirectory(Mockito.any());
+        PowerMockito.doNothing().when(zosUNIXFileSpy).saveDirectoryToResultsArchiveBulk(Mockito.any());
+        zosUNIXFileSpy.saveToResultsArchive(UNIX_DIRECTORY);
+        Mockito.verify(zosUNIXFileSpy, Mockito.times(0)).saveDirectoryToResultsArchive(Mockito.any());
+        
+        PowerMockito.doThrow(new ZosUNIXFileException(EXCEPTION)).when(zosUNIXFileSpy).saveDirectoryToResultsArchiveBulk(Mockito.any());
+        PowerMockito.doNothing().when(zosUNIXFileSpy).saveDirectoryToResultsArchive(Mockito.any());
+        zosUNIXFileSpy.saveToResultsArchive(UNIX_DIRECTORY);
+        Mockito.verify(zosUNIXFileSpy, Mockito.times(1)).saveDirectoryToResultsArchive(Mockito.any());
+    }
+    
+    @Test
+    public void testSaveDirectoryToResultsArchiveBulk() throws Exception {
+        Mockito.when(zosUNIXCommandManagerMock.getZosUNIXCommand(Mockito.any())).thenReturn(zosUNIXCommandMock);
+        ZosFileManagerImpl.setZosUnixCommandCommandManager(zosUNIXCommandManagerMock);
+        ZosFileManagerImpl.setRunId("RUNID");
+        Mockito.when(zosUNIXCommandMock.issueCommand(Mockito.any())).thenReturn("RC=0");
+        PowerMockito.doReturn(new ByteArrayInputStream(new byte[0])).when(zosUNIXFileSpy).retrieveArchive(Mockito.any());
+        PowerMockito.doNothing().when(zosUNIXFileSpy).unpackArchive(Mockito.any(), Mockito.any());
+        zosUNIXFileSpy.saveDirectoryToResultsArchiveBulk(UNIX_DIRECTORY);
+        Mockito.verify(zosUNIXFileSpy, Mockito.times(1)).unpackArchive(Mockito.any(), Mockito.eq("/path1/path2/path3"));
+        Mockito.verify(zosUNIXCommandMock, Mockito.times(2)).issueCommand(Mockito.any());
+        
+        Mockito.clearInvocations(zosUNIXCommandMock);
+        zosUNIXFileSpy.saveDirectoryToResultsArchiveBulk("/path1/it's/dir'/");
+        Mockito.verify(zosUNIXCommandMock, Mockito.times(1)).issueCommand(Mockito.matches("^cd '/path1/it'\\\\''s' && pax .* 'dir'\\\\'''; ?echo RC=\\$\\?$"));
+        Mockito.verify(zosUNIXFileSpy, Mockito.times(1)).unpackArchive(Mockito.any(), Mockito.eq("/path1/it's"));
+        
+        Mockito.when(zosUNIXCommandMock.issueCommand(Mockito.any())).thenReturn("RC=1");
+        exceptionRule.expect(ZosUNIXFileException.class);
+        exceptionRule.expectMessage("Unable to create archive of UNIX path \"" + UNIX_DIRECTORY + "\" on image " + IMAGE + ": RC=1");
+        zosUNIXFileSpy.saveDirectoryToResultsArchiveBulk(UNIX_DIRECTORY);
+    }
+    
+    @Test
+    public void testUnpackArchive() throws Exception {
+        ByteArrayOutputStream archive = new ByteArrayOutputStream();
+        try (TarArchiveOutputStream archiveStream = new TarArchiveOutputStream(archive)) {
+            archiveStream.putArchiveEntry(new TarArchiveEntry("path4/"));
+            archiveStream.closeArchiveEntry();
+            TarArchiveEntry entry = new TarArchiveEntry("path4/file");
+            entry.setSize(CONTENT.length());
+            archiveStream.putArchiveEntry(entry);
+            archiveStream.write(CONTENT.getBytes());
+            archiveStream.closeArchiveEntry();
+        }
+        PowerMockito.doReturn("location").when(zosUNIXFileSpy).storeArtifact(Mockito.any(), Mockito.anyBoolean(), Mockito.any());
+        zosUNIXFileSpy.unpackArchive(new ByteArrayInputStream(archive.toByteArray()), "/path1/path2/path3");
+        
+        Mockito.verify(zosUNIXFileSpy, Mockito.times(1)).storeArtifact(Mockito.isNull(), Mockito.eq(true), Mockito.any());
+        Mockito.verify(zosUNIXFileSpy, Mockito.times(1)).storeArtifact(Mockito.eq(CONTENT.getBytes()), Mockito.eq(false), Mockito.any());
+    }
+    
     @Test
     public void testIsDirectory() throws ZosUNIXFileException {
         PowerMockito.doReturn(false).when(zosUNIXFileSpy).exists(Mockito.any());
@@ -701,8 +782,7 @@ public class TestZosUNIXFileImpl {
         PowerMockito.doReturn(true).when(zosUNIXFileSpy).isDirectory(Mockito.any());
         Mockito.when(zosmfApiProcessorMock.sendRequest(Mockito.eq(ZosmfRequestType.GET), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyBoolean())).thenReturn(zosmfResponseMock);
         Mockito.when(zosmfResponseMock.getStatusCode()).thenReturn(HttpStatus.SC_OK);
-        JsonObject jsonObject = new JsonObject();
-        Mockito.when(zosmfResponseMock.getJsonContent()).thenReturn(jsonObject );
+        Mockito.when(zosmfResponseMock.getJsonContent(UnixFileList.class)).thenReturn(new UnixFileList());
         Map<String, String> paths = new TreeMap<>();
         paths.put("path1", TYPE_DIRECTORY);
         PowerMockito.doReturn(paths).when(zosUNIXFileSpy).getPaths(Mockito.any(), Mockito.any(), Mockito.anyBoolean());
@@ -770,7 +850,7 @@ public class TestZosUNIXFileImpl {
         Map<String, String> result = new TreeMap<>();
         PowerMockito.doReturn(paths).when(zosUNIXFileSpy).listDirectory(Mockito.any(), Mockito.anyBoolean());
         
-        Assert.assertTrue("getPaths() should return expected content", result.equals(zosUNIXFileSpy.getPaths("/root", jsonObject, false)));
+        Assert.assertTrue("getPaths() should return expected content", result.equals(zosUNIXFileSpy.getPaths("/root", unixFileList(jsonObject), false)));
         
         JsonArray jsonArray = new JsonArray();
         JsonObject items = new JsonObject();
@@ -795,14 +875,14 @@ public class TestZosUNIXFileImpl {
         result.put("/root/path1", TYPE_DIRECTORY);  
         result.put("/root/file1", TYPE_FILE);
         
-        Assert.assertTrue("getPaths() should return expected content", result.equals(zosUNIXFileSpy.getPaths("/root/", jsonObject, false)));
+        Assert.assertTrue("getPaths() should return expected content", result.equals(zosUNIXFileSpy.getPaths("/root/", unixFileList(jsonObject), false)));
         
         jsonObject.addProperty("returnedRows", MAX_ROWS);
         jsonObject.addProperty("totalRows", 9999);
         exceptionRule.expect(ZosUNIXFileException.class);
         exceptionRule.expectMessage("The number of files and directories (9999) in UNIX path \"/root/\" is greater than the maximum allowed rows (" + MAX_ROWS + ")");
         
-        zosUNIXFileSpy.getPaths("/root/", jsonObject, true);
+        zosUNIXFileSpy.getPaths("/root/", unixFileList(jsonObject), true);
     }
     
     @Test
@@ -980,4 +1060,8 @@ public class TestZosUNIXFileImpl {
         
         Mockito.verify(zosUNIXFileSpy, Mockito.times(2)).cleanCreatedDelete();
     }
+    
+    private UnixFileList unixFileList(JsonObject jsonObject) {
+        return new Gson().fromJson(jsonObject, UnixFileList.class);
+    }
 }
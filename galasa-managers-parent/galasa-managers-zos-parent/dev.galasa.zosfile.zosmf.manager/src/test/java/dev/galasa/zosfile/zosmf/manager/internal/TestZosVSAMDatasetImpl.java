@@ -11,6 +11,10 @@ import java.nio.channels.SeekableByteChannel;
 import java.nio.file.FileSystem;
 import java.nio.file.Path;
 import java.nio.file.spi.FileSystemProvider;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
 import org.apache.http.HttpStatus;
 import org.junit.Assert;
@@ -34,6 +38,7 @@ import com.google.gson.JsonObject;
 import dev.galasa.zos.IZosImage;
 import dev.galasa.zosfile.IZosDataset.DatasetDataType;
 import dev.galasa.zosfile.IZosDataset.SpaceUnit;
+import dev.galasa.zosfile.IZosVSAMDatasetRecordIterator;
 import dev.galasa.zosfile.IZosVSAMDataset.BWOOption;
 import dev.galasa.zosfile.IZosVSAMDataset.DatasetOrganisation;
 import dev.galasa.zosfile.IZosVSAMDataset.EraseOption;
@@ -355,6 +360,142 @@ public class TestZosVSAMDatasetImpl {
         zosVSAMDatasetSpy.retrieveAsBinary();
     }
     
+    @Test
+    public void testReadByKey() throws ZosVSAMDatasetException, ZosDatasetException {
+        PowerMockito.doReturn(reproDatasetMock).when(zosVSAMDatasetSpy).createReproDataset(Mockito.any());
+        PowerMockito.doNothing().when(zosVSAMDatasetSpy).idcamsRequest(Mockito.any());
+        Mockito.when(reproDatasetMock.getName()).thenReturn(REPRO_DATASET_NAME);
+        PowerMockito.doReturn("RECORD1\nRECORD2\n").when(reproDatasetMock).retrieveAsText();
+        
+        Assert.assertEquals("readByKey() should return the expected value", "RECORD1", zosVSAMDatasetSpy.readByKey("KEY1"));
+        Assert.assertEquals("readRange() should return the expected value", Arrays.asList("RECORD1", "RECORD2"), zosVSAMDatasetSpy.readRange("KEY1", "KEY2"));
+        Assert.assertEquals("readFirst() should return the expected value", Arrays.asList("RECORD1", "RECORD2"), zosVSAMDatasetSpy.readFirst(2));
+        
+        Mockito.verify(zosVSAMDatasetSpy, Mockito.times(1)).createReproDataset(Mockito.any());
+        Mockito.verify(zosVSAMDatasetSpy, Mockito.never()).exists();
+        Mockito.verify(zosVSAMDatasetSpy, Mockito.times(1)).getReproRecordsCommand(REPRO_DATASET_NAME, "'KEY1'", "'KEY1'", 0, 1);
+        Mockito.verify(zosVSAMDatasetSpy, Mockito.times(1)).getReproRecordsCommand(REPRO_DATASET_NAME, "'KEY1'", "'KEY2'", 0, 0);
+        Mockito.verify(zosVSAMDatasetSpy, Mockito.times(1)).getReproRecordsCommand(REPRO_DATASET_NAME, null, null, 0, 2);
+        
+        zosVSAMDatasetSpy.readByKey("A B,C)'D");
+        zosVSAMDatasetSpy.readRange("X'C1'", "x'c9'");
+        Mockito.verify(zosVSAMDatasetSpy, Mockito.times(1)).getReproRecordsCommand(REPRO_DATASET_NAME, "'A B,C)''D'", "'A B,C)''D'", 0, 1);
+        Mockito.verify(zosVSAMDatasetSpy, Mockito.times(1)).getReproRecordsCommand(REPRO_DATASET_NAME, "X'C1'", "x'c9'", 0, 0);
+    }
+    
+    @Test
+    public void testKeyLiteral() {
+        Assert.assertEquals("keyLiteral() should quote a character key", "'KEY1'", ZosVSAMDatasetImpl.keyLiteral("KEY1"));
+        Assert.assertEquals("keyLiteral() should double embedded quotes", "'O''NEIL'", ZosVSAMDatasetImpl.keyLiteral("O'NEIL"));
+        Assert.assertEquals("keyLiteral() should not quote a hexadecimal key", "X'C1C2'", ZosVSAMDatasetImpl.keyLiteral("X'C1C2'"));
+        Assert.assertEquals("keyLiteral() should quote a key that is not hexadecimal", "'X''NOTHEX'''", ZosVSAMDatasetImpl.keyLiteral("X'NOTHEX'"));
+        Assert.assertEquals("quotedKey() should quote a key that looks hexadecimal", "'X''C1'''", ZosVSAMDatasetImpl.quotedKey("X'C1'"));
+    }
+    
+    @Test
+    public void testReadByKeyNotFound() throws ZosVSAMDatasetException, ZosDatasetException {
+        PowerMockito.doReturn(reproDatasetMock).when(zosVSAMDatasetSpy).createReproDataset(Mockito.any());
+        PowerMockito.doNothing().when(zosVSAMDatasetSpy).idcamsRequest(Mockito.any());
+        Whitebox.setInternalState(zosVSAMDatasetSpy, "idcamsOutput", "IDC0005I NUMBER OF RECORDS PROCESSED WAS 0");
+        Whitebox.setInternalState(zosVSAMDatasetSpy, "idcamsRc", 4);
+        
+        Assert.assertNull("readByKey() should return null", zosVSAMDatasetSpy.readByKey("KEY1"));
+        Assert.assertTrue("readRange() should return an empty list", zosVSAMDatasetSpy.readRange("KEY1", "KEY2").isEmpty());
+        Mockito.verify(reproDatasetMock, Mockito.never()).retrieveAsText();
+    }
+    
+    @Test
+    public void testReadRecordsException() throws ZosVSAMDatasetException, ZosDatasetException {
+        PowerMockito.doReturn(reproDatasetMock).when(zosVSAMDatasetSpy).createReproDataset(Mockito.any());
+        PowerMockito.doNothing().when(zosVSAMDatasetSpy).idcamsRequest(Mockito.any());
+        Whitebox.setInternalState(zosVSAMDatasetSpy, "idcamsOutput", IDCAMS_COMMAND);
+        Whitebox.setInternalState(zosVSAMDatasetSpy, "idcamsRc", 12);
+        
+        exceptionRule.expect(ZosVSAMDatasetException.class);
+        exceptionRule.expectMessage("IDCAMS REPRO failed for VSAM data set \"" + VSAM_DATASET_NAME + "\" on image " + IMAGE + ". RC=12");
+        zosVSAMDatasetSpy.readByKey("KEY1");
+    }
+    
+    @Test
+    public void testReadRecordsFailedWithNoRecords() throws ZosVSAMDatasetException, ZosDatasetException {
+        PowerMockito.doReturn(reproDatasetMock).when(zosVSAMDatasetSpy).createReproDataset(Mockito.any());
+        PowerMockito.doNothing().when(zosVSAMDatasetSpy).idcamsRequest(Mockito.any());
+        Whitebox.setInternalState(zosVSAMDatasetSpy, "idcamsOutput", "IDC3351I ** VSAM OPEN RETURN CODE IS 160\nIDC0005I NUMBER OF RECORDS PROCESSED WAS 0");
+        Whitebox.setInternalState(zosVSAMDatasetSpy, "idcamsRc", 12);
+        
+        exceptionRule.expect(ZosVSAMDatasetException.class);
+        exceptionRule.expectMessage("IDCAMS REPRO failed for VSAM data set \"" + VSAM_DATASET_NAME + "\" on image " + IMAGE + ". RC=12");
+        zosVSAMDatasetSpy.readByKey("KEY1");
+    }
+    
+    @Test
+    public void testReadRecordsRetrieveException() throws ZosVSAMDatasetException, ZosDatasetException {
+        PowerMockito.doReturn(reproDatasetMock).when(zosVSAMDatasetSpy).createReproDataset(Mockito.any());
+        PowerMockito.doNothing().when(zosVSAMDatasetSpy).idcamsRequest(Mockito.any());
+        PowerMockito.doThrow(new ZosDatasetException()).when(reproDatasetMock).retrieveAsText();
+        
+        exceptionRule.expect(ZosVSAMDatasetException.class);
+        exceptionRule.expectMessage("Unable to retrieve content from IDCAMS REPRO temporary dataset");
+        zosVSAMDatasetSpy.readFirst(1);
+    }
+    
+    @Test
+    public void testReadFirst() throws ZosVSAMDatasetException {
+        Assert.assertTrue("readFirst() should return an empty list", zosVSAMDatasetSpy.readFirst(0).isEmpty());
+        
+        exceptionRule.expect(ZosVSAMDatasetException.class);
+        exceptionRule.expectMessage("Invalid record count -1");
+        zosVSAMDatasetSpy.readFirst(-1);
+    }
+    
+    @Test
+    public void testRecordIterator() throws ZosVSAMDatasetException {
+        zosVSAMDatasetSpy.setKeyOptions(4, 0);
+        List<String> fullBlock = new ArrayList<>(Collections.nCopies(ZosVSAMDatasetImpl.RECORD_BLOCK_SIZE - 1, "KEY0" + CONTENT));
+        fullBlock.add("KEY1" + CONTENT);
+        PowerMockito.doReturn(fullBlock).when(zosVSAMDatasetSpy).readRecords(null, null, 0, ZosVSAMDatasetImpl.RECORD_BLOCK_SIZE);
+        PowerMockito.doReturn(Arrays.asList("LAST")).when(zosVSAMDatasetSpy).readRecords("'KEY1'", null, 1, ZosVSAMDatasetImpl.RECORD_BLOCK_SIZE);
+        
+        IZosVSAMDatasetRecordIterator iterator = zosVSAMDatasetSpy.recordIterator();
+        int count = 0;
+        String record = null;
+        while (iterator.hasNext()) {
+            record = iterator.next();
+            count++;
+        }
+        Assert.assertEquals("recordIterator() should return the expected number of records", ZosVSAMDatasetImpl.RECORD_BLOCK_SIZE + 1, count);
+        Assert.assertEquals("recordIterator() should return the expected last record", "LAST", record);
+        Mockito.verify(zosVSAMDatasetSpy, Mockito.times(2)).readRecords(Mockito.any(), Mockito.any(), Mockito.anyLong(), Mockito.anyLong());
+        
+        exceptionRule.expect(ZosVSAMDatasetException.class);
+        exceptionRule.expectMessage("No more records in VSAM data set \"" + VSAM_DATASET_NAME + "\"");
+        iterator.next();
+    }
+    
+    @Test
+    public void testRecordIteratorNotKeyed() throws ZosVSAMDatasetException {
+        PowerMockito.doReturn("0").when(zosVSAMDatasetSpy).getValueFromListcat("KEYLEN");
+        PowerMockito.doReturn(Arrays.asList("RECORD1", "RECORD2")).when(zosVSAMDatasetSpy).readRecords(null, null, 0, 0);
+        
+        IZosVSAMDatasetRecordIterator iterator = zosVSAMDatasetSpy.recordIterator();
+        Assert.assertEquals("recordIterator() should return the expected value", "RECORD1", iterator.next());
+        Assert.assertEquals("recordIterator() should return the expected value", "RECORD2", iterator.next());
+        Assert.assertFalse("recordIterator() should have no more records", iterator.hasNext());
+        Mockito.verify(zosVSAMDatasetSpy, Mockito.times(1)).readRecords(Mockito.any(), Mockito.any(), Mockito.anyLong(), Mockito.anyLong());
+    }
+    
+    @Test
+    public void testDeleteRecordDataset() throws ZosVSAMDatasetException, ZosDatasetException {
+        zosVSAMDatasetSpy.deleteRecordDataset();
+        
+        PowerMockito.doReturn(reproDatasetMock).when(zosVSAMDatasetSpy).createReproDataset(Mockito.any());
+        Assert.assertEquals("getRecordDataset() should return the expected value", reproDatasetMock, zosVSAMDatasetSpy.getRecordDataset());
+        Mockito.when(reproDatasetMock.delete()).thenThrow(new ZosDatasetException());
+        zosVSAMDatasetSpy.deleteRecordDataset();
+        Mockito.verify(reproDatasetMock, Mockito.times(1)).delete();
+        Assert.assertNull("deleteRecordDataset() should clear the record data set", Whitebox.getInternalState(zosVSAMDatasetSpy, "recordDataset"));
+    }
+    
     @Test
     public void testSaveToResultsArchive() throws ZosFileManagerException {
         PowerMockito.doReturn(true).when(zosVSAMDatasetSpy).exists();
@@ -809,6 +950,14 @@ public class TestZosVSAMDatasetImpl {
         Assert.assertEquals("getReproToCommand() should return the expected value", reproCommand, zosVSAMDatasetSpy.getReproToCommand(REPRO_DATASET_NAME));        
     }
 
+    @Test
+    public void testGetReproRecordsCommand() {
+        String reproCommand = "REPRO -\n  INDATASET(" + VSAM_DATASET_NAME + ") -\n  OUTDATASET(" + REPRO_DATASET_NAME + ")";
+        Assert.assertEquals("getReproRecordsCommand() should return the expected value", reproCommand, zosVSAMDatasetSpy.getReproRecordsCommand(REPRO_DATASET_NAME, null, null, 0, 0));
+        String reproRecordsCommand = reproCommand + " -\n  FROMKEY(X'C1') -\n  TOKEY(X'C9') -\n  SKIP(10) -\n  COUNT(5)";
+        Assert.assertEquals("getReproRecordsCommand() should return the expected value", reproRecordsCommand, zosVSAMDatasetSpy.getReproRecordsCommand(REPRO_DATASET_NAME, "X'C1'", "X'C9'", 10, 5));
+    }
+
     @Test
     public void testGetReproFromCommand() {
         String reproCommand = "REPRO -\n  INDATASET(" + REPRO_DATASET_NAME + ") -\n  OUTDATASET(" + VSAM_DATASET_NAME + ")";
@@ -74,6 +74,7 @@ public interface IZosmf {
      * <li>{@link #X_IBM_LSTAT}</li>
      * <li>{@link #X_IBM_MAX_ITEMS}</li>
      * <li>{@link #X_IBM_OPTION}</li>
+     * <li>{@link #X_IBM_RECORD_RANGE}</li>
      * <li>{@link #X_IBM_REQUESTED_METHOD}</li>
      *
      */
@@ -102,6 +103,10 @@ public interface IZosmf {
          * {@code X-IBM-Option}
          */
         X_IBM_OPTION("X-IBM-Option"),
+        /**
+         * {@code X-IBM-Record-Range}
+         */
+        X_IBM_RECORD_RANGE("X-IBM-Record-Range"),
         /**
          * {@code X-IBM-Requested-Method}
          */
@@ -40,6 +40,16 @@ public interface IZosmfResponse {
      */
     public JsonArray getJsonArrayContent() throws ZosmfException;
 
+    /**
+     * Bind the content from the zOSMF request to an object of the given type. The content is read as a stream 
+     * without building a JSON object tree, so request it unconverted to avoid holding the whole response in memory
+     * <p>{@code Content-Type: application/json}
+     * @param type the class to bind to, whose fields are named after the JSON properties 
+     * @return the content
+     * @throws ZosmfException
+     */
+    public <T> T getJsonContent(Class<T> type) throws ZosmfException;
+
     /**
      * Return the content from the zOSMF request as an object
      * @return the content
@@ -64,4 +74,11 @@ public interface IZosmfResponse {
      * @return the request URL
      */
     public URL getRequestUrl();
+
+    /**
+     * Return the value of a header from the zOSMF response, e.g. {@code ETag}
+     * @param name the header name, which is not case sensitive
+     * @return the header value, or null if not present
+     */
+    public String getHeader(String name);
 }
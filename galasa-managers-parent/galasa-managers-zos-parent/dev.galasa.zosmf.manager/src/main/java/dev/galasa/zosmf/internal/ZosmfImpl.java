@@ -6,8 +6,6 @@
 package dev.galasa.zosmf.internal;
 
 import java.net.MalformedURLException;
-import java.net.URI;
-import java.net.URISyntaxException;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -24,7 +22,6 @@ import org.apache.http.HttpStatus;
 import com.google.gson.JsonObject;
 
 import dev.galasa.ICredentials;
-import dev.galasa.ICredentialsUsernamePassword;
 import dev.galasa.http.HttpClientException;
 import dev.galasa.http.IHttpClient;
 import dev.galasa.zos.IZosImage;
@@ -51,7 +48,7 @@ public class ZosmfImpl implements IZosmf {
 
     private String imageTag;
     private IZosImage image;
-    private IHttpClient httpClient;
+    private ZosmfTransport transport;
     private String zosmfUrl;
     protected int requestRetry;
 
@@ -76,7 +73,6 @@ public class ZosmfImpl implements IZosmf {
     @Override
     public void clearHeaders() {
         this.commonHeaders.clear();
-        this.httpClient.clearCommonHeaders();
     }
 
     @Override
@@ -86,15 +82,16 @@ public class ZosmfImpl implements IZosmf {
             validStatusCodes = new ArrayList<>(Arrays.asList(HttpStatus.SC_OK));
         }
         ZosmfResponseImpl zosmfResponse;
+        IHttpClient httpClient = null;
         try {
             setHeader(ZosmfCustomHeaders.X_IBM_REQUESTED_METHOD.toString(), method);
-            addCommonHeaders();
+            httpClient = leaseHttpClient();
             zosmfResponse = new ZosmfResponseImpl(this.zosmfUrl, validPath(path));
             logger.debug(logRequest(method, zosmfResponse.getRequestUrl()));
             if (convert) {
-                zosmfResponse.setHttpClientresponse(this.httpClient.getText(validPath(path)));
+                zosmfResponse.setHttpClientresponse(httpClient.getText(validPath(path)));
             } else {
-                zosmfResponse.setHttpClientresponse(this.httpClient.getFile(validPath(path)));
+                zosmfResponse.setHttpClientresponse(httpClient.getFile(validPath(path)));
             }
             
             logger.debug(logResponse(zosmfResponse.getStatusLine(), method, zosmfResponse.getRequestUrl()));
@@ -104,6 +101,8 @@ public class ZosmfImpl implements IZosmf {
         } catch (MalformedURLException | HttpClientException  e) {
             logger.error(e);
             throw new ZosmfException(logBadRequest(method), e);
+        } finally {
+            releaseHttpClient(httpClient);
         }
         
         return zosmfResponse;
@@ -116,13 +115,14 @@ public class ZosmfImpl implements IZosmf {
             validStatusCodes = new ArrayList<>(Arrays.asList(HttpStatus.SC_OK));
         }
         ZosmfResponseImpl zosmfResponse;
+        IHttpClient httpClient = null;
         try {
             setHeader(ZosmfCustomHeaders.X_IBM_REQUESTED_METHOD.toString(), method);
-            addCommonHeaders();
+            httpClient = leaseHttpClient();
             zosmfResponse = new ZosmfResponseImpl(this.zosmfUrl, validPath(path));
             logger.debug(logRequest(method, zosmfResponse.getRequestUrl()));
             logger.debug(LOG_BODY + requestBody);
-            zosmfResponse.setHttpClientresponse(this.httpClient.postJson(validPath(path), requestBody));
+            zosmfResponse.setHttpClientresponse(httpClient.postJson(validPath(path), requestBody));
             logger.debug(logResponse(zosmfResponse.getStatusLine(), method, zosmfResponse.getRequestUrl()));
             if (!validStatusCodes.contains(zosmfResponse.getStatusCode())) {
                 throw new ZosmfException(logBadStatusCode(zosmfResponse.getStatusCode()));
@@ -130,6 +130,8 @@ public class ZosmfImpl implements IZosmf {
         } catch (MalformedURLException | HttpClientException  e) {
             logger.error(e);
             throw new ZosmfException(logBadRequest(method), e);
+        } finally {
+            releaseHttpClient(httpClient);
         }
         
         return zosmfResponse;
@@ -142,13 +144,14 @@ public class ZosmfImpl implements IZosmf {
             validStatusCodes = new ArrayList<>(Arrays.asList(HttpStatus.SC_OK));
         }
         ZosmfResponseImpl zosmfResponse;
+        IHttpClient httpClient = null;
         try {
             setHeader(ZosmfCustomHeaders.X_IBM_REQUESTED_METHOD.toString(), method);
-            addCommonHeaders();
+            httpClient = leaseHttpClient();
             zosmfResponse = new ZosmfResponseImpl(this.zosmfUrl, validPath(path));
             logger.debug(logRequest(method, zosmfResponse.getRequestUrl()));
             logger.debug(LOG_BODY + requestBody);
-            zosmfResponse.setHttpClientresponse(this.httpClient.putText(validPath(path), requestBody));
+            zosmfResponse.setHttpClientresponse(httpClient.putText(validPath(path), requestBody));
             logger.debug(logResponse(zosmfResponse.getStatusLine(), method, zosmfResponse.getRequestUrl()));
             if (!validStatusCodes.contains(zosmfResponse.getStatusCode())) {
                 throw new ZosmfException(logBadStatusCode(zosmfResponse.getStatusCode()));
@@ -156,6 +159,8 @@ public class ZosmfImpl implements IZosmf {
         } catch (MalformedURLException | HttpClientException  e) {
             logger.error(e);
             throw new ZosmfException(logBadRequest(method), e);
+        } finally {
+            releaseHttpClient(httpClient);
         }
         
         return zosmfResponse;
@@ -168,13 +173,14 @@ public class ZosmfImpl implements IZosmf {
             validStatusCodes = new ArrayList<>(Arrays.asList(HttpStatus.SC_OK));
         }
         ZosmfResponseImpl zosmfResponse;
+        IHttpClient httpClient = null;
         try {
             setHeader(ZosmfCustomHeaders.X_IBM_REQUESTED_METHOD.toString(), method);
-            addCommonHeaders();
+            httpClient = leaseHttpClient();
             zosmfResponse = new ZosmfResponseImpl(this.zosmfUrl, validPath(path));
             logger.debug(logRequest(method, zosmfResponse.getRequestUrl()));
             logger.debug(LOG_BODY + requestBody);
-            zosmfResponse.setHttpClientresponse(this.httpClient.putJson(validPath(path), requestBody));
+            zosmfResponse.setHttpClientresponse(httpClient.putJson(validPath(path), requestBody));
             logger.debug(logResponse(zosmfResponse.getStatusLine(), method, zosmfResponse.getRequestUrl()));
             if (!validStatusCodes.contains(zosmfResponse.getStatusCode())) {
                 throw new ZosmfException(logBadStatusCode(zosmfResponse.getStatusCode()));
@@ -182,6 +188,8 @@ public class ZosmfImpl implements IZosmf {
         } catch (MalformedURLException | HttpClientException  e) {
             logger.error(e);
             throw new ZosmfException(logBadRequest(method), e);
+        } finally {
+            releaseHttpClient(httpClient);
         }
         
         return zosmfResponse;
@@ -194,14 +202,14 @@ public class ZosmfImpl implements IZosmf {
             validStatusCodes = new ArrayList<>(Arrays.asList(HttpStatus.SC_OK));
         }
         ZosmfResponseImpl zosmfResponse;
-
+        IHttpClient httpClient = null;
         try {
             setHeader(ZosmfCustomHeaders.X_IBM_REQUESTED_METHOD.toString(), method);
-            addCommonHeaders();
+            httpClient = leaseHttpClient();
             zosmfResponse = new ZosmfResponseImpl(this.zosmfUrl, validPath(path));
             logger.debug(logRequest(method, zosmfResponse.getRequestUrl()));
             logger.debug(LOG_BODY + requestBody);
-            zosmfResponse.setHttpClientresponse(this.httpClient.putBinary(path, requestBody));
+            zosmfResponse.setHttpClientresponse(httpClient.putBinary(path, requestBody));
             logger.debug(logResponse(zosmfResponse.getStatusLine(), method, zosmfResponse.getRequestUrl()));
             if (!validStatusCodes.contains(zosmfResponse.getStatusCode())) {
                 throw new ZosmfException(logBadStatusCode(zosmfResponse.getStatusCode()));
@@ -209,6 +217,8 @@ public class ZosmfImpl implements IZosmf {
         } catch (MalformedURLException | HttpClientException  e) {
             logger.error(e);
             throw new ZosmfException(logBadRequest(method), e);
+        } finally {
+            releaseHttpClient(httpClient);
         }
 
         return zosmfResponse;
@@ -221,18 +231,21 @@ public class ZosmfImpl implements IZosmf {
             validStatusCodes = new ArrayList<>(Arrays.asList(HttpStatus.SC_OK));
         }
         ZosmfResponseImpl zosmfResponse;
+        IHttpClient httpClient = null;
         try {
             setHeader(ZosmfCustomHeaders.X_IBM_REQUESTED_METHOD.toString(), method);
-            addCommonHeaders();
+            httpClient = leaseHttpClient();
             zosmfResponse = new ZosmfResponseImpl(this.zosmfUrl, validPath(path));
             logger.debug(logRequest(method, zosmfResponse.getRequestUrl()));
-            zosmfResponse.setHttpClientresponse(this.httpClient.deleteJson(validPath(path)));
+            zosmfResponse.setHttpClientresponse(httpClient.deleteJson(validPath(path)));
             logger.debug(logResponse(zosmfResponse.getStatusLine(), method, zosmfResponse.getRequestUrl()));
             if (!validStatusCodes.contains(zosmfResponse.getStatusCode())) {
                 throw new ZosmfException(logBadStatusCode(zosmfResponse.getStatusCode()));
             }
         } catch (MalformedURLException | HttpClientException  e) {
             throw new ZosmfException(logBadRequest(method), e);
+        } finally {
+            releaseHttpClient(httpClient);
         }
         
         return zosmfResponse;
@@ -289,21 +302,14 @@ public class ZosmfImpl implements IZosmf {
         
         this.zosmfUrl = scheme + "://" + zosmfHostname + ":" + zosmfPort;
 
-        this.httpClient = ZosmfManagerImpl.httpManager.newHttpClient();
-        
+        ICredentials creds;
         try {
-            ICredentials creds = image.getDefaultCredentials();
-            this.httpClient.setURI(new URI(this.zosmfUrl));
-            if (creds instanceof ICredentialsUsernamePassword) {
-                this.httpClient.setAuthorisation(((ICredentialsUsernamePassword) creds).getUsername(), ((ICredentialsUsernamePassword) creds).getPassword());
-            }
-            if (scheme.equals("https")) {
-                this.httpClient.setTrustingSSLContext();
-            }
-            this.httpClient.build();
-        } catch (HttpClientException | ZosManagerException | URISyntaxException e) {
+            creds = image.getDefaultCredentials();
+        } catch (ZosManagerException e) {
             throw new ZosmfException("Unable to create HTTP Client", e);
         }
+        // The HTTP clients and their zOSMF session are shared with every other user of the server
+        this.transport = ZosmfTransport.get(this.zosmfUrl, creds);
         
         try {
             this.requestRetry = RequestRetry.get(image.getImageID());
@@ -322,10 +328,22 @@ public class ZosmfImpl implements IZosmf {
         }
     }
 
-    protected void addCommonHeaders() {
+    protected IHttpClient leaseHttpClient() throws ZosmfException {
+        IHttpClient httpClient = this.transport.lease();
+        addCommonHeaders(httpClient);
+        return httpClient;
+    }
+
+    protected void releaseHttpClient(IHttpClient httpClient) {
+        if (httpClient != null) {
+            this.transport.release(httpClient);
+        }
+    }
+
+    protected void addCommonHeaders(IHttpClient httpClient) {
         for (Entry<String, String> entry : this.commonHeaders.entrySet()) {
             logger.debug("Adding HTTP header: " + entry.getKey() + ": " + entry.getValue());
-            this.httpClient.addCommonHeader(entry.getKey(), entry.getValue());
+            httpClient.addCommonHeader(entry.getKey(), entry.getValue());
         }
         
     }
@@ -8,6 +8,7 @@ package dev.galasa.zosmf.internal;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -187,4 +188,26 @@ public class ZosmfManagerImpl extends AbstractManager implements IZosmfManagerSp
     }
 
 
+    @Override
+    public IZosmfRestApiProcessor newDedicatedZosmfRestApiProcessor(IZosImage image, boolean restrictToImage) throws ZosmfManagerException {
+        HashMap<String, IZosmf> zosmfMap = new LinkedHashMap<>();
+        if (restrictToImage) {
+            if (!this.zosmfs.containsKey(image.getImageID())) {
+                throw new ZosmfManagerException("No zOSMF sever configured on " + image.getImageID());
+            }
+            zosmfMap.put(image.getImageID(), new ZosmfImpl(image));
+        } else {
+            for (IZosmf zosmf : getZosmfs(image.getClusterID()).values()) {
+                zosmfMap.put(zosmf.getImage().getImageID(), new ZosmfImpl(zosmf.getImage()));
+            }
+        }
+        return new ZosmfRestApiProcessor(zosmfMap);
+    }
+
+
+    @Override
+    public void shutdown() {
+        ZosmfTransport.closeAll();
+        super.shutdown();
+    }
 }
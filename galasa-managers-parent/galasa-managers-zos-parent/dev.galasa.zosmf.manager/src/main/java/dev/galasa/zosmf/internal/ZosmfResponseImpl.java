@@ -5,16 +5,27 @@
  */
 package dev.galasa.zosmf.internal;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.TreeMap;
 
+import com.google.gson.Gson;
 import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
 import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
 
+import org.apache.http.Header;
 import org.apache.http.client.methods.CloseableHttpResponse;
 
 import dev.galasa.http.HttpClientResponse;
@@ -23,10 +34,13 @@ import dev.galasa.zosmf.ZosmfException;
 
 public class ZosmfResponseImpl implements IZosmfResponse {
 
+    private static final Gson gson = new Gson();
+
     private URL requestUrl;
     private Object content;
     private int statusCode;
     private String statusLine;
+    private Map<String, String> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
 
     public ZosmfResponseImpl(String url, String path) throws MalformedURLException {
         this.requestUrl = new URL(url + path); 
@@ -34,30 +48,30 @@ public class ZosmfResponseImpl implements IZosmfResponse {
 
     @Override
     public JsonObject getJsonContent() throws ZosmfException {
-        if (this.content instanceof String) {
-            return new JsonParser().parse((String) this.content).getAsJsonObject();
-        } else if (this.content instanceof byte[]) {
-            return new JsonParser().parse(new String((byte[]) this.content)).getAsJsonObject();
-        } else if (this.content instanceof InputStream) {
-            return new JsonParser().parse(new InputStreamReader((InputStream) this.content)).getAsJsonObject();
-        } else if (content instanceof JsonObject) {
+        if (content instanceof JsonObject) {
             return (JsonObject) this.content;
         }
-        
-        throw new ZosmfException("Content not a JsonObject - " + content.getClass().getName());
+        return parseJsonContent("Content not a JsonObject - ").getAsJsonObject();
     }
 
     @Override
     public JsonArray getJsonArrayContent() throws ZosmfException {
-        if (this.content instanceof String) {
-            return new JsonParser().parse((String) this.content).getAsJsonArray();
-        } else if (this.content instanceof byte[]) {
-            return new JsonParser().parse(new String((byte[]) this.content)).getAsJsonArray();
-        } else if (this.content instanceof InputStream) {
-            return new JsonParser().parse(new InputStreamReader((InputStream) this.content)).getAsJsonArray();
+        return parseJsonContent("Content not a JsonArray Object - ").getAsJsonArray();
+    }
+
+    @Override
+    public <T> T getJsonContent(Class<T> type) throws ZosmfException {
+        if (this.content instanceof JsonElement) {
+            return gson.fromJson((JsonElement) this.content, type);
+        }
+        JsonReader jsonReader = newJsonReader("Content not JSON - ");
+        try {
+            return gson.fromJson(jsonReader, type);
+        } catch (JsonParseException e) {
+            throw new ZosmfException("Unable to bind JSON content to " + type.getName(), e);
+        } finally {
+            close(jsonReader);
         }
-        
-        throw new ZosmfException("Content not a JsonArray Object - " + content.getClass().getName());
     }
 
     @Override
@@ -88,17 +102,73 @@ public class ZosmfResponseImpl implements IZosmfResponse {
         return this.requestUrl;
     }
 
+    @Override
+    public String getHeader(String name) {
+        return this.headers.get(name);
+    }
+
+    protected JsonElement parseJsonContent(String notJsonMessage) throws ZosmfException {
+        JsonReader jsonReader = newJsonReader(notJsonMessage);
+        try {
+            return new JsonParser().parse(jsonReader);
+        } catch (JsonParseException e) {
+            throw new ZosmfException("Unable to parse JSON content", e);
+        } finally {
+            close(jsonReader);
+        }
+    }
+
+    /**
+     * Return a reader over the content. zOSMF sends JSON as UTF-8, so byte and stream content is decoded as UTF-8 as it
+     * is read rather than being copied into a {@link String} with the platform charset
+     * @param notJsonMessage the exception message when the content is not JSON
+     * @return the reader
+     * @throws ZosmfException
+     */
+    protected JsonReader newJsonReader(String notJsonMessage) throws ZosmfException {
+        Reader reader;
+        if (this.content instanceof String) {
+            reader = new StringReader((String) this.content);
+        } else if (this.content instanceof byte[]) {
+            reader = new InputStreamReader(new ByteArrayInputStream((byte[]) this.content), StandardCharsets.UTF_8);
+        } else if (this.content instanceof InputStream) {
+            reader = new InputStreamReader((InputStream) this.content, StandardCharsets.UTF_8);
+        } else {
+            throw new ZosmfException(notJsonMessage + content.getClass().getName());
+        }
+        return new JsonReader(reader);
+    }
+
+    private void close(JsonReader jsonReader) {
+        try {
+            jsonReader.close();
+        } catch (IOException e) {
+            // The content has been read, so nothing is lost
+        }
+    }
+
     protected void setHttpClientresponse(HttpClientResponse<?> httpClientResponse) {
         this.content = httpClientResponse.getContent();
         this.statusCode = httpClientResponse.getStatusCode();
         this.statusLine = httpClientResponse.getStatusLine();
+        if (httpClientResponse.getheaders() != null) {
+            this.headers.putAll(httpClientResponse.getheaders());
+        }
     }
 
     protected void setHttpClientresponse(CloseableHttpResponse httpClientResponse) throws ZosmfException{
         try{
-            this.content = httpClientResponse.getEntity().getContent();
+            // There is no entity on a 304 Not Modified response
+            if (httpClientResponse.getEntity() != null) {
+                this.content = httpClientResponse.getEntity().getContent();
+            }
             this.statusCode = httpClientResponse.getStatusLine().getStatusCode();
             this.statusLine = httpClientResponse.getStatusLine().getReasonPhrase();
+            if (httpClientResponse.getAllHeaders() != null) {
+                for (Header header : httpClientResponse.getAllHeaders()) {
+                    this.headers.put(header.getName(), header.getValue());
+                }
+            }
         } catch (IOException e) {
             throw new ZosmfException("Could not retrieve response", e);
         }
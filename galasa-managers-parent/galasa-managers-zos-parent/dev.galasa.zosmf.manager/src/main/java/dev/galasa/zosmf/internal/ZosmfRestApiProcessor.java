@@ -22,6 +22,7 @@ import org.apache.http.HttpStatus;
 
 import com.google.gson.JsonObject;
 
+import dev.galasa.zos.spi.ZosMetricsRecorder;
 import dev.galasa.zosbatch.ZosBatchException;
 import dev.galasa.zosmf.IZosmf;
 import dev.galasa.zosmf.IZosmf.ZosmfRequestType;
@@ -61,7 +62,11 @@ public class ZosmfRestApiProcessor implements IZosmfRestApiProcessor {
             validStatusCodes = new ArrayList<>(Arrays.asList(HttpStatus.SC_OK));
         }
         IZosmfResponse response = null;
+        String endpoint = endpoint(path);
         for (int i = 0; i <= ((ZosmfImpl) currentZosmf).getRequestRetry(); i++) {
+            String zosmfImageId = this.currentZosmfImageId;
+            long start = System.currentTimeMillis();
+            boolean valid = false;
             try {
                 IZosmf zosmfServer = getCurrentZosmfServer();
                 if (headers != null) {
@@ -93,6 +98,7 @@ public class ZosmfRestApiProcessor implements IZosmfRestApiProcessor {
                 }
     
                 if (validStatusCodes.contains(response.getStatusCode())) {
+                    valid = true;
                     return response;
                 } else {
                     logger.error("Expected HTTP status codes: " + validStatusCodes);
@@ -101,11 +107,41 @@ public class ZosmfRestApiProcessor implements IZosmfRestApiProcessor {
             } catch (ZosmfManagerException e) {
                 logger.error("Problem with zOSMF request", e);
                 getNextZosmf();
+            } finally {
+                ZosMetricsRecorder.time(ZosMetricsRecorder.ZOSMF_REQUEST, System.currentTimeMillis() - start, zosmfImageId, endpoint);
+                if (!valid) {
+                    ZosMetricsRecorder.count(ZosMetricsRecorder.ZOSMF_ERROR, zosmfImageId, endpoint);
+                }
             }
         }
         throw new ZosmfException("Unable to get valid response from zOS/MF server");
     }
     
+    /**
+     * The zOSMF service a request path is for, without the resource names, so the metrics are per service
+     * @param path the request path, e.g. /zosmf/restjobs/jobs/JOBNAME/JOBID
+     * @return the service, e.g. restjobs/jobs
+     */
+    protected static String endpoint(String path) {
+        if (path == null) {
+            return "unknown";
+        }
+        int query = path.indexOf('?');
+        if (query >= 0) {
+            path = path.substring(0, query);
+        }
+        String[] segments = path.split("/");
+        StringBuilder endpoint = new StringBuilder();
+        // Skip the leading empty segment and the zosmf root
+        for (int i = 2; i < segments.length && i < 4; i++) {
+            if (endpoint.length() > 0) {
+                endpoint.append("/");
+            }
+            endpoint.append(segments[i]);
+        }
+        return endpoint.length() > 0 ? endpoint.toString() : "unknown";
+    }
+
     protected IZosmf getCurrentZosmfServer() {
         logger.debug("Using zOSMF on " + this.currentZosmf);
         this.currentZosmf.clearHeaders();
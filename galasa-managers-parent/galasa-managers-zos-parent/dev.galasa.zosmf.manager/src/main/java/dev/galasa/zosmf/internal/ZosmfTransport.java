@@ -0,0 +1,153 @@
+/*
+ * Licensed Materials - Property of IBM
+ * 
+ * (c) Copyright IBM Corp. 2020.
+ */
+package dev.galasa.zosmf.internal;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import dev.galasa.ICredentials;
+import dev.galasa.ICredentialsUsernamePassword;
+import dev.galasa.http.HttpClientException;
+import dev.galasa.http.IHttpClient;
+import dev.galasa.http.spi.IHttpManagerSpi;
+import dev.galasa.zosmf.ZosmfException;
+
+/**
+ * The HTTP transport to a zOSMF server, shared by every {@link ZosmfImpl} for the server and so by every
+ * {@link ZosmfRestApiProcessor}.<br>
+ * The transport holds a pool of built and authenticated HTTP clients. A client is leased for a single request, so
+ * concurrent requests each have a client of their own, and is then returned to the pool along with the zOSMF LTPA or
+ * JWT session cookies it holds, so later requests carry on the session rather than creating the client and
+ * authenticating again. A transport is only shared by requests with the same user and password.
+ */
+public class ZosmfTransport {
+
+    private static final Map<List<String>, ZosmfTransport> transports = new HashMap<>();
+
+    private final IHttpManagerSpi httpManager;
+    private final String zosmfUrl;
+    private final ICredentials credentials;
+    private final Deque<IHttpClient> idleClients = new ConcurrentLinkedDeque<>();
+    private final Set<IHttpClient> clients = ConcurrentHashMap.newKeySet();
+    private volatile boolean closed;
+
+    private static final Log logger = LogFactory.getLog(ZosmfTransport.class);
+
+    private ZosmfTransport(IHttpManagerSpi httpManager, String zosmfUrl, ICredentials credentials) throws ZosmfException {
+        this.httpManager = httpManager;
+        this.zosmfUrl = zosmfUrl;
+        this.credentials = credentials;
+        // Build the first client now so that any configuration problem is reported straight away
+        this.idleClients.add(newHttpClient());
+    }
+
+    /**
+     * Return the transport for a zOSMF server and user, creating it if this is the first request for it
+     * @param zosmfUrl the zOSMF server URL
+     * @param credentials the credentials to authenticate with
+     * @return the transport
+     * @throws ZosmfException
+     */
+    public static ZosmfTransport get(String zosmfUrl, ICredentials credentials) throws ZosmfException {
+        List<String> key;
+        if (credentials instanceof ICredentialsUsernamePassword) {
+            key = Arrays.asList(zosmfUrl, ((ICredentialsUsernamePassword) credentials).getUsername(), ((ICredentialsUsernamePassword) credentials).getPassword());
+        } else {
+            key = Arrays.asList(zosmfUrl);
+        }
+        synchronized (transports) {
+            ZosmfTransport transport = transports.get(key);
+            // A transport belongs to the HTTP Manager that built its clients
+            if (transport == null || transport.httpManager != ZosmfManagerImpl.httpManager) {
+                transport = new ZosmfTransport(ZosmfManagerImpl.httpManager, zosmfUrl, credentials);
+                transports.put(key, transport);
+            }
+            return transport;
+        }
+    }
+
+    /**
+     * Close all the HTTP clients, including those leased, and forget the transports
+     */
+    public static void closeAll() {
+        synchronized (transports) {
+            for (ZosmfTransport transport : transports.values()) {
+                transport.close();
+            }
+            transports.clear();
+        }
+    }
+
+    /**
+     * Close all the HTTP clients of this transport. A client leased at the time is closed now and not pooled when it
+     * is released
+     */
+    protected void close() {
+        this.closed = true;
+        this.idleClients.clear();
+        for (IHttpClient httpClient : this.clients) {
+            httpClient.close();
+        }
+        this.clients.clear();
+    }
+
+    /**
+     * Lease a client for a single request, it must be returned with {@link #release(IHttpClient)}
+     * @return an HTTP client with no common headers
+     * @throws ZosmfException
+     */
+    public IHttpClient lease() throws ZosmfException {
+        IHttpClient httpClient = this.idleClients.pollFirst();
+        if (httpClient == null) {
+            logger.debug("Adding an HTTP client to the transport for " + this.zosmfUrl);
+            httpClient = newHttpClient();
+        }
+        return httpClient;
+    }
+
+    /**
+     * Return a leased client to the pool
+     * @param httpClient
+     */
+    public void release(IHttpClient httpClient) {
+        if (this.closed) {
+            // Already closed by closeAll()
+            return;
+        }
+        httpClient.clearCommonHeaders();
+        // Most recently used first, so a single threaded test keeps using the one client and session
+        this.idleClients.offerFirst(httpClient);
+    }
+
+    protected IHttpClient newHttpClient() throws ZosmfException {
+        IHttpClient httpClient = this.httpManager.newHttpClient();
+        try {
+            httpClient.setURI(new URI(this.zosmfUrl));
+            if (this.credentials instanceof ICredentialsUsernamePassword) {
+                httpClient.setAuthorisation(((ICredentialsUsernamePassword) this.credentials).getUsername(), ((ICredentialsUsernamePassword) this.credentials).getPassword());
+            }
+            if (this.zosmfUrl.startsWith("https")) {
+                httpClient.setTrustingSSLContext();
+            }
+            httpClient.build();
+        } catch (HttpClientException | URISyntaxException e) {
+            throw new ZosmfException("Unable to create HTTP Client", e);
+        }
+        this.clients.add(httpClient);
+        return httpClient;
+    }
+}
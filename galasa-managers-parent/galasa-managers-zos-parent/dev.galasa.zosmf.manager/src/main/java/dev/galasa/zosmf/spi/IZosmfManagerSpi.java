@@ -45,4 +45,15 @@ public interface IZosmfManagerSpi extends IZosmfManager {
      * @throws ZosmfManagerException
      */
     public IZosmfRestApiProcessor newZosmfRestApiProcessor(IZosImage image, boolean restrictToImage) throws ZosmfManagerException;
+
+    /**
+     * Returns a {@link IZosmfRestApiProcessor} for a single image that does not share its request headers with any 
+     * other processor. Use this when requests are to be sent from a thread other than the test thread. The processor 
+     * is cheap to create as it still shares the pooled HTTP clients and session of each zOSMF server 
+     * @param image
+     * @param restrictToImage
+     * @return {@link IZosmfRestApiProcessor}
+     * @throws ZosmfManagerException
+     */
+    public IZosmfRestApiProcessor newDedicatedZosmfRestApiProcessor(IZosImage image, boolean restrictToImage) throws ZosmfManagerException;
 }
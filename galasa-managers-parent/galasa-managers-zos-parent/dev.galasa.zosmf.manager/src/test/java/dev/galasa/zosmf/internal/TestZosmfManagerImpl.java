@@ -270,6 +270,30 @@ public class TestZosmfManagerImpl {
         zosmfManagerSpy.newZosmfRestApiProcessor(zosImageMock, true);
     }
 
+    @Test
+    public void testNewDedicatedZosmfRestApiProcessor() throws ZosManagerException {
+        setupZosmfImplInitialize();
+        Mockito.when(zosmfMock.getImage()).thenReturn(zosImageMock);
+        
+        HashMap<String, IZosmf> zosmfs = new HashMap<>();
+        zosmfs.put(IMAGE, zosmfMock);
+        Mockito.doReturn(zosmfs).when(zosmfManagerSpy).getZosmfs(CLUSTER);
+        
+        IZosmf zosmf = ((ZosmfRestApiProcessor) zosmfManagerSpy.newDedicatedZosmfRestApiProcessor(zosImageMock, false)).getCurrentZosmfServer();
+        Assert.assertNotEquals("newDedicatedZosmfRestApiProcessor() should not return the shared ZosmfImpl", zosmfMock, zosmf);
+        Assert.assertEquals("newDedicatedZosmfRestApiProcessor() should return a ZosmfImpl for the image", zosImageMock, zosmf.getImage());
+        
+        Whitebox.setInternalState(zosmfManagerSpy, "zosmfs", zosmfs);
+        zosmf = ((ZosmfRestApiProcessor) zosmfManagerSpy.newDedicatedZosmfRestApiProcessor(zosImageMock, true)).getCurrentZosmfServer();
+        Assert.assertNotEquals("newDedicatedZosmfRestApiProcessor() should not return the shared ZosmfImpl", zosmfMock, zosmf);
+        
+        zosmfs.clear();
+        Whitebox.setInternalState(zosmfManagerSpy, "zosmfs", zosmfs);
+        exceptionRule.expect(ZosmfManagerException.class);
+        exceptionRule.expectMessage("No zOSMF sever configured on " + IMAGE);
+        zosmfManagerSpy.newDedicatedZosmfRestApiProcessor(zosImageMock, true);
+    }
+
     private void setupZosmfImplInitialize() throws ZosmfManagerException {        
         Mockito.when(zosImageMock.getImageID()).thenReturn(IMAGE);
         Mockito.when(zosImageMock.getClusterID()).thenReturn(CLUSTER);
@@ -11,8 +11,11 @@ import java.io.InputStream;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
 
 import org.apache.commons.io.IOUtils;
+import org.apache.http.Header;
 import org.apache.http.HttpEntity;
 import org.apache.http.HttpStatus;
 import org.apache.http.StatusLine;
@@ -117,6 +120,26 @@ public class TestZosmfResponseImpl {
         zosmfResponseSpy.getJsonContent();
     }
     
+    @Test
+    public void testGetJsonContentType() throws ZosmfException {
+        Whitebox.setInternalState(zosmfResponseSpy, "content", JSONOBJECT_CONTENT_STRING);
+        Assert.assertEquals("getJsonContent() should return the expected value", "value", zosmfResponseSpy.getJsonContent(Named.class).name);
+        
+        Whitebox.setInternalState(zosmfResponseSpy, "content", "{\"name\": \"\u00e9\"}".getBytes(StandardCharsets.UTF_8));
+        Assert.assertEquals("getJsonContent() should decode the content as UTF-8", "\u00e9", zosmfResponseSpy.getJsonContent(Named.class).name);
+        
+        Whitebox.setInternalState(zosmfResponseSpy, "content", new ByteArrayInputStream(JSONOBJECT_CONTENT_STRING.getBytes()));
+        Assert.assertEquals("getJsonContent() should return the expected value", "value", zosmfResponseSpy.getJsonContent(Named.class).name);
+        
+        Whitebox.setInternalState(zosmfResponseSpy, "content", JSONOBJECT_CONTENT);
+        Assert.assertEquals("getJsonContent() should return the expected value", "value", zosmfResponseSpy.getJsonContent(Named.class).name);
+        
+        Whitebox.setInternalState(zosmfResponseSpy, "content", JSONARRAY_CONTENT_STRING);
+        exceptionRule.expect(ZosmfException.class);
+        exceptionRule.expectMessage("Unable to bind JSON content to " + Named.class.getName());
+        zosmfResponseSpy.getJsonContent(Named.class);
+    }
+    
     @Test
     public void testGetJsonArrayContent() throws ZosmfException {
         Whitebox.setInternalState(zosmfResponseSpy, "content", JSONARRAY_CONTENT_STRING);
@@ -178,8 +201,32 @@ public class TestZosmfResponseImpl {
       zosmfResponseSpy.setHttpClientresponse(closeableHttpResponseMock);
     }
     
+    @Test
+    public void testGetHeader() throws ZosmfException {
+        Map<String, String> headers = new HashMap<>();
+        headers.put("ETag", "etag-value");
+        Mockito.when(httpClientResponseStringMock.getheaders()).thenReturn(headers);
+        zosmfResponseSpy.setHttpClientresponse(httpClientResponseStringMock);
+        Assert.assertEquals("getHeader() should return the expected value", "etag-value", zosmfResponseSpy.getHeader("etag"));
+        Assert.assertNull("getHeader() should return null", zosmfResponseSpy.getHeader("If-None-Match"));
+        
+        Header headerMock = Mockito.mock(Header.class);
+        Mockito.when(headerMock.getName()).thenReturn("Etag");
+        Mockito.when(headerMock.getValue()).thenReturn("new-etag-value");
+        Mockito.when(closeableHttpResponseMock.getAllHeaders()).thenReturn(new Header[] {headerMock});
+        Mockito.when(closeableHttpResponseMock.getStatusLine()).thenReturn(statusLineMock);
+        Mockito.when(statusLineMock.getStatusCode()).thenReturn(HttpStatus.SC_NOT_MODIFIED);
+        zosmfResponseSpy.setHttpClientresponse(closeableHttpResponseMock);
+        Assert.assertEquals("getHeader() should return the expected value", "new-etag-value", zosmfResponseSpy.getHeader("ETag"));
+        Assert.assertEquals("getStatusCode() should return the expected value", HttpStatus.SC_NOT_MODIFIED, zosmfResponseSpy.getStatusCode());
+    }
+    
     @Test
     public void testGetRequestUrl() throws ZosmfException, MalformedURLException {
         Assert.assertTrue("getRequestUrl() should return the expected value", new URL(URL + PATH).equals(zosmfResponseSpy.getRequestUrl()));
     }
+    
+    private static class Named {
+        private String name;
+    }
 }
@@ -152,4 +152,12 @@ public class TestZosmfRestApiProcessor {
         zosmfRestApiProcessorSpy.getNextZosmf();
         Assert.assertEquals("getNextZosmf() should set the expected value", zosmfMock1, Whitebox.getInternalState(zosmfRestApiProcessorSpy, "currentZosmf"));
     }
+    
+    @Test
+    public void testEndpoint() {
+        Assert.assertEquals("endpoint() should return the expected value", "restjobs/jobs", ZosmfRestApiProcessor.endpoint("/zosmf/restjobs/jobs/JOBNAME/JOB12345"));
+        Assert.assertEquals("endpoint() should return the expected value", "restfiles/ds", ZosmfRestApiProcessor.endpoint("/zosmf/restfiles/ds?dslevel=HLQ.DATA"));
+        Assert.assertEquals("endpoint() should return the expected value", "info", ZosmfRestApiProcessor.endpoint("/zosmf/info"));
+        Assert.assertEquals("endpoint() should return the expected value", "unknown", ZosmfRestApiProcessor.endpoint(null));
+    }
 }
@@ -0,0 +1,90 @@
+/*
+ * Licensed Materials - Property of IBM
+ * 
+ * (c) Copyright IBM Corp. 2020.
+ */
+package dev.galasa.zosmf.internal;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import dev.galasa.ICredentialsUsernamePassword;
+import dev.galasa.http.IHttpClient;
+import dev.galasa.http.spi.IHttpManagerSpi;
+import dev.galasa.zosmf.ZosmfException;
+
+@RunWith(PowerMockRunner.class)
+public class TestZosmfTransport {
+
+    @Mock
+    private IHttpManagerSpi httpManagerMock;
+
+    @Mock
+    private ICredentialsUsernamePassword credentialsMock;
+
+    @Mock
+    private ICredentialsUsernamePassword otherPasswordMock;
+
+    private static final String ZOSMF_URL = "https://zosmf:443";
+
+    private static final String USERNAME = "USERNAME";
+
+    @Before
+    public void setup() {
+        Mockito.when(httpManagerMock.newHttpClient()).thenAnswer(invocation -> Mockito.mock(IHttpClient.class));
+        Mockito.when(credentialsMock.getUsername()).thenReturn(USERNAME);
+        Mockito.when(credentialsMock.getPassword()).thenReturn("PASSWORD");
+        Mockito.when(otherPasswordMock.getUsername()).thenReturn(USERNAME);
+        Mockito.when(otherPasswordMock.getPassword()).thenReturn("OTHER");
+        ZosmfManagerImpl.setHttpManager(httpManagerMock);
+    }
+
+    @After
+    public void after() {
+        ZosmfTransport.closeAll();
+    }
+
+    @Test
+    public void testReuse() throws ZosmfException {
+        ZosmfTransport transport = ZosmfTransport.get(ZOSMF_URL, credentialsMock);
+        Assert.assertSame("get() should return the same transport for the same server and credentials", transport, ZosmfTransport.get(ZOSMF_URL, credentialsMock));
+
+        IHttpClient httpClient = transport.lease();
+        IHttpClient concurrentClient = transport.lease();
+        Assert.assertNotSame("lease() should return a client of its own to a concurrent request", httpClient, concurrentClient);
+        transport.release(concurrentClient);
+        transport.release(httpClient);
+        Assert.assertSame("lease() should return the most recently released client", httpClient, transport.lease());
+        Mockito.verify(httpClient).clearCommonHeaders();
+        Mockito.verify(httpManagerMock, Mockito.times(2)).newHttpClient();
+    }
+
+    @Test
+    public void testKeySeparation() throws ZosmfException {
+        ZosmfTransport transport = ZosmfTransport.get(ZOSMF_URL, credentialsMock);
+        Assert.assertNotSame("get() should return another transport for another password", transport, ZosmfTransport.get(ZOSMF_URL, otherPasswordMock));
+        Assert.assertNotSame("get() should return another transport for another server", transport, ZosmfTransport.get("https://zosmf2:443", credentialsMock));
+    }
+
+    @Test
+    public void testCloseAll() throws ZosmfException {
+        ZosmfTransport transport = ZosmfTransport.get(ZOSMF_URL, credentialsMock);
+        IHttpClient leasedClient = transport.lease();
+        IHttpClient idleClient = transport.lease();
+        transport.release(idleClient);
+
+        ZosmfTransport.closeAll();
+        Mockito.verify(leasedClient).close();
+        Mockito.verify(idleClient).close();
+
+        transport.release(leasedClient);
+        Mockito.verify(leasedClient, Mockito.never()).clearCommonHeaders();
+        Assert.assertNotSame("get() should return a new transport after closeAll()", transport, ZosmfTransport.get(ZOSMF_URL, credentialsMock));
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Licensed Materials - Property of IBM
+ * 
+ * (c) Copyright IBM Corp. 2020.
+ */
+package dev.galasa.zostsocommand.ssh.manager.internal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.http.HttpStatus;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import dev.galasa.zosmf.IZosmf.ZosmfRequestType;
+import dev.galasa.zosmf.IZosmfResponse;
+import dev.galasa.zosmf.IZosmfRestApiProcessor;
+import dev.galasa.zosmf.ZosmfException;
+import dev.galasa.zostsocommand.ZosTSOCommandException;
+
+/**
+ * A TSO address space started by the zOSMF TSO/E address space service.<br>
+ * The address space stays logged on between commands, so each command runs in the same TSO session as the commands
+ * before it, with the allocations, PROFILE settings and variables they left behind. The servlet key of the address
+ * space is only known to the zOSMF server that started it, so the REST processor must be dedicated to a single server.
+ */
+public class ZosTSOCommandAddressSpace {
+
+    private static final String TSO_PATH = "/zosmf/tsoApp/tso";
+    private static final String LOGON_PROCEDURE = "IZUFPROC";
+    private static final String TSO_DATA = "tsoData";
+    private static final String TSO_MESSAGE = "TSO MESSAGE";
+    private static final String TSO_PROMPT = "TSO PROMPT";
+    private static final String TSO_RESPONSE = "TSO RESPONSE";
+    private static final String DATA = "DATA";
+    private static final String VERSION = "VERSION";
+    private static final String VERSION_0100 = "0100";
+    private static final String READY = "READY";
+
+    private final String imageId;
+    private final IZosmfRestApiProcessor zosmfApiProcessor;
+    private String servletKey;
+
+    private static final Log logger = LogFactory.getLog(ZosTSOCommandAddressSpace.class);
+
+    public ZosTSOCommandAddressSpace(String imageId, IZosmfRestApiProcessor zosmfApiProcessor) {
+        this.imageId = imageId;
+        this.zosmfApiProcessor = zosmfApiProcessor;
+    }
+
+    /**
+     * Log on to TSO and wait for the READY prompt
+     * @param account the TSO account number
+     * @param timeout time (in milliseconds) to wait with no new output appearing before timing out
+     * @throws ZosTSOCommandException
+     */
+    public void start(String account, long timeout) throws ZosTSOCommandException {
+        String path = TSO_PATH + "?proc=" + LOGON_PROCEDURE + "&chset=697&cpage=1047&rows=204&cols=160&rsize=4096&acct=" + account;
+        JsonObject content = send(ZosmfRequestType.POST_JSON, path, new JsonObject(), "start a TSO address space");
+        JsonElement key = content.get("servletKey");
+        if (key == null || !key.isJsonPrimitive()) {
+            throw new ZosTSOCommandException("Unable to start a TSO address space on image " + this.imageId + ", response was: " + content);
+        }
+        this.servletKey = key.getAsString();
+        logger.debug("Started TSO address space " + this.servletKey + " on image " + this.imageId);
+        readResponse(content, timeout);
+    }
+
+    /**
+     * Issue a command in the address space and return the messages it writes before TSO prompts for the next command
+     * @param command the TSO command
+     * @param timeout time (in milliseconds) to wait with no new output appearing before timing out
+     * @return the command response
+     * @throws ZosTSOCommandException
+     */
+    public String issueCommand(String command, long timeout) throws ZosTSOCommandException {
+        JsonObject response = new JsonObject();
+        response.addProperty(VERSION, VERSION_0100);
+        response.addProperty(DATA, command);
+        JsonObject body = new JsonObject();
+        body.add(TSO_RESPONSE, response);
+        JsonObject content = send(ZosmfRequestType.PUT_JSON, TSO_PATH + "/" + this.servletKey + "?readReply=true", body, "issue TSO command");
+        return readResponse(content, timeout);
+    }
+
+    /**
+     * Log off TSO and end the address space
+     */
+    public void end() {
+        if (this.servletKey == null) {
+            return;
+        }
+        try {
+            send(ZosmfRequestType.DELETE, TSO_PATH + "/" + this.servletKey, null, "end TSO address space");
+        } catch (ZosTSOCommandException e) {
+            logger.warn("Problem ending TSO address space " + this.servletKey + " on image " + this.imageId, e);
+        }
+        this.servletKey = null;
+    }
+
+    /**
+     * Collect the messages up to the next TSO prompt, asking zOSMF for more until the prompt appears
+     */
+    protected String readResponse(JsonObject content, long timeout) throws ZosTSOCommandException {
+        List<String> messages = new ArrayList<>();
+        int received = 0;
+        long deadline = System.currentTimeMillis() + timeout;
+        while (!addMessages(content, messages)) {
+            if (messages.size() > received) {
+                received = messages.size();
+                deadline = System.currentTimeMillis() + timeout;
+            } else if (System.currentTimeMillis() > deadline) {
+                throw new ZosTSOCommandException("Timed out waiting for a response from TSO address space on image " + this.imageId);
+            }
+            content = send(ZosmfRequestType.GET, TSO_PATH + "/" + this.servletKey, null, "read TSO response");
+        }
+
+        // The READY message belongs to the prompt rather than to the command
+        if (!messages.isEmpty() && READY.equals(messages.get(messages.size() - 1).trim())) {
+            messages.remove(messages.size() - 1);
+        }
+        return String.join("\n", messages);
+    }
+
+    /**
+     * @return true if the response ends with a TSO prompt
+     */
+    private boolean addMessages(JsonObject content, List<String> messages) {
+        JsonElement tsoData = content.get(TSO_DATA);
+        if (tsoData == null || !tsoData.isJsonArray()) {
+            return false;
+        }
+        boolean prompt = false;
+        for (JsonElement element : (JsonArray) tsoData) {
+            if (!element.isJsonObject()) {
+                continue;
+            }
+            JsonObject data = element.getAsJsonObject();
+            if (data.has(TSO_MESSAGE)) {
+                JsonElement message = data.getAsJsonObject(TSO_MESSAGE).get(DATA);
+                messages.add(message == null || message.isJsonNull() ? "" : message.getAsString());
+            } else if (data.has(TSO_PROMPT)) {
+                prompt = true;
+            }
+        }
+        return prompt;
+    }
+
+    private JsonObject send(ZosmfRequestType requestType, String path, JsonObject body, String action) throws ZosTSOCommandException {
+        try {
+            IZosmfResponse response = this.zosmfApiProcessor.sendRequest(requestType, path, null, body, new ArrayList<>(Arrays.asList(HttpStatus.SC_OK)), false);
+            return response.getJsonContent();
+        } catch (ZosmfException e) {
+            throw new ZosTSOCommandException("Unable to " + action + " on image " + this.imageId, e);
+        }
+    }
+}
@@ -7,62 +7,59 @@ package dev.galasa.zostsocommand.ssh.manager.internal;
 
 import javax.validation.constraints.NotNull;
 
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
 import dev.galasa.zos.IZosImage;
 import dev.galasa.zostsocommand.IZosTSOCommand;
 import dev.galasa.zostsocommand.ZosTSOCommandException;
 import dev.galasa.zostsocommand.ZosTSOCommandManagerException;
-import dev.galasa.zosunixcommand.IZosUNIXCommand;
-import dev.galasa.zosunixcommand.ZosUNIXCommandException;
-import dev.galasa.zosunixcommand.ZosUNIXCommandManagerException;
 
 /**
- * Implementation of {@link IZosTSOCommand} using ssh
+ * Implementation of {@link IZosTSOCommand} using a TSO address space started by zOSMF
  *
  */
 public class ZosTSOCommandImpl implements IZosTSOCommand {
 
-    private IZosUNIXCommand zosUnixCommand;
+    private static final long DEFAULT_TIMEOUT = 60000;
+
+    private ZosTSOCommandSessionPool sessionPool;
+    
+    private static final Log logger = LogFactory.getLog(ZosTSOCommandImpl.class);
     
     public ZosTSOCommandImpl(IZosImage image) throws ZosTSOCommandManagerException {
-        try {
-            this.zosUnixCommand = ZosTSOCommandManagerImpl.zosUnixCommandManager.getZosUNIXCommand(image);
-        } catch (ZosUNIXCommandManagerException e) {
-            throw new ZosTSOCommandException("Unable to get zOS UNIX Command instance", e);
-        }
+        this.sessionPool = ZosTSOCommandSessionPool.get(image);
     }
 
     @Override
     public String issueCommand(@NotNull String command) throws ZosTSOCommandException {
-        String commandResponse;
-        try {
-            commandResponse = this.zosUnixCommand.issueCommand(buildCommand(command));
-        } catch (ZosUNIXCommandException e) {
-            throw new ZosTSOCommandException("Unable to issue zOS TSO Command", e);
-        }
-        return commandResponse;
+        return issueCommand(command, DEFAULT_TIMEOUT);
     }
 
     @Override
     public String issueCommand(@NotNull String command, long timeout) throws ZosTSOCommandException {
+        ZosTSOCommandAddressSpace session = this.sessionPool.lease();
         String commandResponse;
         try {
-            commandResponse = this.zosUnixCommand.issueCommand(buildCommand(command), timeout);
-        } catch (ZosUNIXCommandException e) {
+            logger.debug("About to issue command :" + command);
+            commandResponse = session.issueCommand(buildCommand(command), timeout);
+            logger.debug("response :" + commandResponse);
+        } catch (ZosTSOCommandException e) {
+            // The address space may be part way through the command, so is not reused
+            this.sessionPool.discard(session);
             throw new ZosTSOCommandException("Unable to issue zOS TSO Command", e);
         }
+        this.sessionPool.release(session);
         return commandResponse;
     }
 
+    /**
+     * Commands were quoted for the zOS UNIX tsocmd command, so remove the quotes TSO would not expect
+     */
     protected String buildCommand(String command) {
-        StringBuilder builtCommand = new StringBuilder();
-        builtCommand.append("tsocmd ");
-        if (!command.startsWith("\"")) {
-            builtCommand.append("\"");
-        }
-        builtCommand.append(command);
-        if (!command.endsWith("\"")) {
-            builtCommand.append("\"");
+        if (command.length() > 1 && command.startsWith("\"") && command.endsWith("\"")) {
+            return command.substring(1, command.length() - 1);
         }
-        return builtCommand.toString();
+        return command;
     }
 }
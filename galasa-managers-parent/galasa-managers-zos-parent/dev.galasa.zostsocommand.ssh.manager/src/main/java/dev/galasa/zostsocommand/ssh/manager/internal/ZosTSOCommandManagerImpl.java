@@ -26,17 +26,16 @@ import dev.galasa.framework.spi.language.GalasaTest;
 import dev.galasa.zos.IZosImage;
 import dev.galasa.zos.ZosManagerException;
 import dev.galasa.zos.spi.IZosManagerSpi;
+import dev.galasa.zosmf.spi.IZosmfManagerSpi;
 import dev.galasa.zostsocommand.ssh.manager.internal.properties.ZosTSOCommandSshPropertiesSingleton;
 import dev.galasa.zostsocommand.IZosTSOCommand;
 import dev.galasa.zostsocommand.ZosTSOCommand;
 import dev.galasa.zostsocommand.ZosTSOCommandField;
 import dev.galasa.zostsocommand.ZosTSOCommandManagerException;
 import dev.galasa.zostsocommand.spi.IZosTSOCommandSpi;
-import dev.galasa.zosunixcommand.ZosUNIXCommandManagerException;
-import dev.galasa.zosunixcommand.spi.IZosUNIXCommandSpi;
 
 /**
- * zOS TSO Command Manager implemented using ssh
+ * zOS TSO Command Manager implemented using TSO address spaces started by zOSMF
  *
  */
 @Component(service = { IManager.class })
@@ -48,9 +47,9 @@ public class ZosTSOCommandManagerImpl extends AbstractManager implements IZosTSO
         ZosTSOCommandManagerImpl.zosManager = zosManager;
     }
 
-    protected static IZosUNIXCommandSpi zosUnixCommandManager;
-    public static void setZosUnixCommandManager(IZosUNIXCommandSpi zosUnixCommandManager) {
-        ZosTSOCommandManagerImpl.zosUnixCommandManager = zosUnixCommandManager;
+    protected static IZosmfManagerSpi zosmfManager;
+    public static void setZosmfManager(IZosmfManagerSpi zosmfManager) {
+        ZosTSOCommandManagerImpl.zosmfManager = zosmfManager;
     }
 
     private final HashMap<String, ZosTSOCommandImpl> taggedZosTSOCommands = new HashMap<>();
@@ -104,9 +103,9 @@ public class ZosTSOCommandManagerImpl extends AbstractManager implements IZosTSO
         if (zosManager == null) {
             throw new ZosTSOCommandManagerException("The zOS Manager is not available");
         }
-        setZosUnixCommandManager(addDependentManager(allManagers, activeManagers, IZosUNIXCommandSpi.class));
-        if (zosUnixCommandManager == null) {
-            throw new ZosUNIXCommandManagerException("The zOS UNIX Command Manager is not available");
+        setZosmfManager(addDependentManager(allManagers, activeManagers, IZosmfManagerSpi.class));
+        if (zosmfManager == null) {
+            throw new ZosTSOCommandManagerException("The zOSMF Manager is not available");
         }
     }
 
@@ -117,7 +116,7 @@ public class ZosTSOCommandManagerImpl extends AbstractManager implements IZosTSO
      */
     @Override
     public boolean areYouProvisionalDependentOn(@NotNull IManager otherManager) {
-        return otherManager instanceof IZosManagerSpi || otherManager instanceof IZosUNIXCommandSpi;
+        return otherManager instanceof IZosManagerSpi || otherManager instanceof IZosmfManagerSpi;
     }
 
     @GenerateAnnotatedField(annotation=ZosTSOCommand.class)
@@ -151,4 +150,10 @@ public class ZosTSOCommandManagerImpl extends AbstractManager implements IZosTSO
         
         return zosTSO;
     }
+
+    @Override
+    public void shutdown() {
+        ZosTSOCommandSessionPool.closeAll();
+        super.shutdown();
+    }
 }
@@ -0,0 +1,143 @@
+/*
+ * Licensed Materials - Property of IBM
+ * 
+ * (c) Copyright IBM Corp. 2020.
+ */
+package dev.galasa.zostsocommand.ssh.manager.internal;
+
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import dev.galasa.zos.IZosImage;
+import dev.galasa.zosmf.IZosmfRestApiProcessor;
+import dev.galasa.zosmf.ZosmfManagerException;
+import dev.galasa.zostsocommand.ZosTSOCommandException;
+import dev.galasa.zostsocommand.ZosTSOCommandManagerException;
+import dev.galasa.zostsocommand.ssh.manager.internal.properties.SessionAccount;
+import dev.galasa.zostsocommand.ssh.manager.internal.properties.SessionIdleTimeout;
+
+/**
+ * The TSO command sessions to a zOS image, shared by every {@link ZosTSOCommandImpl} for the image.<br>
+ * A session is a TSO address space started by zOSMF that stays logged on between commands, so a command does not
+ * have to log on, and runs in the TSO session left by the commands before it. A session is leased for a single
+ * command, so concurrent commands each have a session of their own.<br>
+ * zOSMF ends a TSO address space that has been idle for longer than its own timeout, so a session idle for longer than
+ * the {@link SessionIdleTimeout} property is ended rather than leased.
+ */
+public class ZosTSOCommandSessionPool {
+
+    private static final Map<String, ZosTSOCommandSessionPool> pools = new HashMap<>();
+
+    private static final long LOGON_TIMEOUT = 60000;
+
+    private final IZosImage image;
+    private final long idleTimeout;
+    private final Deque<IdleSession> idleSessions = new ConcurrentLinkedDeque<>();
+
+    private static final Log logger = LogFactory.getLog(ZosTSOCommandSessionPool.class);
+
+    protected ZosTSOCommandSessionPool(IZosImage image, long idleTimeout) {
+        this.image = image;
+        this.idleTimeout = idleTimeout;
+    }
+
+    /**
+     * Return the session pool for a zOS image, creating it if this is the first request for it
+     * @param image the zOS image
+     * @return the session pool
+     * @throws ZosTSOCommandManagerException 
+     */
+    public static ZosTSOCommandSessionPool get(IZosImage image) throws ZosTSOCommandManagerException {
+        synchronized (pools) {
+            ZosTSOCommandSessionPool pool = pools.get(image.getImageID());
+            if (pool == null) {
+                pool = new ZosTSOCommandSessionPool(image, SessionIdleTimeout.get(image.getImageID()) * 1000L);
+                pools.put(image.getImageID(), pool);
+            }
+            return pool;
+        }
+    }
+
+    /**
+     * End all the sessions and forget the pools
+     */
+    public static void closeAll() {
+        synchronized (pools) {
+            for (ZosTSOCommandSessionPool pool : pools.values()) {
+                IdleSession idleSession;
+                while ((idleSession = pool.idleSessions.poll()) != null) {
+                    pool.discard(idleSession.session);
+                }
+            }
+            pools.clear();
+        }
+    }
+
+    /**
+     * Lease a session for a single command, it must be returned with {@link #release(ZosTSOCommandAddressSpace)} or,
+     * if the command failed, {@link #discard(ZosTSOCommandAddressSpace)}
+     * @return a started session
+     * @throws ZosTSOCommandException
+     */
+    public ZosTSOCommandAddressSpace lease() throws ZosTSOCommandException {
+        long idleSince = System.currentTimeMillis() - this.idleTimeout;
+        IdleSession idleSession;
+        while ((idleSession = this.idleSessions.pollFirst()) != null) {
+            if (idleSession.releasedAt > idleSince) {
+                return idleSession.session;
+            }
+            logger.debug("Ending a zOS TSO Command session on image " + this.image.getImageID() + " that has been idle for too long");
+            discard(idleSession.session);
+        }
+
+        logger.debug("Starting a zOS TSO Command session on image " + this.image.getImageID());
+        return newSession();
+    }
+
+    /**
+     * Return a leased session to the pool
+     * @param session
+     */
+    public void release(ZosTSOCommandAddressSpace session) {
+        // Most recently used first, so a single threaded test keeps using the one session
+        this.idleSessions.offerFirst(new IdleSession(session));
+    }
+
+    /**
+     * End a leased session that may not be usable
+     * @param session
+     */
+    public void discard(ZosTSOCommandAddressSpace session) {
+        session.end();
+    }
+
+    protected ZosTSOCommandAddressSpace newSession() throws ZosTSOCommandException {
+        ZosTSOCommandAddressSpace session = null;
+        try {
+            // The servlet key of the address space is only known to the zOSMF server that started it
+            IZosmfRestApiProcessor zosmfApiProcessor = ZosTSOCommandManagerImpl.zosmfManager.newDedicatedZosmfRestApiProcessor(this.image, true);
+            session = new ZosTSOCommandAddressSpace(this.image.getImageID(), zosmfApiProcessor);
+            session.start(SessionAccount.get(this.image.getImageID()), LOGON_TIMEOUT);
+            return session;
+        } catch (ZosmfManagerException | ZosTSOCommandManagerException e) {
+            if (session != null) {
+                discard(session);
+            }
+            throw new ZosTSOCommandException("Unable to start a zOS TSO Command session on image " + this.image.getImageID(), e);
+        }
+    }
+
+    private static class IdleSession {
+        private final ZosTSOCommandAddressSpace session;
+        private final long releasedAt = System.currentTimeMillis();
+
+        private IdleSession(ZosTSOCommandAddressSpace session) {
+            this.session = session;
+        }
+    }
+}
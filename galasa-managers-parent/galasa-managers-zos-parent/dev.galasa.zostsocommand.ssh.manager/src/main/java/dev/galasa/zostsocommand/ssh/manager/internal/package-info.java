@@ -4,7 +4,7 @@
  * (c) Copyright IBM Corp. 2020.
  */
 /**
- * zOS TSO Command Manager - SSH Internal Implementation
+ * zOS TSO Command Manager - Internal Implementation
  * 
  * @galasa.manager zOS TSO Command SSH
  * 
@@ -12,7 +12,7 @@
  * 
  * @galasa.description
  * 
- * This Manager is the internal implementation of the zOS TSO Command Manager using SSH.
+ * This Manager is the internal implementation of the zOS TSO Command Manager using the zOSMF TSO/E address space service.
  * <br><br> See the <a href="/docs/managers/zos-manager">zOS Manager</a> for details of the z/OS TSO annotations and 
  * code snippets.<br><br> You can view the <a href="https://javadoc.galasa.dev/dev/galasa/zostso/package-summary.html">Javadoc 
  * documentation for the Manager here</a>. <br><br>
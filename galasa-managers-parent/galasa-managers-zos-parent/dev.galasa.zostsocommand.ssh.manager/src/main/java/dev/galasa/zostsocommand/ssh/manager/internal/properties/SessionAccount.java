@@ -0,0 +1,45 @@
+/*
+ * Licensed Materials - Property of IBM
+ * 
+ * (c) Copyright IBM Corp. 2020.
+ */
+package dev.galasa.zostsocommand.ssh.manager.internal.properties;
+
+import dev.galasa.framework.spi.ConfigurationPropertyStoreException;
+import dev.galasa.framework.spi.cps.CpsProperties;
+import dev.galasa.zostsocommand.ZosTSOCommandManagerException;
+
+/**
+ * zOS TSO Command session account number
+ * 
+ * @galasa.cps.property
+ * 
+ * @galasa.name zostsocommand.session.[imageid].account
+ * 
+ * @galasa.description The account number zOSMF logs on to TSO with when it starts a TSO address space for TSO commands
+ * 
+ * @galasa.required No
+ * 
+ * @galasa.default DEFAULT
+ * 
+ * @galasa.valid_values A valid TSO account number
+ * 
+ * @galasa.examples 
+ * <code>zostsocommand.session.MVSA.account=ACCT#</code><br>
+ * <code>zostsocommand.session.default.account=ACCT#</code>
+ *
+ */
+public class SessionAccount extends CpsProperties {
+
+    private static final String DEFAULT_SESSION_ACCOUNT = "DEFAULT";
+
+    public static String get(String imageId) throws ZosTSOCommandManagerException {
+        try {
+            String account = getStringNulled(ZosTSOCommandSshPropertiesSingleton.cps(), "session", "account", imageId);
+            return account == null ? DEFAULT_SESSION_ACCOUNT : account;
+        } catch (ConfigurationPropertyStoreException e) {
+            throw new ZosTSOCommandManagerException("Problem asking the CPS for the TSO command session account property for zOS image "  + imageId, e);
+        }
+    }
+
+}
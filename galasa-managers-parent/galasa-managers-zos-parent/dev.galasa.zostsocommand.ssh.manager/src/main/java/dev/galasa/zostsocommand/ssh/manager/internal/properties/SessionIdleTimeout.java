@@ -0,0 +1,56 @@
+/*
+ * Licensed Materials - Property of IBM
+ * 
+ * (c) Copyright IBM Corp. 2020.
+ */
+package dev.galasa.zostsocommand.ssh.manager.internal.properties;
+
+import dev.galasa.framework.spi.ConfigurationPropertyStoreException;
+import dev.galasa.framework.spi.cps.CpsProperties;
+import dev.galasa.zostsocommand.ZosTSOCommandManagerException;
+
+/**
+ * zOS TSO Command session idle timeout
+ * 
+ * @galasa.cps.property
+ * 
+ * @galasa.name zostsocommand.session.[imageid].idle.timeout
+ * 
+ * @galasa.description The value in seconds that a TSO address space is kept for the next TSO command after it has
+ * become idle. It must be shorter than the time zOSMF waits before it ends an idle TSO address space, so a TSO address
+ * space is ended by the manager rather than by zOSMF part way through being leased
+ * 
+ * @galasa.required No
+ * 
+ * @galasa.default 300
+ * 
+ * @galasa.valid_values 0 to {@link Integer#MAX_VALUE}
+ * 
+ * @galasa.examples 
+ * <code>zostsocommand.session.MVSA.idle.timeout=300</code><br>
+ * <code>zostsocommand.session.default.idle.timeout=60</code>
+ *
+ */
+public class SessionIdleTimeout extends CpsProperties {
+
+    private static final int DEFAULT_SESSION_IDLE_TIMEOUT = 300;
+
+    public static int get(String imageId) throws ZosTSOCommandManagerException {
+        try {
+            String timeoutString = getStringNulled(ZosTSOCommandSshPropertiesSingleton.cps(), "session", "idle.timeout", imageId);
+
+            if (timeoutString == null) {
+                return DEFAULT_SESSION_IDLE_TIMEOUT;
+            } else {
+                int timeout = Integer.parseInt(timeoutString);
+                if (timeout < 0) {
+                    throw new ZosTSOCommandManagerException("TSO command session idle timeout property must be a positive integer");
+                }
+                return timeout;
+            }
+        } catch (ConfigurationPropertyStoreException | NumberFormatException e) {
+            throw new ZosTSOCommandManagerException("Problem asking the CPS for the TSO command session idle timeout property for zOS image "  + imageId, e);
+        }
+    }
+
+}
@@ -0,0 +1,143 @@
+/*
+ * Licensed Materials - Property of IBM
+ * 
+ * (c) Copyright IBM Corp. 2020.
+ */
+package dev.galasa.zostsocommand.ssh.manager.internal;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import dev.galasa.zosmf.IZosmf.ZosmfRequestType;
+import dev.galasa.zosmf.IZosmfResponse;
+import dev.galasa.zosmf.IZosmfRestApiProcessor;
+import dev.galasa.zosmf.ZosmfException;
+import dev.galasa.zostsocommand.ZosTSOCommandException;
+
+@RunWith(PowerMockRunner.class)
+public class TestZosTSOCommandAddressSpace {
+    
+    private static final String SERVLET_KEY = "USERID-71-aaaaaaaa";
+    
+    private static final String START_RESPONSE = "{\"servletKey\":\"" + SERVLET_KEY + "\",\"tsoData\":[" + 
+            "{\"TSO MESSAGE\":{\"VERSION\":\"0100\",\"DATA\":\"USERID LOGON IN PROGRESS\"}}," + 
+            "{\"TSO MESSAGE\":{\"VERSION\":\"0100\",\"DATA\":\"READY \"}}," + 
+            "{\"TSO PROMPT\":{\"VERSION\":\"0100\",\"HIDDEN\":\"FALSE\"}}]}";
+    
+    private static final String PARTIAL_RESPONSE = "{\"servletKey\":\"" + SERVLET_KEY + "\",\"tsoData\":[" + 
+            "{\"TSO MESSAGE\":{\"VERSION\":\"0100\",\"DATA\":\"LINE 1\"}}],\"timeout\":true}";
+    
+    private static final String EMPTY_RESPONSE = "{\"servletKey\":\"" + SERVLET_KEY + "\",\"timeout\":true}";
+    
+    private static final String END_RESPONSE = "{\"servletKey\":\"" + SERVLET_KEY + "\",\"tsoData\":[" + 
+            "{\"TSO MESSAGE\":{\"VERSION\":\"0100\",\"DATA\":\"LINE 2\"}}," + 
+            "{\"TSO MESSAGE\":{\"VERSION\":\"0100\",\"DATA\":\"READY \"}}," + 
+            "{\"TSO PROMPT\":{\"VERSION\":\"0100\",\"HIDDEN\":\"FALSE\"}}]}";
+    
+    private ZosTSOCommandAddressSpace addressSpace;
+    
+    @Mock
+    private IZosmfRestApiProcessor zosmfApiProcessorMock;
+    
+    @Mock
+    private IZosmfResponse startResponseMock;
+    
+    @Mock
+    private IZosmfResponse partialResponseMock;
+    
+    @Mock
+    private IZosmfResponse emptyResponseMock;
+    
+    @Mock
+    private IZosmfResponse endResponseMock;
+
+    @Rule
+    public ExpectedException exceptionRule = ExpectedException.none();
+
+    @Before
+    public void setup() throws Exception {
+        Mockito.when(startResponseMock.getJsonContent()).thenReturn(json(START_RESPONSE));
+        Mockito.when(partialResponseMock.getJsonContent()).thenReturn(json(PARTIAL_RESPONSE));
+        Mockito.when(emptyResponseMock.getJsonContent()).thenReturn(json(EMPTY_RESPONSE));
+        Mockito.when(endResponseMock.getJsonContent()).thenReturn(json(END_RESPONSE));
+        Mockito.when(zosmfApiProcessorMock.sendRequest(Mockito.eq(ZosmfRequestType.POST_JSON), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyBoolean())).thenReturn(startResponseMock);
+        
+        addressSpace = new ZosTSOCommandAddressSpace("image", zosmfApiProcessorMock);
+    }
+    
+    @Test
+    public void testStart() throws ZosTSOCommandException, ZosmfException {
+        addressSpace.start("ACCT#", 1000);
+        
+        Mockito.verify(zosmfApiProcessorMock).sendRequest(Mockito.eq(ZosmfRequestType.POST_JSON), Mockito.eq("/zosmf/tsoApp/tso?proc=IZUFPROC&chset=697&cpage=1047&rows=204&cols=160&rsize=4096&acct=ACCT#"), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyBoolean());
+        Mockito.verify(zosmfApiProcessorMock, Mockito.never()).sendRequest(Mockito.eq(ZosmfRequestType.GET), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyBoolean());
+    }
+    
+    @Test
+    public void testStartWithoutServletKey() throws ZosTSOCommandException, ZosmfException {
+        Mockito.when(startResponseMock.getJsonContent()).thenReturn(json("{\"msgData\":[]}"));
+        exceptionRule.expect(ZosTSOCommandException.class);
+        exceptionRule.expectMessage("Unable to start a TSO address space on image image");
+        addressSpace.start("ACCT#", 1000);
+    }
+    
+    @Test
+    public void testIssueCommand() throws ZosTSOCommandException, ZosmfException {
+        addressSpace.start("ACCT#", 1000);
+        Mockito.when(zosmfApiProcessorMock.sendRequest(Mockito.eq(ZosmfRequestType.PUT_JSON), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyBoolean())).thenReturn(partialResponseMock);
+        Mockito.when(zosmfApiProcessorMock.sendRequest(Mockito.eq(ZosmfRequestType.GET), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyBoolean())).thenReturn(emptyResponseMock, endResponseMock);
+        
+        Assert.assertEquals("issueCommand() should return the messages up to the prompt without READY", "LINE 1\nLINE 2", addressSpace.issueCommand("command", 1000));
+        
+        JsonObject body = json("{\"TSO RESPONSE\":{\"VERSION\":\"0100\",\"DATA\":\"command\"}}");
+        Mockito.verify(zosmfApiProcessorMock).sendRequest(Mockito.eq(ZosmfRequestType.PUT_JSON), Mockito.eq("/zosmf/tsoApp/tso/" + SERVLET_KEY + "?readReply=true"), Mockito.any(), Mockito.eq(body), Mockito.any(), Mockito.anyBoolean());
+        Mockito.verify(zosmfApiProcessorMock, Mockito.times(2)).sendRequest(Mockito.eq(ZosmfRequestType.GET), Mockito.eq("/zosmf/tsoApp/tso/" + SERVLET_KEY), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyBoolean());
+    }
+    
+    @Test
+    public void testIssueCommandTimeout() throws ZosTSOCommandException, ZosmfException {
+        addressSpace.start("ACCT#", 1000);
+        Mockito.when(zosmfApiProcessorMock.sendRequest(Mockito.eq(ZosmfRequestType.PUT_JSON), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyBoolean())).thenReturn(emptyResponseMock);
+        Mockito.when(zosmfApiProcessorMock.sendRequest(Mockito.eq(ZosmfRequestType.GET), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyBoolean())).thenReturn(emptyResponseMock);
+        
+        exceptionRule.expect(ZosTSOCommandException.class);
+        exceptionRule.expectMessage("Timed out waiting for a response from TSO address space on image image");
+        addressSpace.issueCommand("command", 1);
+    }
+    
+    @Test
+    public void testIssueCommandException() throws ZosTSOCommandException, ZosmfException {
+        addressSpace.start("ACCT#", 1000);
+        Mockito.when(zosmfApiProcessorMock.sendRequest(Mockito.eq(ZosmfRequestType.PUT_JSON), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyBoolean())).thenThrow(new ZosmfException("exception"));
+        
+        exceptionRule.expect(ZosTSOCommandException.class);
+        exceptionRule.expectMessage("Unable to issue TSO command on image image");
+        addressSpace.issueCommand("command", 1000);
+    }
+    
+    @Test
+    public void testEnd() throws ZosTSOCommandException, ZosmfException {
+        addressSpace.end();
+        Mockito.verify(zosmfApiProcessorMock, Mockito.never()).sendRequest(Mockito.eq(ZosmfRequestType.DELETE), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyBoolean());
+        
+        addressSpace.start("ACCT#", 1000);
+        Mockito.when(zosmfApiProcessorMock.sendRequest(Mockito.eq(ZosmfRequestType.DELETE), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyBoolean())).thenThrow(new ZosmfException("exception"));
+        addressSpace.end();
+        addressSpace.end();
+        Mockito.verify(zosmfApiProcessorMock, Mockito.times(1)).sendRequest(Mockito.eq(ZosmfRequestType.DELETE), Mockito.eq("/zosmf/tsoApp/tso/" + SERVLET_KEY), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyBoolean());
+    }
+    
+    private JsonObject json(String content) {
+        return new JsonParser().parse(content).getAsJsonObject();
+    }
+}
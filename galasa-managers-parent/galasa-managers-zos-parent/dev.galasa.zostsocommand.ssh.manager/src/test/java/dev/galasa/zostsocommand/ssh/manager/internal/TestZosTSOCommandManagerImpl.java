@@ -24,15 +24,14 @@ import org.powermock.reflect.Whitebox;
 
 import dev.galasa.ManagerException;
 import dev.galasa.framework.spi.ConfigurationPropertyStoreException;
+import dev.galasa.framework.spi.IConfigurationPropertyStoreService;
 import dev.galasa.framework.spi.IFramework;
 import dev.galasa.framework.spi.IManager;
 import dev.galasa.framework.spi.language.GalasaTest;
 import dev.galasa.zos.IZosImage;
 import dev.galasa.zos.internal.ZosManagerImpl;
+import dev.galasa.zosmf.internal.ZosmfManagerImpl;
 import dev.galasa.zostsocommand.ssh.manager.internal.properties.ZosTSOCommandSshPropertiesSingleton;
-import dev.galasa.zosunixcommand.ZosUNIXCommandManagerException;
-import dev.galasa.zosunixcommand.ssh.manager.internal.ZosUNIXCommandImpl;
-import dev.galasa.zosunixcommand.ssh.manager.internal.ZosUNIXCommandManagerImpl;
 import dev.galasa.zostsocommand.IZosTSOCommand;
 import dev.galasa.zostsocommand.ZosTSOCommandException;
 import dev.galasa.zostsocommand.ZosTSOCommandManagerException;
@@ -60,10 +59,10 @@ public class TestZosTSOCommandManagerImpl {
     private ZosManagerImpl zosManagerMock;
     
     @Mock
-    private ZosUNIXCommandManagerImpl zosUNIXCommandManagerMock;
+    private ZosmfManagerImpl zosmfManagerMock;
     
     @Mock
-    private ZosUNIXCommandImpl zosUnixCommandMock;
+    private IConfigurationPropertyStoreService cpsMock;
 
     @Mock
     private IZosImage zosImageMock;
@@ -76,6 +75,8 @@ public class TestZosTSOCommandManagerImpl {
         ZosTSOCommandManagerImpl.setZosManager(zosManagerMock);
         zosTSOCommandSshPropertiesSingleton = new ZosTSOCommandSshPropertiesSingleton();
         zosTSOCommandSshPropertiesSingleton.activate();
+        ZosTSOCommandSshPropertiesSingleton.setCps(cpsMock);
+        ZosTSOCommandSessionPool.closeAll();
         
         Mockito.when(zosImageMock.getImageID()).thenReturn("image");
         
@@ -119,7 +120,7 @@ public class TestZosTSOCommandManagerImpl {
     @Test
     public void testYouAreRequired() throws Exception {
         allManagers.add(zosManagerMock);
-        allManagers.add(zosUNIXCommandManagerMock);
+        allManagers.add(zosmfManagerMock);
         zosTSOCommandManagerSpy.youAreRequired(allManagers, activeManagers);
         PowerMockito.verifyPrivate(zosTSOCommandManagerSpy, Mockito.times(2)).invoke("addDependentManager", Mockito.any(), Mockito.any(), Mockito.any());
         
@@ -139,14 +140,14 @@ public class TestZosTSOCommandManagerImpl {
     public void testYouAreRequiredException2() throws ManagerException {
         allManagers.add(zosManagerMock);
         exceptionRule.expect(ManagerException.class);
-        exceptionRule.expectMessage("The zOS UNIX Command Manager is not available");
+        exceptionRule.expectMessage("The zOSMF Manager is not available");
         zosTSOCommandManagerSpy.youAreRequired(allManagers, activeManagers);
     }
     
     @Test
     public void testAreYouProvisionalDependentOn() {
         Assert.assertTrue("Should be dependent on IZosManagerSpi" , zosTSOCommandManager.areYouProvisionalDependentOn(zosManagerMock));
-        Assert.assertTrue("Should be dependent on IZosUNIXManagerSpi" , zosTSOCommandManager.areYouProvisionalDependentOn(zosUNIXCommandManagerMock));
+        Assert.assertTrue("Should be dependent on IZosmfManagerSpi" , zosTSOCommandManager.areYouProvisionalDependentOn(zosmfManagerMock));
         Assert.assertFalse("Should not be dependent on IManager" , zosTSOCommandManager.areYouProvisionalDependentOn(managerMock));
     }
     
@@ -155,8 +156,7 @@ public class TestZosTSOCommandManagerImpl {
         List<Annotation> annotations = new ArrayList<>();
         Annotation annotation = DummyTestClass.class.getAnnotation(dev.galasa.zostsocommand.ZosTSOCommand.class);
         annotations.add(annotation);
-        Whitebox.setInternalState(ZosTSOCommandManagerImpl.class, "zosUnixCommandManager", zosUNIXCommandManagerMock);
-        Mockito.when(zosUNIXCommandManagerMock.getZosUNIXCommand(Mockito.any())).thenReturn(zosUnixCommandMock);
+        Mockito.when(zosManagerMock.getImageForTag(Mockito.any())).thenReturn(zosImageMock);
         
         Object zosTSOImplObject = zosTSOCommandManager.generateZosTSOCommand(DummyTestClass.class.getDeclaredField("zosTSOCommand"), annotations);
         Assert.assertTrue("Error in generateZosTSO() method", zosTSOImplObject instanceof ZosTSOCommandImpl);
@@ -171,9 +171,7 @@ public class TestZosTSOCommandManagerImpl {
     }
     
     @Test
-    public void testGetZosTSO() throws ZosTSOCommandManagerException, ZosUNIXCommandManagerException {
-        Whitebox.setInternalState(ZosTSOCommandManagerImpl.class, "zosUnixCommandManager", zosUNIXCommandManagerMock);
-        Mockito.when(zosUNIXCommandManagerMock.getZosUNIXCommand(Mockito.any())).thenReturn(zosUnixCommandMock);
+    public void testGetZosTSO() throws ZosTSOCommandManagerException {
         IZosTSOCommand zosTSOCommand = zosTSOCommandManagerSpy.getZosTSOCommand(zosImageMock);
         Assert.assertNotNull("getZosTSO() should not be null", zosTSOCommand);
         IZosTSOCommand zosTSOCommand2 = zosTSOCommandManagerSpy.getZosTSOCommand(zosImageMock);
@@ -0,0 +1,109 @@
+/*
+ * Licensed Materials - Property of IBM
+ * 
+ * (c) Copyright IBM Corp. 2020.
+ */
+package dev.galasa.zostsocommand.ssh.manager.internal;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import com.google.gson.JsonParser;
+
+import dev.galasa.framework.spi.IConfigurationPropertyStoreService;
+import dev.galasa.zos.IZosImage;
+import dev.galasa.zosmf.IZosmf.ZosmfRequestType;
+import dev.galasa.zosmf.IZosmfResponse;
+import dev.galasa.zosmf.IZosmfRestApiProcessor;
+import dev.galasa.zosmf.ZosmfException;
+import dev.galasa.zosmf.ZosmfManagerException;
+import dev.galasa.zosmf.internal.ZosmfManagerImpl;
+import dev.galasa.zostsocommand.ZosTSOCommandException;
+import dev.galasa.zostsocommand.ZosTSOCommandManagerException;
+import dev.galasa.zostsocommand.ssh.manager.internal.properties.ZosTSOCommandSshPropertiesSingleton;
+
+@RunWith(PowerMockRunner.class)
+public class TestZosTSOCommandSessionPool {
+    
+    private static final String START_RESPONSE = "{\"servletKey\":\"KEY\",\"tsoData\":[{\"TSO PROMPT\":{\"VERSION\":\"0100\",\"HIDDEN\":\"FALSE\"}}]}";
+    
+    @Mock
+    private ZosmfManagerImpl zosmfManagerMock;
+    
+    @Mock
+    private IZosmfRestApiProcessor zosmfApiProcessorMock;
+    
+    @Mock
+    private IZosmfResponse zosmfResponseMock;
+
+    @Mock
+    private IZosImage zosImageMock;
+    
+    @Mock
+    private IConfigurationPropertyStoreService cpsMock;
+
+    @Before
+    public void setup() throws Exception {
+        new ZosTSOCommandSshPropertiesSingleton().activate();
+        ZosTSOCommandSshPropertiesSingleton.setCps(cpsMock);
+        ZosTSOCommandSessionPool.closeAll();
+        ZosTSOCommandManagerImpl.setZosmfManager(zosmfManagerMock);
+        Mockito.when(zosImageMock.getImageID()).thenReturn("image");
+        Mockito.when(zosmfManagerMock.newDedicatedZosmfRestApiProcessor(zosImageMock, true)).thenReturn(zosmfApiProcessorMock);
+        Mockito.when(zosmfApiProcessorMock.sendRequest(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyBoolean())).thenReturn(zosmfResponseMock);
+        Mockito.when(zosmfResponseMock.getJsonContent()).thenReturn(new JsonParser().parse(START_RESPONSE).getAsJsonObject());
+    }
+    
+    @Test
+    public void testLeaseReusesSession() throws ZosTSOCommandException, ZosTSOCommandManagerException, ZosmfManagerException {
+        ZosTSOCommandSessionPool pool = ZosTSOCommandSessionPool.get(zosImageMock);
+        Assert.assertSame("get() should return the same pool for the image", pool, ZosTSOCommandSessionPool.get(zosImageMock));
+        
+        ZosTSOCommandAddressSpace session = pool.lease();
+        pool.release(session);
+        Assert.assertSame("lease() should reuse the released session", session, pool.lease());
+        
+        Mockito.verify(zosmfManagerMock, Mockito.times(1)).newDedicatedZosmfRestApiProcessor(zosImageMock, true);
+        Mockito.verify(zosmfApiProcessorMock, Mockito.never()).sendRequest(Mockito.eq(ZosmfRequestType.DELETE), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyBoolean());
+    }
+    
+    @Test
+    public void testLeaseAfterIdleTimeout() throws ZosTSOCommandException, ZosmfManagerException {
+        ZosTSOCommandSessionPool pool = new ZosTSOCommandSessionPool(zosImageMock, 0);
+        
+        ZosTSOCommandAddressSpace session = pool.lease();
+        pool.release(session);
+        Assert.assertNotSame("lease() should start a new session once the idle session has timed out", session, pool.lease());
+        
+        Mockito.verify(zosmfApiProcessorMock, Mockito.times(1)).sendRequest(Mockito.eq(ZosmfRequestType.DELETE), Mockito.eq("/zosmf/tsoApp/tso/KEY"), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyBoolean());
+        Mockito.verify(zosmfApiProcessorMock, Mockito.times(2)).sendRequest(Mockito.eq(ZosmfRequestType.POST_JSON), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyBoolean());
+    }
+    
+    @Test
+    public void testNewSessionException() throws ZosTSOCommandException, ZosmfManagerException {
+        Mockito.when(zosmfApiProcessorMock.sendRequest(Mockito.eq(ZosmfRequestType.POST_JSON), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyBoolean())).thenThrow(new ZosmfException("exception"));
+        ZosTSOCommandSessionPool pool = new ZosTSOCommandSessionPool(zosImageMock, 0);
+        try {
+            pool.lease();
+            Assert.fail("lease() should throw ZosTSOCommandException");
+        } catch (ZosTSOCommandException e) {
+            Assert.assertEquals("lease() should throw the expected exception", "Unable to start a zOS TSO Command session on image image", e.getMessage());
+        }
+    }
+    
+    @Test
+    public void testCloseAll() throws ZosTSOCommandException, ZosTSOCommandManagerException, ZosmfManagerException {
+        ZosTSOCommandSessionPool pool = ZosTSOCommandSessionPool.get(zosImageMock);
+        pool.release(pool.lease());
+        
+        ZosTSOCommandSessionPool.closeAll();
+        
+        Mockito.verify(zosmfApiProcessorMock, Mockito.times(1)).sendRequest(Mockito.eq(ZosmfRequestType.DELETE), Mockito.eq("/zosmf/tsoApp/tso/KEY"), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyBoolean());
+        Assert.assertNotSame("closeAll() should forget the pools", pool, ZosTSOCommandSessionPool.get(zosImageMock));
+    }
+}
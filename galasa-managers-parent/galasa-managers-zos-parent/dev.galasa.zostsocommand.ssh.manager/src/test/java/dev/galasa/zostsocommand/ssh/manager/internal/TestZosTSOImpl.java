@@ -1,98 +1,120 @@
-/*
- * Licensed Materials - Property of IBM
- * 
- * (c) Copyright IBM Corp. 2020.
- */
-package dev.galasa.zostsocommand.ssh.manager.internal;
-
-import org.junit.Assert;
-import org.junit.Before;
-import org.junit.Rule;
-import org.junit.Test;
-import org.junit.rules.ExpectedException;
-import org.junit.runner.RunWith;
-import org.mockito.Mock;
-import org.mockito.Mockito;
-import org.powermock.modules.junit4.PowerMockRunner;
-
-import dev.galasa.ICredentials;
-import dev.galasa.ipnetwork.IIpHost;
-import dev.galasa.zos.IZosImage;
-import dev.galasa.zostsocommand.ZosTSOCommandException;
-import dev.galasa.zostsocommand.ZosTSOCommandManagerException;
-import dev.galasa.zosunixcommand.IZosUNIXCommand;
-import dev.galasa.zosunixcommand.ZosUNIXCommandException;
-import dev.galasa.zosunixcommand.ZosUNIXCommandManagerException;
-import dev.galasa.zosunixcommand.ssh.manager.internal.ZosUNIXCommandManagerImpl;
-
-@RunWith(PowerMockRunner.class)
-public class TestZosTSOImpl {
-    
-    private static final String FIXED_COMMAND = "command";
-    
-    private ZosTSOCommandImpl zosTSOCommand;
-    
-    private ZosTSOCommandImpl zosTSOCommandSpy;
-    
-    @Mock
-    private ZosUNIXCommandManagerImpl zosUnixManagerMock;
-    
-    @Mock
-    private IZosUNIXCommand zosUNIXCommandMock;
-    
-    @Mock
-    private IZosUNIXCommand zosTSOCommandMock;
-
-    @Mock
-    private IZosImage zosImageMock;
-    
-    @Mock
-    private ICredentials credentialsMock;
-    
-    @Mock
-    private IIpHost hostMock;
-
-    @Rule
-    public ExpectedException exceptionRule = ExpectedException.none();
-
-    @Before
-    public void setup() throws Exception {
-        ZosTSOCommandManagerImpl.setZosUnixCommandManager(zosUnixManagerMock);
-        Mockito.when(zosUnixManagerMock.getZosUNIXCommand(Mockito.any())).thenReturn(zosUNIXCommandMock);
-        Mockito.when(zosUNIXCommandMock.issueCommand(Mockito.any())).thenReturn(FIXED_COMMAND);
-        Mockito.when(zosUNIXCommandMock.issueCommand(Mockito.any(), Mockito.anyLong())).thenReturn(FIXED_COMMAND);
-
-        zosTSOCommand = new ZosTSOCommandImpl(zosImageMock);
-        zosTSOCommandSpy = Mockito.spy(zosTSOCommand);
-    }
-    
-    @Test
-    public void testConstructerException() throws ZosUNIXCommandManagerException, ZosTSOCommandManagerException {
-        Mockito.when(zosUnixManagerMock.getZosUNIXCommand(Mockito.any())).thenThrow(new ZosUNIXCommandManagerException());
-        exceptionRule.expect(ZosTSOCommandManagerException.class);
-        exceptionRule.expectMessage("Unable to get zOS UNIX Command instance");
-        new ZosTSOCommandImpl(zosImageMock);
-    }
-    
-    @Test
-    public void testIssueCommand() throws ZosTSOCommandException, ZosUNIXCommandException {
-        Assert.assertEquals("Error in issueCommand() method", FIXED_COMMAND, zosTSOCommandSpy.issueCommand(FIXED_COMMAND));
-        
-        Assert.assertEquals("Error in issueCommand() method", FIXED_COMMAND, zosTSOCommandSpy.issueCommand("\"" + FIXED_COMMAND + "\""));
-
-        Mockito.when(zosUNIXCommandMock.issueCommand(Mockito.any())).thenThrow(new ZosUNIXCommandException());
-        exceptionRule.expect(ZosTSOCommandException.class);
-        exceptionRule.expectMessage("Unable to issue zOS TSO Command");
-        zosTSOCommandSpy.issueCommand(FIXED_COMMAND);
-    }
-    
-    @Test
-    public void testIssueCommandTimout() throws ZosTSOCommandException, ZosUNIXCommandException {
-        Assert.assertEquals("Error in issueCommand() method", FIXED_COMMAND, zosTSOCommandSpy.issueCommand(FIXED_COMMAND, 1L));
-
-        Mockito.when(zosUNIXCommandMock.issueCommand(Mockito.any(), Mockito.anyLong())).thenThrow(new ZosUNIXCommandException());
-        exceptionRule.expect(ZosTSOCommandException.class);
-        exceptionRule.expectMessage("Unable to issue zOS TSO Command");
-        zosTSOCommandSpy.issueCommand(FIXED_COMMAND, 1L);
-    }
-}
\ No newline at end of file
+/*
+ * Licensed Materials - Property of IBM
+ * 
+ * (c) Copyright IBM Corp. 2020.
+ */
+package dev.galasa.zostsocommand.ssh.manager.internal;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import com.google.gson.JsonParser;
+
+import dev.galasa.framework.spi.IConfigurationPropertyStoreService;
+import dev.galasa.zos.IZosImage;
+import dev.galasa.zosmf.IZosmf.ZosmfRequestType;
+import dev.galasa.zosmf.IZosmfResponse;
+import dev.galasa.zosmf.IZosmfRestApiProcessor;
+import dev.galasa.zosmf.ZosmfException;
+import dev.galasa.zosmf.ZosmfManagerException;
+import dev.galasa.zosmf.internal.ZosmfManagerImpl;
+import dev.galasa.zostsocommand.ZosTSOCommandException;
+import dev.galasa.zostsocommand.ssh.manager.internal.properties.ZosTSOCommandSshPropertiesSingleton;
+
+@RunWith(PowerMockRunner.class)
+public class TestZosTSOImpl {
+    
+    private static final String FIXED_COMMAND = "command";
+    
+    private static final String RESPONSE = "{\"servletKey\":\"KEY\",\"tsoData\":[" + 
+            "{\"TSO MESSAGE\":{\"VERSION\":\"0100\",\"DATA\":\"" + FIXED_COMMAND + "\"}}," + 
+            "{\"TSO MESSAGE\":{\"VERSION\":\"0100\",\"DATA\":\"READY \"}}," + 
+            "{\"TSO PROMPT\":{\"VERSION\":\"0100\",\"HIDDEN\":\"FALSE\"}}]}";
+    
+    private ZosTSOCommandImpl zosTSOCommand;
+    
+    private ZosTSOCommandImpl zosTSOCommandSpy;
+    
+    @Mock
+    private ZosmfManagerImpl zosmfManagerMock;
+    
+    @Mock
+    private IZosmfRestApiProcessor zosmfApiProcessorMock;
+    
+    @Mock
+    private IZosmfResponse zosmfResponseMock;
+
+    @Mock
+    private IZosImage zosImageMock;
+    
+    @Mock
+    private IConfigurationPropertyStoreService cpsMock;
+
+    @Rule
+    public ExpectedException exceptionRule = ExpectedException.none();
+
+    @Before
+    public void setup() throws Exception {
+        new ZosTSOCommandSshPropertiesSingleton().activate();
+        ZosTSOCommandSshPropertiesSingleton.setCps(cpsMock);
+        ZosTSOCommandSessionPool.closeAll();
+        ZosTSOCommandManagerImpl.setZosmfManager(zosmfManagerMock);
+        Mockito.when(zosImageMock.getImageID()).thenReturn("image");
+        Mockito.when(zosmfManagerMock.newDedicatedZosmfRestApiProcessor(zosImageMock, true)).thenReturn(zosmfApiProcessorMock);
+        Mockito.when(zosmfApiProcessorMock.sendRequest(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyBoolean())).thenReturn(zosmfResponseMock);
+        Mockito.when(zosmfResponseMock.getJsonContent()).thenReturn(new JsonParser().parse(RESPONSE).getAsJsonObject());
+
+        zosTSOCommand = new ZosTSOCommandImpl(zosImageMock);
+        zosTSOCommandSpy = Mockito.spy(zosTSOCommand);
+    }
+    
+    @Test
+    public void testNewSessionException() throws ZosmfManagerException, ZosTSOCommandException {
+        Mockito.when(zosmfManagerMock.newDedicatedZosmfRestApiProcessor(zosImageMock, true)).thenThrow(new ZosmfManagerException());
+        exceptionRule.expect(ZosTSOCommandException.class);
+        exceptionRule.expectMessage("Unable to start a zOS TSO Command session on image image");
+        zosTSOCommandSpy.issueCommand(FIXED_COMMAND);
+    }
+    
+    @Test
+    public void testIssueCommand() throws ZosTSOCommandException, ZosmfException {
+        Assert.assertEquals("Error in issueCommand() method", FIXED_COMMAND, zosTSOCommandSpy.issueCommand(FIXED_COMMAND));
+        
+        Assert.assertEquals("Error in issueCommand() method", FIXED_COMMAND, zosTSOCommandSpy.issueCommand("\"" + FIXED_COMMAND + "\""));
+        
+        Mockito.verify(zosmfApiProcessorMock, Mockito.times(1)).sendRequest(Mockito.eq(ZosmfRequestType.POST_JSON), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyBoolean());
+        Mockito.verify(zosmfApiProcessorMock, Mockito.times(2)).sendRequest(Mockito.eq(ZosmfRequestType.PUT_JSON), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyBoolean());
+
+        Mockito.when(zosmfApiProcessorMock.sendRequest(Mockito.eq(ZosmfRequestType.PUT_JSON), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyBoolean())).thenThrow(new ZosmfException());
+        exceptionRule.expect(ZosTSOCommandException.class);
+        exceptionRule.expectMessage("Unable to issue zOS TSO Command");
+        zosTSOCommandSpy.issueCommand(FIXED_COMMAND);
+    }
+    
+    @Test
+    public void testIssueCommandDiscardsSession() throws ZosTSOCommandException, ZosmfException {
+        Mockito.when(zosmfApiProcessorMock.sendRequest(Mockito.eq(ZosmfRequestType.PUT_JSON), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyBoolean())).thenThrow(new ZosmfException());
+        try {
+            zosTSOCommandSpy.issueCommand(FIXED_COMMAND, 1L);
+            Assert.fail("issueCommand() should throw ZosTSOCommandException");
+        } catch (ZosTSOCommandException e) {
+            Assert.assertEquals("issueCommand() should throw the expected exception", "Unable to issue zOS TSO Command", e.getMessage());
+        }
+        
+        Mockito.verify(zosmfApiProcessorMock, Mockito.times(1)).sendRequest(Mockito.eq(ZosmfRequestType.DELETE), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyBoolean());
+    }
+    
+    @Test
+    public void testBuildCommand() {
+        Assert.assertEquals("buildCommand() should remove the surrounding quotes", FIXED_COMMAND, zosTSOCommand.buildCommand("\"" + FIXED_COMMAND + "\""));
+        Assert.assertEquals("buildCommand() should not change an unquoted command", FIXED_COMMAND, zosTSOCommand.buildCommand(FIXED_COMMAND));
+        Assert.assertEquals("buildCommand() should not change a single quote", "\"", zosTSOCommand.buildCommand("\""));
+    }
+}
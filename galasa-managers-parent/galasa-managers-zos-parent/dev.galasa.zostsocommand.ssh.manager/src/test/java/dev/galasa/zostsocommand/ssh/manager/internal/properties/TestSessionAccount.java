@@ -0,0 +1,77 @@
+/*
+ * Licensed Materials - Property of IBM
+ * 
+ * (c) Copyright IBM Corp. 2020.
+ */
+package dev.galasa.zostsocommand.ssh.manager.internal.properties;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import dev.galasa.framework.spi.ConfigurationPropertyStoreException;
+import dev.galasa.framework.spi.IConfigurationPropertyStoreService;
+import dev.galasa.framework.spi.cps.CpsProperties;
+import dev.galasa.zostsocommand.ZosTSOCommandManagerException;
+
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({ZosTSOCommandSshPropertiesSingleton.class, CpsProperties.class})
+public class TestSessionAccount {
+    
+    @Mock
+    private IConfigurationPropertyStoreService configurationPropertyStoreServiceMock;
+    
+    @Rule
+    public ExpectedException exceptionRule = ExpectedException.none();
+    
+    private static final String IMAGE_ID = "IMAGE";
+    
+    @Test
+    public void testConstructor() {
+        SessionAccount sessionAccount = new SessionAccount();
+        Assert.assertNotNull("Object was not created", sessionAccount);
+    }
+    
+    @Test
+    public void testNull() throws Exception {
+        Assert.assertEquals("Unexpected value returned from SessionAccount.get()", "DEFAULT", getProperty(null));
+    }
+    
+    @Test
+    public void testValid() throws Exception {
+        Assert.assertEquals("Unexpected value returned from SessionAccount.get()", "ACCT#", getProperty("ACCT#"));
+    }
+    
+    @Test
+    public void testException() throws Exception {
+        exceptionRule.expect(ZosTSOCommandManagerException.class);
+        exceptionRule.expectMessage("Problem asking the CPS for the TSO command session account property for zOS image " + IMAGE_ID);
+        
+        getProperty("ANY", true);
+    }
+
+    private String getProperty(String value) throws Exception {
+        return getProperty(value, false);
+    }
+    
+    private String getProperty(String value, boolean exception) throws Exception {
+        PowerMockito.spy(ZosTSOCommandSshPropertiesSingleton.class);
+        PowerMockito.doReturn(configurationPropertyStoreServiceMock).when(ZosTSOCommandSshPropertiesSingleton.class, "cps");
+        PowerMockito.spy(CpsProperties.class);
+        
+        if (!exception) {
+            PowerMockito.doReturn(value).when(CpsProperties.class, "getStringNulled", Mockito.any(), Mockito.anyString(), Mockito.anyString(), Mockito.anyString());            
+        } else {
+            PowerMockito.doThrow(new ConfigurationPropertyStoreException()).when(CpsProperties.class, "getStringNulled", Mockito.any(), Mockito.anyString(), Mockito.anyString(), Mockito.anyString());
+        }
+        
+        return SessionAccount.get(IMAGE_ID);
+    }
+}